@@ -0,0 +1,118 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.benchmarks;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.events.CloudSimEvent;
+import org.cloudbus.cloudsim.core.events.FutureEventQueue;
+import org.cloudbus.cloudsim.core.events.FutureQueue;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A set of benchmarks to assess the cost of a simulation clock tick
+ * for different {@link FutureEventQueue} implementations and sizes.
+ * Each tick removes the head of the queue together with the
+ * events happening at the same time and then schedules the same number
+ * of events to a future time, keeping the queue size constant.
+ *
+ * <p>The {@link #testRescanQueueForSameTimeEvents()} reproduces
+ * how the same-time events used to be found, by filtering the entire queue,
+ * while the {@link #testPollAllAt()} uses the {@link FutureEventQueue#pollAllAt(double, java.util.Collection)}.
+ * The cost of the former grows with the queue size, while the later doesn't.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class FutureEventQueueBenchmark {
+    /**
+     * Number of events at the same time, at every tick.
+     */
+    private static final int EVENTS_BY_TICK = 4;
+
+    @Param({"1000", "100000", "1000000"})
+    private int queueSize;
+
+    @Param({"FutureQueue", "FutureQueueCalendar", "FutureQueueHeap"})
+    private String queueClassName;
+
+    private CloudSim simulation;
+    private FutureEventQueue queue;
+    private List<SimEvent> sameTimeEvents;
+
+    /**
+     * The time of the last event added to the queue.
+     */
+    private double lastTime;
+
+    @Setup
+    public void doSetup() throws ReflectiveOperationException {
+        simulation = new CloudSim();
+        sameTimeEvents = new ArrayList<>();
+        final String className = FutureQueue.class.getPackage().getName() + "." + queueClassName;
+        queue = (FutureEventQueue) Class.forName(className).newInstance();
+        scheduleEvents(queueSize);
+    }
+
+    private void scheduleEvents(final int events) {
+        for (int i = 0; i < events; i++) {
+            if(i % EVENTS_BY_TICK == 0) {
+                lastTime++;
+            }
+            queue.addEvent(new CloudSimEvent(simulation, SimEvent.Type.SEND, lastTime, 0, 0, 0, null));
+        }
+    }
+
+    @Benchmark
+    public int testRescanQueueForSameTimeEvents() {
+        final SimEvent first = queue.first();
+        queue.remove(first);
+        final List<SimEvent> events = queue.stream()
+            .filter(e -> e.eventTime() == first.eventTime())
+            .sorted()
+            .collect(toList());
+        events.forEach(queue::remove);
+
+        scheduleEvents(events.size() + 1);
+        return events.size();
+    }
+
+    @Benchmark
+    public int testPollAllAt() {
+        final SimEvent first = queue.pollFirst();
+        sameTimeEvents.clear();
+        final int count = queue.pollAllAt(first.eventTime(), sameTimeEvents);
+
+        scheduleEvents(count + 1);
+        return count;
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.benchmarks;
+
+import org.cloudbus.cloudsim.allocationpolicies.power.PowerVmAllocationPolicyMigrationInterQuartileRange;
+import org.cloudbus.cloudsim.allocationpolicies.power.PowerVmAllocationPolicyMigrationLocalRegression;
+import org.cloudbus.cloudsim.allocationpolicies.power.PowerVmAllocationPolicyMigrationLocalRegressionRobust;
+import org.cloudbus.cloudsim.allocationpolicies.power.PowerVmAllocationPolicyMigrationMedianAbsoluteDeviation;
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.UtilizationStatistics;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A set of benchmarks to assess the cost of computing the statistics used by the
+ * {@link PowerVmAllocationPolicyMigrationLocalRegression LR},
+ * {@link PowerVmAllocationPolicyMigrationLocalRegressionRobust LRR},
+ * {@link PowerVmAllocationPolicyMigrationMedianAbsoluteDeviation MAD} and
+ * {@link PowerVmAllocationPolicyMigrationInterQuartileRange IQR}
+ * policies to define the over utilization threshold of every Host in a Datacenter.
+ *
+ * <p>The {@link #testCommonsMath()} reproduces how such statistics used to be computed,
+ * creating Apache Commons Math regressions and {@link DescriptiveStatistics} objects for each Host,
+ * while the {@link #testSequential()} and {@link #testParallel()} use the {@link UtilizationStatistics}
+ * to compute them over primitive arrays for all Hosts at once.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class UtilizationStatisticsBenchmark {
+    /**
+     * Number of utilization history entries of each Host.
+     */
+    private static final int HISTORY_LENGTH = 30;
+
+    /**
+     * Number of history entries used by the Local Regression policies.
+     */
+    private static final int REGRESSION_LENGTH = 10;
+
+    @Param({"100", "1000", "10000"})
+    private int hosts;
+
+    @Param({"LR", "LRR", "MAD", "IQR"})
+    private String statisticName;
+
+    private List<double[]> histories;
+    private ToDoubleBiFunction<UtilizationStatistics, double[]> statistic;
+
+    @Setup
+    public void doSetup() {
+        final Random random = new Random(1);
+        final int length = statisticName.startsWith("LR") ? REGRESSION_LENGTH : HISTORY_LENGTH;
+        histories = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; i++) {
+            histories.add(random.doubles(length).toArray());
+        }
+
+        statistic = createStatistic();
+    }
+
+    private ToDoubleBiFunction<UtilizationStatistics, double[]> createStatistic() {
+        switch (statisticName) {
+            case "LR": return (stats, history) -> { stats.loess(history); return stats.getSlope(); };
+            case "LRR": return (stats, history) -> { stats.robustLoess(history); return stats.getSlope(); };
+            case "MAD": return UtilizationStatistics::mad;
+            default: return UtilizationStatistics::iqr;
+        }
+    }
+
+    @Benchmark
+    public double[] testCommonsMath() {
+        final double[] results = new double[histories.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = computeWithCommonsMath(histories.get(i));
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    public double[] testSequential() {
+        return UtilizationStatistics.computeAll(histories, statistic, false);
+    }
+
+    @Benchmark
+    public double[] testParallel() {
+        return UtilizationStatistics.computeAll(histories, statistic, true);
+    }
+
+    private double computeWithCommonsMath(final double[] history) {
+        switch (statisticName) {
+            case "LR": return loess(history).regress().getParameterEstimates()[1];
+            case "LRR": return robustLoessSlope(history);
+            case "MAD": return mad(history);
+            default: return iqr(history.clone());
+        }
+    }
+
+    private static double[] xValues(final int n) {
+        final double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i + 1;
+        }
+        return x;
+    }
+
+    private static SimpleRegression loess(final double[] y) {
+        return MathUtil.createWeigthedLinearRegression(xValues(y.length), y, MathUtil.getTricubeWeights(y.length));
+    }
+
+    private static double robustLoessSlope(final double[] y) {
+        final int n = y.length;
+        final double[] x = xValues(n);
+        final SimpleRegression tricubeRegression = loess(y);
+        final double[] residuals = new double[n];
+        for (int i = 0; i < n; i++) {
+            residuals[i] = y[i] - tricubeRegression.predict(x[i]);
+        }
+
+        final double[] weights = MathUtil.getTricubeWeights(n);
+        final double[] bisquareWeights = new double[n];
+        final double s6 = median(MathUtil.abs(residuals)) * 6;
+        for (int i = 2; i < n; i++) {
+            final double k = Math.pow(1 - Math.pow(residuals[i] / s6, 2), 2);
+            bisquareWeights[i] = k > 0 ? (1 / k) * weights[i] : Double.MAX_VALUE;
+        }
+        bisquareWeights[0] = bisquareWeights[1] = bisquareWeights[2];
+
+        final double[] estimates =
+            MathUtil.createWeigthedLinearRegression(x, y, bisquareWeights).regress().getParameterEstimates();
+        return Double.isNaN(estimates[1]) ? tricubeRegression.regress().getParameterEstimates()[1] : estimates[1];
+    }
+
+    private static double median(final double[] data) {
+        return new DescriptiveStatistics(data).getPercentile(50);
+    }
+
+    private static double mad(final double[] data) {
+        final double median = median(data);
+        final double[] deviations = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            deviations[i] = Math.abs(median - data[i]);
+        }
+
+        return median(deviations);
+    }
+
+    private static double iqr(final double[] data) {
+        Arrays.sort(data);
+        final int q1 = (int) Math.round(0.25 * (data.length + 1)) - 1;
+        final int q3 = (int) Math.round(0.75 * (data.length + 1)) - 1;
+        return data[q3] - data[q1];
+    }
+}
@@ -32,6 +32,7 @@ import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -39,19 +40,32 @@ import org.openjdk.jmh.annotations.State;
 /**
  * A set of benchmarks for the {@link CloudletToVmMappingSolution} class.
  *
+ * <p>The {@link #testCreateNeighborAndGetCost()} measures a step of the
+ * {@link CloudletToVmMappingSimulatedAnnealing}, which clones a solution,
+ * swaps the VMs of two Cloudlets and gets the cost of the new solution.
+ * Since the cost is updated just for the two affected VMs,
+ * it is expected to grow slowly as the number of Cloudlets increases.</p>
+ *
  * @author Manoel Campos da Silva Filho
  */
 @BenchmarkMode({Mode.AverageTime, Mode.Throughput})
 @State(Scope.Thread)
 public class CloudletToVmMappingSolutionBenchmark {
+    /**
+     * Number of Cloudlets for each VM.
+     */
+    private static final int CLOUDLETS_BY_VM = 10;
+
+    @Param({"100", "10000"})
+    private int cloudlets;
+
     private CloudletToVmMappingSimulatedAnnealing heuristic;
     private CloudletToVmMappingSolution instance1;
     private CloudletToVmMappingSolution instance2;
 
     @Setup
     public void doSetup() {
-        CloudletToVmMappingSimulatedAnnealing heuristic =
-            new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1));
+        heuristic = new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1));
         instance1 = createInstance();
         instance2 = createInstance();
         /*Call the getCost the first time without measure it
@@ -63,10 +77,12 @@ public class CloudletToVmMappingSolutionBenchmark {
     private CloudletToVmMappingSolution createInstance() {
         final CloudletToVmMappingSolution result = new CloudletToVmMappingSolution(heuristic);
         UtilizationModel um = UtilizationModel.NULL;
-        IntStream.range(0, 100).forEach(i
+        final VmSimple[] vms = new VmSimple[Math.max(1, cloudlets / CLOUDLETS_BY_VM)];
+        IntStream.range(0, vms.length).forEach(i -> vms[i] = new VmSimple(i, 1000, CLOUDLETS_BY_VM));
+        IntStream.range(0, cloudlets).forEach(i
                 -> result.bindCloudletToVm(
-                        new CloudletSimple(i, 1, 1).setUtilizationModel(um),
-                        new VmSimple(i, 1000, 1))
+                        new CloudletSimple(i, 1, 1 + i % 2).setUtilizationModel(um),
+                        vms[i % vms.length])
         );
 
         return result;
@@ -77,6 +93,11 @@ public class CloudletToVmMappingSolutionBenchmark {
         return heuristic.createNeighbor(instance1);
     }
 
+    @Benchmark
+    public double testCreateNeighborAndGetCost() {
+        return heuristic.createNeighbor(instance1).getCost();
+    }
+
     @Benchmark
     public double testGetCostWhenFirstCall() {
         return instance1.getCost(true);
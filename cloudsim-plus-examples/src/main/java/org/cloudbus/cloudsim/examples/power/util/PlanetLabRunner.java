@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
 import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.utilizationmodels.PlanetLabTraceStore;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelPlanetLab;
 
@@ -91,6 +92,16 @@ if(Objects.isNull(files)) {
 return new ArrayList<>();
 }
 
+        if(files.length <= MAX_NUMBER_OF_WORLOAD_FILES_TO_READ) {
+            try {
+                //Parses all trace files in parallel, before the cloudlets using them are created
+                PlanetLabTraceStore.getInstance().preload(inputFolder);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.exit(0);
+            }
+        }
+
 final int filesToRead = Math.min(files.length, MAX_NUMBER_OF_WORLOAD_FILES_TO_READ);
 final List<Cloudlet> list = new ArrayList<>(filesToRead);
         for (int i = 0; i < filesToRead; i++) {
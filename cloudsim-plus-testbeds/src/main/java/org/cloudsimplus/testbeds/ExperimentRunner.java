@@ -29,9 +29,15 @@ import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.distributions.UniformDistr;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
@@ -79,6 +85,11 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
      */
     private int numberOfBatches;
 
+    /**
+     * @see #getParallelism()
+     */
+    private int parallelism;
+
     /**
      * Creates an experiment runner, setting the
      * {@link #getBaseSeed() base seed} as the current time.
@@ -98,6 +109,7 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
         setBaseSeed(baseSeed);
         setNumberOfBatches(0);
         setApplyAntitheticVariatesTechnique(antitheticVariatesTechnique);
+        this.parallelism = 1;
     }
 
     /**
@@ -139,7 +151,23 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
         }
 
         setup();
+        createSeeds();
+    }
+
+    /**
+     * Creates the seeds for all experiments before they are created.
+     * The seed of each experiment is the {@link #getBaseSeed() base seed} plus the experiment index,
+     * except when the {@link #isApplyAntitheticVariatesTechnique() "Antithetic Variates Technique"}
+     * is applied, where the second half of experiments reuses the seeds from the first half.
+     * This way, the seeds don't depend on the order experiments are created or run.
+     */
+    private void createSeeds() {
         seeds = new ArrayList<>(getSimulationRuns());
+        for (int i = 0; i < getSimulationRuns(); i++) {
+            if(!isToReuseSeedFromFirstHalfOfExperiments(i)) {
+                seeds.add(getBaseSeed() + i);
+            }
+        }
     }
 
     /**
@@ -527,11 +555,13 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
         Log.disable();
         try {
             experimentsStartTime = System.currentTimeMillis();
-            for (int i = 0; i < getSimulationRuns(); i++) {
-                if (isVerbose()) {
-                    System.out.print(((i + 1) % 100 == 0 ? String.format(". Run #%d\n", i + 1) : "."));
+            if(parallelism > 1) {
+                runExperimentsInParallel();
+            } else {
+                for (int i = 0; i < getSimulationRuns(); i++) {
+                    printProgress(i);
+                    createExperiment(i).run();
                 }
-                createExperiment(i).run();
             }
             System.out.println();
             experimentsFinishTime = (System.currentTimeMillis() - experimentsStartTime) / 1000;
@@ -546,6 +576,99 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
         System.out.printf("\nExperiments finished in %d seconds!\n", getExperimentsFinishTime());
     }
 
+    private void printProgress(final int experimentIndex) {
+        if (isVerbose()) {
+            System.out.print(((experimentIndex + 1) % 100 == 0 ? String.format(". Run #%d\n", experimentIndex + 1) : "."));
+        }
+    }
+
+    /**
+     * Runs the simulation of the experiments using a pool of {@link #getParallelism()} threads.
+     *
+     * <p>Experiments are created in order by the current thread,
+     * so that PRNGs shared among experiments are sampled in the same sequence as
+     * when experiments are run one at a time.
+     * After the simulation of an experiment finishes, its
+     * {@link SimulationExperiment#getAfterExperimentFinish() afterExperimentFinish} {@link java.util.function.Consumer}
+     * is called by the current thread, also in the order of the experiments.
+     * This way, the values collected for each metric are added to the {@link #createMetricsMap() metrics map}
+     * in the same order, regardless of which experiment finishes first,
+     * keeping the results of the "Antithetic Variates Technique" and "Batch Means Method"
+     * equal to a sequential execution.</p>
+     *
+     * <p>At most twice the parallelism of experiments are kept in memory at the same time.
+     * Experiments must not share mutable state, except inside the
+     * {@link #createExperiment(int)} method and the afterExperimentFinish Consumer.</p>
+     *
+     * <p>Each simulation runs with its own {@link Log} output stream and enabled flag
+     * (see {@link Log#useThreadState()}).
+     * The Log starts disabled for each simulation, as when experiments run one at a time.
+     * This way, enabling or disabling the Log while a simulation runs
+     * (or while the results of a finished experiment are printed)
+     * doesn't affect the other simulations running at the same time.
+     * The levels set for classes are still shared by all simulations.</p>
+     */
+    private void runExperimentsInParallel() {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        final Deque<T> experiments = new ArrayDeque<>(2 * parallelism);
+        final Deque<Future<?>> futures = new ArrayDeque<>(2 * parallelism);
+        try {
+            for (int i = 0; i < getSimulationRuns(); i++) {
+                if(experiments.size() == 2 * parallelism) {
+                    finishExperiment(experiments.poll(), futures.poll());
+                }
+
+                final T exp = createExperiment(i);
+                experiments.add(exp);
+                futures.add(executor.submit(() -> runSimulationWithThreadLog(exp)));
+            }
+
+            while(!experiments.isEmpty()) {
+                finishExperiment(experiments.poll(), futures.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the simulation of an experiment in the current thread,
+     * which has its own {@link Log} state while the simulation runs.
+     * The Log is disabled for the thread, instead of copying the global state,
+     * which may be enabled while the runner thread prints the results of another experiment.
+     *
+     * @param exp the experiment to run the simulation
+     */
+    private void runSimulationWithThreadLog(final T exp) {
+        Log.useThreadState();
+        Log.disable();
+        try {
+            exp.runSimulation();
+        } finally {
+            Log.useGlobalState();
+        }
+    }
+
+    /**
+     * Waits the simulation of an experiment to finish and then processes its results.
+     *
+     * @param exp the experiment to finish
+     * @param future the {@link Future} representing the experiment simulation
+     */
+    private void finishExperiment(final T exp, final Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting experiment " + exp.getIndex() + " to finish.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error when running experiment " + exp.getIndex(), e.getCause());
+        }
+
+        printProgress(exp.getIndex());
+        exp.finish();
+    }
+
     /**
      * Creates a Map adding a List of values for each metric to be computed.
      * The computation of final experiments results are performed on this map.
@@ -655,6 +778,38 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
      */
     protected abstract void printFinalResults(String metricName, SummaryStatistics stats);
 
+    /**
+     * Gets the number of experiments that are run in parallel.
+     * The default value is 1, which means experiments are run one at a time.
+     *
+     * @return
+     * @see #setParallelism(int)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of experiments to be run in parallel, each one in a different thread.
+     * The final results are the same of running experiments one at a time,
+     * considering experiments don't share mutable state.
+     * Each simulation has its own {@link Log} output stream and enabled flag,
+     * so that changing them in one simulation doesn't affect the others.
+     *
+     * @param parallelism the number of experiments to run in parallel,
+     *                    such as {@link Runtime#availableProcessors()},
+     *                    or 1 to run them one at a time
+     * @return
+     */
+    public ExperimentRunner<T> setParallelism(int parallelism) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero.");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public final ExperimentRunner setBaseSeed(long baseSeed) {
         this.baseSeed = baseSeed;
         return this;
@@ -186,8 +186,31 @@ public abstract class SimulationExperiment implements Runnable {
      */
     @Override
     public final void run() {
+        runSimulation();
+        finish();
+    }
+
+    /**
+     * Builds the simulation scenario and starts execution,
+     * without calling the {@link #getAfterExperimentFinish() afterExperimentFinish}
+     * {@link Consumer} and printing results.
+     * It enables an {@link ExperimentRunner} to run simulations in parallel,
+     * while results are processed in the order of the experiments.
+     *
+     * @see #finish()
+     */
+    final void runSimulation() {
         buildScenario();
         cloudsim.start();
+    }
+
+    /**
+     * Calls the {@link #getAfterExperimentFinish() afterExperimentFinish} {@link Consumer}
+     * and prints the experiment results after the simulation finishes.
+     *
+     * @see #runSimulation()
+     */
+    final void finish() {
         getAfterExperimentFinish().accept(this);
         printResultsInternal();
     }
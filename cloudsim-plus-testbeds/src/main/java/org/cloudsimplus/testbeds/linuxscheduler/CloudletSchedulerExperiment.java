@@ -99,6 +99,7 @@ abstract class CloudletSchedulerExperiment extends SimulationExperiment {
 
     @Override
     public void printResults() {
+        final boolean logDisabled = Log.isDisabled();
         Log.enable();
         try {
             System.out.printf("\nCloudlets: %d\n", numCloudletsToCreate);
@@ -107,7 +108,7 @@ abstract class CloudletSchedulerExperiment extends SimulationExperiment {
                 .addColumn(2, new TextTableColumn("Priority"), Cloudlet::getPriority)
                 .build();
         } finally {
-            Log.disable();
+            Log.setDisabled(logDisabled);
         }
     }
 
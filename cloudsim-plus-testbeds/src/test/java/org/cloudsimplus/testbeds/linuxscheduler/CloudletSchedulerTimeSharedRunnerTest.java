@@ -0,0 +1,46 @@
+package org.cloudsimplus.testbeds.linuxscheduler;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link CloudletSchedulerTimeSharedRunner}, checking that
+ * running experiments in parallel collects the same metrics
+ * of running them one at a time.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletSchedulerTimeSharedRunnerTest {
+    private static final int SIMULATION_RUNS = 20;
+
+    /**
+     * Creates a runner using the default base seed and runs its experiments.
+     *
+     * @param parallelism the number of experiments to run in parallel
+     * @return the runner after all experiments have finished
+     */
+    private static CloudletSchedulerTimeSharedRunner run(final int parallelism) {
+        final CloudletSchedulerTimeSharedRunner runner = new CloudletSchedulerTimeSharedRunner() {
+            {
+                setSimulationRuns(SIMULATION_RUNS);
+            }
+        };
+        runner.setParallelism(parallelism).setVerbose(false);
+        runner.run();
+        return runner;
+    }
+
+    @Test
+    public void run_ParallelExperimentsCollectSameMetricsOfSequentialOnes() {
+        final Map<String, List<Double>> sequential = run(1).createMetricsMap();
+        final Map<String, List<Double>> parallel = run(4).createMetricsMap();
+
+        assertEquals(SIMULATION_RUNS, sequential.get("Cloudlets Number").size());
+        assertEquals(SIMULATION_RUNS, sequential.get("Cloudlets Completion Time Means").size());
+        assertEquals(sequential, parallel);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A segment tree that indexes the number of free PEs of each {@link Host},
+ * enabling a {@link VmAllocationPolicySimple} to get the Host with most free PEs
+ * in O(1) and to update the free PEs of a Host in O(log n),
+ * instead of traversing all Hosts for every VM to place.
+ *
+ * <p>Ties are broken by the lower Host id,
+ * so that the selected Host is always the same for a given simulation scenario.
+ * Hosts can be temporarily excluded from the selection
+ * (such as the ones where a VM creation failed) and included back at once.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+final class HostFreePesTree {
+    private static final int NONE = -1;
+
+    /**
+     * The map from where the number of free PEs was got,
+     * used to check if the tree is outdated.
+     */
+    private final Map<Host, Long> hostFreePesMap;
+
+    private final Host[] hosts;
+    private final long[] freePes;
+
+    /**
+     * Indicates if the Host at each position can be selected,
+     * that is, it's not excluded.
+     */
+    private final boolean[] enabled;
+
+    private final Map<Host, Integer> positions;
+
+    /**
+     * The positions of Hosts temporarily excluded from the selection.
+     */
+    private final List<Integer> excluded;
+
+    /**
+     * A binary tree stored into an array, where the leaves are the Host positions in the {@link #hosts} array,
+     * starting at the index {@link #leaves}, and each internal node
+     * stores the position of the selected Host among its children (or {@link #NONE}).
+     * The root is at index 1.
+     */
+    private final int[] tree;
+
+    /**
+     * The number of leaves in the {@link #tree}, which is a power of 2.
+     */
+    private final int leaves;
+
+    /**
+     * Creates a tree for the Hosts in a free PEs map.
+     *
+     * @param hostFreePesMap a map where each key is a Host and each value is its number of free PEs
+     */
+    HostFreePesTree(final Map<Host, Long> hostFreePesMap) {
+        final int n = hostFreePesMap.size();
+        this.hostFreePesMap = hostFreePesMap;
+        this.hosts = new Host[n];
+        this.freePes = new long[n];
+        this.enabled = new boolean[n];
+        this.positions = new HashMap<>(n);
+        this.excluded = new ArrayList<>();
+
+        int size = 1;
+        while(size < n){
+            size *= 2;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+
+        for (int i = 0; i < size; i++) {
+            tree[size + i] = NONE;
+        }
+
+        int i = 0;
+        for (final Map.Entry<Host, Long> entry : hostFreePesMap.entrySet()) {
+            hosts[i] = entry.getKey();
+            freePes[i] = entry.getValue();
+            enabled[i] = true;
+            tree[size + i] = i;
+            positions.put(hosts[i], i++);
+        }
+
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = select(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Checks if the tree was built from a given free PEs map,
+     * considering that the map doesn't change its keys
+     * while its size doesn't change.
+     *
+     * @param hostFreePesMap the free PEs map to check
+     * @return true if the tree was built from such a map, false otherwise
+     */
+    boolean isBuiltFrom(final Map<Host, Long> hostFreePesMap) {
+        return this.hostFreePesMap == hostFreePesMap && hosts.length == hostFreePesMap.size();
+    }
+
+    /**
+     * Gets the Host with most free PEs which is not excluded.
+     * @return the Host or {@link Host#NULL} if there is no Host available
+     */
+    Host getHostWithMostFreePes() {
+        final int pos = tree[1];
+        return pos == NONE ? Host.NULL : hosts[pos];
+    }
+
+    /**
+     * Gets the number of free PEs stored for a Host.
+     * @param host the Host to get its number of free PEs
+     * @return the number of free PEs or 0 if the Host is not indexed
+     */
+    long getFreePes(final Host host) {
+        final Integer pos = positions.get(host);
+        return pos == null ? 0 : freePes[pos];
+    }
+
+    /**
+     * Sets the number of free PEs of a Host.
+     * @param host the Host to update
+     * @param pes the new number of free PEs
+     */
+    void setFreePes(final Host host, final long pes) {
+        final Integer pos = positions.get(host);
+        if(pos == null){
+            return;
+        }
+
+        freePes[pos] = pes;
+        if(enabled[pos]){
+            update(pos);
+        }
+    }
+
+    /**
+     * Excludes a Host from the selection, until {@link #includeExcludedHosts()} is called.
+     * @param host the Host to exclude
+     */
+    void exclude(final Host host) {
+        final Integer pos = positions.get(host);
+        if(pos == null || !enabled[pos]){
+            return;
+        }
+
+        enabled[pos] = false;
+        excluded.add(pos);
+        update(pos);
+    }
+
+    /**
+     * Includes back all Hosts {@link #exclude(Host) excluded} from the selection.
+     */
+    void includeExcludedHosts() {
+        for (final int pos : excluded) {
+            enabled[pos] = true;
+            update(pos);
+        }
+
+        excluded.clear();
+    }
+
+    /**
+     * Updates the tree after the Host at a given position has changed,
+     * from its leaf up to the root.
+     * @param pos the position of the changed Host
+     */
+    private void update(final int pos) {
+        int node = leaves + pos;
+        tree[node] = enabled[pos] ? pos : NONE;
+        for (node /= 2; node > 0; node /= 2) {
+            tree[node] = select(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Selects the Host with most free PEs between two positions,
+     * which may be {@link #NONE}.
+     * @return the selected position
+     */
+    private int select(final int pos1, final int pos2) {
+        if(pos1 == NONE){
+            return pos2;
+        }
+
+        if(pos2 == NONE){
+            return pos1;
+        }
+
+        final int comparison = Long.compare(freePes[pos1], freePes[pos2]);
+        if(comparison != 0){
+            return comparison > 0 ? pos1 : pos2;
+        }
+
+        return hosts[pos1].getId() <= hosts[pos2].getId() ? pos1 : pos2;
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A segment tree that indexes the residual (available) capacity of Hosts
+ * for multiple resources, enabling a {@link VmAllocationPolicyBinPackingAbstract}
+ * to find the best Host for a VM without evaluating every Host.
+ *
+ * <p>The Hosts are split into buckets of consecutive Hosts, which are the leaves of the tree.
+ * If the policy {@link VmAllocationPolicyBinPackingAbstract#isGroupingHostsByCapacity() groups Hosts by capacity},
+ * they are sorted by their residual capacity when the tree is built.
+ * This way, Hosts having the same configuration usually share a bucket,
+ * making the bounds of each bucket tighter.
+ * The residual capacities of all Hosts are stored into a flat array,
+ * so that the Hosts of a bucket are evaluated by a sequential scan.
+ * Each node stores, for every resource, the min and max residual capacity
+ * among the Hosts below it, into flat arrays as well.
+ * The search for a Host is a depth-first branch and bound:
+ * a sub-tree is skipped when the max residual capacity of some resource
+ * is lower than the VM demand (no Host there fits the VM)
+ * or when the lower bound of the score for its Hosts, given by the policy,
+ * is worse than the score of the best Host found so far.
+ * Since the lower bound is computed from the min and max residual capacities of the sub-tree,
+ * only the buckets having Hosts which may be selected are usually scanned.</p>
+ *
+ * <p>Ties are broken by the lower position in the Host list,
+ * so that the selected Host is always the same for a given simulation scenario.
+ * Hosts can be temporarily excluded from the search
+ * (such as the ones where a VM creation failed) and included back at once.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+final class HostResidualCapacityTree {
+    private static final int NONE = -1;
+
+    /**
+     * The number of Hosts in each bucket (leaf of the tree).
+     */
+    static final int BUCKET_SIZE = 32;
+
+    private final VmAllocationPolicyBinPackingAbstract policy;
+
+    /**
+     * The number of indexed resources.
+     */
+    private final int resources;
+
+    /**
+     * The Hosts in the order they are stored into the tree.
+     * The index of a Host in this array is its slot.
+     */
+    private final Host[] hosts;
+
+    /**
+     * The position of the Host at each slot in the Host list,
+     * used to break ties between Hosts.
+     */
+    private final int[] positions;
+
+    /**
+     * Maps each Host to its slot.
+     */
+    private final Map<Host, Integer> slots;
+
+    /**
+     * Indicates if the Host at each slot can be selected, that is, it's not excluded.
+     */
+    private final boolean[] enabled;
+
+    /**
+     * The slots of Hosts temporarily excluded from the search.
+     */
+    private final List<Integer> excluded;
+
+    /**
+     * The residual capacity of each resource of every Host,
+     * where the value for the Host at a slot {@code i} and resource {@code r}
+     * is at the index {@code i * resources + r}.
+     */
+    private final double[] residuals;
+
+    /**
+     * The number of leaves (buckets) in the tree, which is a power of 2.
+     * The root is the node 1 and the leaf of the bucket {@code b} is the node {@code leaves + b}.
+     */
+    private final int leaves;
+
+    /**
+     * The min and max residual capacity of each resource among the enabled Hosts below each node,
+     * where the values for a node {@code n} and resource {@code r}
+     * are at the index {@code n * resources + r}.
+     * Nodes without any enabled Host have min as {@link Double#POSITIVE_INFINITY}
+     * and max as {@link Double#NEGATIVE_INFINITY}.
+     */
+    private final double[] min, max;
+
+    /**
+     * The lowest position in the Host list among the enabled Hosts below each node,
+     * or {@link Integer#MAX_VALUE} if there isn't any enabled Host.
+     */
+    private final int[] minPosition;
+
+    /**
+     * Buffers used to pass the residual capacity of a Host
+     * or the min and max residual capacity of a node to the {@link #policy}.
+     */
+    private final double[] residual, nodeMin, nodeMax;
+
+    /**
+     * The slot of the best Host found by the current search, and its score.
+     * The score of every Host must be finite.
+     */
+    private int bestSlot;
+    private double bestScore;
+
+    /**
+     * Checks if a Host that fits the VM according to the indexed resources
+     * is actually suitable for it, in the current search.
+     */
+    private Predicate<Host> suitability;
+
+    /**
+     * Creates a tree for a list of Hosts.
+     *
+     * @param policy the policy which defines the resources residual capacity of each Host
+     *               and the score used to select a Host
+     * @param hosts the Hosts to index
+     */
+    HostResidualCapacityTree(final VmAllocationPolicyBinPackingAbstract policy, final List<? extends Host> hosts) {
+        this.policy = policy;
+        this.resources = policy.getNumberOfResources();
+        final int n = hosts.size();
+        this.hosts = new Host[n];
+        this.positions = new int[n];
+        this.slots = new HashMap<>(n);
+        this.enabled = new boolean[n];
+        this.excluded = new ArrayList<>();
+        this.residuals = new double[n * resources];
+
+        int size = 1;
+        while(size * BUCKET_SIZE < n){
+            size *= 2;
+        }
+        this.leaves = size;
+        this.min = new double[2 * size * resources];
+        this.max = new double[2 * size * resources];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        this.minPosition = new int[2 * size];
+        Arrays.fill(minPosition, Integer.MAX_VALUE);
+        this.residual = new double[resources];
+        this.nodeMin = new double[resources];
+        this.nodeMax = new double[resources];
+
+        final double[][] initialResidual = new double[n][resources];
+        final Integer[] order = new Integer[n];
+        for (int pos = 0; pos < n; pos++) {
+            policy.getResidualCapacity(hosts.get(pos), initialResidual[pos]);
+            order[pos] = pos;
+        }
+        if(policy.isGroupingHostsByCapacity()) {
+            Arrays.sort(order, (a, b) -> compareResidual(initialResidual[a], initialResidual[b], a, b));
+        }
+
+        for (int slot = 0; slot < n; slot++) {
+            final int pos = order[slot];
+            this.hosts[slot] = hosts.get(pos);
+            positions[slot] = pos;
+            slots.put(this.hosts[slot], slot);
+            enabled[slot] = true;
+            System.arraycopy(initialResidual[pos], 0, residuals, slot * resources, resources);
+        }
+
+        for (int bucket = 0; bucket * BUCKET_SIZE < n; bucket++) {
+            setLeaf(bucket);
+        }
+
+        for (int node = size - 1; node > 0; node--) {
+            merge(node);
+        }
+    }
+
+    /**
+     * Compares the residual capacities of two Hosts by lexicographic order,
+     * then by their positions.
+     */
+    private int compareResidual(final double[] residual1, final double[] residual2, final int pos1, final int pos2) {
+        for (int r = 0; r < resources; r++) {
+            final int result = Double.compare(residual1[r], residual2[r]);
+            if(result != 0){
+                return result;
+            }
+        }
+
+        return Integer.compare(pos1, pos2);
+    }
+
+    /**
+     * Checks if the tree was built from a given Host list,
+     * considering that the list never changes its elements
+     * while its size doesn't change.
+     *
+     * @param hosts the Host list to check
+     * @return true if the tree was built from such a list, false otherwise
+     */
+    boolean isBuiltFrom(final List<? extends Host> hosts) {
+        return this.hosts.length == hosts.size();
+    }
+
+    /**
+     * Reads the residual capacity of a Host again from its resources,
+     * after they have changed.
+     *
+     * @param host the Host to update
+     */
+    void update(final Host host) {
+        final Integer slot = slots.get(host);
+        if(slot == null){
+            return;
+        }
+
+        policy.getResidualCapacity(host, residual);
+        System.arraycopy(residual, 0, residuals, slot * resources, resources);
+        updateBucket(slot);
+    }
+
+    /**
+     * Excludes a Host from the search, until {@link #includeExcludedHosts()} is called.
+     * @param host the Host to exclude
+     */
+    void exclude(final Host host) {
+        final Integer slot = slots.get(host);
+        if(slot == null || !enabled[slot]){
+            return;
+        }
+
+        enabled[slot] = false;
+        excluded.add(slot);
+        updateBucket(slot);
+    }
+
+    /**
+     * Includes back all Hosts {@link #exclude(Host) excluded} from the search.
+     */
+    void includeExcludedHosts() {
+        for (final int slot : excluded) {
+            enabled[slot] = true;
+            updateBucket(slot);
+        }
+
+        excluded.clear();
+    }
+
+    /**
+     * Finds the Host where a VM fits and which has the lowest score.
+     *
+     * @param demand the amount of each resource the VM requires, in the same scale of the Hosts residual capacity
+     * @param suitability a predicate checking constraints not indexed by the tree (such as the number of PEs),
+     *                    which is just called for Hosts where the VM fits and that may be selected
+     * @return the Host found or {@link Host#NULL} if the VM doesn't fit into any Host
+     */
+    Host findHost(final double[] demand, final Predicate<Host> suitability) {
+        this.bestSlot = NONE;
+        this.bestScore = Double.POSITIVE_INFINITY;
+        this.suitability = suitability;
+        try {
+            visit(1, 0, leaves, demand, computeBound(1, demand));
+            return bestSlot == NONE ? Host.NULL : hosts[bestSlot];
+        } finally {
+            this.suitability = null;
+        }
+    }
+
+    /**
+     * Visits a node if some Host below it may fit the VM and
+     * have a score better than the best one found so far.
+     * The child having the lower score bound
+     * (or the lower Host position, if the bounds are equal) is visited first.
+     *
+     * @param node the node to visit
+     * @param first the first bucket below the node
+     * @param width the number of buckets below the node
+     * @param demand the amount of each resource the VM requires
+     * @param bound the lower bound of the score for Hosts below the node
+     */
+    private void visit(final int node, final int first, final int width, final double[] demand, final double bound) {
+        if(bound == Double.POSITIVE_INFINITY || !isBetter(bound, minPosition[node])){
+            return;
+        }
+
+        if(width == 1){
+            scanBucket(first, demand);
+            return;
+        }
+
+        final int half = width / 2;
+        final double leftBound = computeBound(2 * node, demand);
+        final double rightBound = computeBound(2 * node + 1, demand);
+        if(rightBound < leftBound || rightBound == leftBound && minPosition[2 * node + 1] < minPosition[2 * node]){
+            visit(2 * node + 1, first + half, half, demand, rightBound);
+            visit(2 * node, first, half, demand, leftBound);
+        } else {
+            visit(2 * node, first, half, demand, leftBound);
+            visit(2 * node + 1, first + half, half, demand, rightBound);
+        }
+    }
+
+    /**
+     * Evaluates every enabled Host in a bucket where the VM fits,
+     * selecting the ones that are better than the best Host found so far
+     * and suitable for the VM.
+     *
+     * @param bucket the bucket to scan
+     * @param demand the amount of each resource the VM requires
+     */
+    private void scanBucket(final int bucket, final double[] demand) {
+        final int end = Math.min(hosts.length, (bucket + 1) * BUCKET_SIZE);
+        for (int slot = bucket * BUCKET_SIZE; slot < end; slot++) {
+            if(!enabled[slot] || !fits(slot, demand)){
+                continue;
+            }
+
+            System.arraycopy(residuals, slot * resources, residual, 0, resources);
+            final double score = policy.getScore(demand, residual);
+            if(isBetter(score, positions[slot]) && suitability.test(hosts[slot])){
+                bestScore = score;
+                bestSlot = slot;
+            }
+        }
+    }
+
+    /**
+     * Checks if the residual capacity of every resource of a Host
+     * is enough for the VM demand.
+     */
+    private boolean fits(final int slot, final double[] demand) {
+        final int offset = slot * resources;
+        for (int r = 0; r < resources; r++) {
+            if(residuals[offset + r] < demand[r]){
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a Host with a given score and position
+     * is better than the best Host found so far.
+     */
+    private boolean isBetter(final double score, final int pos) {
+        return bestSlot == NONE || score < bestScore || score == bestScore && pos < positions[bestSlot];
+    }
+
+    /**
+     * Computes the lower bound of the score of the Hosts below a node.
+     *
+     * @param node the node to compute the bound
+     * @param demand the amount of each resource the VM requires
+     * @return the lower bound or {@link Double#POSITIVE_INFINITY}
+     * if the max residual capacity of some resource in the node is lower than the demand
+     * (the VM doesn't fit into any Host below the node)
+     */
+    private double computeBound(final int node, final double[] demand) {
+        final int offset = node * resources;
+        for (int r = 0; r < resources; r++) {
+            if(max[offset + r] < demand[r]){
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+
+        System.arraycopy(min, offset, nodeMin, 0, resources);
+        System.arraycopy(max, offset, nodeMax, 0, resources);
+        return policy.getScoreLowerBound(demand, nodeMin, nodeMax);
+    }
+
+    /**
+     * Computes the bucket of a Host and its ancestors again, after the Host has changed.
+     * @param slot the slot of the Host
+     */
+    private void updateBucket(final int slot) {
+        final int bucket = slot / BUCKET_SIZE;
+        setLeaf(bucket);
+        for (int node = (leaves + bucket) / 2; node > 0; node /= 2) {
+            merge(node);
+        }
+    }
+
+    /**
+     * Computes the min and max residual capacities and the min position of the enabled Hosts in a bucket.
+     * @param bucket the bucket to compute
+     */
+    private void setLeaf(final int bucket) {
+        final int node = leaves + bucket;
+        final int offset = node * resources;
+        Arrays.fill(min, offset, offset + resources, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, offset, offset + resources, Double.NEGATIVE_INFINITY);
+        minPosition[node] = Integer.MAX_VALUE;
+        final int end = Math.min(hosts.length, (bucket + 1) * BUCKET_SIZE);
+        for (int slot = bucket * BUCKET_SIZE; slot < end; slot++) {
+            if(!enabled[slot]){
+                continue;
+            }
+
+            minPosition[node] = Math.min(minPosition[node], positions[slot]);
+            final int hostOffset = slot * resources;
+            for (int r = 0; r < resources; r++) {
+                min[offset + r] = Math.min(min[offset + r], residuals[hostOffset + r]);
+                max[offset + r] = Math.max(max[offset + r], residuals[hostOffset + r]);
+            }
+        }
+    }
+
+    /**
+     * Computes the min and max residual capacities and the min position of a node from its children.
+     * @param node the node to compute
+     */
+    private void merge(final int node) {
+        final int offset = node * resources;
+        final int left = 2 * node * resources;
+        final int right = left + resources;
+        minPosition[node] = Math.min(minPosition[2 * node], minPosition[2 * node + 1]);
+        for (int r = 0; r < resources; r++) {
+            min[offset + r] = Math.min(min[left + r], min[right + r]);
+            max[offset + r] = Math.max(max[left + r], max[right + r]);
+        }
+    }
+}
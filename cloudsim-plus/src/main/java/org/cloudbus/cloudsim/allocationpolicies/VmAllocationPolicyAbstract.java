@@ -268,7 +268,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
             return false;
         }
 
-        Log.printFormattedLine(
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
             "%.2f: %s: %.0f more %s allocated to Vm %d: new capacity is %d. Current resource usage is %.2f%%",
             scaling.getVm().getSimulation().clock(),
             scaling.getClass().getSimpleName(),
@@ -283,7 +283,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
         final ResourceManageable hostResource = scaling.getVm().getHost().getResource(resourceClass);
         final ResourceManageable vmResource = scaling.getVm().getResource(resourceClass);
         final double extraAmountToAllocate = scaling.getResourceAmountToScale();
-        Log.printFormattedLine(
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
             "%.2f: %s: Vm %d requested more %d of %s capacity but the Host %d has just %d of available %s",
             scaling.getVm().getSimulation().clock(),
             scaling.getClass().getSimpleName(),
@@ -306,7 +306,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
         final ResourceProvisioner provisioner = scaling.getVm().getHost().getProvisioner(resourceClass);
         final double newTotalVmResource = vmResource.getCapacity() - amountToDeallocate;
         if(!provisioner.allocateResourceForVm(scaling.getVm(), newTotalVmResource)){
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: %s: Vm %d requested to reduce %s capacity by %d but an unexpected error occurred and the resource was not resized",
                 scaling.getVm().getSimulation().clock(),
                 scaling.getClass().getSimpleName(),
@@ -315,7 +315,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
             return false;
         }
 
-        Log.printFormattedLine(
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
             "%.2f: %s: %d %s deallocated from Vm %d: new capacity is %d. Current resource usage is %.2f%%",
             scaling.getVm().getSimulation().clock(),
             scaling.getClass().getSimpleName(),
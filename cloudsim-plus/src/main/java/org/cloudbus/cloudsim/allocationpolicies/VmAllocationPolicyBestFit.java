@@ -0,0 +1,72 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+/**
+ * A multi-dimensional Best Fit {@link VmAllocationPolicy}
+ * that places a VM into the Host that will have the least residual capacity
+ * after placing the VM, considering the CPU, RAM, bandwidth and storage.
+ * The residual capacity is the sum of the normalized residual capacity of such resources (the L1 norm).
+ *
+ * <p>To get a Best Fit Decreasing (BFD) policy, set the {@link #getDecreasingSizeVmComparator()}
+ * as the VM comparator of the broker.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class VmAllocationPolicyBestFit extends VmAllocationPolicyBinPackingAbstract {
+    /**
+     * Creates a new multi-dimensional Best Fit VmAllocationPolicy.
+     */
+    public VmAllocationPolicyBestFit() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param demand {@inheritDoc}
+     * @param residual {@inheritDoc}
+     * @return the sum of the normalized residual capacity of each resource after placing the VM
+     */
+    @Override
+    protected double getScore(double[] demand, double[] residual) {
+        double sum = 0;
+        for (int r = 0; r < demand.length; r++) {
+            sum += residual[r] - demand[r];
+        }
+
+        return sum;
+    }
+
+    @Override
+    protected double getScoreLowerBound(double[] demand, double[] minResidual, double[] maxResidual) {
+        double sum = 0;
+        for (int r = 0; r < demand.length; r++) {
+            sum += Math.max(minResidual[r], demand[r]) - demand[r];
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.autoscaling.VerticalVmScaling;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An abstract class for {@link VmAllocationPolicy VM allocation policies}
+ * that place VMs as a multi-dimensional bin packing problem,
+ * considering the CPU (MIPS), RAM, bandwidth and storage
+ * a VM requires and a Host has available (its residual capacity).
+ * Each resource is normalized by the largest capacity of such a resource among all Hosts,
+ * so that the resources have the same weight.
+ *
+ * <p>Every sub-class defines a score for placing a VM into a Host (the lower the better)
+ * and a lower bound for the score of a group of Hosts.
+ * The Host residual capacities are indexed by a segment tree
+ * which uses such a bound to skip groups of Hosts that
+ * cannot fit the VM or cannot have a better score than the best Host already found.
+ * This way, the search for a Host usually doesn't traverse the entire Host list.</p>
+ *
+ * <p>The policies are online heuristics, placing each VM as its creation is requested.
+ * To get the decreasing variant of a heuristic (such as First Fit Decreasing),
+ * set the {@link #getDecreasingSizeVmComparator()} as the
+ * {@link DatacenterBroker#setVmComparator(Comparator) broker VM comparator}, so that each list of VMs
+ * submitted to the broker is placed in decreasing order of size.</p>
+ *
+ * <p><b>NOTE: These policies don't perform optimization of VM allocation (placement)
+ * by means of VM migration.</b></p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public abstract class VmAllocationPolicyBinPackingAbstract extends VmAllocationPolicyAbstract {
+    /**
+     * The number of resources considered by the policy: CPU, RAM, BW and storage.
+     */
+    private static final int RESOURCES = 4;
+
+    /**
+     * The tree indexing the Hosts residual capacities,
+     * which is lazily created and built again when the Host list changes.
+     * @see #getTree()
+     */
+    private HostResidualCapacityTree tree;
+
+    /**
+     * The free PEs map used when the {@link #tree} was built,
+     * used to check if the Datacenter was changed.
+     */
+    private Map<Host, Long> treeHostFreePesMap;
+
+    /**
+     * The largest capacity of each resource among all Hosts,
+     * used to normalize resource amounts.
+     */
+    private final double[] scale;
+
+    /**
+     * Creates a new VmAllocationPolicy that places VMs as a multi-dimensional bin packing problem.
+     */
+    public VmAllocationPolicyBinPackingAbstract() {
+        super();
+        scale = new double[RESOURCES];
+    }
+
+    /**
+     * Allocates the Host where the VM fits and has the lowest {@link #getScore(double[], double[]) score}.
+     *
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean allocateHostForVm(Vm vm) {
+        if(getHostList().isEmpty()){
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
+                "%.2f: %s: Vm %s could not be allocated because there isn't any Host for Datacenter %d",
+                vm.getSimulation().clock(), vm.getId(), getDatacenter().getId());
+            return false;
+        }
+
+        if (vm.isCreated()) {
+            return false;
+        }
+
+        final HostResidualCapacityTree tree = getTree();
+        final double[] demand = getDemand(vm);
+        try {
+            for (int tries = 0; tries < getHostList().size(); tries++) {
+                final Host host = tree.findHost(demand, h -> isSuitableForVm(h, vm));
+                if(host == Host.NULL){
+                    return false;
+                }
+
+                if (host.createVm(vm)) {
+                    addUsedPes(vm);
+                    updateHost(host, -vm.getNumberOfPes());
+                    return true;
+                }
+
+                /*The Host has changed since it was indexed or some constraint not checked
+                * prevents the VM to be placed there. The Host is excluded from the search for the VM.*/
+                tree.update(host);
+                tree.exclude(host);
+            }
+
+            return false;
+        } finally {
+            tree.includeExcludedHosts();
+        }
+    }
+
+    /**
+     * Checks the constraints that aren't indexed by the {@link #getTree() tree},
+     * such as the capacity of each Host PE and the PEs available
+     * according to the {@link org.cloudbus.cloudsim.schedulers.vm.VmScheduler}.
+     *
+     * @param host the Host to check
+     * @param vm the VM to be placed
+     * @return true if the VM is suitable for the Host, false otherwise
+     */
+    private boolean isSuitableForVm(final Host host, final Vm vm) {
+        return host.isSuitableForVm(vm) && host.getVmScheduler().isSuitableForVm(vm);
+    }
+
+    @Override
+    public boolean allocateHostForVm(Vm vm, Host host) {
+        if (!host.createVm(vm)) {
+            return false;
+        }
+
+        addUsedPes(vm);
+        updateHost(host, -vm.getNumberOfPes());
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
+            "%.2f: %s: VM #%d has been allocated to the host #%d",
+            vm.getSimulation().clock(), getClass().getSimpleName(),  vm.getId(), host.getId());
+        return true;
+    }
+
+    @Override
+    public void deallocateHostForVm(Vm vm) {
+        final Host host = vm.getHost();
+        final long pes = removeUsedPes(vm);
+        if (host != Host.NULL) {
+            host.destroyVm(vm);
+            updateHost(host, pes);
+        }
+    }
+
+    @Override
+    public boolean scaleVmVertically(VerticalVmScaling scaling) {
+        final boolean scaled = super.scaleVmVertically(scaling);
+        if(scaled) {
+            getTree().update(scaling.getVm().getHost());
+        }
+
+        return scaled;
+    }
+
+    /**
+     * Updates the {@link #getHostFreePesMap() number of free PEs} and the residual capacity of a Host
+     * after a VM was placed into or removed from it.
+     *
+     * @param host the Host to update
+     * @param freePesIncrement the number of PEs to add to (or remove from, if negative) the Host free PEs
+     */
+    private void updateHost(final Host host, final long freePesIncrement) {
+        getHostFreePesMap().computeIfPresent(host, (h, pes) -> pes + freePesIncrement);
+        getTree().update(host);
+    }
+
+    /**
+     * The method in this VmAllocationPolicy doesn't perform any
+     * VM placement optimization and, in fact, has no effect.
+     *
+     * @param vmList the list of VMs
+     * @return an empty map to indicate that it never performs optimization
+     */
+    @Override
+    public Map<Vm, Host> optimizeAllocation(List<? extends Vm> vmList) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Gets the tree indexing the Hosts residual capacities,
+     * building it if the Datacenter was changed.
+     * @return the tree
+     */
+    private HostResidualCapacityTree getTree() {
+        if(tree == null || treeHostFreePesMap != getHostFreePesMap() || !tree.isBuiltFrom(getHostList())){
+            computeScale();
+            treeHostFreePesMap = getHostFreePesMap();
+            tree = new HostResidualCapacityTree(this, getHostList());
+        }
+
+        return tree;
+    }
+
+    private void computeScale() {
+        final double[] capacity = new double[RESOURCES];
+        for (int r = 0; r < RESOURCES; r++) {
+            scale[r] = 1;
+        }
+
+        for (final Host host : getHostList()) {
+            getCapacity(host, capacity);
+            for (int r = 0; r < RESOURCES; r++) {
+                scale[r] = Math.max(scale[r], capacity[r]);
+            }
+        }
+    }
+
+    /**
+     * Indicates if Hosts having similar capacities are grouped together into the index
+     * of Hosts residual capacities, which makes the {@link #getScoreLowerBound(double[], double[], double[]) score bound}
+     * of each group of Hosts tighter. Otherwise, Hosts are indexed in the order of the Host list.
+     *
+     * <p>Policies where the score doesn't depend on the Host residual capacity
+     * should return false, since the Host list order is what defines the selected Host.</p>
+     *
+     * @return true if Hosts are grouped by capacity (the default), false otherwise
+     */
+    protected boolean isGroupingHostsByCapacity() {
+        return true;
+    }
+
+    /**
+     * Gets the number of resources considered by the policy.
+     * @return the number of resources
+     */
+    final int getNumberOfResources() {
+        return RESOURCES;
+    }
+
+    private static void getCapacity(final Host host, final double[] capacity) {
+        capacity[0] = host.getTotalMipsCapacity();
+        capacity[1] = host.getRam().getCapacity();
+        capacity[2] = host.getBw().getCapacity();
+        capacity[3] = host.getStorage().getCapacity();
+    }
+
+    /**
+     * Gets the normalized residual (available) capacity of each resource of a Host.
+     *
+     * @param host the Host to get its residual capacity
+     * @param residual the array where the normalized residual capacity of each resource will be stored
+     */
+    final void getResidualCapacity(final Host host, final double[] residual) {
+        residual[0] = host.getAvailableMips() / scale[0];
+        residual[1] = host.getRam().getAvailableResource() / scale[1];
+        residual[2] = host.getBw().getAvailableResource() / scale[2];
+        residual[3] = host.getStorage().getAvailableResource() / scale[3];
+    }
+
+    /**
+     * Gets the normalized amount of each resource a VM requires.
+     *
+     * @param vm the VM to get its demand
+     * @return an array with the normalized demand of each resource
+     */
+    final double[] getDemand(final Vm vm) {
+        final double[] demand = new double[RESOURCES];
+        demand[0] = vm.getCurrentRequestedTotalMips() / scale[0];
+        demand[1] = vm.getCurrentRequestedRam() / scale[1];
+        demand[2] = vm.getCurrentRequestedBw() / scale[2];
+        demand[3] = vm.getStorage().getCapacity() / scale[3];
+        return demand;
+    }
+
+    /**
+     * Gets a {@link Comparator} that sorts VMs in decreasing order of size,
+     * where the size is the sum of the normalized amount of each resource the VM requires.
+     * VMs with the same size are sorted by id.
+     *
+     * <p>Setting it as the {@link DatacenterBroker#setVmComparator(Comparator) broker VM comparator}
+     * enables the decreasing variant of the heuristic implemented by the policy
+     * (such as First Fit Decreasing or Best Fit Decreasing) for each list of VMs submitted to the broker.
+     * <b>The comparator must be got after the Datacenter is created.</b></p>
+     *
+     * @return the VM comparator
+     */
+    public Comparator<Vm> getDecreasingSizeVmComparator() {
+        getTree();
+        return Comparator.comparingDouble(this::getSize).reversed().thenComparingInt(Vm::getId);
+    }
+
+    private double getSize(final Vm vm) {
+        double size = 0;
+        for (final double amount : getDemand(vm)) {
+            size += amount;
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the score for placing a VM into a Host where the VM fits.
+     * The Host with the lowest score is selected.
+     * Hosts with the same score are selected according to their position in the Host list.
+     *
+     * @param demand the normalized amount of each resource the VM requires
+     * @param residual the normalized residual capacity of each resource of the Host
+     * @return the score, which must be finite
+     */
+    protected abstract double getScore(double[] demand, double[] residual);
+
+    /**
+     * Gets a lower bound for the {@link #getScore(double[], double[]) score}
+     * of placing a VM into any Host of a group,
+     * given the min and max residual capacity of each resource among these Hosts.
+     * The closer to the actual min score, the less Hosts are evaluated.
+     *
+     * @param demand the normalized amount of each resource the VM requires
+     * @param minResidual the normalized min residual capacity of each resource among the Hosts
+     * @param maxResidual the normalized max residual capacity of each resource among the Hosts
+     *                    (which is always equal or greater than the demand)
+     * @return a value lower than or equal to the score of every Host in the group
+     */
+    protected abstract double getScoreLowerBound(double[] demand, double[] minResidual, double[] maxResidual);
+}
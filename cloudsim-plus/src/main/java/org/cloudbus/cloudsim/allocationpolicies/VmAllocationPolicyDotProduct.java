@@ -0,0 +1,69 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+/**
+ * A multi-dimensional {@link VmAllocationPolicy} that places a VM into the Host
+ * which maximizes the dot product between the resources the VM requires
+ * and the residual capacity of the Host, considering the normalized CPU, RAM, bandwidth and storage.
+ * It favours Hosts having more capacity available for the resources the VM mostly requires,
+ * aligning the VM demand with the Host residual capacity.
+ *
+ * <p>The heuristic is presented in R. Panigrahy, K. Talwar, L. Uyeda and U. Wieder,
+ * "Heuristics for Vector Bin Packing", Microsoft Research, 2011.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class VmAllocationPolicyDotProduct extends VmAllocationPolicyBinPackingAbstract {
+    /**
+     * Creates a new multi-dimensional Dot Product VmAllocationPolicy.
+     */
+    public VmAllocationPolicyDotProduct() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param demand {@inheritDoc}
+     * @param residual {@inheritDoc}
+     * @return the negative dot product between the VM demand and the Host residual capacity,
+     *         so that the Host with the max dot product has the lowest score
+     */
+    @Override
+    protected double getScore(double[] demand, double[] residual) {
+        double product = 0;
+        for (int r = 0; r < demand.length; r++) {
+            product += demand[r] * residual[r];
+        }
+
+        return -product;
+    }
+
+    @Override
+    protected double getScoreLowerBound(double[] demand, double[] minResidual, double[] maxResidual) {
+        return getScore(demand, maxResidual);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+/**
+ * A multi-dimensional First Fit {@link VmAllocationPolicy}
+ * that places a VM into the first Host in the Host list where the VM fits,
+ * considering the CPU, RAM, bandwidth and storage the VM requires.
+ *
+ * <p>To get a First Fit Decreasing (FFD) policy, set the {@link #getDecreasingSizeVmComparator()}
+ * as the VM comparator of the broker.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class VmAllocationPolicyFirstFit extends VmAllocationPolicyBinPackingAbstract {
+    /**
+     * Creates a new multi-dimensional First Fit VmAllocationPolicy.
+     */
+    public VmAllocationPolicyFirstFit() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since all Hosts have the same score, the first one where the VM fits is selected.
+     *
+     * @param demand {@inheritDoc}
+     * @param residual {@inheritDoc}
+     * @return always 0
+     */
+    @Override
+    protected double getScore(double[] demand, double[] residual) {
+        return 0;
+    }
+
+    @Override
+    protected double getScoreLowerBound(double[] demand, double[] minResidual, double[] maxResidual) {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return always false, since the first Host in the Host list where the VM fits must be selected
+     */
+    @Override
+    protected boolean isGroupingHostsByCapacity() {
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+/**
+ * A multi-dimensional {@link VmAllocationPolicy} that places a VM into the Host
+ * which minimizes the L2 norm of the difference between the Host residual capacity and the
+ * resources the VM requires, considering the normalized CPU, RAM, bandwidth and storage.
+ * It favours Hosts where the VM fills the available capacity of all resources in a balanced way.
+ *
+ * <p>The heuristic is presented in R. Panigrahy, K. Talwar, L. Uyeda and U. Wieder,
+ * "Heuristics for Vector Bin Packing", Microsoft Research, 2011.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class VmAllocationPolicyNormBased extends VmAllocationPolicyBinPackingAbstract {
+    /**
+     * Creates a new multi-dimensional Norm-based VmAllocationPolicy.
+     */
+    public VmAllocationPolicyNormBased() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param demand {@inheritDoc}
+     * @param residual {@inheritDoc}
+     * @return the squared L2 norm of the difference between the Host residual capacity and the VM demand
+     */
+    @Override
+    protected double getScore(double[] demand, double[] residual) {
+        double sum = 0;
+        for (int r = 0; r < demand.length; r++) {
+            final double diff = residual[r] - demand[r];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+
+    @Override
+    protected double getScoreLowerBound(double[] demand, double[] minResidual, double[] maxResidual) {
+        double sum = 0;
+        for (int r = 0; r < demand.length; r++) {
+            final double diff = Math.max(minResidual[r], demand[r]) - demand[r];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+}
@@ -26,6 +26,13 @@ import java.util.*;
  * @since CloudSim Toolkit 1.0
  */
 public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
+    /**
+     * Indexes the number of free PEs of each Host in the {@link #getHostFreePesMap()},
+     * to quickly find the Host with less used PEs.
+     * It's lazily created and built again when such a map is replaced.
+     * @see #getHostFreePesTree()
+     */
+    private HostFreePesTree hostFreePesTree;
 
     /**
      * Creates a new VmAllocationPolicySimple object.
@@ -48,7 +55,7 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
     @Override
     public boolean allocateHostForVm(Vm vm) {
         if(getHostList().isEmpty()){
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: %s: Vm %s could not be allocated because there isn't any Host for Datacenter %d",
                 vm.getSimulation().clock(), vm.getId(), getDatacenter().getId());
             return false;
@@ -58,27 +65,34 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
             return false;
         }
 
-        List<Host> hostsWhereVmCreationFailed = new ArrayList<>();
-        //We still trying until we find a host or until we try all of them
-        for(int tries = 0; tries < getHostFreePesMap().size(); tries++) {
-            Map.Entry<Host, Long> entry = getHostWithLessUsedPes(hostsWhereVmCreationFailed);
-            Host host = entry.getKey();
-            final long hostFreePes = entry.getValue();
-            if (host.createVm(vm)) {
-                addUsedPes(vm);
-                getHostFreePesMap().put(host, hostFreePes - vm.getNumberOfPes());
-                if(!hostsWhereVmCreationFailed.isEmpty()){
-                    Log.printFormattedLine(
-                            "%.2f: %s: %s was successfully allocated to %s",
-                             vm.getSimulation().clock(), getClass().getSimpleName(), vm, host);
+        final HostFreePesTree tree = getHostFreePesTree();
+        try {
+            //We still trying until we find a host or until we try all of them
+            for(int tries = 0; tries < getHostFreePesMap().size(); tries++) {
+                final Host host = getHostWithLessUsedPes(tree);
+                if(host == Host.NULL){
+                    return false;
                 }
-                return true;
-            } else {
-                hostsWhereVmCreationFailed.add(host);
+
+                final long hostFreePes = getHostFreePesMap().getOrDefault(host, 0L);
+                if (host.createVm(vm)) {
+                    addUsedPes(vm);
+                    setHostFreePes(host, hostFreePes - vm.getNumberOfPes());
+                    if(tries > 0){
+                        Log.printFormattedLine(Log.Level.INFO, getClass(),
+                                "%.2f: %s: %s was successfully allocated to %s",
+                                 vm.getSimulation().clock(), getClass().getSimpleName(), vm, host);
+                    }
+                    return true;
+                }
+
+                tree.exclude(host);
             }
-        }
 
-        return false;
+            return false;
+        } finally {
+            tree.includeExcludedHosts();
+        }
     }
 
     @Override
@@ -89,9 +103,9 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
 
         final long requiredPes = vm.getNumberOfPes();
         addUsedPes(vm);
-        getHostFreePesMap().put(host, getHostFreePesMap().get(host) - requiredPes);
+        setHostFreePes(host, getHostFreePesMap().get(host) - requiredPes);
 
-        Log.printFormattedLine(
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
             "%.2f: %s: VM #%d has been allocated to the host #%d",
             vm.getSimulation().clock(), getClass().getSimpleName(),  vm.getId(), host.getId());
         return true;
@@ -99,36 +113,51 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
 
     /**
      * Gets the host from the {@link #getHostList()} that has
-     * the less number of used PEs.
+     * the less number of used PEs (that is, the most number of free PEs).
+     * If many Hosts have the same number of free PEs, the one with the lower id is selected,
+     * ensuring the results are always the same for a specific static simulation.
      *
-     * <b>The method must not be called without checking if the host list is empty first.</b>
+     * <p>If the number of free PEs of the selected Host is outdated
+     * (because the {@link #getHostFreePesMap()} was directly changed),
+     * the Host is updated and the selection is performed again.</p>
      *
-     * @param ignoredHosts the list of hosts that have to be ignored when selecting the
-     *                     host with less used PEs. These list can be, for instance,
-     *                     the list of hosts that the creation of a given VM failed.
-     * @return an Entry where the key is the Host and the value is
-     * the number of used PEs if a Host is found, or an Entry with a {@link Host#NULL}
-     * key if not found
-     * @todo sorting the Host list may degrade performance
-     * for large scale simulations. The number of free PEs
-     * may be taken directly from each Host in a List,
-     * avoiding the use of Maps that doesn't ensure order.
-     * The entries are being sorted just to ensure that
-     * the results are always the same for a specific static simulation.
-     * Without the sort, usually the allocation of Hosts to VMs
-     * is different during debug, because of the unsorted
-     * nature of the Map.
+     * @param tree the tree indexing the free PEs of Hosts, from where the
+     *             hosts where the creation of a given VM failed are excluded
+     * @return the Host with less used PEs or {@link Host#NULL} if not found
+     */
+    private Host getHostWithLessUsedPes(final HostFreePesTree tree) {
+        Host host = tree.getHostWithMostFreePes();
+        Long freePes;
+        while(host != Host.NULL && (freePes = getHostFreePesMap().get(host)) != null && freePes != tree.getFreePes(host)) {
+            tree.setFreePes(host, freePes);
+            host = tree.getHostWithMostFreePes();
+        }
+
+        return host;
+    }
+
+    /**
+     * Gets the tree indexing the number of free PEs of each Host,
+     * building it if the {@link #getHostFreePesMap()} was replaced.
+     * @return the Host free PEs tree
+     */
+    private HostFreePesTree getHostFreePesTree() {
+        if(hostFreePesTree == null || !hostFreePesTree.isBuiltFrom(getHostFreePesMap())){
+            hostFreePesTree = new HostFreePesTree(getHostFreePesMap());
+        }
+
+        return hostFreePesTree;
+    }
+
+    /**
+     * Sets the number of free PEs of a Host into the {@link #getHostFreePesMap()}
+     * and into the {@link #hostFreePesTree}.
+     * @param host the Host to update
+     * @param freePes the new number of free PEs
      */
-    private Map.Entry<Host, Long> getHostWithLessUsedPes(List<Host> ignoredHosts) {
-        final Map<Host, Long> map = getHostFreePesMap();
-        final Host host = map.keySet()
-                .stream()
-                .filter(h -> !ignoredHosts.contains(h))
-                .sorted(Comparator.comparingInt(Host::getId))
-                .max(Comparator.comparingLong(h -> map.get(h)))
-                .orElseGet(() -> Host.NULL);
-
-        return new TreeMap.SimpleEntry<>(host, map.getOrDefault(host, 0L));
+    private void setHostFreePes(final Host host, final long freePes) {
+        getHostFreePesMap().put(host, freePes);
+        getHostFreePesTree().setFreePes(host, freePes);
     }
 
     @Override
@@ -137,7 +166,7 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
         final long pes = removeUsedPes(vm);
         if (host != Host.NULL) {
             host.destroyVm(vm);
-            getHostFreePesMap().put(host, getHostFreePesMap().get(host) + pes);
+            setHostFreePes(host, getHostFreePesMap().get(host) + pes);
         }
     }
 
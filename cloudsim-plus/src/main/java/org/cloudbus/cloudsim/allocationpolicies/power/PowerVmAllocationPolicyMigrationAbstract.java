@@ -13,7 +13,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.cloudbus.cloudsim.hosts.Host;
-import org.cloudbus.cloudsim.hosts.HostDynamicWorkload;
 import org.cloudbus.cloudsim.hosts.power.PowerHost;
 import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.util.Log;
@@ -92,6 +91,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      */
     private final Map<Host, List<Double>> timeHistory;
 
+    /**
+     * The Hosts that received VMs temporarily created by {@link #getNewVmPlacementFromUnderloadedHost(List, Set)},
+     * since the last time the {@link UnderloadedHostQueue} was updated.
+     */
+    private final Set<PowerHost> hostsWithTemporaryVms;
+
     /**
      * Creates a PowerVmAllocationPolicyMigrationAbstract.
      *
@@ -104,6 +109,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         this.utilizationHistory = new HashMap<>();
         this.metricHistory = new HashMap<>();
         this.timeHistory = new HashMap<>();
+        this.hostsWithTemporaryVms = new HashSet<>();
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
@@ -151,26 +157,27 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         excludedHostsForFindingNewVmPlacement.addAll(switchedOffHosts);
 
         final int numberOfHosts = getHostList().size();
+        final UnderloadedHostQueue underloadedHosts = new UnderloadedHostQueue(excludedHostsFromUnderloadSearch);
 
         while (true) {
             if (numberOfHosts == excludedHostsFromUnderloadSearch.size()) {
                 break;
             }
 
-            final PowerHost underloadedHost = getUnderloadedHost(excludedHostsFromUnderloadSearch);
+            underloadedHosts.update();
+            final PowerHost underloadedHost = underloadedHosts.poll();
             if (underloadedHost == PowerHost.NULL) {
                 break;
             }
 
-            Log.printFormattedLine("%.2f: PowerVmAllocationPolicy: Underloaded hosts: %s", getDatacenter().getSimulation().clock(),  underloadedHost);
+            Log.printFormattedLine(Log.Level.INFO, getClass(), "%.2f: PowerVmAllocationPolicy: Underloaded hosts: %s", getDatacenter().getSimulation().clock(),  underloadedHost);
 
             excludedHostsFromUnderloadSearch.add(underloadedHost);
             excludedHostsForFindingNewVmPlacement.add(underloadedHost);
 
             List<? extends Vm> vmsToMigrateFromUnderloadedHost = getVmsToMigrateFromUnderUtilizedHost(underloadedHost);
             if (!vmsToMigrateFromUnderloadedHost.isEmpty()) {
-                Log.printFormatted("\tVMs to be reallocated from the underloaded Host %d: ", underloadedHost.getId());
-                printVmIds(vmsToMigrateFromUnderloadedHost);
+                printVmIds(underloadedHost, vmsToMigrateFromUnderloadedHost);
 
                 final Map<Vm, Host> newVmPlacement = getNewVmPlacementFromUnderloadedHost(
                         vmsToMigrateFromUnderloadedHost,
@@ -178,13 +185,16 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
 
                 excludedHostsFromUnderloadSearch.addAll(extractHostListFromMigrationMap(newVmPlacement));
                 migrationMap.putAll(newVmPlacement);
-                Log.printLine();
+                if (Log.isEnabled(getClass(), Log.Level.INFO)) {
+                    Log.printLine();
+                }
             }
         }
     }
 
-    private void printVmIds(List<? extends Vm> vmList) {
-        if (!Log.isDisabled()) {
+    private void printVmIds(PowerHost underloadedHost, List<? extends Vm> vmList) {
+        if (Log.isEnabled(getClass(), Log.Level.INFO)) {
+            Log.printFormatted("\tVMs to be reallocated from the underloaded Host %d: ", underloadedHost.getId());
             vmList.forEach(vm -> Log.printFormatted("Vm %d ", vm.getId()));
             Log.printLine();
         }
@@ -196,8 +206,8 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * @param overloadedHosts the over utilized hosts
      */
     private void printOverUtilizedHosts(Set<PowerHostUtilizationHistory> overloadedHosts) {
-        if (!Log.isDisabled() && !overloadedHosts.isEmpty()) {
-            Log.printFormattedLine("%.2f: PowerVmAllocationPolicy: Overloaded hosts in %s: %s",
+        if (Log.isEnabled(getClass(), Log.Level.INFO) && !overloadedHosts.isEmpty()) {
+            Log.printFormattedLine(Log.Level.INFO, getClass(), "%.2f: PowerVmAllocationPolicy: Overloaded hosts in %s: %s",
                 getDatacenter().getSimulation().clock(), getDatacenter(),
                 overloadedHosts.stream().map(h -> String.valueOf(h.getId())).collect(joining(",")));
         }
@@ -280,11 +290,13 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * @see #findHostForVmInternal(Vm, Stream)
      */
     public PowerHost findHostForVm(final Vm vm, final Set<? extends Host> excludedHosts, Predicate<PowerHost> predicate) {
+        /*The given predicate is applied before checking if the Host will be overloaded after the VM placement,
+        * since such a check temporarily creates the VM into the Host.*/
         final Stream<PowerHost> stream = this.<PowerHost>getHostList().stream()
             .filter(h -> !excludedHosts.contains(h))
             .filter(h -> h.isSuitableForVm(vm))
-            .filter(h -> isNotHostOverloadedAfterAllocation(h, vm))
-            .filter(predicate);
+            .filter(predicate)
+            .filter(h -> isNotHostOverloadedAfterAllocation(h, vm));
 
         return findHostForVmInternal(vm, stream).orElse(PowerHost.NULL);
     }
@@ -302,10 +314,20 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * @see #additionalHostFilters(Vm, Stream)
      */
     protected Optional<PowerHost> findHostForVmInternal(final Vm vm, final Stream<PowerHost> hostStream){
-        final Comparator<PowerHost> hostPowerConsumptionComparator =
-            Comparator.comparingDouble(h -> getPowerAfterAllocationDifference(h, vm));
+        /*Computes the power difference just once for each Host,
+        * keeping the first Host found when there is a tie (as Stream.min does).*/
+        PowerHost selectedHost = null;
+        double minPowerDifference = 0;
+        for (final Iterator<PowerHost> it = additionalHostFilters(vm, hostStream).iterator(); it.hasNext(); ) {
+            final PowerHost host = it.next();
+            final double powerDifference = getPowerAfterAllocationDifference(host, vm);
+            if (selectedHost == null || Double.compare(powerDifference, minPowerDifference) < 0) {
+                selectedHost = host;
+                minPowerDifference = powerDifference;
+            }
+        }
 
-        return additionalHostFilters(vm, hostStream).min(hostPowerConsumptionComparator);
+        return Optional.ofNullable(selectedHost);
     }
 
     /**
@@ -387,8 +409,8 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
             //try to find a target Host to place a VM from an underloaded Host that is not underloaded too
             final PowerHost targetHost = findHostForVm(vm, excludedHosts, host -> !isHostUnderloaded(host));
             if (PowerHost.NULL == targetHost) {
-                Log.printFormattedLine("\tA new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate %s.", vm);
-                Log.printFormattedLine("\tMigration of VMs from the underloaded %s cancelled.", vm.getHost());
+                Log.printFormattedLine(Log.Level.INFO, getClass(), "\tA new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate %s.", vm);
+                Log.printFormattedLine(Log.Level.INFO, getClass(), "\tMigration of VMs from the underloaded %s cancelled.", vm.getHost());
                 return new HashMap<>();
             } else {
                 /*
@@ -398,7 +420,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
                 used by the previous VM will be considering when
                 assessing the suitability of such a Host for the next VM.
                  */
-                targetHost.createTemporaryVm(vm);
+                createTemporaryVm(targetHost, vm);
                 Log.printConcatLine("\tVM #", vm.getId(), " will be allocated to host #", targetHost.getId());
                 migrationMap.put(vm, targetHost);
             }
@@ -407,6 +429,19 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         return migrationMap;
     }
 
+    /**
+     * Temporarily creates a VM into a Host, while computing a new placement for VMs,
+     * and keeps track of such a Host, which may become selectable as underloaded.
+     *
+     * @param host the Host to temporarily create the VM into
+     * @param vm the VM to create
+     * @see UnderloadedHostQueue#update()
+     */
+    void createTemporaryVm(final PowerHost host, final Vm vm) {
+        host.createTemporaryVm(vm);
+        hostsWithTemporaryVms.add(host);
+    }
+
     /**
      * Gets the VMs to migrate from Hosts.
      *
@@ -481,27 +516,118 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Checks if a Host can be selected as an underloaded Host
+     * to have its VMs migrated.
      * If a Host is underloaded but it has VMs migrating in,
-     * then it's not included in the returned List
+     * then it can't be selected
      * because the VMs to be migrated to move the Host from
      * the underload state already are in migration to it.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It just has to wait the VMs to finish
      * the migration.
      *
-     * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
-     * @return the most under utilized host or {@link PowerHost#NULL} if no Host is found
+     * @param host the Host to check
+     * @return true if the Host can be selected as underloaded, false otherwise
+     */
+    private boolean isUnderloadedHostSelectable(final PowerHost host) {
+        return host.getUtilizationOfCpu() > 0 &&
+               isHostUnderloaded(host) &&
+               host.getVmsMigratingIn().isEmpty() &&
+               isNotAllVmsMigratingOut(host);
+    }
+
+    /**
+     * A priority queue of the Hosts that can be selected as underloaded,
+     * ordered by CPU utilization and by the position of the Host in the Host list
+     * (so that the first Host is selected when there is a tie).
+     * It's used to get the most underloaded Host several times along a consolidation round,
+     * without searching the entire Host list every time.
+     *
+     * <p>The queue is built just once for a consolidation round.
+     * During such a round, the utilization of a Host just increases,
+     * when VMs are temporarily created into it.
+     * This way, when a Host is polled, its utilization is checked again
+     * and if it has changed, the Host is put back into the queue
+     * with the new utilization.
+     * Hosts that couldn't be selected before and have received temporary VMs
+     * are checked again when the queue is {@link #update() updated}.</p>
+     */
+    final class UnderloadedHostQueue {
+        private final PriorityQueue<HostUtilization> queue;
+        private final Map<Host, Integer> hostIndexes;
+        private final Set<? extends Host> excludedHosts;
+
+        UnderloadedHostQueue(final Set<? extends Host> excludedHosts) {
+            this.excludedHosts = excludedHosts;
+            final List<PowerHost> hostList = getHostList();
+            this.queue = new PriorityQueue<>(Math.max(1, hostList.size()));
+            this.hostIndexes = new HashMap<>(hostList.size());
+            hostsWithTemporaryVms.clear();
+            for (int i = 0; i < hostList.size(); i++) {
+                final PowerHost host = hostList.get(i);
+                hostIndexes.put(host, i);
+                offer(host);
+            }
+        }
+
+        private void offer(final PowerHost host) {
+            if (!excludedHosts.contains(host) && isUnderloadedHostSelectable(host)) {
+                queue.offer(new HostUtilization(host, host.getUtilizationOfCpu(), hostIndexes.get(host)));
+            }
+        }
+
+        /**
+         * Adds again the Hosts that have received temporary VMs,
+         * since they may be selected as underloaded now.
+         */
+        void update() {
+            hostsWithTemporaryVms.forEach(this::offer);
+            hostsWithTemporaryVms.clear();
+        }
+
+        /**
+         * Removes the most underloaded Host from the queue.
+         * @return the most underloaded Host or {@link PowerHost#NULL} if no Host is found
+         */
+        PowerHost poll() {
+            while (!queue.isEmpty()) {
+                final HostUtilization head = queue.poll();
+                final PowerHost host = head.host;
+                if (excludedHosts.contains(host)) {
+                    continue;
+                }
+
+                final double utilization = host.getUtilizationOfCpu();
+                if (utilization != head.utilization) {
+                    offer(host);
+                } else if (isUnderloadedHostSelectable(host)) {
+                    return host;
+                }
+            }
+
+            return PowerHost.NULL;
+        }
+    }
+
+    /**
+     * The CPU utilization of a Host when it was added to the {@link UnderloadedHostQueue}.
      */
-    private PowerHost getUnderloadedHost(Set<? extends Host> excludedHosts) {
-        return this.<PowerHost>getHostList().stream()
-            .filter(h -> !excludedHosts.contains(h))
-            .filter(h -> h.getUtilizationOfCpu() > 0)
-            .filter(this::isHostUnderloaded)
-            .filter(h -> h.getVmsMigratingIn().isEmpty())
-            .filter(this::isNotAllVmsMigratingOut)
-            .min(Comparator.comparingDouble(HostDynamicWorkload::getUtilizationOfCpu))
-            .orElse(PowerHost.NULL);
+    private static final class HostUtilization implements Comparable<HostUtilization> {
+        private final PowerHost host;
+        private final double utilization;
+        private final int index;
+
+        HostUtilization(final PowerHost host, final double utilization, final int index) {
+            this.host = host;
+            this.utilization = utilization;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(final HostUtilization other) {
+            final int result = Double.compare(utilization, other.utilization);
+            return result == 0 ? Integer.compare(index, other.index) : result;
+        }
     }
 
     /**
@@ -586,7 +712,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         for (final Vm vm : savedAllocation.keySet()) {
             final PowerHost host = (PowerHost) savedAllocation.get(vm);
             if (!host.createTemporaryVm(vm)) {
-                Log.printFormattedLine(
+                Log.printFormattedLine(Log.Level.INFO, getClass(),
                         "Couldn't restore VM #%d on Host #%d",
                         vm.getId(), host.getId());
                 return;
@@ -608,7 +734,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         try {
             return host.getPowerModel().getPower(getMaxUtilizationAfterAllocation(host, vm));
         } catch (Exception e) {
-            Log.printFormattedLine("[ERROR] Power consumption for Host %d could not be determined: ", host.getId(), e.getMessage());
+            Log.printFormattedLine(Log.Level.ERROR, getClass(), "[ERROR] Power consumption for Host %d could not be determined: ", host.getId(), e.getMessage());
         }
 
         return 0;
@@ -659,15 +785,15 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * @param metric the metric to be added to the metric history map
      */
     protected void addHistoryEntryIfAbsent(PowerHost host, double metric) {
-        timeHistory.putIfAbsent(host, new LinkedList<>());
-        utilizationHistory.putIfAbsent(host, new LinkedList<>());
-        metricHistory.putIfAbsent(host, new LinkedList<>());
+        final List<Double> hostTimeHistory = timeHistory.computeIfAbsent(host, h -> new LinkedList<>());
 
+        /*Since entries are added in chronological order,
+        * if there is an entry for the current time, it's the last one.*/
         final Simulation simulation = host.getSimulation();
-        if (!timeHistory.get(host).contains(simulation.clock())) {
-            timeHistory.get(host).add(simulation.clock());
-            utilizationHistory.get(host).add(host.getUtilizationOfCpu());
-            metricHistory.get(host).add(metric);
+        if (hostTimeHistory.isEmpty() || hostTimeHistory.get(hostTimeHistory.size()-1) != simulation.clock()) {
+            hostTimeHistory.add(simulation.clock());
+            utilizationHistory.computeIfAbsent(host, h -> new LinkedList<>()).add(host.getUtilizationOfCpu());
+            metricHistory.computeIfAbsent(host, h -> new LinkedList<>()).add(metric);
         }
     }
 
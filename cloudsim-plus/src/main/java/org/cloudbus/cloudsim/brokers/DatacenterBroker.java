@@ -16,6 +16,8 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventListener;
 
@@ -76,6 +78,8 @@ public interface DatacenterBroker extends SimEntity {
     /**
      * Gets a <b>copy</b> of the list of cloudlets that have finished executing,
      * to avoid the original list to be changed.
+     * The list contains at most the {@link #getMaxFinishedCloudlets() max number of finished Cloudlets},
+     * in the order they have finished.
      *
      * @param <T> the class of Cloudlets inside the list
      * @return the list of finished cloudlets
@@ -335,6 +339,47 @@ public interface DatacenterBroker extends SimEntity {
      */
     DatacenterBroker addOneTimeOnVmsCreatedListener(EventListener<DatacenterBrokerEventInfo> listener);
 
+    /**
+     * Adds an {@link EventListener} that will be notified every time
+     * a Cloudlet finishes and is returned to the broker.
+     * It enables finished Cloudlets to be processed as soon as they finish
+     * (for instance, to collect statistics or write results to a file),
+     * instead of keeping all of them into the {@link #getCloudletFinishedList() finished list}
+     * until the end of the simulation.
+     *
+     * @param listener the Listener that will be notified
+     * @return
+     * @see #setMaxFinishedCloudlets(int)
+     */
+    DatacenterBroker addOnCloudletReturnListener(EventListener<CloudletVmEventInfo> listener);
+
+    /**
+     * Gets the maximum number of Cloudlets kept into the {@link #getCloudletFinishedList() finished list}.
+     * The default value is {@link Integer#MAX_VALUE}, meaning all finished Cloudlets are kept.
+     *
+     * @return the maximum number of finished Cloudlets to keep
+     * @see #setMaxFinishedCloudlets(int)
+     */
+    int getMaxFinishedCloudlets();
+
+    /**
+     * Sets the maximum number of Cloudlets kept into the {@link #getCloudletFinishedList() finished list}.
+     * When such a number is exceeded, the oldest finished Cloudlets are removed from the list
+     * (and from the {@link #getCloudletCreatedList() created list}),
+     * so that the broker doesn't keep references to every Cloudlet executed along the simulation.
+     *
+     * <p>Setting it to 0 makes the broker to keep no finished Cloudlet.
+     * In this case, finished Cloudlets can be processed by an
+     * {@link #addOnCloudletReturnListener(EventListener) OnCloudletReturn Listener}.</p>
+     *
+     * @param maxFinishedCloudlets the maximum number of finished Cloudlets to keep,
+     *                             or {@link Integer#MAX_VALUE} to keep all of them
+     * @return
+     * @throws IllegalArgumentException when the given value is negative
+     * @see org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler#setMaxFinishedCloudlets(int)
+     */
+    DatacenterBroker setMaxFinishedCloudlets(int maxFinishedCloudlets);
+
     /**
      * Gets a {@link Function} which defines when an idle VM should be destroyed.
      * The Function receives a {@link Vm} and returns the delay to wait (in seconds),
@@ -373,4 +418,26 @@ public interface DatacenterBroker extends SimEntity {
      * @see Vm#getIdleInterval()
      */
     DatacenterBroker setVmDestructionDelayFunction(final Function<Vm, Double> function);
+
+    /**
+     * Checks if Cloudlets are submitted to Datacenters in batches.
+     * In such a mode, all Cloudlets bound to VMs of the same Datacenter
+     * and having the same {@link Cloudlet#getSubmissionDelay() submission delay}
+     * are sent inside a single {@link CloudSimTags#CLOUDLET_SUBMIT_LIST} event,
+     * instead of sending one {@link CloudSimTags#CLOUDLET_SUBMIT} event for each Cloudlet.
+     *
+     * @return true if Cloudlets are submitted in batches, false otherwise (the default)
+     */
+    boolean isCloudletBatchSubmissionEnabled();
+
+    /**
+     * Enables or disables the submission of Cloudlets to Datacenters in batches,
+     * which reduces the number of events created when a large number of
+     * Cloudlets is submitted.
+     *
+     * @param enabled true to submit Cloudlets in batches, false to submit one Cloudlet per event
+     * @return
+     * @see #isCloudletBatchSubmissionEnabled()
+     */
+    DatacenterBroker setCloudletBatchSubmissionEnabled(boolean enabled);
 }
@@ -52,6 +52,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private Map<EventListener<DatacenterBrokerEventInfo>, Boolean> onVmsCreatedListeners;
 
+    /**
+     * @see #addOnCloudletReturnListener(EventListener)
+     */
+    private final List<EventListener<CloudletVmEventInfo>> onCloudletReturnListeners;
+
     /**
      * @see #getLastSelectedVm()
      */
@@ -109,7 +114,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /**
      * @see #getCloudletFinishedList()
      */
-    private final List<Cloudlet> cloudletsFinishedList;
+    private final Deque<Cloudlet> cloudletsFinishedList;
+
+    /**
+     * @see #getMaxFinishedCloudlets()
+     */
+    private int maxFinishedCloudlets;
 
     /**
      * @see #getCloudletCreatedList()
@@ -141,6 +151,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private Function<Vm, Double> vmDestructionDelayFunction;
 
+    /**
+     * @see #isCloudletBatchSubmissionEnabled()
+     */
+    private boolean cloudletBatchSubmissionEnabled;
+
     /**
      * Creates a DatacenterBroker object.
      *
@@ -150,6 +165,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     public DatacenterBrokerAbstract(CloudSim simulation) {
         super(simulation);
         this.onVmsCreatedListeners = new HashMap<>();
+        this.onCloudletReturnListeners = new ArrayList<>();
         this.lastSubmittedCloudlet = Cloudlet.NULL;
         this.lastSubmittedVm = Vm.NULL;
         this.lastSelectedVm = Vm.NULL;
@@ -159,11 +175,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmCreationRequests = 0;
         vmCreationAcks = 0;
 
-        this.vmWaitingList = new ArrayList<>();
-        this.vmExecList = new ArrayList<>();
+        this.vmWaitingList = new IndexedList<>();
+        this.vmExecList = new IndexedList<>();
         this.vmCreatedList = new ArrayList<>();
         this.cloudletWaitingList = new ArrayList<>();
-        this.cloudletsFinishedList = new ArrayList<>();
+        this.cloudletsFinishedList = new ArrayDeque<>();
+        this.maxFinishedCloudlets = Integer.MAX_VALUE;
 
         setDatacenterList(new TreeSet<>());
         datacenterRequestedList = new TreeSet<>();
@@ -215,9 +232,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmWaitingList.addAll(list);
 
         if (isStarted() && !list.isEmpty()) {
-            println(String.format(
+            printFormattedLine(
                 "%.2f: %s: List of %d VMs submitted to the broker during simulation execution.\n\t VMs creation request sent to Datacenter.",
-                getSimulation().clock(), getName(), list.size()));
+                getSimulation().clock(), getName(), list.size());
             requestDatacenterToCreateWaitingVms();
         }
     }
@@ -332,9 +349,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return;
         }
 
-        println(String.format(
+        printFormattedLine(
             "%.2f: %s: List of %d Cloudlets submitted to the broker during simulation execution.",
-            getSimulation().clock(), getName(), list.size()));
+            getSimulation().clock(), getName(), list.size());
 
         //If there aren't more VMs to be created, then request Cloudlets creation
         if(vmWaitingList.isEmpty()){
@@ -342,9 +359,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             requestDatacentersToCreateWaitingCloudlets();
             notifyOnCreationOfWaitingVmsFinishListeners();
         } else
-            println(String.format(
+            printFormattedLine(
                     " Waiting creation of %d VMs to send Cloudlets creation request to Datacenter.",
-                    vmWaitingList.size()));
+                    vmWaitingList.size());
     }
 
     private void sortCloudletsIfComparatorIsSet(List<? extends Cloudlet> list) {
@@ -468,9 +485,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     protected void processDatacenterListRequest(SimEvent ev) {
         setDatacenterList((Set<Datacenter>) ev.getData());
-        println(String.format(
+        printFormattedLine(
             "\n%.2f: %s: List of Datacenters received with %d datacenters(s).",
-            getSimulation().clock(), getName(), datacenterList.size()));
+            getSimulation().clock(), getName(), datacenterList.size());
         requestDatacenterToCreateWaitingVms();
     }
 
@@ -543,8 +560,8 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         /* If it gets here, it means that all datacenters were already queried
          * and not all VMs could be created, but some of them could. */
         if (vmExecList.isEmpty()) {
-            println(String.format("%.2f: %s: %s", getSimulation().clock(), getName(),
-                "none of the required VMs could be created. Aborting"));
+            printFormattedLine("%.2f: %s: %s", getSimulation().clock(), getName(),
+                "none of the required VMs could be created. Aborting");
             requestShutDown();
             return;
         }
@@ -580,9 +597,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmWaitingList.remove(vm);
         vmExecList.add(vm);
         vmCreatedList.add(vm);
-        println(String.format(
+        printFormattedLine(
             "%.2f: %s: %s has been created in %s.",
-            getSimulation().clock(), getName(), vm, vm.getHost()));
+            getSimulation().clock(), getName(), vm, vm.getHost());
     }
 
     /**
@@ -594,9 +611,31 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     protected void processFailedVmCreationInDatacenter(Vm vm, Datacenter datacenter) {
         vm.notifyOnCreationFailureListeners(datacenter);
-        println(String.format(
+        printFormattedLine(
             "%.2f: %s: Creation of %s failed in Datacenter #%s",
-            getSimulation().clock(), getName(), vm, datacenter.getId()));
+            getSimulation().clock(), getName(), vm, datacenter.getId());
+    }
+
+    /**
+     * Adds a Cloudlet to the {@link #getCloudletFinishedList() finished list},
+     * removing the oldest ones when the {@link #getMaxFinishedCloudlets() max number of finished Cloudlets}
+     * is exceeded, and notifies the {@link #addOnCloudletReturnListener(EventListener) OnCloudletReturn Listeners}.
+     *
+     * @param cloudlet the Cloudlet that has just finished
+     */
+    private void addCloudletToFinishedList(final Cloudlet cloudlet) {
+        cloudletsFinishedList.addLast(cloudlet);
+        removeExceedingFinishedCloudlets();
+        if(!onCloudletReturnListeners.isEmpty()) {
+            final CloudletVmEventInfo info = CloudletVmEventInfo.of(getSimulation().clock(), cloudlet);
+            onCloudletReturnListeners.forEach(listener -> listener.update(info));
+        }
+    }
+
+    private void removeExceedingFinishedCloudlets() {
+        while(cloudletsFinishedList.size() > maxFinishedCloudlets) {
+            cloudletCreationRequestsMap.remove(cloudletsFinishedList.removeFirst());
+        }
     }
 
     /**
@@ -608,9 +647,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     protected void processCloudletReturn(SimEvent ev) {
         final Cloudlet c = (Cloudlet) ev.getData();
-        cloudletsFinishedList.add(c);
-        println(String.format("%.2f: %s: %s %d finished and returned to broker.",
-            getSimulation().clock(), getName(), c.getClass().getSimpleName(), c.getId()));
+        addCloudletToFinishedList(c);
+        printFormattedLine("%.2f: %s: %s %d finished and returned to broker.",
+            getSimulation().clock(), getName(), c.getClass().getSimpleName(), c.getId());
         cloudletsCreated--;
 
         if(isNotAllRunningCloudletsReturned()){
@@ -621,9 +660,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         final Function<Vm, Double> func = vmDestructionDelayFunction.apply(c.getVm()) < 0 ? vm -> 0.0 : vmDestructionDelayFunction;
         //If gets here, all running cloudlets have finished and returned to the broker.
         if (cloudletWaitingList.isEmpty()) {
-            println(String.format(
+            printFormattedLine(
                 "%.2f: %s: All submitted Cloudlets finished executing.",
-                getSimulation().clock(), getName()));
+                getSimulation().clock(), getName());
             requestIdleVmsDestruction(func);
             return;
         }
@@ -658,8 +697,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @see #getVmDestructionDelayFunction()
      */
     protected void requestIdleVmsDestruction(Function<Vm,Double> vmDestructionDelayFunction) {
-        for (int i = vmExecList.size()-1; i >= 0; i--) {
-            requestIdleVmDestruction(vmExecList.get(i), vmDestructionDelayFunction);
+        final List<Vm> vms = new ArrayList<>(vmExecList);
+        for (int i = vms.size()-1; i >= 0; i--) {
+            requestIdleVmDestruction(vms.get(i), vmDestructionDelayFunction);
         }
     }
 
@@ -686,14 +726,14 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
                 return true;
             }
 
-            println(String.format("%.2f: %s: Destroying %s", getSimulation().clock(), getName(), vm));
+            printFormattedLine("%.2f: %s: Destroying %s", getSimulation().clock(), getName(), vm);
             //request the Datacenter to destroy the VM
             sendNow(getVmDatacenter(vm).getId(), CloudSimTags.VM_DESTROY, vm);
             vmExecList.remove(vm);
             if (cloudletWaitingList.isEmpty() && vmExecList.isEmpty()) {
-                println(String.format(
+                printFormattedLine(
                     "%.2f: %s: Destroying VMs and requesting broker shutdown...",
-                    getSimulation().clock(), getName()));
+                    getSimulation().clock(), getName());
                 requestShutDown();
             }
             return true;
@@ -734,9 +774,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         int requestedVms = 0;
         for (final Vm vm :vmWaitingList) {
             if (!vmsToDatacentersMap.containsKey(vm) && !vmCreationRequestsMap.containsKey(vm)) {
-                println(String.format(
+                printFormattedLine(
                     "%.2f: %s: Trying to Create %s in %s",
-                    getSimulation().clock(), getName(), vm, datacenter.getName()));
+                    getSimulation().clock(), getName(), vm, datacenter.getName());
                 sendNow(datacenter.getId(), CloudSimTags.VM_CREATE_ACK, vm);
                 vmCreationRequestsMap.put(vm, datacenter);
                 requestedVms++;
@@ -755,6 +795,10 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * <p>This method is called after all submitted VMs are created
      * in some Datacenter.</p>
      *
+     * <p>If the {@link #isCloudletBatchSubmissionEnabled() batch submission} is enabled,
+     * Cloudlets going to the same Datacenter with the same submission delay
+     * are sent inside a single event.</p>
+     *
      * @pre $none
      * @post $none
      * @todo @author manoelcampos Where is checked if the Vm to where
@@ -762,7 +806,8 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @see #submitCloudletList(java.util.List)
      */
     protected void requestDatacentersToCreateWaitingCloudlets() {
-        final List<Cloudlet> successfullySubmitted = new ArrayList<>();
+        final Set<Cloudlet> successfullySubmitted = new HashSet<>();
+        final Map<Datacenter, Map<Double, List<Cloudlet>>> batches = new LinkedHashMap<>();
         for (final Cloudlet cloudlet : cloudletWaitingList) {
             if (cloudletCreationRequestsMap.containsKey(cloudlet)) {
                 continue;
@@ -772,30 +817,55 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             lastSelectedVm = vmMapper.apply(cloudlet);
             if (lastSelectedVm == Vm.NULL) {
                 // vm was not created
-                println(String.format(
+                printFormattedLine(
                     "%.2f: %s: : Postponing execution of cloudlet %d: bind VM not available.",
-                    getSimulation().clock(), getName(), cloudlet.getId()));
+                    getSimulation().clock(), getName(), cloudlet.getId());
                 continue;
             }
 
-            final String delayStr =
-                cloudlet.getSubmissionDelay() > 0 ?
-                    String.format(" with a requested delay of %.0f seconds", cloudlet.getSubmissionDelay()) :
-                    "";
-            println(String.format(
-                "%.2f: %s: Sending %s %d to %s in %s%s.",
-                getSimulation().clock(), getName(), cloudlet.getClass().getSimpleName(), cloudlet.getId(),
-                lastSelectedVm, lastSelectedVm.getHost(), delayStr));
+            if(isLogEnabled()) {
+                final String delayStr =
+                    cloudlet.getSubmissionDelay() > 0 ?
+                        String.format(" with a requested delay of %.0f seconds", cloudlet.getSubmissionDelay()) :
+                        "";
+                printFormattedLine(
+                    "%.2f: %s: Sending %s %d to %s in %s%s.",
+                    getSimulation().clock(), getName(), cloudlet.getClass().getSimpleName(), cloudlet.getId(),
+                    lastSelectedVm, lastSelectedVm.getHost(), delayStr);
+            }
             cloudlet.setVm(lastSelectedVm);
-            send(getVmDatacenter(lastSelectedVm).getId(),
-                cloudlet.getSubmissionDelay(), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
-            cloudletCreationRequestsMap.put(cloudlet, getVmDatacenter(lastSelectedVm));
+            final Datacenter datacenter = getVmDatacenter(lastSelectedVm);
+            if(cloudletBatchSubmissionEnabled) {
+                batches.computeIfAbsent(datacenter, dc -> new LinkedHashMap<>())
+                       .computeIfAbsent(cloudlet.getSubmissionDelay(), delay -> new ArrayList<>())
+                       .add(cloudlet);
+            } else {
+                send(datacenter.getId(), cloudlet.getSubmissionDelay(), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+            }
+            cloudletCreationRequestsMap.put(cloudlet, datacenter);
             cloudletsCreated++;
             successfullySubmitted.add(cloudlet);
         }
 
+        sendCloudletBatches(batches);
+
         // remove created cloudlets from waiting list
-        cloudletWaitingList.removeAll(successfullySubmitted);
+        cloudletWaitingList.removeIf(successfullySubmitted::contains);
+    }
+
+    /**
+     * Sends each batch of Cloudlets to its Datacenter inside a single
+     * {@link CloudSimTags#CLOUDLET_SUBMIT_LIST} event.
+     *
+     * @param batches a map where each key is a Datacenter and each value is a map
+     *                from a submission delay to the list of Cloudlets to be sent with that delay
+     */
+    private void sendCloudletBatches(final Map<Datacenter, Map<Double, List<Cloudlet>>> batches) {
+        for (final Map.Entry<Datacenter, Map<Double, List<Cloudlet>>> dcEntry : batches.entrySet()) {
+            for (final Map.Entry<Double, List<Cloudlet>> entry : dcEntry.getValue().entrySet()) {
+                send(dcEntry.getKey().getId(), entry.getKey(), CloudSimTags.CLOUDLET_SUBMIT_LIST, entry.getValue());
+            }
+        }
     }
 
     /**
@@ -811,12 +881,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     @Override
     public void shutdownEntity() {
-        println(String.format("%s is shutting down...", getName()));
+        printFormattedLine("%s is shutting down...", getName());
     }
 
     @Override
     public void startEntity() {
-        println(String.format("%s is starting...", getName()));
+        printFormattedLine("%s is starting...", getName());
         schedule(getSimulation().getCloudInfoServiceEntityId(), 0, CloudSimTags.DATACENTER_LIST_REQUEST);
     }
 
@@ -971,6 +1041,28 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return addOneTimeOnCreationOfWaitingVmsFinishListener(listener, true);
     }
 
+    @Override
+    public DatacenterBroker addOnCloudletReturnListener(EventListener<CloudletVmEventInfo> listener) {
+        this.onCloudletReturnListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    @Override
+    public int getMaxFinishedCloudlets() {
+        return maxFinishedCloudlets;
+    }
+
+    @Override
+    public DatacenterBroker setMaxFinishedCloudlets(int maxFinishedCloudlets) {
+        if(maxFinishedCloudlets < 0) {
+            throw new IllegalArgumentException("The max number of finished Cloudlets cannot be negative.");
+        }
+
+        this.maxFinishedCloudlets = maxFinishedCloudlets;
+        removeExceedingFinishedCloudlets();
+        return this;
+    }
+
     public DatacenterBroker addOneTimeOnCreationOfWaitingVmsFinishListener(final EventListener<DatacenterBrokerEventInfo> listener, final Boolean oneTimeListener) {
         Objects.requireNonNull(listener);
         this.onVmsCreatedListeners.put(listener, oneTimeListener);
@@ -993,6 +1085,17 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return this;
     }
 
+    @Override
+    public boolean isCloudletBatchSubmissionEnabled() {
+        return cloudletBatchSubmissionEnabled;
+    }
+
+    @Override
+    public DatacenterBroker setCloudletBatchSubmissionEnabled(final boolean enabled) {
+        this.cloudletBatchSubmissionEnabled = enabled;
+        return this;
+    }
+
     @Override
     public boolean isThereWaitingCloudlets() {
         return !cloudletWaitingList.isEmpty();
@@ -6,6 +6,7 @@ import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventListener;
 
@@ -80,11 +81,17 @@ final class DatacenterBrokerNull implements DatacenterBroker {
     @Override public Set<Cloudlet> getCloudletCreatedList() { return Collections.EMPTY_SET; }
     @Override public DatacenterBroker addOnVmsCreatedListener(EventListener<DatacenterBrokerEventInfo> listener) { return this; }
     @Override public DatacenterBroker addOneTimeOnVmsCreatedListener(EventListener<DatacenterBrokerEventInfo> listener) { return this; }
+    @Override public DatacenterBroker addOnCloudletReturnListener(EventListener<CloudletVmEventInfo> listener) { return this; }
+    @Override public int getMaxFinishedCloudlets() { return 0; }
+    @Override public DatacenterBroker setMaxFinishedCloudlets(int maxFinishedCloudlets) { return this; }
     @Override public Function<Vm, Double> getVmDestructionDelayFunction() { return vm -> 0.0; }
     @Override public DatacenterBroker setVmDestructionDelayFunction(Function<Vm, Double> function) { return this; }
+    @Override public boolean isCloudletBatchSubmissionEnabled() { return false; }
+    @Override public DatacenterBroker setCloudletBatchSubmissionEnabled(boolean enabled) { return this; }
     @Override public void setVmComparator(Comparator<Vm> comparator) {/**/}
     @Override public void setCloudletComparator(Comparator<Cloudlet> comparator) {/**/}
     @Override public void setLog(boolean log) {}
+    @Override public boolean isLogEnabled() { return false; }
     @Override public void println(String msg) {}
     @Override public void submitCloudletList(List<? extends Cloudlet> list, Vm vm) {}
     @Override public void submitCloudletList(List<? extends Cloudlet> list, Vm vm, double submissionDelay) {}
@@ -0,0 +1,204 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.brokers;
+
+import java.util.*;
+
+/**
+ * An array-based {@link List} which indexes the position of each element,
+ * used by the broker to keep its VM lists. It performs {@link #contains(Object)},
+ * {@link #indexOf(Object)} and {@link #remove(Object)} in constant time,
+ * keeping the insertion order of the elements.
+ *
+ * <p>An element removed by {@link #remove(Object)} just leaves an empty slot
+ * into the array. All the empty slots are discarded at once
+ * when some element is accessed by its position, so that removing
+ * a sequence of elements costs O(n), instead of O(n<sup>2</sup>).</p>
+ *
+ * <p>The list is intended to store distinct non-null elements.
+ * If the same element is added more than once,
+ * it just falls back to linear searches when removing elements.</p>
+ *
+ * @param <E> the type of the list elements
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+final class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * The list elements, where null represents an empty slot left by a removed element.
+     */
+    private final List<E> elements;
+
+    /**
+     * A map where each key is an element and the value is its position
+     * into the {@link #elements} list (the position of the first occurrence
+     * if the element was added more than once).
+     */
+    private final Map<E, Integer> positions;
+
+    /**
+     * The number of empty slots inside the {@link #elements} list.
+     */
+    private int emptySlots;
+
+    /**
+     * Indicates if some element was added more than once.
+     */
+    private boolean duplicated;
+
+    IndexedList() {
+        this.elements = new ArrayList<>();
+        this.positions = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return elements.size() - emptySlots;
+    }
+
+    @Override
+    public E get(int index) {
+        discardEmptySlots();
+        return elements.get(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        discardEmptySlots();
+        final Integer position = positions.get(o);
+        return position == null ? -1 : position;
+    }
+
+    @Override
+    public boolean add(E element) {
+        Objects.requireNonNull(element);
+        if(positions.putIfAbsent(element, elements.size()) != null){
+            duplicated = true;
+        }
+
+        elements.add(element);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.requireNonNull(element);
+        discardEmptySlots();
+        elements.add(index, element);
+        updatePositions();
+        modCount++;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Objects.requireNonNull(element);
+        discardEmptySlots();
+        final E previous = elements.set(index, element);
+        updatePositions();
+        return previous;
+    }
+
+    @Override
+    public E remove(int index) {
+        discardEmptySlots();
+        final E removed = elements.remove(index);
+        updatePositions();
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if(duplicated){
+            final int index = indexOf(o);
+            if(index < 0){
+                return false;
+            }
+
+            remove(index);
+            return true;
+        }
+
+        final Integer position = positions.remove(o);
+        if(position == null){
+            return false;
+        }
+
+        elements.set(position, null);
+        emptySlots++;
+        modCount++;
+        if(emptySlots == elements.size()){
+            elements.clear();
+            emptySlots = 0;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        positions.clear();
+        emptySlots = 0;
+        duplicated = false;
+        modCount++;
+    }
+
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        discardEmptySlots();
+        elements.sort(comparator);
+        updatePositions();
+        modCount++;
+    }
+
+    /**
+     * Removes the empty slots left by removed elements, updating the position of the remaining ones.
+     */
+    private void discardEmptySlots() {
+        if(emptySlots == 0){
+            return;
+        }
+
+        elements.removeIf(Objects::isNull);
+        emptySlots = 0;
+        updatePositions();
+    }
+
+    private void updatePositions() {
+        positions.clear();
+        duplicated = false;
+        for (int i = 0; i < elements.size(); i++) {
+            if(positions.putIfAbsent(elements.get(i), i) != null){
+                duplicated = true;
+            }
+        }
+    }
+}
@@ -8,9 +8,11 @@
 package org.cloudbus.cloudsim.core;
 
 import java.util.*;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.cloudbus.cloudsim.core.events.*;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.network.topologies.NetworkTopology;
 import org.cloudbus.cloudsim.util.Log;
@@ -95,14 +97,32 @@ public class CloudSim implements Simulation {
     private List<CloudSimEntity> entities;
 
     /**
-     * The queue of events that will be sent in a future simulation time.
+     * The queue of events that will be sent in a future simulation time,
+     * indexed by source entity and tag to speed up event cancellation.
      */
-    private FutureQueue future;
+    private final FutureQueueIndexed future;
 
     /**
-     * The deferred event queue.
+     * The pool of events to be reused when {@link #isEventPoolingEnabled() event pooling is enabled}.
      */
-    private DeferredQueue deferred;
+    private final SimEventPool eventPool;
+
+    /**
+     * @see #isEventPoolingEnabled()
+     */
+    private boolean eventPoolingEnabled;
+
+    /**
+     * A list used to temporarily store the events to be processed at the current clock tick.
+     * @see #processAllFutureEventsHappeningAtSameTimeOfTheFirstOne(SimEvent)
+     */
+    private final List<SimEvent> eventsToProcess;
+
+    /**
+     * A list used to temporarily store the entities to run at the current clock tick.
+     * @see #executeRunnableEntities()
+     */
+    private final List<SimEntity> runnableEntities;
 
     /**
      * The current simulation clock.
@@ -164,7 +184,22 @@ public class CloudSim implements Simulation {
      * @post $none
      */
     public CloudSim(){
-        this(null);
+        this((Calendar)null);
+    }
+
+    /**
+     * Creates a CloudSim simulation using a default calendar and a given queue
+     * to store future events.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param futureQueue the queue to store the events to be processed in a future simulation time
+     * @see CloudInformationService
+     * @see FutureQueue
+     * @see FutureQueueCalendar
+     * @see FutureQueueHeap
+     */
+    public CloudSim(FutureEventQueue futureQueue){
+        this(null, futureQueue);
     }
 
     /**
@@ -179,10 +214,31 @@ public class CloudSim implements Simulation {
      * @post $none
      */
     public CloudSim(Calendar cal) {
+        this(cal, new FutureQueue());
+    }
+
+    /**
+     * Creates a CloudSim simulation with the given parameters.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param cal starting time for this simulation. If it is <code>null</code>,
+     * then the time will be taken from <code>Calendar.getInstance()</code>
+     * @param futureQueue the queue to store the events to be processed in a future simulation time
+     *
+     * @see CloudInformationService
+     * @see FutureQueue
+     * @see FutureQueueCalendar
+     * @see FutureQueueHeap
+     */
+    public CloudSim(Calendar cal, FutureEventQueue futureQueue) {
+        Objects.requireNonNull(futureQueue);
         this.entities = new ArrayList<>();
         this.entitiesByName = new LinkedHashMap<>();
-        this.future = new FutureQueue();
-        this.deferred = new DeferredQueue();
+        this.future = futureQueue instanceof FutureQueueIndexed ?
+                        (FutureQueueIndexed)futureQueue : new FutureQueueIndexed(futureQueue);
+        this.eventPool = new SimEventPool(this);
+        this.eventsToProcess = new ArrayList<>();
+        this.runnableEntities = new ArrayList<>();
         this.waitPredicates = new HashMap<>();
         this.networkTopology = NetworkTopology.NULL;
         this.clockTime = 0;
@@ -195,7 +251,7 @@ public class CloudSim implements Simulation {
         this.lastTimeClockTickListenersWereUpdated = 0;
 
         // NOTE: the order for the lines below is important
-        this.calendar = (Objects.isNull(calendar) ? Calendar.getInstance() : calendar);
+        this.calendar = (Objects.isNull(cal) ? Calendar.getInstance() : cal);
         this.cis = new CloudInformationService(this);
     }
 
@@ -345,7 +401,7 @@ public class CloudSim implements Simulation {
     public void addEntity(CloudSimEntity e) {
         if (running) {
             // Post an event to make this entity
-            final SimEvent evt = new CloudSimEvent(this, SimEvent.Type.CREATE, clockTime, 1, 0, 0, e);
+            final SimEvent evt = createEvent(SimEvent.Type.CREATE, clockTime, 1, 0, 0, e);
             future.addEvent(evt);
         }
 
@@ -397,22 +453,31 @@ public class CloudSim implements Simulation {
             printMessage("Simulation: No more future events");
         } else {
             // If there are more future events, then deal with them
-            future.stream().findFirst().ifPresent(this::processAllFutureEventsHappeningAtSameTimeOfTheFirstOne);
+            processAllFutureEventsHappeningAtSameTimeOfTheFirstOne(future.pollFirst());
         }
     }
 
+    /**
+     * Processes the head of the {@link #future future event queue}
+     * (that was already removed from it) and then all the events
+     * happening at the same time of it.
+     * Such events are just the ones at the head of the queue,
+     * thus they are drained from the queue without traversing it entirely.
+     * Events happening at that same time that are scheduled during
+     * the processing of the drained events will be processed
+     * in the next clock tick.
+     *
+     * @param firstEvent the event removed from the head of the queue
+     */
     private void processAllFutureEventsHappeningAtSameTimeOfTheFirstOne(SimEvent firstEvent) {
+        final double time = firstEvent.eventTime();
         processEvent(firstEvent);
-        future.remove(firstEvent);
-
-        final List<SimEvent> eventsToProcess = future.stream()
-            .filter(e -> e.eventTime() == firstEvent.eventTime())
-            .collect(toList());
 
+        future.pollAllAt(time, eventsToProcess);
         for(final SimEvent evt: eventsToProcess) {
             processEvent(evt);
-            future.remove(evt);
         }
+        eventsToProcess.clear();
     }
 
     /**
@@ -420,11 +485,16 @@ public class CloudSim implements Simulation {
      * and execute them.
      */
     private void executeRunnableEntities() {
-        final List<SimEntity> runableEntities = entities.stream()
-                .filter(ent -> ent.getState() == SimEntity.State.RUNNABLE)
-                .collect(toList());
+        for (final CloudSimEntity ent : entities) {
+            if (ent.getState() == SimEntity.State.RUNNABLE) {
+                runnableEntities.add(ent);
+            }
+        }
 
-        runableEntities.forEach(SimEntity::run);
+        for (final SimEntity ent : runnableEntities) {
+            ent.run();
+        }
+        runnableEntities.clear();
     }
 
     @Override
@@ -435,17 +505,80 @@ public class CloudSim implements Simulation {
     @Override
     public void send(int src, int dest, double delay, int tag, Object data) {
         validateDelay(delay);
-        final SimEvent evt = new CloudSimEvent(this, SimEvent.Type.SEND, clockTime + delay, src, dest, tag, data);
+        final SimEvent evt = createEvent(SimEvent.Type.SEND, clockTime + delay, src, dest, tag, data);
         future.addEvent(evt);
     }
 
     @Override
     public void sendFirst(int src, int dest, double delay, int tag, Object data) {
         validateDelay(delay);
-        final SimEvent evt = new CloudSimEvent(this, SimEvent.Type.SEND, clockTime + delay, src, dest, tag, data);
+        final SimEvent evt = createEvent(SimEvent.Type.SEND, clockTime + delay, src, dest, tag, data);
         future.addEventFirst(evt);
     }
 
+    /**
+     * Creates a new event or gets one from the {@link #eventPool}
+     * if {@link #isEventPoolingEnabled() event pooling is enabled}.
+     *
+     * @param type the type of the event
+     * @param time the time the event has to be processed
+     * @param src the id of the entity that is scheduling the event
+     * @param dest the id of the entity the event will be sent to
+     * @param tag the tag of the event
+     * @param data the data to be sent with the event
+     * @return the created event
+     */
+    private SimEvent createEvent(SimEvent.Type type, double time, int src, int dest, int tag, Object data) {
+        if(eventPoolingEnabled) {
+            return eventPool.acquire(type, time, src, dest, tag, data);
+        }
+
+        return new CloudSimEvent(this, type, time, src, dest, tag, data);
+    }
+
+    @Override
+    public void releaseEvent(SimEvent evt) {
+        if(eventPoolingEnabled) {
+            eventPool.release(evt);
+        }
+    }
+
+    /**
+     * Checks if processed events are reused to create new ones,
+     * instead of creating a new object for every event.
+     * It's disabled by default.
+     *
+     * @return true if event pooling is enabled, false otherwise
+     * @see #setEventPoolingEnabled(boolean)
+     */
+    public boolean isEventPoolingEnabled() {
+        return eventPoolingEnabled;
+    }
+
+    /**
+     * Enables or disables the reuse of processed events to create new ones,
+     * reducing the allocation of event objects to nearly zero in steady state.
+     * This cuts garbage collection overhead for long running simulations.
+     *
+     * <p>Events received by an entity are released to the pool right after
+     * the entity processes them. Thus, when pooling is enabled,
+     * entities and {@link #addOnEventProcessingListener(EventListener) event processing listeners}
+     * must not keep references to received events after processing them,
+     * since they will be changed when reused.
+     * The event data can be stored as usual.</p>
+     *
+     * @param enabled true to enable event pooling, false to disable
+     * @return this simulation
+     */
+    public CloudSim setEventPoolingEnabled(boolean enabled) {
+        this.eventPoolingEnabled = enabled;
+        if(!enabled) {
+            eventPool.clear();
+        }
+
+        return this;
+    }
+
     private void validateDelay(double delay) {
         if (delay < 0) {
             throw new IllegalArgumentException("Send delay can't be negative.");
@@ -463,71 +596,76 @@ public class CloudSim implements Simulation {
 
     @Override
     public long waiting(int dest, Predicate<SimEvent> p) {
-        return filterEventsToDestinationEntity(deferred, p, dest).count();
+        return isValidEntityId(dest) ? entities.get(dest).getDeferredQueue().count(p) : 0;
     }
 
     @Override
     public SimEvent select(int dest, Predicate<SimEvent> p) {
-        final SimEvent evt = findFirstDeferred(dest, p);
-        deferred.remove(evt);
-        return evt;
+        return isValidEntityId(dest) ? entities.get(dest).getDeferredQueue().poll(p) : SimEvent.NULL;
     }
 
     @Override
     public SimEvent findFirstDeferred(int dest, Predicate<SimEvent> p) {
-        return filterEventsToDestinationEntity(deferred, p, dest).findFirst().orElse(SimEvent.NULL);
+        return isValidEntityId(dest) ? entities.get(dest).getDeferredQueue().findFirst(p) : SimEvent.NULL;
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
+     * Checks if a given id corresponds to an entity in the simulation.
      *
-     * @param queue the queue to get the events from
-     * @param p the event selection predicate
-     * @param dest Id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
+     * @param id the entity id to check
+     * @return true if the id is valid, false otherwise
      */
-    private Stream<SimEvent> filterEventsToDestinationEntity(EventQueue queue, Predicate<SimEvent> p, int dest) {
-        return filterEvents(queue, p.and(e -> e.getDestination() == dest));
+    private boolean isValidEntityId(int id) {
+        return id >= 0 && id < entities.size();
     }
 
     @Override
     public SimEvent cancel(int src, Predicate<SimEvent> p) {
-        final SimEvent evt = future.stream().filter(p.and(e -> e.getSource() == src)).findFirst().orElse(SimEvent.NULL);
+        final SimEvent evt = filterFutureEventsFromSourceEntity(p, src).min(SimEvent::compareTo).orElse(SimEvent.NULL);
         future.remove(evt);
         return evt;
     }
 
     @Override
     public boolean cancelAll(int src, Predicate<SimEvent> p) {
-        final int previousSize = future.size();
-        final List<SimEvent> cancelList = filterEventsFromSourceEntity(future, p, src).collect(toList());
-        future.removeAll(cancelList);
-        return previousSize < future.size();
+        return cancelAll(filterFutureEventsFromSourceEntity(p, src).collect(toList()));
     }
 
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and from a source entity.
-     *
-     * @param queue the queue to get the events from
-     * @param p the event selection predicate
-     * @param src Id of entity that scheduled the event
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEventsFromSourceEntity(EventQueue queue, Predicate<SimEvent> p, int src) {
-        return filterEvents(queue, p.and(e -> e.getSource() == src));
+    @Override
+    public boolean cancelAll(int src, int tag) {
+        return cancelAll(future.stream(src, tag).collect(toList()));
+    }
+
+    private boolean cancelAll(List<SimEvent> cancelList) {
+        if(cancelList.isEmpty() || !future.removeAll(cancelList)) {
+            return false;
+        }
+
+        cancelList.forEach(this::releaseEvent);
+        return true;
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate.
+     * Gets a stream of events inside the future queue that match a given predicate
+     * and were sent by a source entity.
+     * It uses the index of events by source entity and tag,
+     * traversing only the events sent by the given entity
+     * or, if the predicate is a {@link PredicateType}, just the events
+     * having one of the tags of such a predicate.
      *
-     * @param queue the queue to get the events from
      * @param p the event selection predicate
-     * @return a Strem of events from the queue
+     * @param src Id of entity that scheduled the event
+     * @return a Stream of events from the future queue
      */
-    private Stream<SimEvent> filterEvents(EventQueue queue, Predicate<SimEvent> p) {
-        return queue.stream().filter(p);
+    private Stream<SimEvent> filterFutureEventsFromSourceEntity(Predicate<SimEvent> p, int src) {
+        if(p.getClass() == PredicateType.class){
+            final PredicateType predicate = (PredicateType)p;
+            return IntStream.range(0, predicate.getTagsCount())
+                            .map(predicate::getTag).boxed()
+                            .flatMap(tag -> future.stream(src, tag)).filter(p);
+        }
+
+        return future.stream(src).filter(p);
     }
 
     /**
@@ -545,6 +683,12 @@ public class CloudSim implements Simulation {
         processEventByType(e);
         notifyOnClockTickListenersIfClockChanged();
         notifyOnEventProcessingListeners(e);
+
+        /*SEND events are just delivered to the destination entity here,
+        * thus they are released only after being processed by such an entity.*/
+        if(e.getType() != SimEvent.Type.SEND) {
+            releaseEvent(e);
+        }
     }
 
     /**
@@ -605,14 +749,14 @@ public class CloudSim implements Simulation {
         if (destEnt.getState() == SimEntity.State.WAITING) {
             final Predicate<SimEvent> p = waitPredicates.get(destEnt);
             if (Objects.isNull(p) || e.getTag() == 9999 || p.test(e)) {
-                destEnt.setEventBuffer(new CloudSimEvent(e));
+                destEnt.setEventBuffer(e);
                 destEnt.setState(SimEntity.State.RUNNABLE);
                 waitPredicates.remove(destEnt);
             } else {
-                deferred.addEvent(e);
+                destEnt.getDeferredQueue().addEvent(e);
             }
         } else {
-            deferred.addEvent(e);
+            destEnt.getDeferredQueue().addEvent(e);
         }
     }
 
@@ -668,14 +812,14 @@ public class CloudSim implements Simulation {
 
     @Override
     public void pauseEntity(int src, double delay) {
-        final SimEvent evt = new CloudSimEvent(this, SimEvent.Type.HOLD_DONE, clockTime + delay, src);
+        final SimEvent evt = createEvent(SimEvent.Type.HOLD_DONE, clockTime + delay, src, -1, -1, null);
         future.addEvent(evt);
         entities.get(src).setState(SimEntity.State.HOLDING);
     }
 
     @Override
     public void holdEntity(int src, long delay) {
-        final SimEvent evt = new CloudSimEvent(this, SimEvent.Type.HOLD_DONE, clockTime + delay, src);
+        final SimEvent evt = createEvent(SimEvent.Type.HOLD_DONE, clockTime + delay, src, -1, -1, null);
         future.addEvent(evt);
         entities.get(src).setState(SimEntity.State.HOLDING);
     }
@@ -800,7 +944,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().eventTime() >= pauseAt;
+        return future.first().eventTime() >= pauseAt;
     }
 
     /**
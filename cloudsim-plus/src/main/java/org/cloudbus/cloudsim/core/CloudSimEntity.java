@@ -7,6 +7,7 @@
  */
 package org.cloudbus.cloudsim.core;
 
+import org.cloudbus.cloudsim.core.events.DeferredQueue;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.util.Log;
 
@@ -43,6 +44,11 @@ public abstract class CloudSimEntity implements SimEntity {
      */
     private SimEvent buffer;
 
+    /**
+     * The queue of events sent to this entity that weren't processed yet.
+     */
+    private DeferredQueue deferredQueue;
+
     /**
      * The entity's current state.
      */
@@ -60,6 +66,7 @@ public abstract class CloudSimEntity implements SimEntity {
         setSimulation(simulation);
         id = -1;
         state = State.RUNNABLE;
+        deferredQueue = new DeferredQueue();
         name = String.format("%s%d", getClass().getSimpleName(), this.simulation.getNumEntities());
         this.simulation.addEntity(this);
         this.started = false;
@@ -411,6 +418,7 @@ public abstract class CloudSimEntity implements SimEntity {
 
         while (ev != null) {
             processEvent(ev);
+            simulation.releaseEvent(ev);
             if (state != State.RUNNABLE) {
                 break;
             }
@@ -438,6 +446,7 @@ public abstract class CloudSimEntity implements SimEntity {
         copy.setName(name);
         copy.setSimulation(simulation);
         copy.setEventBuffer(null);
+        copy.deferredQueue = new DeferredQueue();
         return copy;
     }
 
@@ -493,6 +502,15 @@ public abstract class CloudSimEntity implements SimEntity {
         return buffer;
     }
 
+    /**
+     * Gets the queue of events sent to this entity that weren't processed yet.
+     *
+     * @return the deferred queue
+     */
+    DeferredQueue getDeferredQueue() {
+        return deferredQueue;
+    }
+
     /**
      * Sets the entity state.
      *
@@ -742,9 +760,14 @@ public abstract class CloudSimEntity implements SimEntity {
         this.log = log;
     }
 
+    @Override
+    public boolean isLogEnabled() {
+        return log && Log.isEnabled(getClass(), Log.Level.INFO);
+    }
+
     @Override
     public void println(String msg){
-        if(log){
+        if(isLogEnabled()){
             Log.printLine(msg);
         }
     }
@@ -130,6 +130,14 @@ public final class CloudSimTags {
      */
     public static final int CLOUDLET_CANCEL = BASE + 23;
 
+    /**
+     * Denotes the submission of a batch of Cloudlets to the Datacenter entity,
+     * all of them arriving at the same time.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * must be a {@link java.util.List} of {@link Cloudlet} objects.
+     */
+    public static final int CLOUDLET_SUBMIT_LIST = BASE + 24;
+
     /**
      * Pauses a Cloudlet submitted in the Datacenter entity.
      * When an event of this type is sent, the {@link SimEvent#getData()}
@@ -290,6 +298,19 @@ public final class CloudSimTags {
      */
     public static final int HOST_FAILURE = FAILURE + 1;
 
+    /**
+     * Denotes a request for a {@link org.cloudbus.cloudsim.util.WorkloadFileStreamer}
+     * to read the next jobs from a workload file and submit them to its broker.
+     */
+    public static final int WORKLOAD_READ = BASE + 50;
+
+    /**
+     * Denotes a request for a {@link org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter}
+     * to update the flows of its {@link org.cloudbus.cloudsim.datacenters.network.NetworkFlowModel},
+     * because some flow is expected to finish or to be delivered at the current time.
+     */
+    public static final int NETWORK_FLOW_UPDATE = BASE + 51;
+
     /**
      * Private constructor to avoid instantiating such a class.
      */
@@ -106,6 +106,15 @@ public interface SimEntity extends Nameable, Cloneable, Runnable, Comparable<Sim
      * @param log true to enable logging, false to disable
      */
     void setLog(boolean log);    
+
+    /**
+     * Checks if log is enabled for this particular entity,
+     * considering the {@link org.cloudbus.cloudsim.util.Log.Level level}
+     * set for its class in the {@link org.cloudbus.cloudsim.util.Log}.
+     *
+     * @return true if log is enabled, false otherwise
+     */
+    boolean isLogEnabled();
     
     /**
      * Prints a given message if the logging is enabled for this entity.
@@ -119,4 +128,18 @@ public interface SimEntity extends Nameable, Cloneable, Runnable, Comparable<Sim
     default void println(){
         println("");
     }
+
+    /**
+     * Prints a message formatted as in {@link String#format(String, Object...)},
+     * followed by a new line, if the logging is enabled for this entity.
+     * The message is just formatted if it is going to be printed.
+     *
+     * @param format the format of the message
+     * @param args the arguments referenced by the format
+     */
+    default void printFormattedLine(String format, Object... args){
+        if(isLogEnabled()) {
+            println(String.format(format, args));
+        }
+    }
 }
@@ -85,6 +85,19 @@ public interface Simulation {
      */
     boolean cancelAll(int src, Predicate<SimEvent> p);
 
+    /**
+     * Cancels all events from the future event queue that have a given tag
+     * and were sent by a given entity, then removes those ones from the queue.
+     * It's faster than {@link #cancelAll(int, Predicate)} using a
+     * {@link org.cloudbus.cloudsim.core.predicates.PredicateType}, since
+     * it only traverses the events to be cancelled.
+     *
+     * @param src Id of entity that scheduled the event
+     * @param tag the tag of the events to cancel
+     * @return true if at least one event has been cancelled; false otherwise
+     */
+    boolean cancelAll(int src, int tag);
+
     /**
      * Gets the current simulation time in seconds.
      *
@@ -333,6 +346,16 @@ public interface Simulation {
      */
     SimEvent select(int dest, Predicate<SimEvent> p);
 
+    /**
+     * Informs that an event was already processed by its destination entity
+     * and no one else keeps a reference to it,
+     * allowing the event to be reused if the simulation supports that.
+     * This method should not be called by the user.
+     *
+     * @param evt the processed event
+     */
+    void releaseEvent(SimEvent evt);
+
     /**
      * Sends an event from one entity to another.
      *
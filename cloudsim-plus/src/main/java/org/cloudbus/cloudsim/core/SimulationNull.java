@@ -25,6 +25,10 @@ final class SimulationNull implements Simulation {
     @Override public boolean cancelAll(int src, Predicate<SimEvent> p) {
         return false;
     }
+    @Override public boolean cancelAll(int src, int tag) {
+        return false;
+    }
+    @Override public void releaseEvent(SimEvent evt) {/**/}
     @Override public double clock() { return 0.0; } 
     @Override public double clockInMinutes() { return 0.0; }    
     @Override public double clockInHours() { return 0.0; }    
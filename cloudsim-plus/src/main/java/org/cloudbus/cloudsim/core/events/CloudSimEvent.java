@@ -27,12 +27,12 @@ public final class CloudSimEvent implements SimEvent {
      */
     private final Simulation simulation;
 
-    private final Type type;
+    private Type type;
 
     /**
      * The time that this event was scheduled, at which it should occur.
      */
-    private final double time;
+    private double time;
 
     /**
      * Time that the event was removed from the queue to start service.
@@ -49,9 +49,9 @@ public final class CloudSimEvent implements SimEvent {
      */
     private int dest;
 
-    private final int tag;
+    private int tag;
 
-    private final Object data;
+    private Object data;
 
     /**
      * @see #getSerial()
@@ -108,6 +108,37 @@ public final class CloudSimEvent implements SimEvent {
         this.data = null;
     }
 
+    /**
+     * Re-initializes the attributes of an event that was released to a {@link SimEventPool},
+     * so that it can be reused as a new event.
+     *
+     * @return this event
+     * @see SimEventPool#acquire(Type, double, int, int, int, Object)
+     */
+    CloudSimEvent reset(Type type, double time, int src, int dest, int tag, Object data) {
+        this.type = type;
+        this.time = time;
+        this.src = src;
+        this.dest = dest;
+        this.tag = tag;
+        this.data = data;
+        this.endWaitingTime = 0;
+        this.serial = -1;
+        return this;
+    }
+
+    /**
+     * Clears the attributes of an event that is being released to a {@link SimEventPool},
+     * setting its type to {@link Type#NULL} and
+     * dropping the reference to its data, so that it can be garbage collected.
+     *
+     * @return this event
+     * @see SimEventPool#release(SimEvent)
+     */
+    CloudSimEvent clear() {
+        return reset(Type.NULL, -1, -1, -1, -1, null);
+    }
+
     @Override
     public void setSerial(long serial) {
         this.serial = serial;
@@ -9,55 +9,98 @@
 package org.cloudbus.cloudsim.core.events;
 
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.predicates.PredicateAny;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * This class implements the deferred event queue used by {@link CloudSim}.
- * The event queue uses a linked list to store the events.
+ * Each {@link CloudSimEntity} has its own deferred queue, that stores
+ * the events sent to such an entity which weren't processed yet.
+ *
+ * <p>The events are stored in temporal order. Since events are usually received
+ * as the simulation clock advances, they are just appended to the end of the queue.
+ * An event received out of order is inserted after all events happening up to its time,
+ * walking from the end of the queue.
+ * Additionally, the events are indexed by {@link SimEvent#getTag() tag},
+ * so that looking for the first event matching a {@link PredicateType}
+ * just requires checking the first event for each one of the predicate tags.
+ * Looking for an event using {@link PredicateAny} is also O(1).
+ * Other predicates, including subclasses of such ones (which may override
+ * {@link Predicate#test(Object)}), require a linear search in the queue.</p>
  *
  * @author Marcos Dias de Assuncao
+ * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  * @see CloudSim
  * @see SimEvent
  */
 public class DeferredQueue implements EventQueue {
 
-	/** The list of events. */
-	private final List<SimEvent> list = new LinkedList<>();
+	/**
+	 * The events in temporal order (and arrival order for events happening at the same time). Entries which were removed
+	 * through the {@link #entriesByTag} index are just marked as removed
+	 * and discarded when they reach the head of the queue.
+	 */
+	private final Deque<Entry> entries = new ArrayDeque<>();
+
+	/** The events indexed by tag, where each index entry is in the same order of the {@link #entries}. */
+	private final Map<Integer, Deque<Entry>> entriesByTag = new HashMap<>();
+
+	/** The number of events in the queue, not including entries marked as removed. */
+	private int size;
+
+	/** The number of entries marked as removed that weren't discarded from the {@link #entries} yet. */
+	private int removedEntries;
 
 	/** The max time that an added event is scheduled. */
 	private double maxTime = -1;
 
+	/** The number of events added to the queue, used to define the arrival order of each one. */
+	private long arrivals;
+
 	/**
 	 * Adds a new event to the queue. Adding a new event to the queue preserves the temporal order
 	 * of the events.
 	 *
 	 * @param newEvent The event to be added to the queue.
 	 */
+	@Override
 	public void addEvent(SimEvent newEvent) {
-		// The event has to be inserted as the last of all events
-		// with the same event_time(). Yes, this matters.
-		double eventTime = newEvent.eventTime();
-		if (eventTime >= maxTime) {
-			list.add(newEvent);
-			maxTime = eventTime;
-			return;
+		final Entry entry = new Entry(newEvent, arrivals++);
+		final Deque<Entry> tagEntries = entriesByTag.computeIfAbsent(newEvent.getTag(), tag -> new ArrayDeque<>());
+		if (newEvent.eventTime() >= maxTime) {
+			maxTime = newEvent.eventTime();
+			entries.addLast(entry);
+			tagEntries.addLast(entry);
+		} else {
+			insertSorted(entries, entry);
+			insertSorted(tagEntries, entry);
 		}
 
-		ListIterator<SimEvent> iterator = list.listIterator();
-		SimEvent event;
-		while (iterator.hasNext()) {
-			event = iterator.next();
-			if (event.eventTime() > eventTime) {
-				iterator.previous();
-				iterator.add(newEvent);
-				return;
-			}
+		size++;
+	}
+
+	/**
+	 * Inserts an entry as the last one among the entries happening up to its time.
+	 * The entries happening later are just the last ones,
+	 * since events are usually received in temporal order.
+	 *
+	 * @param deque the deque to insert the entry into
+	 * @param entry the entry to insert
+	 */
+	private static void insertSorted(final Deque<Entry> deque, final Entry entry) {
+		final Deque<Entry> laterEntries = new ArrayDeque<>();
+		while (!deque.isEmpty() && deque.peekLast().event.eventTime() > entry.event.eventTime()) {
+			laterEntries.addFirst(deque.pollLast());
 		}
 
-		list.add(newEvent);
+		deque.addLast(entry);
+		deque.addAll(laterEntries);
 	}
 
 	/**
@@ -65,8 +108,9 @@ public class DeferredQueue implements EventQueue {
 	 *
 	 * @return the iterator
 	 */
+	@Override
 	public Iterator<SimEvent> iterator() {
-		return list.iterator();
+		return stream().iterator();
 	}
 
     /**
@@ -74,8 +118,9 @@ public class DeferredQueue implements EventQueue {
      *
      * @return the stream
      */
+    @Override
     public Stream<SimEvent> stream() {
-        return list.stream();
+        return entries.stream().filter(entry -> !entry.removed).map(entry -> entry.event);
     }
 
 	/**
@@ -83,13 +128,14 @@ public class DeferredQueue implements EventQueue {
 	 *
 	 * @return the number of events in the queue.
 	 */
+	@Override
 	public int size() {
-		return list.size();
+		return size;
 	}
 
     @Override
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -99,23 +145,177 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean remove(SimEvent event) {
-        return list.remove(event);
+        final Deque<Entry> tagEntries = entriesByTag.get(event.getTag());
+        if (tagEntries == null) {
+            return false;
+        }
+
+        for (final Entry entry : tagEntries) {
+            if (entry.event == event) {
+                removeEntry(entry);
+                return true;
+            }
+        }
+
+        return false;
     }
 
+    /**
+     * Counts the events in the queue that match a given predicate.
+     *
+     * @param p the event selection predicate
+     * @return the number of matching events
+     */
+    public long count(Predicate<SimEvent> p) {
+        if (p.getClass() == PredicateAny.class) {
+            return size;
+        }
+
+        if (p.getClass() == PredicateType.class) {
+            long count = 0;
+            final PredicateType predicate = (PredicateType) p;
+            for (int i = 0; i < predicate.getTagsCount(); i++) {
+                final int tag = predicate.getTag(i);
+                final Deque<Entry> tagEntries = entriesByTag.get(tag);
+                count += tagEntries == null ? 0 : tagEntries.size();
+            }
+
+            return count;
+        }
+
+        return stream().filter(p).count();
+    }
+
+    /**
+     * Gets the first event in the queue that matches a given predicate.
+     *
+     * @param p the event selection predicate
+     * @return the first matching event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent findFirst(Predicate<SimEvent> p) {
+        final Entry entry = findFirstEntry(p);
+        return entry == null ? SimEvent.NULL : entry.event;
+    }
+
+    /**
+     * Gets the first event in the queue that matches a given predicate
+     * and removes it from the queue.
+     *
+     * @param p the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent poll(Predicate<SimEvent> p) {
+        final Entry entry = findFirstEntry(p);
+        if (entry == null) {
+            return SimEvent.NULL;
+        }
+
+        removeEntry(entry);
+        return entry.event;
+    }
+
+    private Entry findFirstEntry(final Predicate<SimEvent> p) {
+        if (p.getClass() == PredicateAny.class) {
+            return entries.peekFirst();
+        }
+
+        if (p.getClass() == PredicateType.class) {
+            Entry first = null;
+            final PredicateType predicate = (PredicateType) p;
+            for (int i = 0; i < predicate.getTagsCount(); i++) {
+                final int tag = predicate.getTag(i);
+                final Deque<Entry> tagEntries = entriesByTag.get(tag);
+                final Entry entry = tagEntries == null ? null : tagEntries.peekFirst();
+                if (entry != null && (first == null || entry.isBefore(first))) {
+                    first = entry;
+                }
+            }
+
+            return first;
+        }
+
+        for (final Entry entry : entries) {
+            if (!entry.removed && p.test(entry.event)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes an entry from the tag index and marks it as removed.
+     * If it's the head of the queue, it and any subsequent entries
+     * marked as removed are discarded.
+     * If there are more removed entries than events in the queue,
+     * the queue is compacted, avoiding the accumulation of removed entries.
+     *
+     * @param entry the entry to remove
+     */
+    private void removeEntry(final Entry entry) {
+        final Deque<Entry> tagEntries = entriesByTag.get(entry.event.getTag());
+        if (tagEntries.peekFirst() == entry) {
+            tagEntries.pollFirst();
+        } else {
+            tagEntries.remove(entry);
+        }
+
+        entry.removed = true;
+        size--;
+        removedEntries++;
+        while (!entries.isEmpty() && entries.peekFirst().removed) {
+            entries.pollFirst();
+            removedEntries--;
+        }
+
+        if (removedEntries > size) {
+            entries.removeIf(e -> e.removed);
+            removedEntries = 0;
+        }
+    }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-	    if(list.isEmpty())
+	    if(isEmpty())
 	        throw new NoSuchElementException("The Deferred Queue is empty.");
 
-        return list.get(0);
+        return entries.peekFirst().event;
     }
 
     /**
 	 * Clears the queue.
 	 */
 	public void clear() {
-		list.clear();
+		entries.clear();
+		entriesByTag.clear();
+		size = 0;
+		removedEntries = 0;
 	}
 
+    /**
+     * An entry in the queue, storing an event and its arrival order.
+     */
+    private static final class Entry {
+        private final SimEvent event;
+        private final long order;
+        private boolean removed;
+
+        private Entry(final SimEvent event, final long order) {
+            this.event = event;
+            this.order = order;
+        }
+
+        /**
+         * Checks if this entry comes before another one into the queue,
+         * that is, if it happens earlier or if it was received first
+         * when both happen at the same time.
+         *
+         * @param other the entry to compare to
+         * @return true if this entry comes first, false otherwise
+         */
+        private boolean isBefore(final Entry other) {
+            final int result = Double.compare(event.eventTime(), other.event.eventTime());
+            return result == 0 ? order < other.order : result < 0;
+        }
+    }
 }
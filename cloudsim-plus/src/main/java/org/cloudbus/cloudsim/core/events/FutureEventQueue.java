@@ -0,0 +1,145 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * An interface to be implemented by queues that store the events
+ * to be processed in a future simulation time by {@link CloudSim}.
+ * It allows the data structure used to store such events to be replaced,
+ * by passing an implementation of this interface to the {@link CloudSim} constructor.
+ *
+ * <p>Implementations must keep the events ordered exactly as defined by
+ * {@link SimEvent#compareTo(SimEvent)}, that is,
+ * by {@link SimEvent#getTime() time} and then by {@link SimEvent#getSerial() serial}.
+ * Events having the same time and serial must be kept in insertion order.
+ * The {@link #first()} method must always return the head of the queue
+ * according to such an ordering.</p>
+ *
+ * <p>The {@link #iterator()} and {@link #stream()} methods
+ * are not required to return the events in such an order.
+ * Implementations are free to return them in the order that is
+ * cheaper for their internal data structure.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see FutureQueue
+ * @see FutureQueueCalendar
+ * @see FutureQueueHeap
+ */
+public interface FutureEventQueue extends EventQueue {
+    /**
+     * Adds a new event to the queue, assigning a new {@link SimEvent#getSerial() serial}
+     * to it, so that the event is placed after all other events happening at the same time.
+     *
+     * @param newEvent The event to be put in the queue.
+     */
+    @Override
+    void addEvent(SimEvent newEvent);
+
+    /**
+     * Adds a new event to the head of the queue, among the events
+     * happening at the same time of the given one.
+     *
+     * @param newEvent The event to be put in the queue.
+     */
+    void addEventFirst(SimEvent newEvent);
+
+    /**
+     * Removes the head of the queue.
+     *
+     * @return the removed event
+     * @throws NoSuchElementException when the queue is empty
+     */
+    SimEvent pollFirst() throws NoSuchElementException;
+
+    /**
+     * Removes all the events at the head of the queue that happen at a given time,
+     * adding them to a given collection in the order they have to be processed.
+     * It just traverses the removed events, instead of the entire queue,
+     * taking O(k log n) time (or less, depending on the implementation)
+     * for k removed events.
+     *
+     * <p>If the head of the queue happens at a different time,
+     * no event is removed.</p>
+     *
+     * @param time the time of the events to remove
+     * @param events the collection where the removed events will be added to
+     * @return the number of removed events
+     */
+    default int pollAllAt(final double time, final Collection<SimEvent> events) {
+        int count = 0;
+        while(!isEmpty() && first().eventTime() == time){
+            events.add(pollFirst());
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes the event from the queue.
+     *
+     * @param event the event
+     * @return true, if successful
+     */
+    boolean remove(SimEvent event);
+
+    /**
+     * Removes all the events from the queue.
+     *
+     * @param events the events
+     * @return true, if successful
+     */
+    boolean removeAll(Collection<SimEvent> events);
+
+    /**
+     * Clears the queue.
+     */
+    void clear();
+
+    /**
+     * Returns an iterator to the elements into the queue,
+     * in no particular order.
+     *
+     * @return the iterator
+     */
+    @Override
+    Iterator<SimEvent> iterator();
+
+    /**
+     * Returns a stream to the elements into the queue,
+     * in no particular order.
+     *
+     * @return the stream
+     */
+    @Override
+    Stream<SimEvent> stream();
+}
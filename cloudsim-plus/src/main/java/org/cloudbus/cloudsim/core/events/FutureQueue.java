@@ -13,24 +13,26 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Stream;
 
 /**
- * This class implements the future event queue used by {@link CloudSim}.
+ * This class implements the default future event queue used by {@link CloudSim}.
  * The event queue uses a {@link TreeSet} in order to store the events.
+ * Its {@link #iterator()} and {@link #stream()} return the events in temporal order.
  *
  * @author Marcos Dias de Assuncao
  * @see java.util.TreeSet
+ * @see FutureQueueCalendar
+ * @see FutureQueueHeap
  * @since CloudSim Toolkit 1.0
  */
-public class FutureQueue implements EventQueue {
+public class FutureQueue implements FutureEventQueue {
 
     /**
      * The sorted set of events.
      */
-    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
+    private final TreeSet<SimEvent> sortedSet = new TreeSet<>();
 
     /**
      * A incremental number used for {@link SimEvent#getSerial()} event attribute.
@@ -43,11 +45,7 @@ public class FutureQueue implements EventQueue {
         sortedSet.add(newEvent);
     }
 
-    /**
-     * Adds a new event to the head of the queue.
-     *
-     * @param newEvent The event to be put in the queue.
-     */
+    @Override
     public void addEventFirst(SimEvent newEvent) {
         newEvent.setSerial(0);
         sortedSet.add(newEvent);
@@ -73,22 +71,21 @@ public class FutureQueue implements EventQueue {
         return sortedSet.isEmpty();
     }
 
-    /**
-     * Removes the event from the queue.
-     *
-     * @param event the event
-     * @return true, if successful
-     */
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        if(sortedSet.isEmpty()){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return sortedSet.pollFirst();
+    }
+
+    @Override
     public boolean remove(SimEvent event) {
         return sortedSet.remove(event);
     }
 
-    /**
-     * Removes all the events from the queue.
-     *
-     * @param events the events
-     * @return true, if successful
-     */
+    @Override
     public boolean removeAll(Collection<SimEvent> events) {
         return sortedSet.removeAll(events);
     }
@@ -98,9 +95,7 @@ public class FutureQueue implements EventQueue {
         return sortedSet.first();
     }
 
-    /**
-     * Clears the queue.
-     */
+    @Override
     public void clear() {
         sortedSet.clear();
     }
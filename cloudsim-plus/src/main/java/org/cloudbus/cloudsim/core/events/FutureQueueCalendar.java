@@ -0,0 +1,395 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} for {@link CloudSim} implemented as a
+ * <a href="https://doi.org/10.1145/63039.63045">Calendar Queue</a>,
+ * that provides amortized O(1) time to add events and to remove the head of the queue.
+ *
+ * <p>The time line is split into "days" of a given width and
+ * the events are stored into a circular array of buckets (a "year"),
+ * where the bucket for an event is given by its day modulo the number of buckets.
+ * The number of buckets and the day width are automatically
+ * adjusted as the queue grows or shrinks, keeping an average of
+ * few events per bucket.
+ * Each bucket stores its events sorted by time and serial,
+ * so that the ordering defined by {@link SimEvent#compareTo(SimEvent)} is kept.</p>
+ *
+ * <p>Removing an arbitrary event just requires searching it inside its bucket.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class FutureQueueCalendar implements FutureEventQueue {
+    private static final int MIN_BUCKETS = 2;
+
+    /**
+     * Max number of events at the head of the queue used to estimate
+     * a new {@link #width} when the queue is resized.
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 25;
+
+    /**
+     * The buckets, where each one is sorted by event time and serial.
+     * The number of buckets is always a power of 2.
+     */
+    private LinkedList<SimEvent>[] buckets;
+
+    /**
+     * A bit mask used to compute the bucket index of a given {@link #dayOf(double) day}.
+     */
+    private int mask;
+
+    /**
+     * The width of each day (the time interval covered by a bucket in a year).
+     */
+    private double width;
+
+    /**
+     * The day where the search for the head of the queue starts.
+     * There isn't any event happening before such a day.
+     */
+    private long currentDay;
+
+    private int size;
+
+    /**
+     * A incremental number used for {@link SimEvent#getSerial()} event attribute.
+     */
+    private long serial;
+
+    /**
+     * Creates an empty future event queue based on a Calendar Queue,
+     * with an initial day width of 1 time unit.
+     */
+    public FutureQueueCalendar() {
+        this(1);
+    }
+
+    /**
+     * Creates an empty future event queue based on a Calendar Queue,
+     * with a given initial day width.
+     * Such a value is adjusted as soon as the queue is resized,
+     * according to the average interval between the events at the head of the queue.
+     *
+     * @param initialWidth the initial time interval covered by each bucket
+     */
+    public FutureQueueCalendar(final double initialWidth) {
+        if(initialWidth <= 0){
+            throw new IllegalArgumentException("The initial width must be greater than zero.");
+        }
+
+        createBuckets(MIN_BUCKETS, initialWidth);
+    }
+
+    private void createBuckets(final int numberOfBuckets, final double width) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final LinkedList<SimEvent>[] newBuckets = new LinkedList[numberOfBuckets];
+        this.buckets = newBuckets;
+        for (int i = 0; i < numberOfBuckets; i++) {
+            buckets[i] = new LinkedList<>();
+        }
+
+        this.mask = numberOfBuckets - 1;
+        this.width = width;
+    }
+
+    @Override
+    public void addEvent(SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        offer(newEvent);
+    }
+
+    @Override
+    public void addEventFirst(SimEvent newEvent) {
+        newEvent.setSerial(0);
+        offer(newEvent);
+    }
+
+    private void offer(final SimEvent newEvent) {
+        insert(newEvent);
+        size++;
+        if(size > 2 * buckets.length){
+            resize(2 * buckets.length);
+        }
+    }
+
+    /**
+     * Inserts an event into its bucket, keeping the bucket sorted.
+     * Since new events usually happen after the existing ones,
+     * the bucket is traversed backwards.
+     *
+     * @param newEvent the event to insert
+     */
+    private void insert(final SimEvent newEvent) {
+        final long day = dayOf(newEvent.getTime());
+        if(size == 0 || day < currentDay){
+            currentDay = day;
+        }
+
+        final LinkedList<SimEvent> bucket = buckets[bucketIndex(day)];
+        if(bucket.isEmpty() || compare(bucket.getLast(), newEvent) <= 0){
+            bucket.addLast(newEvent);
+            return;
+        }
+
+        final ListIterator<SimEvent> it = bucket.listIterator(bucket.size());
+        while(it.hasPrevious()){
+            if(compare(it.previous(), newEvent) <= 0){
+                it.next();
+                break;
+            }
+        }
+
+        it.add(newEvent);
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(buckets).flatMap(Collection::stream);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if(size == 0){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return buckets[findFirstBucket()].getFirst();
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        if(size == 0){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        final SimEvent head = poll();
+        shrinkIfRequired();
+        return head;
+    }
+
+    /**
+     * Removes the head of the queue, without shrinking it.
+     * @return the removed event
+     */
+    private SimEvent poll() {
+        final SimEvent event = buckets[findFirstBucket()].removeFirst();
+        size--;
+        return event;
+    }
+
+    /**
+     * Finds the bucket containing the head of the queue,
+     * starting at the {@link #currentDay} and updating it to the day of such a head event.
+     * If a whole year is traversed without finding it,
+     * a direct search is performed over the head of all buckets.
+     *
+     * @return the index of the bucket containing the head of the queue
+     */
+    private int findFirstBucket() {
+        long day = currentDay;
+        for (int i = 0; i < buckets.length; i++, day++) {
+            final LinkedList<SimEvent> bucket = buckets[bucketIndex(day)];
+            if(!bucket.isEmpty() && dayOf(bucket.getFirst().getTime()) == day){
+                currentDay = day;
+                return bucketIndex(day);
+            }
+        }
+
+        SimEvent head = null;
+        for (final LinkedList<SimEvent> bucket : buckets) {
+            if(!bucket.isEmpty() && (head == null || compare(bucket.getFirst(), head) < 0)){
+                head = bucket.getFirst();
+            }
+        }
+
+        currentDay = dayOf(head.getTime());
+        return bucketIndex(currentDay);
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        final Iterator<SimEvent> it = buckets[bucketIndex(dayOf(event.getTime()))].iterator();
+        while(it.hasNext()){
+            if(it.next() == event){
+                it.remove();
+                size--;
+                shrinkIfRequired();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent event : events) {
+            removed |= remove(event);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        createBuckets(MIN_BUCKETS, width);
+        size = 0;
+        currentDay = 0;
+    }
+
+    private void shrinkIfRequired() {
+        if(buckets.length > MIN_BUCKETS && size < buckets.length / 2 - 2){
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Changes the number of buckets, computing a new day width
+     * and redistributing all events across the new buckets.
+     *
+     * @param numberOfBuckets the new number of buckets
+     */
+    private void resize(final int numberOfBuckets) {
+        final double newWidth = computeNewWidth();
+        final LinkedList<SimEvent>[] oldBuckets = buckets;
+        createBuckets(numberOfBuckets, newWidth);
+
+        final int oldSize = size;
+        size = 0;
+        for (final LinkedList<SimEvent> bucket : oldBuckets) {
+            for (final SimEvent event : bucket) {
+                insert(event);
+                size++;
+            }
+        }
+
+        size = oldSize;
+    }
+
+    /**
+     * Computes a new day width as 3 times the average interval
+     * between the events at the head of the queue.
+     * Intervals greater than twice the average are ignored
+     * and zero intervals (events happening at the same time) are not considered.
+     * If no interval can be computed, the current width is kept.
+     *
+     * @return the new day width
+     */
+    private double computeNewWidth() {
+        final int samples = Math.min(size, WIDTH_SAMPLE_SIZE);
+        if(samples < 2){
+            return width;
+        }
+
+        final SimEvent[] sample = new SimEvent[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = poll();
+        }
+
+        /*Puts the removed events back at the head of their buckets,
+        * in reverse order, restoring the exact previous state.*/
+        for (int i = samples - 1; i >= 0; i--) {
+            buckets[bucketIndex(dayOf(sample[i].getTime()))].addFirst(sample[i]);
+            size++;
+        }
+        currentDay = dayOf(sample[0].getTime());
+
+        final double average = averageInterval(sample, Double.MAX_VALUE);
+        if(average == 0){
+            return width;
+        }
+
+        final double filteredAverage = averageInterval(sample, 2 * average);
+        return 3 * (filteredAverage == 0 ? average : filteredAverage);
+    }
+
+    /**
+     * Computes the average of non-zero time intervals between consecutive events
+     * which are not greater than a given max value.
+     *
+     * @param sample the events sorted by time
+     * @param maxInterval the max interval to consider
+     * @return the average interval or 0 if there is no interval to consider
+     */
+    private double averageInterval(final SimEvent[] sample, final double maxInterval) {
+        double sum = 0;
+        int count = 0;
+        for (int i = 1; i < sample.length; i++) {
+            final double interval = sample[i].getTime() - sample[i-1].getTime();
+            if(interval > 0 && interval <= maxInterval){
+                sum += interval;
+                count++;
+            }
+        }
+
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private long dayOf(final double time) {
+        return (long)Math.floor(time / width);
+    }
+
+    private int bucketIndex(final long day) {
+        return (int)(day & mask);
+    }
+
+    /**
+     * Compares two events by their time and serial.
+     */
+    private static int compare(final SimEvent e1, final SimEvent e2) {
+        if(e1.getTime() < e2.getTime()){
+            return -1;
+        }
+
+        if(e1.getTime() > e2.getTime()){
+            return 1;
+        }
+
+        return Long.compare(e1.getSerial(), e2.getSerial());
+    }
+}
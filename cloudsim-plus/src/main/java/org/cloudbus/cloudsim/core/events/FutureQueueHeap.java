@@ -0,0 +1,306 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} for {@link CloudSim} that stores the events
+ * into an array-based 4-ary (quaternary) min-heap.
+ *
+ * <p>Compared to the {@link FutureQueue}, it doesn't allocate a tree node for each event
+ * and the tree has half of the height of a binary one, which reduces
+ * pointer chasing when adding events and removing the head of the queue.
+ * Both operations take O(log n) time.
+ * Removing an arbitrary event requires a linear search for it, taking O(n) time.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class FutureQueueHeap implements FutureEventQueue {
+    /**
+     * The number of children of each heap node.
+     */
+    private static final int ARITY = 4;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The heap of events, where the children of the event at index i
+     * are at indexes from {@code ARITY*i + 1} to {@code ARITY*i + ARITY}.
+     */
+    private SimEvent[] heap;
+
+    /**
+     * The order in which each event in the {@link #heap} was inserted,
+     * used to keep insertion order for events with the same time and serial
+     * (such as the ones added by {@link #addEventFirst(SimEvent)}).
+     */
+    private long[] insertionOrder;
+
+    private int size;
+
+    /**
+     * A incremental number used for {@link SimEvent#getSerial()} event attribute.
+     */
+    private long serial;
+
+    /**
+     * A incremental number used to fill the {@link #insertionOrder}.
+     */
+    private long insertions;
+
+    /**
+     * Creates an empty future event queue based on a 4-ary heap.
+     */
+    public FutureQueueHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty future event queue based on a 4-ary heap,
+     * with a given initial capacity.
+     *
+     * @param initialCapacity the number of events the queue can store before being resized
+     */
+    public FutureQueueHeap(final int initialCapacity) {
+        if(initialCapacity <= 0){
+            throw new IllegalArgumentException("The initial capacity must be greater than zero.");
+        }
+
+        heap = new SimEvent[initialCapacity];
+        insertionOrder = new long[initialCapacity];
+    }
+
+    @Override
+    public void addEvent(SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        offer(newEvent);
+    }
+
+    @Override
+    public void addEventFirst(SimEvent newEvent) {
+        newEvent.setSerial(0);
+        offer(newEvent);
+    }
+
+    private void offer(final SimEvent newEvent) {
+        if(size == heap.length){
+            final int newCapacity = heap.length * 2;
+            heap = Arrays.copyOf(heap, newCapacity);
+            insertionOrder = Arrays.copyOf(insertionOrder, newCapacity);
+        }
+
+        heap[size] = newEvent;
+        insertionOrder[size] = insertions++;
+        siftUp(size++);
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return Collections.unmodifiableList(Arrays.asList(heap).subList(0, size)).iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(heap, 0, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if(size == 0){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return heap[0];
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        final SimEvent head = first();
+        removeAt(0);
+        return head;
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        for (int i = 0; i < size; i++) {
+            if(heap[i] == event){
+                removeAt(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * All the given events are removed with a single pass over the heap,
+     * which is then rebuilt in O(n) time.
+     *
+     * @param events {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        if(events.isEmpty()){
+            return false;
+        }
+
+        final Set<SimEvent> eventsToRemove = Collections.newSetFromMap(new IdentityHashMap<>(events.size()));
+        eventsToRemove.addAll(events);
+
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if(!eventsToRemove.contains(heap[i])){
+                heap[newSize] = heap[i];
+                insertionOrder[newSize++] = insertionOrder[i];
+            }
+        }
+
+        if(newSize == size){
+            return false;
+        }
+
+        Arrays.fill(heap, newSize, size, null);
+        size = newSize;
+        for (int i = parent(size - 1); i >= 0; i--) {
+            siftDown(i);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Removes the event at a given index of the heap,
+     * replacing it by the last event and restoring the heap order.
+     *
+     * @param index the index of the event to remove
+     */
+    private void removeAt(final int index) {
+        size--;
+        if(index == size){
+            heap[size] = null;
+            return;
+        }
+
+        heap[index] = heap[size];
+        insertionOrder[index] = insertionOrder[size];
+        heap[size] = null;
+
+        final SimEvent moved = heap[index];
+        siftDown(index);
+        if(heap[index] == moved){
+            siftUp(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        final SimEvent event = heap[index];
+        final long order = insertionOrder[index];
+        while (index > 0) {
+            final int parent = parent(index);
+            if(compare(event, order, heap[parent], insertionOrder[parent]) >= 0){
+                break;
+            }
+
+            heap[index] = heap[parent];
+            insertionOrder[index] = insertionOrder[parent];
+            index = parent;
+        }
+
+        heap[index] = event;
+        insertionOrder[index] = order;
+    }
+
+    private void siftDown(int index) {
+        final SimEvent event = heap[index];
+        final long order = insertionOrder[index];
+        while (true) {
+            final int firstChild = ARITY * index + 1;
+            if(firstChild >= size){
+                break;
+            }
+
+            int minChild = firstChild;
+            final int lastChild = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if(compare(heap[child], insertionOrder[child], heap[minChild], insertionOrder[minChild]) < 0){
+                    minChild = child;
+                }
+            }
+
+            if(compare(heap[minChild], insertionOrder[minChild], event, order) >= 0){
+                break;
+            }
+
+            heap[index] = heap[minChild];
+            insertionOrder[index] = insertionOrder[minChild];
+            index = minChild;
+        }
+
+        heap[index] = event;
+        insertionOrder[index] = order;
+    }
+
+    private static int parent(final int index) {
+        return (index - 1) / ARITY;
+    }
+
+    /**
+     * Compares two events by their time, serial and insertion order.
+     */
+    private static int compare(final SimEvent e1, final long order1, final SimEvent e2, final long order2) {
+        if(e1.getTime() < e2.getTime()){
+            return -1;
+        }
+
+        if(e1.getTime() > e2.getTime()){
+            return 1;
+        }
+
+        final int bySerial = Long.compare(e1.getSerial(), e2.getSerial());
+        return bySerial != 0 ? bySerial : Long.compare(order1, order2);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} that wraps another one, keeping a secondary index
+ * of the events by {@link SimEvent#getSource() source entity} and {@link SimEvent#getTag() tag}.
+ * It is used by {@link CloudSim} to find the events to be cancelled by a given entity
+ * without traversing the entire queue.
+ *
+ * <p>The ordering of the events is entirely defined by the wrapped queue.
+ * The index just costs a few hash lookups for every event added or removed.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class FutureQueueIndexed implements FutureEventQueue {
+    /**
+     * The queue actually storing the events.
+     */
+    private final FutureEventQueue queue;
+
+    /**
+     * A map where each key is the id of a source entity and each value
+     * is a map of the events sent by such an entity, indexed by tag.
+     */
+    private final Map<Integer, Map<Integer, Set<SimEvent>>> eventsBySource;
+
+    /**
+     * A list used to temporarily store the events removed by {@link #pollAllAt(double, Collection)},
+     * in order to remove them from the index.
+     */
+    private final List<SimEvent> polledEvents;
+
+    /**
+     * Creates an indexed future event queue that wraps a given one.
+     *
+     * @param queue the queue to actually store the events
+     */
+    public FutureQueueIndexed(final FutureEventQueue queue) {
+        this.queue = Objects.requireNonNull(queue);
+        this.eventsBySource = new HashMap<>();
+        this.polledEvents = new ArrayList<>();
+        queue.stream().forEach(this::index);
+    }
+
+    /**
+     * Gets a stream of the events in the queue that were sent by a given entity
+     * and have a given tag, in no particular order.
+     *
+     * @param src the id of the entity that scheduled the events
+     * @param tag the tag of the events
+     * @return a stream of the events found
+     */
+    public Stream<SimEvent> stream(final int src, final int tag) {
+        return eventsBySource.getOrDefault(src, Collections.emptyMap())
+                             .getOrDefault(tag, Collections.emptySet())
+                             .stream();
+    }
+
+    /**
+     * Gets a stream of the events in the queue that were sent by a given entity,
+     * in no particular order.
+     *
+     * @param src the id of the entity that scheduled the events
+     * @return a stream of the events found
+     */
+    public Stream<SimEvent> stream(final int src) {
+        return eventsBySource.getOrDefault(src, Collections.emptyMap())
+                             .values().stream()
+                             .flatMap(Set::stream);
+    }
+
+    private void index(final SimEvent event) {
+        eventsBySource
+            .computeIfAbsent(event.getSource(), src -> new HashMap<>())
+            .computeIfAbsent(event.getTag(), tag -> Collections.newSetFromMap(new IdentityHashMap<>()))
+            .add(event);
+    }
+
+    /**
+     * Removes an event from the index.
+     * The sets and maps which become empty are removed too,
+     * so that the index doesn't keep growing with all the sources and tags
+     * ever used along the simulation.
+     *
+     * @param event the event to remove
+     */
+    private void unindex(final SimEvent event) {
+        final Map<Integer, Set<SimEvent>> eventsByTag = eventsBySource.get(event.getSource());
+        if(eventsByTag == null){
+            return;
+        }
+
+        final Set<SimEvent> events = eventsByTag.get(event.getTag());
+        if(events == null || !events.remove(event) || !events.isEmpty()){
+            return;
+        }
+
+        eventsByTag.remove(event.getTag());
+        if(eventsByTag.isEmpty()){
+            eventsBySource.remove(event.getSource());
+        }
+    }
+
+    /**
+     * Gets the number of (source, tag) pairs having events into the index.
+     * @return the number of indexed (source, tag) pairs
+     */
+    int getIndexedPairsCount() {
+        return eventsBySource.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public void addEvent(SimEvent newEvent) {
+        queue.addEvent(newEvent);
+        index(newEvent);
+    }
+
+    @Override
+    public void addEventFirst(SimEvent newEvent) {
+        queue.addEventFirst(newEvent);
+        index(newEvent);
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        final SimEvent event = queue.pollFirst();
+        unindex(event);
+        return event;
+    }
+
+    @Override
+    public int pollAllAt(final double time, final Collection<SimEvent> events) {
+        polledEvents.clear();
+        final int count = queue.pollAllAt(time, polledEvents);
+        polledEvents.forEach(this::unindex);
+        events.addAll(polledEvents);
+        polledEvents.clear();
+        return count;
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        if(queue.remove(event)){
+            unindex(event);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        if(queue.removeAll(events)){
+            events.forEach(this::unindex);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+        eventsBySource.clear();
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return queue.first();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned iterator doesn't allow removing events,
+     * since that would make the index inconsistent.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return queue.stream().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return queue.stream();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * A pool of {@link CloudSimEvent}s that allows a {@link CloudSim} instance
+ * to reuse events which were already processed, instead of creating a new one
+ * for every sent event. This way, the allocation rate of events in
+ * steady state is nearly zero, reducing the garbage collection overhead
+ * of long running simulations.
+ *
+ * <p>An event must be released to the pool only when no one else
+ * keeps a reference to it, because it will be changed
+ * as soon as it is acquired again.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see CloudSim#setEventPoolingEnabled(boolean)
+ */
+public class SimEventPool {
+    /**
+     * The default max number of released events kept by the pool.
+     */
+    public static final int DEFAULT_MAX_SIZE = 65536;
+
+    private final CloudSim simulation;
+
+    /**
+     * The events available to be reused.
+     */
+    private final Deque<CloudSimEvent> events;
+
+    /**
+     * @see #getMaxSize()
+     */
+    private final int maxSize;
+
+    /**
+     * Creates an event pool for a given simulation, with a {@link #DEFAULT_MAX_SIZE default max size}.
+     *
+     * @param simulation the simulation the pooled events belong to
+     */
+    public SimEventPool(final CloudSim simulation) {
+        this(simulation, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates an event pool for a given simulation.
+     *
+     * @param simulation the simulation the pooled events belong to
+     * @param maxSize the max number of released events to keep in the pool
+     */
+    public SimEventPool(final CloudSim simulation, final int maxSize) {
+        if(maxSize < 0){
+            throw new IllegalArgumentException("The max size of the pool cannot be negative.");
+        }
+
+        this.simulation = Objects.requireNonNull(simulation);
+        this.maxSize = maxSize;
+        this.events = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets an event from the pool, initializing it with the given attributes.
+     * If the pool is empty, a new event is created.
+     *
+     * @param type the type of the event
+     * @param time the time the event has to be processed
+     * @param src the id of the entity that is scheduling the event
+     * @param dest the id of the entity the event will be sent to
+     * @param tag the tag of the event
+     * @param data the data to be sent with the event
+     * @return the acquired event
+     */
+    public SimEvent acquire(final SimEvent.Type type, final double time, final int src, final int dest, final int tag, final Object data) {
+        final CloudSimEvent evt = events.pollLast();
+        if(evt == null){
+            return new CloudSimEvent(simulation, type, time, src, dest, tag, data);
+        }
+
+        return evt.reset(type, time, src, dest, tag, data);
+    }
+
+    /**
+     * Returns an event to the pool, so that it can be reused.
+     * Events from other simulations, events already released and
+     * events arriving when the pool is full are just ignored.
+     *
+     * @param evt the event to release
+     */
+    public void release(final SimEvent evt) {
+        if(!(evt instanceof CloudSimEvent) || evt.getSimulation() != simulation ||
+           evt.getType() == SimEvent.Type.NULL || events.size() >= maxSize)
+        {
+            return;
+        }
+
+        events.addLast(((CloudSimEvent) evt).clear());
+    }
+
+    /**
+     * Gets the number of events available to be reused.
+     * @return
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Gets the max number of released events the pool keeps.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Removes all events from the pool.
+     */
+    public void clear() {
+        events.clear();
+    }
+}
@@ -10,11 +10,8 @@ package org.cloudbus.cloudsim.core.predicates;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * A predicate which selects events coming from specific registered entities.<br>
@@ -27,7 +24,7 @@ import java.util.stream.Collectors;
 public class PredicateFrom implements Predicate<SimEvent> {
 
 	/** The IDs of source entities to check the reception of events from. */
-	private final List<Integer> ids;
+	private final int[] ids;
 
 	/**
 	 * Constructor used to select events that were sent by a specific entity.
@@ -35,8 +32,7 @@ public class PredicateFrom implements Predicate<SimEvent> {
 	 * @param sourceId the id number of the source entity
 	 */
 	public PredicateFrom(int sourceId) {
-        this.ids = new ArrayList<>(1);
-        this.ids.add(sourceId);
+        this.ids = new int[]{sourceId};
     }
 
 	/**
@@ -45,7 +41,7 @@ public class PredicateFrom implements Predicate<SimEvent> {
 	 * @param sourceIds the set of id numbers of the source entities
 	 */
 	public PredicateFrom(int[] sourceIds) {
-        this.ids = Arrays.stream(sourceIds).boxed().collect(Collectors.toList());
+        this.ids = Arrays.stream(sourceIds).distinct().sorted().toArray();
 	}
 
 	/**
@@ -57,7 +53,7 @@ public class PredicateFrom implements Predicate<SimEvent> {
 	 */
 	@Override
 	public boolean test(SimEvent ev) {
-        return ids.stream().anyMatch(id -> id == ev.getSource());
+        return Arrays.binarySearch(ids, ev.getSource()) >= 0;
 	}
 
 }
@@ -10,11 +10,8 @@ package org.cloudbus.cloudsim.core.predicates;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * A predicate which selects events that have not been sent by specific entities.
@@ -29,7 +26,7 @@ public class PredicateNotFrom implements Predicate<SimEvent> {
     /**
      * The IDs of source entities to check if events were not sent from.
      */
-    private final List<Integer> ids;
+    private final int[] ids;
 
     /**
      * Constructor used to select events that were not sent by a specific entity.
@@ -37,8 +34,7 @@ public class PredicateNotFrom implements Predicate<SimEvent> {
      * @param sourceId the id number of the source entity
      */
     public PredicateNotFrom(int sourceId) {
-        this.ids = new ArrayList<>(1);
-        this.ids.add(sourceId);
+        this.ids = new int[]{sourceId};
     }
 
     /**
@@ -47,7 +43,7 @@ public class PredicateNotFrom implements Predicate<SimEvent> {
      * @param sourceIds the set of id numbers of the source entities
      */
     public PredicateNotFrom(int[] sourceIds) {
-        this.ids = Arrays.stream(sourceIds).boxed().collect(Collectors.toList());
+        this.ids = Arrays.stream(sourceIds).distinct().sorted().toArray();
     }
 
     /**
@@ -59,7 +55,7 @@ public class PredicateNotFrom implements Predicate<SimEvent> {
      */
     @Override
     public boolean test(SimEvent ev) {
-        return ids.stream().noneMatch(id -> id == ev.getSource());
+        return Arrays.binarySearch(ids, ev.getSource()) < 0;
     }
 
 }
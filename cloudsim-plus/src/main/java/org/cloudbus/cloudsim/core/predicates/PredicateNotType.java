@@ -10,11 +10,8 @@ package org.cloudbus.cloudsim.core.predicates;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * A predicate to select events that don't match specific tags.
@@ -27,9 +24,9 @@ import java.util.stream.Collectors;
 public class PredicateNotType implements Predicate<SimEvent> {
 
     /**
-     * Array of tags to verify if the tag of received events doesn't correspond to.
+     * Sorted array of tags to verify if the tag of received events doesn't correspond to.
      */
-    private final List<Integer> tags;
+    private final int[] tags;
 
     /**
      * Constructor used to select events whose tags do not match a given tag.
@@ -37,9 +34,7 @@ public class PredicateNotType implements Predicate<SimEvent> {
      * @param tag An event {@link SimEvent#getTag() tag} value
      */
     public PredicateNotType(int tag) {
-        this.tags = new ArrayList<>(1);
-        this.tags.add(tag);
-
+        this.tags = new int[]{tag};
     }
 
     /**
@@ -48,7 +43,7 @@ public class PredicateNotType implements Predicate<SimEvent> {
      * @param tags the list of {@link SimEvent#getTag() tags}
      */
     public PredicateNotType(int[] tags) {
-        this.tags = Arrays.stream(tags).boxed().collect(Collectors.toList());
+        this.tags = Arrays.stream(tags).distinct().sorted().toArray();
     }
 
     /**
@@ -60,7 +55,7 @@ public class PredicateNotType implements Predicate<SimEvent> {
      */
     @Override
     public boolean test(SimEvent ev) {
-        return tags.stream().noneMatch(tag -> tag == ev.getTag());
+        return Arrays.binarySearch(tags, ev.getTag()) < 0;
     }
 
 }
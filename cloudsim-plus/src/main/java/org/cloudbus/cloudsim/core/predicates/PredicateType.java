@@ -10,11 +10,8 @@ package org.cloudbus.cloudsim.core.predicates;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * A predicate to select events with specific {@link SimEvent#getTag() tags}.
@@ -27,9 +24,9 @@ import java.util.stream.Collectors;
 public class PredicateType implements Predicate<SimEvent> {
 
     /**
-     * Array of tags to verify if the tag of received events correspond to.
+     * Sorted array of tags to verify if the tag of received events correspond to.
      */
-    private final List<Integer> tags;
+    private final int[] tags;
 
     /**
      * Constructor used to select events with the given tag value.
@@ -37,8 +34,7 @@ public class PredicateType implements Predicate<SimEvent> {
      * @param tag an event {@link SimEvent#getTag() tag} value
      */
     public PredicateType(int tag) {
-        this.tags = new ArrayList<>(1);
-        this.tags.add(tag);
+        this.tags = new int[]{tag};
     }
 
     /**
@@ -47,7 +43,39 @@ public class PredicateType implements Predicate<SimEvent> {
      * @param tags the list of {@link SimEvent#getTag() tags}
      */
     public PredicateType(int[] tags) {
-        this.tags = Arrays.stream(tags).boxed().collect(Collectors.toList());
+        this.tags = Arrays.stream(tags).distinct().sorted().toArray();
+    }
+
+    /**
+     * Gets a copy of the {@link SimEvent#getTag() tags} this predicate matches,
+     * sorted and without duplicates.
+     *
+     * @return a sorted array of tags
+     * @see #getTag(int)
+     */
+    public int[] getTags() {
+        return tags.clone();
+    }
+
+    /**
+     * Gets the number of {@link SimEvent#getTag() tags} this predicate matches.
+     *
+     * @return the number of tags
+     */
+    public int getTagsCount() {
+        return tags.length;
+    }
+
+    /**
+     * Gets one of the {@link SimEvent#getTag() tags} this predicate matches,
+     * which are sorted and without duplicates.
+     * It enables the event queues to traverse the tags without copying them.
+     *
+     * @param index the index of the tag, from 0 to {@link #getTagsCount()} - 1
+     * @return the tag at the given index
+     */
+    public int getTag(final int index) {
+        return tags[index];
     }
 
     /**
@@ -59,7 +87,7 @@ public class PredicateType implements Predicate<SimEvent> {
      */
     @Override
     public boolean test(SimEvent ev) {
-        return tags.stream().anyMatch(tag -> tag == ev.getTag());
+        return Arrays.binarySearch(tags, ev.getTag()) >= 0;
     }
 
 }
@@ -79,5 +79,6 @@ final class DatacenterNull implements Datacenter {
     }
 
     @Override public void setLog(boolean log) {}
+    @Override public boolean isLogEnabled() { return false; }
     @Override public void println(String msg) {}
 }
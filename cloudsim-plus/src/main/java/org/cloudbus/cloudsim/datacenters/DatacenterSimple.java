@@ -55,6 +55,20 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     /** @see #getSchedulingInterval() */
     private double schedulingInterval;
 
+    /**
+     * The index of Hosts to be updated at each processing update,
+     * which is only used when the {@link #isIndexedHostsUpdateEnabled() indexed update} is enabled.
+     */
+    private HostProcessingIndex hostProcessingIndex;
+
+    /**
+     * The distinct delays for updating Cloudlets processing requested while
+     * a {@link CloudSimTags#CLOUDLET_SUBMIT_LIST list of Cloudlets} is being submitted,
+     * or null when no such a list is being submitted.
+     * This way, a single update event is sent for all Cloudlets requesting the same delay.
+     */
+    private Set<Double> cloudletListUpdateDelays;
+
     /**
      * Creates a Datacenter with the given parameters.
      *
@@ -236,7 +250,12 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             return false;
         }
 
-        return vmAllocationPolicy.scaleVmVertically((VerticalVmScaling)ev.getData());
+        final VerticalVmScaling scaling = (VerticalVmScaling)ev.getData();
+        final Host host = scaling.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
+        final boolean scaled = vmAllocationPolicy.scaleVmVertically(scaling);
+        setHostProcessingDirty(host);
+        return scaled;
     }
 
     private int processCloudletEvents(SimEvent ev) {
@@ -246,6 +265,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
                 processCloudletSubmit(ev, false);
                 return 1;
 
+            // A batch of Cloudlets arrives at once
+            case CloudSimTags.CLOUDLET_SUBMIT_LIST:
+                processCloudletSubmitList(ev);
+                return 1;
+
             // New Cloudlet arrives, but the sender asks for an ack
             case CloudSimTags.CLOUDLET_SUBMIT_ACK:
                 processCloudletSubmit(ev, true);
@@ -350,7 +374,13 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         }
     }
     /**
-     * Processes the submission of a Cloudlet by a DatacenterBroker.
+     * Processes the submission of a Cloudlet by a DatacenterBroker,
+     * sent inside a single {@link CloudSimTags#CLOUDLET_SUBMIT} or {@link CloudSimTags#CLOUDLET_SUBMIT_ACK} event.
+     *
+     * <p>This method isn't called for Cloudlets sent inside a {@link CloudSimTags#CLOUDLET_SUBMIT_LIST} event,
+     * when the broker has the {@link org.cloudbus.cloudsim.brokers.DatacenterBroker#isCloudletBatchSubmissionEnabled()
+     * batch submission} enabled. Subclasses which need to process the submission of every Cloudlet
+     * should override {@link #processCloudletSubmit(Cloudlet, boolean)} instead.</p>
      *
      * @param ev information about the event just happened
      * @param ack indicates if the event's sender expects to receive an
@@ -360,7 +390,57 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @post $none
      */
     protected void processCloudletSubmit(SimEvent ev, boolean ack) {
-        final Cloudlet cl = (Cloudlet) ev.getData();
+        processCloudletSubmit((Cloudlet) ev.getData(), ack);
+    }
+
+    /**
+     * Processes the submission of a list of Cloudlets by a DatacenterBroker,
+     * sent inside a single {@link CloudSimTags#CLOUDLET_SUBMIT_LIST} event.
+     * The update of Cloudlets processing is scheduled just once for
+     * all Cloudlets in the list requiring an update at the same time.
+     *
+     * @param ev information about the event just happened,
+     *           whose data is the List of Cloudlets
+     */
+    protected void processCloudletSubmitList(SimEvent ev) {
+        @SuppressWarnings("unchecked")
+        final List<Cloudlet> list = (List<Cloudlet>) ev.getData();
+        final Set<Double> delays = new LinkedHashSet<>();
+        cloudletListUpdateDelays = delays;
+        try {
+            for (final Cloudlet cl : list) {
+                processCloudletSubmit(cl, false);
+            }
+        } finally {
+            cloudletListUpdateDelays = null;
+        }
+
+        for (final double delay : delays) {
+            send(getId(), delay, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+        }
+    }
+
+    /**
+     * Checks if a {@link #processCloudletSubmitList(SimEvent) list of Cloudlets} is being submitted.
+     * In such a case, the {@link #requestCloudletProcessingUpdate(double) requests to update
+     * Cloudlets processing} are just sent after all Cloudlets in the list are submitted.
+     *
+     * @return true if a list of Cloudlets is being submitted, false otherwise
+     */
+    protected boolean isSubmittingCloudletList() {
+        return cloudletListUpdateDelays != null;
+    }
+
+    /**
+     * Processes the submission of a given Cloudlet by a DatacenterBroker.
+     * It's called for Cloudlets submitted either one by one or
+     * inside a {@link CloudSimTags#CLOUDLET_SUBMIT_LIST list}.
+     *
+     * @param cl the submitted Cloudlet
+     * @param ack indicates if the event's sender expects to receive an
+     * acknowledge message when the event finishes to be processed
+     */
+    protected void processCloudletSubmit(Cloudlet cl, boolean ack) {
         if (checksIfSubmittedCloudletIsAlreadyFinishedAndNotifyBroker(cl, ack)) {
             return;
         }
@@ -392,7 +472,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final Host sourceHost = sourceVm.getHost();
         final Vm destVm = sourceHost.getVm(destVmId, cloudlet.getBroker().getId());
         final int destDatacenterId = destVm.getHost().getDatacenter().getId();
+        updateHostProcessingBeforeChange(sourceHost);
         final Cloudlet cl = sourceVm.getCloudletScheduler().cloudletCancel(cloudlet.getId());
+        setHostProcessingDirty(sourceHost);
 
         if (Cloudlet.NULL.equals(cl)) {
             return;
@@ -436,8 +518,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @post $none
      */
     protected void processCloudletResume(Cloudlet cloudlet, boolean ack) {
+        final Host host = cloudlet.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
         final double estimatedFinishTime = cloudlet.getVm()
             .getCloudletScheduler().cloudletResume(cloudlet.getId());
+        setHostProcessingDirty(host);
 
         if (estimatedFinishTime > 0.0) { // if this cloudlet is in the exec queue
             if (estimatedFinishTime > getSimulation().clock()) {
@@ -462,7 +547,10 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @post $none
      */
     protected void processCloudletPause(Cloudlet cloudlet, final boolean ack) {
+        final Host host = cloudlet.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
         cloudlet.getVm().getCloudletScheduler().cloudletPause(cloudlet.getId());
+        setHostProcessingDirty(host);
 
         if (ack) {
             sendNow(cloudlet.getBroker().getId(), CloudSimTags.CLOUDLET_PAUSE_ACK, cloudlet);
@@ -477,7 +565,10 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @post $none
      */
     protected void processCloudletCancel(Cloudlet cloudlet) {
+        final Host host = cloudlet.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
         cloudlet.getVm().getCloudletScheduler().cloudletCancel(cloudlet.getId());
+        setHostProcessingDirty(host);
         sendNow(cloudlet.getBroker().getId(), CloudSimTags.CLOUDLET_CANCEL, cloudlet);
     }
 
@@ -492,19 +583,35 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         // time to transfer cloudlet files
         final double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
 
+        final Host host = cl.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
         final CloudletScheduler scheduler = cl.getVm().getCloudletScheduler();
         final double estimatedFinishTime = scheduler.cloudletSubmit(cl, fileTransferTime);
+        setHostProcessingDirty(host);
 
         // if this cloudlet is in the exec queue
         if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
-            send(getId(),
-                getCloudletProcessingUpdateInterval(estimatedFinishTime),
-                CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+            requestCloudletProcessingUpdate(getCloudletProcessingUpdateInterval(estimatedFinishTime));
         }
 
         sendCloudletSubmitAckToBroker(ack, cl, true);
     }
 
+    /**
+     * Sends an event to update the processing of Cloudlets after a given delay.
+     * If a {@link #processCloudletSubmitList(SimEvent) list of Cloudlets} is being submitted,
+     * just stores the delay, so that only one event is sent for each distinct delay.
+     *
+     * @param delay the delay to update Cloudlets processing (in seconds)
+     */
+    protected void requestCloudletProcessingUpdate(final double delay) {
+        if (cloudletListUpdateDelays == null) {
+            send(getId(), delay, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+        } else {
+            cloudletListUpdateDelays.add(delay);
+        }
+    }
+
     /**
      * Process the event for a Broker which wants to create a VM in this
      * Datacenter. This Datacenter will then send the status back to
@@ -521,6 +628,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     protected boolean processVmCreate(SimEvent ev, boolean ackRequested) {
         final Vm vm = (Vm) ev.getData();
 
+        /*The Host to place the VM is just known after the placement,
+        * so all Hosts that may be affected are updated before that.*/
+        if(isIndexedHostsUpdateEnabled()) {
+            hostProcessingIndex.updateBusyHosts(getSimulation().clock());
+        }
         final boolean hostAllocatedForVm = vmAllocationPolicy.allocateHostForVm(vm);
 
         if (ackRequested) {
@@ -534,6 +646,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
             final List<Double> mipsList = vm.getHost().getVmScheduler().getAllocatedMips(vm);
             vm.updateProcessing(getSimulation().clock(), mipsList);
+            setHostProcessingDirty(vm.getHost());
         }
 
         return hostAllocatedForVm;
@@ -554,17 +667,24 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     protected void processVmDestroy(SimEvent ev, boolean ack) {
         Vm vm = (Vm) ev.getData();
         final int cloudlets = vm.getCloudletScheduler().getCloudletList().size();
+        final Host host = vm.getHost();
+        updateHostProcessingBeforeChange(host);
         vmAllocationPolicy.deallocateHostForVm(vm);
+        setHostProcessingDirty(host);
 
         if (ack) {
             sendNow(vm.getBroker().getId(), CloudSimTags.VM_DESTROY_ACK, vm);
         }
 
-        final String msg = cloudlets > 0 ?
-            String.format("It had a total of %d cloudlets (running + waiting).", cloudlets) :
-            "It had no running or waiting cloudlets.";
-        Log.printFormatted("%.2f: %s: %s destroyed on %s. %s\n",
-                getSimulation().clock(), getClass().getSimpleName(), vm, vm.getHost(), msg);
+        if(cloudlets > 0) {
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
+                "%.2f: %s: %s destroyed on %s. It had a total of %d cloudlets (running + waiting).",
+                getSimulation().clock(), getClass().getSimpleName(), vm, vm.getHost(), cloudlets);
+        } else {
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
+                "%.2f: %s: %s destroyed on %s. It had no running or waiting cloudlets.",
+                getSimulation().clock(), getClass().getSimpleName(), vm, vm.getHost());
+        }
     }
 
     /**
@@ -585,11 +705,16 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final Map.Entry<Vm, Host> entry = (Map.Entry<Vm, Host>) ev.getData();
 
         final Vm vm = entry.getKey();
+        final Host sourceHost = vm.getHost();
         final Host targetHost = entry.getValue();
 
+        updateHostProcessingBeforeChange(sourceHost);
+        updateHostProcessingBeforeChange(targetHost);
         vmAllocationPolicy.deallocateHostForVm(vm);
         targetHost.removeMigratingInVm(vm);
         final boolean result = vmAllocationPolicy.allocateHostForVm(vm, targetHost);
+        setHostProcessingDirty(sourceHost);
+        setHostProcessingDirty(targetHost);
 
         if (ack) {
             sendNow(ev.getSource(), CloudSimTags.VM_CREATE_ACK, vm);
@@ -597,11 +722,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         vm.setInMigration(false);
         if (result) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: Migration of VM #%d to Host #%d is completed",
                 getSimulation().clock(), vm.getId(), targetHost.getId());
         } else {
-            Log.printFormattedLine("[Datacenter] VM %d allocation to the destination host failed!", vm.getId());
+            Log.printFormattedLine(Log.Level.ERROR, getClass(), "[Datacenter] VM %d allocation to the destination host failed!", vm.getId());
 
         }
     }
@@ -828,9 +953,14 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     protected double updateHostsProcessing() {
         double nextSimulationTime = Double.MAX_VALUE;
-        for (final Host host : getHostList()) {
-            final double time = host.updateProcessing(getSimulation().clock());
-            nextSimulationTime = Math.min(time, nextSimulationTime);
+        if(isIndexedHostsUpdateEnabled()){
+            nextSimulationTime = hostProcessingIndex.updateDueHosts(
+                getSimulation().clock(), getSimulation().getMinTimeBetweenEvents());
+        } else {
+            for (final Host host : getHostList()) {
+                final double time = host.updateProcessing(getSimulation().clock());
+                nextSimulationTime = Math.min(time, nextSimulationTime);
+            }
         }
 
         // Guarantees a minimal interval before scheduling the event
@@ -852,10 +982,50 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @post $none
      */
     protected void checkCloudletsCompletionForAllHosts() {
+        if(isIndexedHostsUpdateEnabled()){
+            hostProcessingIndex.forEachHostToCheck(this::checkCloudletsCompletionForGivenHost);
+            return;
+        }
+
         List<? extends Host> hosts = vmAllocationPolicy.getHostList();
         hosts.forEach(this::checkCloudletsCompletionForGivenHost);
     }
 
+    /**
+     * Updates the processing of a Host up to the current simulation time,
+     * before any of its VMs or Cloudlets is changed, if the
+     * {@link #isIndexedHostsUpdateEnabled() indexed update} is enabled.
+     * This way, the processing of the Host since its last update
+     * is computed according to the resources it had before such a change.
+     * Otherwise, all Hosts are updated at every processing update and
+     * this method does nothing.
+     *
+     * @param host the Host that will be changed
+     * @see #setHostProcessingDirty(Host)
+     */
+    protected void updateHostProcessingBeforeChange(Host host) {
+        final double clock = getSimulation().clock();
+        if(isIndexedHostsUpdateEnabled() && !hostProcessingIndex.isUpdatedAt(host, clock)) {
+            hostProcessingIndex.update(host, clock);
+        }
+    }
+
+    /**
+     * Indicates that any of the VMs or Cloudlets of a Host was changed,
+     * so that the Host has to be updated at the next processing update,
+     * if the {@link #isIndexedHostsUpdateEnabled() indexed update} is enabled.
+     * Otherwise, all Hosts are updated at every processing update and
+     * this method does nothing.
+     *
+     * @param host the changed Host
+     * @see #updateHostProcessingBeforeChange(Host)
+     */
+    protected void setHostProcessingDirty(Host host) {
+        if(isIndexedHostsUpdateEnabled()) {
+            hostProcessingIndex.setDirty(host);
+        }
+    }
+
     protected void checkCloudletsCompletionForGivenHost(Host host) {
         host.getVmList().forEach(this::checkCloudletsCompletionForGivenVm);
     }
@@ -1122,6 +1292,51 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     protected void processOtherEvent(SimEvent ev) {/**/}
 
+    /**
+     * Checks if the indexed update of Hosts is enabled.
+     * In such a case, each processing update just touches the Hosts
+     * which had any of its VMs or Cloudlets changed and the Hosts
+     * having Cloudlets expected to finish at the current time.
+     * Otherwise, all Hosts are updated at every processing update.
+     *
+     * @return true if the indexed update is enabled, false otherwise
+     * @see #setIndexedHostsUpdateEnabled(boolean)
+     */
+    public boolean isIndexedHostsUpdateEnabled() {
+        return hostProcessingIndex != null;
+    }
+
+    /**
+     * Enables or disables the indexed update of Hosts, which
+     * makes each processing update to touch just the Hosts which
+     * had any of its VMs or Cloudlets changed and the Hosts having
+     * Cloudlets expected to finish at the current time.
+     * It considerably reduces the processing update cost
+     * for Datacenters with lots of Hosts where just some of them
+     * are running Cloudlets at a given time.
+     *
+     * <p>It is disabled by default because the results are the same of updating all Hosts
+     * just when the resources used by the Cloudlets don't change between the
+     * events that change the Hosts, such as when using
+     * a {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull}.
+     * Since idle Hosts aren't updated, their
+     * {@link Host#addOnUpdateProcessingListener(org.cloudsimplus.listeners.EventListener) update listeners}
+     * aren't notified as well.</p>
+     *
+     * <p>Hosts added to the Datacenter after enabling the indexed update
+     * are indexed (and updated) at the next processing update.</p>
+     *
+     * @param enable true to enable the indexed update, false to update all Hosts
+     * @return
+     * @see #isIndexedHostsUpdateEnabled()
+     */
+    public DatacenterSimple setIndexedHostsUpdateEnabled(boolean enable) {
+        /*Creates an index where all Hosts are dirty, to ensure
+        * the ones already running Cloudlets are updated and indexed.*/
+        this.hostProcessingIndex = enable ? new HostProcessingIndex(getHostList()) : null;
+        return this;
+    }
+
     @Override
     public String toString() {
         return String.format("Datacenter %d", getId());
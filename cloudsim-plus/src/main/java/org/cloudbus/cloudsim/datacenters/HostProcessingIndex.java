@@ -0,0 +1,298 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of which {@link Host}s of a {@link DatacenterSimple} need to have
+ * their processing updated, so that a Datacenter processing update
+ * touches just such Hosts instead of all of them.
+ *
+ * <p>A Host needs to be updated when it is "dirty", that is,
+ * any of its VMs or Cloudlets was changed (such as when a Cloudlet is submitted),
+ * or when it has a Cloudlet expected to finish at the current time.
+ * For the latter, the index stores the next completion time of every Host
+ * running Cloudlets, sorted by such a time.</p>
+ *
+ * <p>Hosts are identified by their position into the Datacenter Host list,
+ * which is the order they are updated, as it is when all of them are updated.
+ * The index is rebuilt whenever the size of such a list changes,
+ * keeping the state of the Hosts already indexed and
+ * making the new ones dirty.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see DatacenterSimple#setIndexedHostsUpdateEnabled(boolean)
+ */
+final class HostProcessingIndex {
+    private final List<? extends Host> hostList;
+
+    /**
+     * Maps each Host to its position into the {@link #hostList}.
+     */
+    private Map<Host, Integer> positions;
+
+    /**
+     * Positions of the Hosts that have to be updated at the next processing update.
+     */
+    private BitSet dirtyHosts;
+
+    /**
+     * Positions of the Hosts updated since the last time
+     * they were checked for finished Cloudlets.
+     */
+    private BitSet hostsToCheck;
+
+    /**
+     * The last time each Host was updated, indexed by the Host position.
+     */
+    private double[] lastUpdateTimes;
+
+    /**
+     * The absolute time of the next Cloudlet completion for each Host, indexed by the Host position,
+     * or {@link Double#MAX_VALUE} if the Host has no Cloudlet to finish.
+     */
+    private double[] completionTimes;
+
+    /**
+     * Positions of the Hosts having Cloudlets to finish, grouped by their {@link #completionTimes}.
+     */
+    private NavigableMap<Double, BitSet> hostsByCompletionTime;
+
+    /**
+     * Creates an index where all the given Hosts are dirty,
+     * so that all of them are updated at the first processing update.
+     *
+     * @param hostList the list of Hosts to index
+     */
+    HostProcessingIndex(final List<? extends Host> hostList) {
+        this.hostList = hostList;
+        this.positions = Collections.emptyMap();
+        this.dirtyHosts = new BitSet();
+        this.hostsToCheck = new BitSet();
+        this.lastUpdateTimes = new double[0];
+        this.completionTimes = new double[0];
+        this.hostsByCompletionTime = new TreeMap<>();
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index if Hosts were added to or removed from the Host list.
+     */
+    private void checkHostList() {
+        if(hostList.size() != positions.size()){
+            rebuild();
+        }
+    }
+
+    /**
+     * Indexes the current Hosts from the Host list.
+     * Hosts previously indexed keep their state,
+     * while the other ones are marked as dirty.
+     */
+    private void rebuild() {
+        final Map<Host, Integer> oldPositions = positions;
+        final BitSet oldDirtyHosts = dirtyHosts;
+        final BitSet oldHostsToCheck = hostsToCheck;
+        final double[] oldLastUpdateTimes = lastUpdateTimes;
+        final double[] oldCompletionTimes = completionTimes;
+
+        final int size = hostList.size();
+        positions = new IdentityHashMap<>(size);
+        dirtyHosts = new BitSet(size);
+        hostsToCheck = new BitSet(size);
+        lastUpdateTimes = new double[size];
+        completionTimes = new double[size];
+        hostsByCompletionTime = new TreeMap<>();
+        for (int pos = 0; pos < size; pos++) {
+            final Host host = hostList.get(pos);
+            positions.put(host, pos);
+            final Integer oldPos = oldPositions.get(host);
+            if(oldPos == null){
+                dirtyHosts.set(pos);
+                lastUpdateTimes[pos] = -1;
+                completionTimes[pos] = Double.MAX_VALUE;
+                continue;
+            }
+
+            dirtyHosts.set(pos, oldDirtyHosts.get(oldPos));
+            hostsToCheck.set(pos, oldHostsToCheck.get(oldPos));
+            lastUpdateTimes[pos] = oldLastUpdateTimes[oldPos];
+            completionTimes[pos] = Double.MAX_VALUE;
+            setCompletionTime(pos, oldCompletionTimes[oldPos]);
+        }
+    }
+
+    /**
+     * Marks a Host as dirty, so that it will be updated at the next processing update.
+     * Hosts which don't belong to the index are ignored.
+     *
+     * @param host the Host to mark
+     */
+    void setDirty(final Host host) {
+        checkHostList();
+        final Integer pos = positions.get(host);
+        if(pos != null){
+            dirtyHosts.set(pos);
+        }
+    }
+
+    /**
+     * Checks if a Host was already updated at a given time.
+     *
+     * @param host the Host to check
+     * @param time the time to check
+     * @return true if the Host was updated at the given time
+     * or it doesn't belong to the index, false otherwise
+     */
+    boolean isUpdatedAt(final Host host, final double time) {
+        checkHostList();
+        final Integer pos = positions.get(host);
+        return pos == null || lastUpdateTimes[pos] == time;
+    }
+
+    /**
+     * Updates the processing of a Host, indexing its next completion time.
+     * Hosts which don't belong to the index are ignored.
+     *
+     * @param host the Host to update
+     * @param time the current simulation time
+     */
+    void update(final Host host, final double time) {
+        checkHostList();
+        final Integer pos = positions.get(host);
+        if(pos != null){
+            update(pos, time);
+        }
+    }
+
+    /**
+     * Updates the processing of all dirty Hosts, together with the Hosts
+     * having Cloudlets expected to finish up to a given time.
+     *
+     * @param time the current simulation time
+     * @param tolerance a time interval after the current time for which the expected
+     *                  completion of a Cloudlet is considered to be happening now
+     * @return the time interval until the next expected Cloudlet completion,
+     * considering all the indexed Hosts (even the ones not updated now);
+     * or {@link Double#MAX_VALUE} if there is no Cloudlet to finish
+     */
+    double updateDueHosts(final double time, final double tolerance) {
+        checkHostList();
+        while(!hostsByCompletionTime.isEmpty() && hostsByCompletionTime.firstKey() <= time + tolerance){
+            final BitSet dueHosts = hostsByCompletionTime.pollFirstEntry().getValue();
+            for (int pos = dueHosts.nextSetBit(0); pos >= 0; pos = dueHosts.nextSetBit(pos + 1)) {
+                completionTimes[pos] = Double.MAX_VALUE;
+            }
+            dirtyHosts.or(dueHosts);
+        }
+
+        for (int pos = dirtyHosts.nextSetBit(0); pos >= 0; pos = dirtyHosts.nextSetBit(pos + 1)) {
+            update(pos, time);
+        }
+
+        return hostsByCompletionTime.isEmpty() ? Double.MAX_VALUE : hostsByCompletionTime.firstKey() - time;
+    }
+
+    /**
+     * Updates the processing of all Hosts running Cloudlets
+     * which weren't updated at a given time yet.
+     * That must be done before a change that may affect
+     * any of such Hosts, when it's not known in advance which Host will be changed,
+     * such as when a VM is going to be placed.
+     * Hosts not running Cloudlets don't need to be updated,
+     * since there is no processing to compute for them.
+     *
+     * @param time the current simulation time
+     */
+    void updateBusyHosts(final double time) {
+        checkHostList();
+        final BitSet busyHosts = new BitSet(hostList.size());
+        hostsByCompletionTime.values().forEach(busyHosts::or);
+        for (int pos = busyHosts.nextSetBit(0); pos >= 0; pos = busyHosts.nextSetBit(pos + 1)) {
+            if(lastUpdateTimes[pos] != time) {
+                update(pos, time);
+            }
+        }
+    }
+
+    private void update(final int pos, final double time) {
+        final double delay = hostList.get(pos).updateProcessing(time);
+        lastUpdateTimes[pos] = time;
+        dirtyHosts.clear(pos);
+        hostsToCheck.set(pos);
+        setCompletionTime(pos, delay == Double.MAX_VALUE || Double.isInfinite(delay) ? Double.MAX_VALUE : time + delay);
+    }
+
+    private void setCompletionTime(final int pos, final double completionTime) {
+        final double previousTime = completionTimes[pos];
+        if(previousTime == completionTime){
+            return;
+        }
+
+        if(previousTime != Double.MAX_VALUE){
+            final BitSet hosts = hostsByCompletionTime.get(previousTime);
+            hosts.clear(pos);
+            if(hosts.isEmpty()){
+                hostsByCompletionTime.remove(previousTime);
+            }
+        }
+
+        completionTimes[pos] = completionTime;
+        if(completionTime != Double.MAX_VALUE){
+            hostsByCompletionTime.computeIfAbsent(completionTime, t -> new BitSet()).set(pos);
+        }
+    }
+
+    /**
+     * Performs an action for each Host updated since the last call of this method,
+     * in the order of the Host list.
+     *
+     * @param action the action to perform
+     */
+    void forEachHostToCheck(final Consumer<Host> action) {
+        checkHostList();
+        for (int pos = hostsToCheck.nextSetBit(0); pos >= 0; pos = hostsToCheck.nextSetBit(pos + 1)) {
+            hostsToCheck.clear(pos);
+            action.accept(hostList.get(pos));
+        }
+    }
+
+    /**
+     * Gets the absolute time the next Cloudlet of a Host is expected to finish.
+     *
+     * @param host the Host to get the next completion time
+     * @return the next completion time or {@link Double#MAX_VALUE} if the Host
+     * has no Cloudlet to finish or doesn't belong to the index
+     */
+    double getCompletionTime(final Host host) {
+        checkHostList();
+        final Integer pos = positions.get(host);
+        return pos == null ? Double.MAX_VALUE : completionTimes[pos];
+    }
+}
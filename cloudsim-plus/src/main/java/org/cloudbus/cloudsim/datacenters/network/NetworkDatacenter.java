@@ -16,6 +16,7 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
@@ -56,6 +57,11 @@ public class NetworkDatacenter extends DatacenterSimple {
      */
     private final List<Switch> switchMap;
 
+    /**
+     * @see #getFlowModel()
+     */
+    private NetworkFlowModel flowModel;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -144,12 +150,25 @@ public class NetworkDatacenter extends DatacenterSimple {
         switchMap.add(sw);
     }
 
+    /**
+     * {@inheritDoc}
+     * The processing of Cloudlets is updated just once before the list is submitted
+     * and the completion of Cloudlets is checked just once after that.
+     *
+     * @param ev {@inheritDoc}
+     */
     @Override
-    protected void processCloudletSubmit(SimEvent ev, boolean ack) {
+    protected void processCloudletSubmitList(SimEvent ev) {
         updateCloudletProcessing();
+        super.processCloudletSubmitList(ev);
+        checkCloudletsCompletionForAllHosts();
+    }
 
-        // gets the Cloudlet object
-        final Cloudlet cl = (Cloudlet) ev.getData();
+    @Override
+    protected void processCloudletSubmit(Cloudlet cl, boolean ack) {
+        if(!isSubmittingCloudletList()) {
+            updateCloudletProcessing();
+        }
 
         // checks whether this Cloudlet has finished or not
         if (cl.isFinished()) {
@@ -182,18 +201,19 @@ public class NetworkDatacenter extends DatacenterSimple {
         // time to transfer the files
         final double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
 
+        final Host host = cl.getVm().getHost();
+        updateHostProcessingBeforeChange(host);
         final CloudletScheduler scheduler = cl.getVm().getCloudletScheduler();
         double estimatedFinishTime = scheduler.cloudletSubmit(cl, fileTransferTime);
+        setHostProcessingDirty(host);
 
         if (estimatedFinishTime > 0.0) { // if this cloudlet is in the exec
             // time to process the cloudlet
             estimatedFinishTime += fileTransferTime;
-            send(getId(),
-                getCloudletProcessingUpdateInterval(estimatedFinishTime),
-                CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+            requestCloudletProcessingUpdate(getCloudletProcessingUpdateInterval(estimatedFinishTime));
 
             // event to update the stages
-            send(getId(), 0.0001, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+            requestCloudletProcessingUpdate(0.0001);
         }
 
         if (ack) {
@@ -201,7 +221,54 @@ public class NetworkDatacenter extends DatacenterSimple {
             sendNow(cl.getBroker().getId(), CloudSimTags.CLOUDLET_SUBMIT_ACK, cl);
         }
 
-        checkCloudletsCompletionForAllHosts();
+        if(!isSubmittingCloudletList()) {
+            checkCloudletsCompletionForAllHosts();
+        }
+    }
+
+    @Override
+    protected void processOtherEvent(SimEvent ev) {
+        if(ev.getTag() == CloudSimTags.NETWORK_FLOW_UPDATE && isFlowModelEnabled()){
+            flowModel.update();
+            return;
+        }
+
+        super.processOtherEvent(ev);
+    }
+
+    /**
+     * Checks if the packets sent between Hosts are transferred
+     * as flows by a {@link NetworkFlowModel}, instead of being
+     * moved across the Switches.
+     *
+     * @return true if the flow model is enabled, false otherwise
+     */
+    public boolean isFlowModelEnabled() {
+        return flowModel != null;
+    }
+
+    /**
+     * Enables or disables the {@link NetworkFlowModel flow-level network model}.
+     * When enabled, the packets sent between Hosts are transferred as fluid flows
+     * sharing the bandwidth of the links between Hosts and Switches,
+     * which requires much less events than moving every packet across the Switches.
+     * The Switches are still used to get the network topology, bandwidth and switching delays.
+     * It must be set before the simulation starts.
+     *
+     * @param enable true to enable the flow model, false to disable it
+     * @return
+     */
+    public NetworkDatacenter setFlowModelEnabled(boolean enable) {
+        this.flowModel = enable ? new NetworkFlowModel(this) : null;
+        return this;
+    }
+
+    /**
+     * Gets the {@link NetworkFlowModel} used to transfer packets between Hosts.
+     * @return the flow model or null if it is not {@link #isFlowModelEnabled() enabled}
+     */
+    public NetworkFlowModel getFlowModel() {
+        return flowModel;
     }
 
     /**
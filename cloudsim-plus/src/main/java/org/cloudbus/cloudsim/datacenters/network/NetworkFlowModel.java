@@ -0,0 +1,529 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.network;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletReceiveTask;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletSendTask;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.Conversion;
+
+import java.util.*;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A flow-level model of the network of a {@link NetworkDatacenter},
+ * which can be used instead of moving every {@link HostPacket}
+ * across the {@link Switch}es of the Datacenter.
+ *
+ * <p>The packets a {@link NetworkHost} sends to VMs in other Hosts at a given time
+ * are grouped into fluid flows, one for each pair of sender and receiver Cloudlets
+ * (that is, for each transfer between a {@link CloudletSendTask} and a {@link CloudletReceiveTask}).
+ * Each flow crosses the links from the sender Host up to the lowest Switch
+ * connecting both Hosts and then down to the receiver Host.
+ * The bandwidth of each link is shared among the flows crossing it according to
+ * a max-min fair allocation. Rates are just recomputed when a flow starts or finishes,
+ * so that a transfer requires a few events, instead of some events for every
+ * packet at every hop.</p>
+ *
+ * <p>When a flow finishes, its packets are delivered to the receiver Host after
+ * the {@link Switch#getSwitchingDelay() switching delay} of all Switches in the path.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see NetworkDatacenter#setFlowModelEnabled(boolean)
+ */
+public class NetworkFlowModel {
+    /**
+     * The remaining transfer time (in seconds) under which a flow is considered finished,
+     * to avoid scheduling events just to compensate rounding errors.
+     */
+    private static final double TIME_TOLERANCE = 1e-9;
+
+    private final NetworkDatacenter datacenter;
+
+    /**
+     * The flows which are currently transferring data.
+     */
+    private final List<Flow> activeFlows;
+
+    /**
+     * The flows which have transferred all data and are waiting
+     * the switching delay of their paths to be delivered, ordered by delivery time.
+     */
+    private final Queue<Flow> flowsToDeliver;
+
+    /**
+     * The links from each Host or Switch to its uplink Switch.
+     */
+    private final Map<Object, Link> uplinks;
+
+    /**
+     * The links from the uplink Switch of each Host or Switch to such a Host or Switch.
+     */
+    private final Map<Object, Link> downlinks;
+
+    /**
+     * Indicates if some flow started or finished since the last computation of flow rates.
+     */
+    private boolean ratesOutdated;
+
+    /**
+     * The last time the amount of data transferred by flows was updated.
+     */
+    private double lastUpdateTime;
+
+    /**
+     * The time of the next {@link CloudSimTags#NETWORK_FLOW_UPDATE} event,
+     * or {@link Double#MAX_VALUE} if there is no scheduled event.
+     */
+    private double nextUpdateTime;
+
+    /**
+     * The number of rate computations performed so far,
+     * used to reset link data at the beginning of each computation.
+     */
+    private long round;
+
+    /**
+     * The number of flows created so far.
+     */
+    private long createdFlows;
+
+    /**
+     * @see #getNumberOfFinishedFlows()
+     */
+    private long finishedFlows;
+
+    /**
+     * Creates a flow-level network model for a given Datacenter.
+     *
+     * @param datacenter the Datacenter whose network will be modeled
+     */
+    public NetworkFlowModel(NetworkDatacenter datacenter) {
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.activeFlows = new ArrayList<>();
+        this.flowsToDeliver = new PriorityQueue<>(
+            Comparator.comparingDouble((Flow flow) -> flow.deliveryTime).thenComparingLong(flow -> flow.sequence));
+        this.uplinks = new IdentityHashMap<>();
+        this.downlinks = new IdentityHashMap<>();
+        this.nextUpdateTime = Double.MAX_VALUE;
+    }
+
+    /**
+     * Starts the flows to send a list of packets from a given Host to VMs placed into other Hosts.
+     * Packets from the same sender Cloudlet to the same receiver Cloudlet are transferred
+     * as a single flow and are delivered together.
+     *
+     * @param senderHost the Host sending the packets
+     * @param packets the packets to send
+     * @throws IllegalStateException when there is no Switch connecting the sender Host
+     * to the Host of some destination VM
+     */
+    public void send(NetworkHost senderHost, List<HostPacket> packets) {
+        if(packets.isEmpty()){
+            return;
+        }
+
+        updateTransferredData();
+        final double clock = datacenter.getSimulation().clock();
+        final Map<Cloudlet, Map<Cloudlet, Flow>> flows = new LinkedHashMap<>();
+        for (final HostPacket pkt : packets) {
+            pkt.setSendTime(clock);
+            flows.computeIfAbsent(pkt.getVmPacket().getSenderCloudlet(), sender -> new LinkedHashMap<>())
+                 .computeIfAbsent(pkt.getVmPacket().getReceiverCloudlet(), receiver -> createFlow(senderHost, pkt))
+                 .addPacket(pkt);
+        }
+
+        flows.values().forEach(map -> activeFlows.addAll(map.values()));
+        ratesOutdated = true;
+        scheduleUpdate(clock);
+    }
+
+    private Flow createFlow(NetworkHost senderHost, HostPacket pkt) {
+        final NetworkHost receiverHost = (NetworkHost)pkt.getVmPacket().getDestination().getHost();
+        final List<Object> senderNodes = getNodesUpToRoot(senderHost);
+        final List<Object> receiverNodes = getNodesUpToRoot(receiverHost);
+
+        int commonNodeIndex = -1;
+        for (int i = 0; i < senderNodes.size() && commonNodeIndex < 0; i++) {
+            commonNodeIndex = indexOf(receiverNodes, senderNodes.get(i)) < 0 ? -1 : i;
+        }
+
+        if(commonNodeIndex < 0){
+            throw new IllegalStateException(
+                String.format("There is no Switch connecting Host %d to Host %d.", senderHost.getId(), receiverHost.getId()));
+        }
+
+        final Object commonNode = senderNodes.get(commonNodeIndex);
+        final int receiverCommonNodeIndex = indexOf(receiverNodes, commonNode);
+        final Link[] path = new Link[commonNodeIndex + receiverCommonNodeIndex];
+        double latency = getSwitchingDelay(commonNode);
+        for (int i = 0; i < commonNodeIndex; i++) {
+            path[i] = getUplink(senderNodes.get(i));
+            latency += getSwitchingDelay(senderNodes.get(i));
+        }
+
+        for (int i = receiverCommonNodeIndex-1, j = commonNodeIndex; i >= 0; i--, j++) {
+            path[j] = getDownlink(receiverNodes.get(i), receiverNodes.get(i+1));
+            latency += getSwitchingDelay(receiverNodes.get(i));
+        }
+
+        return new Flow(receiverHost, path, latency, createdFlows++);
+    }
+
+    /**
+     * Gets a list containing a given Host and all Switches above it,
+     * assuming each Switch is connected to just one uplink Switch,
+     * as the {@link Switch} implementations do.
+     *
+     * @param host the Host to get the list of nodes to the root Switch
+     * @return the list of nodes, starting from the Host
+     */
+    private List<Object> getNodesUpToRoot(NetworkHost host) {
+        final List<Object> nodes = new ArrayList<>(4);
+        nodes.add(host);
+        Switch sw = host.getEdgeSwitch();
+        while (!Objects.isNull(sw) && !nodes.contains(sw)) {
+            nodes.add(sw);
+            sw = sw.getUplinkSwitches().isEmpty() ? null : sw.getUplinkSwitches().get(0);
+        }
+
+        return nodes;
+    }
+
+    private int indexOf(List<Object> nodes, Object node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if(nodes.get(i) == node){
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private double getSwitchingDelay(Object node) {
+        return node instanceof Switch ? ((Switch)node).getSwitchingDelay() : 0;
+    }
+
+    /**
+     * Gets the link from a Host or Switch to its uplink Switch.
+     * @param node the Host or Switch sending data
+     * @return the link
+     */
+    private Link getUplink(Object node) {
+        final DoubleSupplier capacity = node instanceof NetworkHost ?
+            ((NetworkHost)node)::getBandwidth : ((Switch)node)::getUplinkBandwidth;
+        return uplinks.computeIfAbsent(node, key -> new Link(capacity));
+    }
+
+    /**
+     * Gets the link from an uplink Switch to a given Host or Switch.
+     * @param node the Host or Switch receiving data
+     * @param uplinkSwitch the Switch sending data
+     * @return the link
+     */
+    private Link getDownlink(Object node, Object uplinkSwitch) {
+        return downlinks.computeIfAbsent(node, key -> new Link(((Switch)uplinkSwitch)::getDownlinkBandwidth));
+    }
+
+    /**
+     * Updates the flows up to the current simulation time,
+     * delivering the packets of the flows which have finished
+     * and computing the rate of the remaining ones if required.
+     * It is called when a {@link CloudSimTags#NETWORK_FLOW_UPDATE} event is processed.
+     */
+    void update() {
+        final double clock = datacenter.getSimulation().clock();
+        nextUpdateTime = Double.MAX_VALUE;
+        updateTransferredData();
+        removeFinishedFlows(clock);
+        deliverFlows(clock);
+        if(ratesOutdated) {
+            computeRates();
+        }
+
+        scheduleUpdate(getNextEventTime(clock));
+    }
+
+    /**
+     * Updates the amount of data remaining to be transferred by each active flow,
+     * according to the rates computed at the last time flows started or finished.
+     */
+    private void updateTransferredData() {
+        final double clock = datacenter.getSimulation().clock();
+        final double timeSpan = clock - lastUpdateTime;
+        lastUpdateTime = clock;
+        if(timeSpan <= 0){
+            return;
+        }
+
+        for (final Flow flow : activeFlows) {
+            flow.remainingMegabits = Math.max(0, flow.remainingMegabits - flow.rate * timeSpan);
+        }
+    }
+
+    private void removeFinishedFlows(double clock) {
+        final Iterator<Flow> it = activeFlows.iterator();
+        while (it.hasNext()) {
+            final Flow flow = it.next();
+            if(flow.isFinished()) {
+                it.remove();
+                flow.deliveryTime = clock + flow.latency;
+                flowsToDeliver.add(flow);
+                ratesOutdated = true;
+            }
+        }
+    }
+
+    private void deliverFlows(double clock) {
+        while (!flowsToDeliver.isEmpty() && flowsToDeliver.peek().deliveryTime <= clock) {
+            final Flow flow = flowsToDeliver.poll();
+            for (final HostPacket pkt : flow.packets) {
+                pkt.setReceiveTime(clock);
+                pkt.setDestination(flow.receiverHost);
+                flow.receiverHost.addReceivedNetworkPacket(pkt);
+            }
+            finishedFlows++;
+        }
+    }
+
+    /**
+     * Computes the max-min fair rate of each active flow by progressive filling:
+     * the rate of all flows is increased at the same pace
+     * until some link becomes saturated. The flows crossing such a link are then frozen
+     * and the process goes on with the remaining flows and the capacity left in each link.
+     */
+    private void computeRates() {
+        ratesOutdated = false;
+        round++;
+        final List<Link> links = new ArrayList<>();
+        for (final Flow flow : activeFlows) {
+            flow.rate = 0;
+            for (final Link link : flow.path) {
+                if(link.round != round){
+                    link.round = round;
+                    link.availableCapacity = link.capacity.getAsDouble();
+                    link.unfrozenFlows = 0;
+                    links.add(link);
+                }
+                link.unfrozenFlows++;
+            }
+        }
+
+        final List<Flow> unfrozenFlows = new ArrayList<>(activeFlows);
+        while (!unfrozenFlows.isEmpty()) {
+            double share = Double.MAX_VALUE;
+            for (final Link link : links) {
+                if(link.unfrozenFlows > 0) {
+                    share = Math.min(share, link.getFairShare());
+                }
+            }
+
+            if(share == Double.MAX_VALUE){
+                break;
+            }
+
+            for (final Link link : links) {
+                link.saturated = link.unfrozenFlows > 0 && link.getFairShare() <= share * (1 + TIME_TOLERANCE);
+            }
+
+            final Iterator<Flow> it = unfrozenFlows.iterator();
+            while (it.hasNext()) {
+                final Flow flow = it.next();
+                if(flow.isCrossingSaturatedLink()) {
+                    flow.rate = share;
+                    flow.allocateRate();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private double getNextEventTime(double clock) {
+        double time = flowsToDeliver.isEmpty() ? Double.MAX_VALUE : flowsToDeliver.peek().deliveryTime;
+        for (final Flow flow : activeFlows) {
+            if(flow.isFinished()){
+                return clock;
+            }
+
+            if(flow.rate > 0) {
+                time = Math.min(time, clock + flow.remainingMegabits / flow.rate);
+            }
+        }
+
+        return time;
+    }
+
+    /**
+     * Schedules a {@link CloudSimTags#NETWORK_FLOW_UPDATE} event to the Datacenter
+     * at a given time, if there isn't one scheduled for such a time yet.
+     * A previously scheduled event for a different time is cancelled,
+     * since the flows changed.
+     *
+     * @param time the time to schedule the event
+     *             or {@link Double#MAX_VALUE} to just cancel the scheduled event
+     */
+    private void scheduleUpdate(double time) {
+        if(time == nextUpdateTime){
+            return;
+        }
+
+        if(nextUpdateTime != Double.MAX_VALUE) {
+            datacenter.getSimulation().cancelAll(datacenter.getId(), CloudSimTags.NETWORK_FLOW_UPDATE);
+        }
+
+        nextUpdateTime = time;
+        if(time != Double.MAX_VALUE) {
+            final double delay = Math.max(0, time - datacenter.getSimulation().clock());
+            datacenter.getSimulation().send(
+                datacenter.getId(), datacenter.getId(), delay, CloudSimTags.NETWORK_FLOW_UPDATE, null);
+        }
+    }
+
+    /**
+     * Gets the number of flows which are currently transferring data.
+     * @return
+     */
+    public int getNumberOfActiveFlows() {
+        return activeFlows.size();
+    }
+
+    /**
+     * Gets the number of flows whose packets were already delivered to the receiver Host.
+     * @return
+     */
+    public long getNumberOfFinishedFlows() {
+        return finishedFlows;
+    }
+
+    /**
+     * A directed link between a Host or Switch and its uplink Switch.
+     */
+    private static final class Link {
+        /**
+         * Gets the link bandwidth (in Megabits/s) from the Host or Switch,
+         * so that changes in the bandwidth are considered at the next rate computation.
+         */
+        private final DoubleSupplier capacity;
+
+        /**
+         * The rate computation round the following attributes belong to.
+         */
+        private long round;
+
+        /**
+         * The bandwidth (in Megabits/s) not allocated to frozen flows yet.
+         */
+        private double availableCapacity;
+
+        /**
+         * The number of flows crossing the link which haven't got their rate yet.
+         */
+        private int unfrozenFlows;
+
+        private boolean saturated;
+
+        private Link(DoubleSupplier capacity) {
+            this.capacity = capacity;
+        }
+
+        private double getFairShare() {
+            return availableCapacity / unfrozenFlows;
+        }
+    }
+
+    /**
+     * A fluid flow transferring a list of packets from a sender Host to a receiver Host.
+     */
+    private static final class Flow {
+        private final NetworkHost receiverHost;
+        private final List<HostPacket> packets;
+
+        /**
+         * The links crossed by the flow, from the sender to the receiver Host.
+         */
+        private final Link[] path;
+
+        /**
+         * The sum of the switching delays of the Switches in the path (in seconds).
+         */
+        private final double latency;
+
+        /**
+         * The order the flow was created, used to deliver flows
+         * finishing at the same time in such an order.
+         */
+        private final long sequence;
+
+        private double remainingMegabits;
+
+        /**
+         * The current transfer rate (in Megabits/s).
+         */
+        private double rate;
+
+        private double deliveryTime;
+
+        private Flow(NetworkHost receiverHost, Link[] path, double latency, long sequence) {
+            this.receiverHost = receiverHost;
+            this.packets = new ArrayList<>();
+            this.path = path;
+            this.latency = latency;
+            this.sequence = sequence;
+        }
+
+        private void addPacket(HostPacket pkt) {
+            packets.add(pkt);
+            remainingMegabits += Conversion.bytesToMegaBites(pkt.getSize());
+        }
+
+        private boolean isFinished() {
+            return remainingMegabits <= 0 || path.length == 0 || (rate > 0 && remainingMegabits / rate <= TIME_TOLERANCE);
+        }
+
+        private boolean isCrossingSaturatedLink() {
+            for (final Link link : path) {
+                if(link.saturated){
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Subtracts the flow rate from the available capacity of every link in the path.
+         */
+        private void allocateRate() {
+            for (final Link link : path) {
+                link.availableCapacity = Math.max(0, link.availableCapacity - rate);
+                link.unfrozenFlows--;
+            }
+        }
+    }
+}
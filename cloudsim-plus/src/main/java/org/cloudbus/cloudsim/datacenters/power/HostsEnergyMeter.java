@@ -0,0 +1,259 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.power;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accounts the energy consumed by the {@link PowerHost}s of a {@link PowerDatacenter},
+ * keeping the per-Host accumulators into primitive arrays,
+ * where the position of each Host in the Datacenter Host list is used as index.
+ *
+ * <p>The power of a Host is only computed by its {@link PowerHost#getPowerModel() power model}
+ * when the CPU utilization of the Host changes. While the utilization is kept the same,
+ * the energy for each time span is computed from the cached power.
+ * The values stored here allow building a report of the energy consumption
+ * just when it is requested, instead of at every Datacenter processing update.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class HostsEnergyMeter {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The total energy (in Watts/sec) consumed by each Host since the meter was created.
+     */
+    private double[] energy;
+
+    /**
+     * The energy (in Watts/sec) consumed by each Host in the last time span.
+     */
+    private double[] timeSpanEnergy;
+
+    /**
+     * The CPU utilization of each Host at the beginning of the last time span.
+     */
+    private double[] previousUtilization;
+
+    /**
+     * The CPU utilization of each Host at the end of the last time span.
+     */
+    private double[] utilization;
+
+    /**
+     * The CPU utilization for which the power of each Host in {@link #power} was computed.
+     */
+    private double[] powerUtilization;
+
+    /**
+     * The power of each Host for the CPU utilization stored in {@link #powerUtilization}.
+     */
+    private double[] power;
+
+    /**
+     * Number of Hosts measured so far.
+     */
+    private int size;
+
+    /**
+     * @see #getTotalEnergy()
+     */
+    private double totalEnergy;
+
+    /**
+     * @see #getTimeSpanEnergy()
+     */
+    private double lastTimeSpanEnergy;
+
+    /**
+     * Creates an energy meter for Hosts.
+     */
+    public HostsEnergyMeter() {
+        energy = new double[INITIAL_CAPACITY];
+        timeSpanEnergy = new double[INITIAL_CAPACITY];
+        previousUtilization = new double[INITIAL_CAPACITY];
+        utilization = new double[INITIAL_CAPACITY];
+        powerUtilization = copyOfPowerUtilization(new double[0], INITIAL_CAPACITY);
+        power = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Copies a {@link #powerUtilization} array into a new one with a given capacity,
+     * where the new positions indicate no power was computed yet.
+     *
+     * @param source the array to copy
+     * @param capacity the capacity of the new array
+     * @return the new array
+     */
+    private static double[] copyOfPowerUtilization(final double[] source, final int capacity) {
+        final double[] array = Arrays.copyOf(source, capacity);
+        Arrays.fill(array, source.length, capacity, Double.NaN);
+        return array;
+    }
+
+    /**
+     * Integrates the energy consumed by every Host in a time span,
+     * using a linear interpolation between the CPU utilization
+     * of each Host at the beginning and the end of such a time span.
+     *
+     * @param hostList the list of Hosts to measure, that must be always given in the same order
+     * @param timeSpan the length of the time span
+     * @return the total energy (in Watts/sec) consumed by the Hosts in the time span
+     */
+    public double update(final List<? extends PowerHost> hostList, final double timeSpan) {
+        ensureCapacity(hostList.size());
+        double hostsEnergy = 0;
+        int i = 0;
+        for (final PowerHost host : hostList) {
+            final double from = host.getPreviousUtilizationOfCpu();
+            final double to = host.getUtilizationOfCpu();
+            final double hostEnergy = computeEnergy(host, i, from, to, timeSpan);
+            previousUtilization[i] = from;
+            utilization[i] = to;
+            timeSpanEnergy[i] = hostEnergy;
+            energy[i] += hostEnergy;
+            hostsEnergy += hostEnergy;
+            i++;
+        }
+
+        lastTimeSpanEnergy = hostsEnergy;
+        totalEnergy += hostsEnergy;
+        return hostsEnergy;
+    }
+
+    /**
+     * Computes the energy consumed by a Host using the linear interpolation
+     * defined by {@link PowerHost#getEnergyLinearInterpolation(double, double, double)}.
+     */
+    private double computeEnergy(final PowerHost host, final int index, final double from, final double to, final double timeSpan) {
+        if (from == 0) {
+            return 0;
+        }
+
+        final double fromPower = getPower(host, index, from);
+        final double toPower = from == to ? fromPower : getPower(host, index, to);
+        return (fromPower + (toPower - fromPower) / 2) * timeSpan;
+    }
+
+    /**
+     * Gets the power of a Host for a given utilization,
+     * just calling its power model if the utilization has changed.
+     */
+    private double getPower(final PowerHost host, final int index, final double hostUtilization) {
+        if (powerUtilization[index] != hostUtilization) {
+            power[index] = host.getPower(hostUtilization);
+            powerUtilization[index] = hostUtilization;
+        }
+
+        return power[index];
+    }
+
+    private void ensureCapacity(final int hosts) {
+        if (hosts > size) {
+            size = hosts;
+        }
+
+        if (hosts <= energy.length) {
+            return;
+        }
+
+        final int capacity = Math.max(hosts, energy.length * 2);
+        energy = Arrays.copyOf(energy, capacity);
+        timeSpanEnergy = Arrays.copyOf(timeSpanEnergy, capacity);
+        previousUtilization = Arrays.copyOf(previousUtilization, capacity);
+        utilization = Arrays.copyOf(utilization, capacity);
+        powerUtilization = copyOfPowerUtilization(powerUtilization, capacity);
+        power = Arrays.copyOf(power, capacity);
+    }
+
+    /**
+     * Gets the number of Hosts measured so far.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the total energy (in Watts/sec) consumed by all Hosts since the meter was created.
+     * @return
+     */
+    public double getTotalEnergy() {
+        return totalEnergy;
+    }
+
+    /**
+     * Gets the energy (in Watts/sec) consumed by all Hosts in the last measured time span.
+     * @return
+     */
+    public double getTimeSpanEnergy() {
+        return lastTimeSpanEnergy;
+    }
+
+    /**
+     * Gets the total energy (in Watts/sec) consumed by a Host since the meter was created.
+     *
+     * @param hostIndex the position of the Host in the Datacenter Host list
+     * @return the Host energy or 0 if the Host was not measured yet
+     */
+    public double getHostEnergy(final int hostIndex) {
+        return hostIndex < size ? energy[hostIndex] : 0;
+    }
+
+    /**
+     * Gets the energy (in Watts/sec) consumed by a Host in the last measured time span.
+     *
+     * @param hostIndex the position of the Host in the Datacenter Host list
+     * @return the Host energy or 0 if the Host was not measured yet
+     */
+    public double getHostTimeSpanEnergy(final int hostIndex) {
+        return hostIndex < size ? timeSpanEnergy[hostIndex] : 0;
+    }
+
+    /**
+     * Gets the CPU utilization percentage (between [0 and 1]) of a Host
+     * at the beginning of the last measured time span.
+     *
+     * @param hostIndex the position of the Host in the Datacenter Host list
+     * @return the Host utilization or 0 if the Host was not measured yet
+     */
+    public double getHostPreviousUtilization(final int hostIndex) {
+        return hostIndex < size ? previousUtilization[hostIndex] : 0;
+    }
+
+    /**
+     * Gets the CPU utilization percentage (between [0 and 1]) of a Host
+     * at the end of the last measured time span.
+     *
+     * @param hostIndex the position of the Host in the Datacenter Host list
+     * @return the Host utilization or 0 if the Host was not measured yet
+     */
+    public double getHostUtilization(final int hostIndex) {
+        return hostIndex < size ? utilization[hostIndex] : 0;
+    }
+}
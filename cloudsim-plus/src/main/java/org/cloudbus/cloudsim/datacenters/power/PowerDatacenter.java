@@ -12,9 +12,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
 import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 import org.cloudbus.cloudsim.util.Conversion;
@@ -71,6 +73,11 @@ public class PowerDatacenter extends DatacenterSimple {
      */
     private int migrationCount;
 
+    /**
+     * @see #getEnergyMeter()
+     */
+    private final HostsEnergyMeter energyMeter;
+
     /**
      * Creates a PowerDatacenter.
      *
@@ -90,6 +97,7 @@ public class PowerDatacenter extends DatacenterSimple {
         setLastCloudletProcessingTime(-1);
         setMigrationCount(0);
         bandwidthForMigrationPercent = 0.5;
+        energyMeter = new HostsEnergyMeter();
     }
 
     /**
@@ -151,15 +159,15 @@ public class PowerDatacenter extends DatacenterSimple {
 
         final double delay = timeToMigrateVm(entry.getKey(), targetHost);
         if (sourceHost == Host.NULL) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                     "%.2f: Migration of %s to %s is started.",
                     currentTime, entry.getKey(), targetHost);
         } else {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                     "%.2f: Migration of %s from %s to %s is started.",
                     currentTime, entry.getKey(), sourceHost, targetHost);
         }
-        Log.printFormattedLine(
+        Log.printFormattedLine(Log.Level.INFO, getClass(),
             "\tIt's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
             delay, getBandwidthForMigrationPercent()*100);
 
@@ -188,27 +196,51 @@ public class PowerDatacenter extends DatacenterSimple {
         final double currentTime = getSimulation().clock();
 
         println("\n--------------------------------------------------------------\n");
-        println(String.format("New resource usage of %s for the time frame starting at %.2f:", getName(), currentTime));
+        printFormattedLine("New resource usage of %s for the time frame starting at %.2f:", getName(), currentTime);
 
+        markHostsWithVmsDirty();
         final double nextCloudletFinishTime = super.updateHostsProcessing();
         final double datacenterPowerUsageForTimeSpan = getDatacenterPowerUsageForTimeSpan();
 
         setPower(getPower() + datacenterPowerUsageForTimeSpan);
-        this.getHostList().forEach(host ->
-            println(String.format(
+        if(isLogEnabled()) {
+            for (final Host host : getHostList()) {
+                printFormattedLine(
                     "%.2f: [%s] utilization is %6.2f%%",
                     currentTime,
                     host,
-                    host.getUtilizationOfCpu() * 100))
-        );
+                    host.getUtilizationOfCpu() * 100);
+            }
+        }
         println();
 
         return nextCloudletFinishTime;
     }
 
+    /**
+     * Makes all Hosts having VMs to be updated at the current processing update,
+     * when the {@link #isIndexedHostsUpdateEnabled() indexed update} is enabled.
+     * The utilization history of the VMs and the power consumption
+     * are computed from all Hosts at every processing update.
+     * This way, the indexed update just skips the Hosts without VMs.
+     */
+    private void markHostsWithVmsDirty() {
+        if(!isIndexedHostsUpdateEnabled()){
+            return;
+        }
+
+        for (final Host host : getHostList()) {
+            if(!host.getVmList().isEmpty()){
+                setHostProcessingDirty(host);
+            }
+        }
+    }
+
     /**
      * Gets the total power consumed (in Watts/sec) by all Hosts of the Datacenter since the last time the processing
      * of Cloudlets in this Host was updated.
+     * The energy is integrated by the {@link #getEnergyMeter() energy meter}
+     * and the report of each Host consumption is just built if the logging is enabled.
      *
      * @return the total power consumed (in Watts/sec) by all Hosts in the elapsed time span
      */
@@ -219,54 +251,79 @@ public class PowerDatacenter extends DatacenterSimple {
             return 0;
         }
 
-        double datacenterPowerUsageForTimeSpan = 0;
-        StringBuilder sb = new StringBuilder(this.<PowerHostSimple>getHostList().size()*100);
-        for (PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
-            final double previousUseOfCpu = host.getPreviousUtilizationOfCpu();
-            final double utilizationOfCpu = host.getUtilizationOfCpu();
-            final double timeFrameHostEnergy =
-                host.getEnergyLinearInterpolation(previousUseOfCpu, utilizationOfCpu, timeSpan);
-            datacenterPowerUsageForTimeSpan += timeFrameHostEnergy;
+        final double datacenterPowerUsageForTimeSpan =
+            energyMeter.update(this.<PowerHost>getHostList(), timeSpan);
+
+        if(datacenterPowerUsageForTimeSpan > 0 && isLogEnabled()) {
+            printFormattedLine(
+                "\nDatacenter %d energy consumption for the last time frame from %.2f to %.2f:",
+                getId(),
+                getLastProcessTime(),
+                currentTime);
+            println(getTimeSpanEnergyReport());
+            printFormattedLine(
+                "\n%.2f: Datacenter %d energy is %.2f Watts/sec\n",
+                currentTime, getId(),
+                datacenterPowerUsageForTimeSpan);
+        }
+
+        return datacenterPowerUsageForTimeSpan;
+    }
 
+    /**
+     * Builds a report with the CPU utilization and the energy consumed by each Host
+     * in the last time span measured by the {@link #getEnergyMeter() energy meter}.
+     * The report is just built when this method is called,
+     * using the values previously stored into the meter.
+     *
+     * @return the report of the Hosts energy consumption for the last time span
+     */
+    public String getTimeSpanEnergyReport() {
+        final double currentTime = getSimulation().clock();
+        final List<PowerHost> hostList = getHostList();
+        final StringBuilder sb = new StringBuilder(hostList.size()*100);
+        final int hosts = Math.min(hostList.size(), energyMeter.size());
+        for (int i = 0; i < hosts; i++) {
+            final PowerHost host = hostList.get(i);
             sb.append(String.format(
-                    "%.2f: [%s] utilization at %.2f was %.2f%%, now is %.2f%%",
+                    "%.2f: [%s] utilization at %.2f was %.2f%%, now is %.2f%%\n",
                     currentTime,
                     host,
                     getLastProcessTime(),
-                    previousUseOfCpu * 100,
-                    utilizationOfCpu * 100));
+                    energyMeter.getHostPreviousUtilization(i) * 100,
+                    energyMeter.getHostUtilization(i) * 100));
             if(host.getPowerModel() != PowerModel.NULL) {
                 sb.append(String.format(
-                    "%.2f: [%s] energy is %.2f Watts/sec",
+                    "%.2f: [%s] energy is %.2f Watts/sec\n",
                     currentTime,
                     host,
-                    timeFrameHostEnergy));
+                    energyMeter.getHostTimeSpanEnergy(i)));
             }
         }
 
-        if(datacenterPowerUsageForTimeSpan > 0) {
-            println(String.format(
-                "\nDatacenter %d energy consumption for the last time frame from %.2f to %.2f:",
-                getId(),
-                getLastProcessTime(),
-                currentTime));
-            println(sb.toString());
-            println(String.format(
-                "\n%.2f: Datacenter %d energy is %.2f Watts/sec\n",
-                currentTime, getId(),
-                datacenterPowerUsageForTimeSpan));
+        //Removes the last line break
+        if(sb.length() > 0){
+            sb.setLength(sb.length()-1);
         }
 
-        return datacenterPowerUsageForTimeSpan;
+        return sb.toString();
+    }
+
+    /**
+     * Gets the meter that accounts the energy consumed by each Host of this Datacenter.
+     * @return
+     */
+    public HostsEnergyMeter getEnergyMeter() {
+        return energyMeter;
     }
 
     protected void removeFinishedVmsFromEveryHost() {
         for (PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
             for (Vm vm : host.getFinishedVms()) {
                 getVmAllocationPolicy().deallocateHostForVm(vm);
-                Log.printFormattedLine(
-                        String.format("%.2f: %s has been deallocated from %s",
-                               getSimulation().clock(), vm, host));
+                Log.printFormattedLine(Log.Level.INFO, getClass(),
+                        "%.2f: %s has been deallocated from %s",
+                        getSimulation().clock(), vm, host);
             }
         }
     }
@@ -286,8 +343,8 @@ public class PowerDatacenter extends DatacenterSimple {
     }
 
     @Override
-    protected void processCloudletSubmit(SimEvent ev, boolean ack) {
-        super.processCloudletSubmit(ev, ack);
+    protected void processCloudletSubmit(Cloudlet cl, boolean ack) {
+        super.processCloudletSubmit(cl, ack);
         setLastCloudletProcessingTime(getSimulation().clock());
     }
 
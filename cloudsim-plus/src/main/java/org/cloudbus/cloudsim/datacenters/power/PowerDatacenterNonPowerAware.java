@@ -19,7 +19,6 @@ import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
-import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.resources.FileStorage;
 
 /**
@@ -88,7 +87,7 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
     @Override
     protected double updateCloudletProcessing() {
         if (getLastCloudletProcessingTime() == -1 || getLastCloudletProcessingTime() == getSimulation().clock()) {
-            getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT));
+            getSimulation().cancelAll(getId(), CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
             schedule(getId(), getSchedulingInterval(), CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
             return Double.MAX_VALUE;
         }
@@ -98,7 +97,7 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
         if (currentTime > getLastProcessTime()) {
             Log.printLine("\n");
             final double dcPowerUsageForTimeSpan = getDatacenterPowerUsageForTimeSpan();
-            Log.printFormattedLine("\n%.2f: Consumed energy is %.2f W*sec\n", getSimulation().clock(), dcPowerUsageForTimeSpan);
+            Log.printFormattedLine(Log.Level.INFO, getClass(), "\n%.2f: Consumed energy is %.2f W*sec\n", getSimulation().clock(), dcPowerUsageForTimeSpan);
 
             Log.printLine("\n\n--------------------------------------------------------------\n\n");
             final double nextCloudletFinishTime = getNextCloudletFinishTime(currentTime);
@@ -128,7 +127,7 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
      */
     private void scheduleUpdateOfCloudletsProcessingForFutureTime(double nextCloudletFinishTime) {
         if (nextCloudletFinishTime != Double.MAX_VALUE) {
-            getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT));
+            getSimulation().cancelAll(getId(), CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
             // getSimulation().cancelAll(getId(), CloudSim.SIM_ANY);
             send(getId(), getSchedulingInterval(), CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
         }
@@ -147,13 +146,13 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
                 final Host oldHost = entry.getKey().getHost();
 
                 if (oldHost.equals(Host.NULL)) {
-                    Log.printFormattedLine(
+                    Log.printFormattedLine(Log.Level.INFO, getClass(),
                         "%.2f: Migration of VM #%d to Host #%d is started",
                         getSimulation().clock(),
                         entry.getKey().getId(),
                         targetHost.getId());
                 } else {
-                    Log.printFormattedLine(
+                    Log.printFormattedLine(Log.Level.INFO, getClass(),
                         "%.2f: Migration of VM #%d from Host #%d to Host #%d is started",
                         getSimulation().clock(),
                         entry.getKey().getId(),
@@ -180,7 +179,7 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
     private double getNextCloudletFinishTime(double currentTime) {
         double minTime = Double.MAX_VALUE;
         for (final PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
-            Log.printFormattedLine("\n%.2f: Host #%d", getSimulation().clock(), host.getId());
+            Log.printFormattedLine(Log.Level.INFO, getClass(), "\n%.2f: Host #%d", getSimulation().clock(), host.getId());
             final double nextCloudletFinishTime = host.updateProcessing(currentTime);
             minTime = Math.min(nextCloudletFinishTime, minTime);
         }
@@ -196,28 +195,33 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
      */
     private double getDatacenterPowerUsageForTimeSpan() {
         final double timeSpan = getSimulation().clock() - getLastProcessTime();
+        final boolean logEnabled = Log.isEnabled(getClass(), Log.Level.INFO);
         double datacenterPowerUsageForTimeSpan = 0;
         for(PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
-            Log.printFormattedLine("%.2f: Host #%d", getSimulation().clock(), host.getId());
-
             final double hostPower = getHostConsumedPowerForTimeSpan(host, timeSpan);
             datacenterPowerUsageForTimeSpan += hostPower;
-
-            println(String.format(
-                    "%.2f: Host #%d utilization is %.2f%%",
-                    getSimulation().clock(),
-                    host.getId(),
-                    host.getUtilizationOfCpu() * 100));
-            println(String.format(
-                    "%.2f: Host #%d energy is %.2f W*sec",
-                    getSimulation().clock(),
-                    host.getId(),
-                    hostPower));
+            if(logEnabled) {
+                printHostConsumedPower(host, hostPower);
+            }
         }
 
         return datacenterPowerUsageForTimeSpan;
     }
 
+    private void printHostConsumedPower(PowerHostSimple host, double hostPower) {
+        Log.printFormattedLine(Log.Level.INFO, getClass(), "%.2f: Host #%d", getSimulation().clock(), host.getId());
+        printFormattedLine(
+                "%.2f: Host #%d utilization is %.2f%%",
+                getSimulation().clock(),
+                host.getId(),
+                host.getUtilizationOfCpu() * 100);
+        printFormattedLine(
+                "%.2f: Host #%d energy is %.2f W*sec",
+                getSimulation().clock(),
+                host.getId(),
+                hostPower);
+    }
+
     /**
      * Gets the power consumed by a given Host for a specific time span.
      *
@@ -114,8 +114,8 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
     private double addVmResourceUseToHistoryIfNotMigratingIn(Vm vm, double currentTime) {
         double totalAllocatedMips = getVmScheduler().getTotalAllocatedMipsForVm(vm);
         if (getVmsMigratingIn().contains(vm)) {
-            Log.printFormattedLine("%.2f: [" + this + "] " + vm
-                    + " is migrating in", getSimulation().clock());
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
+                "%.2f: [%s] %s is migrating in", getSimulation().clock(), this, vm);
             return totalAllocatedMips;
         }
 
@@ -123,7 +123,7 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         if (totalAllocatedMips + 0.1 < totalRequestedMips) {
             final String reason = getVmsMigratingOut().contains(vm) ? "migration overhead" : "capacity unavailability";
             final double notAllocatedMipsByPe = (totalRequestedMips - totalAllocatedMips)/vm.getNumberOfPes();
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: [%s] %.0f MIPS not allocated for each one of the %d PEs from %s due to %s.",
                 getSimulation().clock(), this, notAllocatedMipsByPe, vm.getNumberOfPes(), vm, reason);
         }
@@ -136,9 +136,9 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         vm.addStateHistoryEntry(entry);
 
         if (vm.isInMigration()) {
-            Log.printFormattedLine(
-                    "%.2f: [" + this + "] " + vm + " is migrating out ",
-                    getSimulation().clock());
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
+                    "%.2f: [%s] %s is migrating out ",
+                    getSimulation().clock(), this, vm);
             totalAllocatedMips /= getVmScheduler().getMaxCpuUsagePercentDuringOutMigration();
         }
 
@@ -160,14 +160,14 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
     }
 
     private void showVmResourceUsageOnHost(Vm vm) {
-        if (Log.isDisabled() || vm.getHost() == Host.NULL) {
+        if (!getDatacenter().isLogEnabled() || vm.getHost() == Host.NULL) {
             return;
         }
 
         final double totalRequestedMips = vm.getCurrentRequestedTotalMips();
         final double totalAllocatedMips = getVmScheduler().getTotalAllocatedMipsForVm(vm);
 
-        getDatacenter().println(String.format(
+        getDatacenter().printFormattedLine(
                 "%.2f: [" + this + "] Total allocated MIPS for " + vm
                 + " (" + vm.getHost()
                 + ") is %.2f. Vm requested %.2f out of its total %.2f MIPS (%.2f%%)",
@@ -175,7 +175,7 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
                 totalAllocatedMips,
                 totalRequestedMips,
                 vm.getTotalMipsCapacity(),
-                totalRequestedMips / vm.getTotalMipsCapacity() * 100));
+                totalRequestedMips / vm.getTotalMipsCapacity() * 100);
 
         final List<Pe> pes = getVmScheduler().getPesAllocatedForVm(vm);
         final StringBuilder pesString = new StringBuilder();
@@ -186,11 +186,11 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
                             pe.getPeProvisioner().getAllocatedResourceForVm(vm)))
         );
 
-        getDatacenter().println(String.format(
+        getDatacenter().printFormattedLine(
                 "%.2f: [" + this + "] MIPS for " + vm + " working PEs ("
                 + getNumberOfWorkingPes()+ " * " + getVmScheduler().getPeCapacity() + "): "
                 + pesString,
-                getSimulation().clock()));
+                getSimulation().clock());
     }
 
     @Override
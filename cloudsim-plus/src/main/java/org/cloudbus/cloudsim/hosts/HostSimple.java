@@ -70,6 +70,14 @@ public class HostSimple implements Host {
      */
     private final List<Vm> vmList = new ArrayList<>();
 
+    /**
+     * An index of the VMs in the {@link #vmList}, where each key is a VM id
+     * and the value is the first VM in that list having such an id.
+     * It enables finding a VM by id without traversing the list.
+     * @see #getVmById(int)
+     */
+    private final Map<Integer, Vm> vmsById = new HashMap<>();
+
     /**
      * @see #getPeList()
      */
@@ -236,7 +244,7 @@ public class HostSimple implements Host {
             return false;
         }
 
-        vmList.add(vm);
+        addVmToList(vm);
         return true;
     }
 
@@ -250,7 +258,7 @@ public class HostSimple implements Host {
     private boolean allocateResourcesForVm(Vm vm, boolean inMigration){
         final String msg = inMigration ? "VM Migration" : "VM Creation";
         if (!storage.isResourceAmountAvailable(vm.getStorage())) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: %s: [%s] Allocation of %s to %s failed due to lack of storage. Required %d but there is just %d MB available.",
                 simulation.clock(), getClass().getSimpleName(),
                 msg, vm, this, vm.getStorage().getCapacity(), storage.getAvailableResource());
@@ -258,7 +266,7 @@ public class HostSimple implements Host {
         }
 
         if (!ramProvisioner.isSuitableForVm(vm, vm.getCurrentRequestedRam())) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: %s: [%s] Allocation of %s to %s failed due to lack of RAM. Required %d but there is just %d MB available.",
                 simulation.clock(), getClass().getSimpleName(),
                 msg, vm, this, vm.getRam().getCapacity(), ram.getAvailableResource());
@@ -266,7 +274,7 @@ public class HostSimple implements Host {
         }
 
         if (!bwProvisioner.isSuitableForVm(vm, vm.getCurrentRequestedBw())) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                 "%.2f: %s: [%s] Allocation of %s to %s failed due to lack of BW. Required %d but there is just %d Mbps available.",
                 simulation.clock(), getClass().getSimpleName(),
                 msg, vm, this, vm.getBw().getCapacity(), bw.getAvailableResource());
@@ -274,7 +282,7 @@ public class HostSimple implements Host {
         }
 
         if (!vmScheduler.isSuitableForVm(vm)) {
-            Log.printFormattedLine(
+            Log.printFormattedLine(Log.Level.INFO, getClass(),
                     "%.2f: %s: [%s] Allocation of %s to %s failed due to lack of PEs.\n\t  "+
                     "Required %d PEs of %.0f MIPS (%.0f MIPS total). However, there are just %d working PEs of %.0f MIPS, from which %.0f MIPS are available.",
                     getSimulation().clock(), getClass().getSimpleName(), msg, vm, this,
@@ -296,7 +304,7 @@ public class HostSimple implements Host {
     public void reallocateMigratingInVms() {
         for (Vm vm : getVmsMigratingIn()) {
             if (!vmList.contains(vm)) {
-                vmList.add(vm);
+                addVmToList(vm);
             }
             ramProvisioner.allocateResourceForVm(vm, vm.getCurrentRequestedRam());
             bwProvisioner.allocateResourceForVm(vm, vm.getCurrentRequestedBw());
@@ -339,7 +347,7 @@ public class HostSimple implements Host {
     private void destroyVmInternal(Vm vm) {
         if (!Objects.isNull(vm)) {
             deallocateResourcesOfVm(vm);
-            vmList.remove(vm);
+            removeVmFromList(vm);
         }
     }
 
@@ -365,6 +373,7 @@ public class HostSimple implements Host {
         }
 
         vmList.clear();
+        vmsById.clear();
     }
 
     /**
@@ -378,6 +387,11 @@ public class HostSimple implements Host {
 
     @Override
     public Vm getVm(int vmId, int brokerId) {
+        final Vm indexedVm = getVmById(vmId);
+        if(indexedVm == Vm.NULL || indexedVm.getBroker().getId() == brokerId){
+            return indexedVm;
+        }
+
         return vmList.stream()
             .filter(vm -> vm.getId() == vmId && vm.getBroker().getId() == brokerId)
             .findFirst().orElse(Vm.NULL);
@@ -545,11 +559,35 @@ public class HostSimple implements Host {
     protected void addVmToList(Vm vm){
         Objects.requireNonNull(vm);
         vmList.add(vm);
+        vmsById.putIfAbsent(vm.getId(), vm);
     }
 
     protected void removeVmFromList(Vm vm){
         Objects.requireNonNull(vm);
-        vmList.remove(vm);
+        if(!vmList.remove(vm) || vmsById.get(vm.getId()) != vm){
+            return;
+        }
+
+        /* The removed VM was the indexed one. If another VM in the list has the same id
+         * (such as VMs from different brokers), it becomes the indexed VM. */
+        vmsById.remove(vm.getId());
+        vmList.stream()
+            .filter(other -> other.getId() == vm.getId())
+            .findFirst()
+            .ifPresent(other -> vmsById.put(other.getId(), other));
+    }
+
+    /**
+     * Gets a VM placed into this Host by its id, without traversing the {@link #getVmList() VM list}.
+     * If there are VMs from different brokers with the same id,
+     * returns the first one placed into the Host.
+     *
+     * @param vmId the id of the VM to get
+     * @return the VM with the given id or {@link Vm#NULL} if it is not placed into this Host
+     * @see #getVm(int, int)
+     */
+    public Vm getVmById(int vmId) {
+        return vmsById.getOrDefault(vmId, Vm.NULL);
     }
 
     @Override
@@ -596,7 +634,7 @@ public class HostSimple implements Host {
     public void removeMigratingInVm(Vm vm) {
         deallocateResourcesOfVm(vm);
         vmsMigratingIn.remove(vm);
-        vmList.remove(vm);
+        removeVmFromList(vm);
         vm.setInMigration(false);
     }
 
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.hosts.network;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.network.HostPacket;
@@ -25,7 +26,6 @@ import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.lists.PeList;
-import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 
 /**
@@ -144,7 +144,7 @@ public class NetworkHost extends HostSimple {
             hostPkt.getVmPacket().setReceiveTime(getSimulation().clock());
 
             //Checks if the destinationVm is inside this host
-            final Vm destinationVm = VmList.getById(getVmList(), hostPkt.getVmPacket().getDestination().getId());
+            final Vm destinationVm = getVmById(hostPkt.getVmPacket().getDestination().getId());
             if(destinationVm.equals(Vm.NULL)){
                 Log.println(
                     Log.Level.ERROR, getClass(), getSimulation().clock(),
@@ -206,6 +206,13 @@ public class NetworkHost extends HostSimple {
      * to VMs outside this host.
      */
     private void sendPacketsToExternalVms() {
+        if(isFlowModelEnabled()){
+            pktsToSendForExternalVms.forEach(hostPkt -> totalDataTransferBytes += hostPkt.getVmPacket().getSize());
+            ((NetworkDatacenter)getDatacenter()).getFlowModel().send(this, pktsToSendForExternalVms);
+            pktsToSendForExternalVms.clear();
+            return;
+        }
+
         final double availableBwByPacket = getBandwidthByPacket(pktsToSendForExternalVms.size());
         for (final HostPacket hostPkt : pktsToSendForExternalVms) {
             final double delay = Conversion.bytesToMegaBites(hostPkt.getVmPacket().getSize()) / availableBwByPacket;
@@ -220,6 +227,17 @@ public class NetworkHost extends HostSimple {
         pktsToSendForExternalVms.clear();
     }
 
+    /**
+     * Checks if the packets sent to VMs in other Hosts have to be transferred by the
+     * {@link NetworkDatacenter#getFlowModel() flow model} of the Datacenter,
+     * instead of being sent to the {@link #getEdgeSwitch() Edge Switch}.
+     * @return
+     */
+    private boolean isFlowModelEnabled() {
+        return getDatacenter() instanceof NetworkDatacenter &&
+               ((NetworkDatacenter)getDatacenter()).isFlowModelEnabled();
+    }
+
     /**
      * Gets the bandwidth (in  Megabits/s) that will be available for each packet considering a given number of packets
      * that are expected to be sent.
@@ -282,7 +300,7 @@ public class NetworkHost extends HostSimple {
     private void collectPacketToSendFromVm(VmPacket vmPkt) {
         final HostPacket hostPkt = new HostPacket(this, vmPkt);
         //Checks if the VM is inside this Host
-        final Vm receiverVm = VmList.getById(this.getVmList(), vmPkt.getDestination().getId());
+        final Vm receiverVm = getVmById(vmPkt.getDestination().getId());
         if (!receiverVm.equals(Vm.NULL)) {
             pktsToSendForLocalVms.add(hostPkt);
         } else {
@@ -51,6 +51,16 @@ public interface PowerHost extends HostDynamicWorkload {
      */
     double getPower();
 
+    /**
+     * Gets the amount of power the Host consumes considering a given
+     * utilization percentage. For this moment it only computes the power consumed by {@link Pe}s.
+     *
+     * @param utilization the utilization percentage (between [0 and 1]) of a
+     * resource that is critical for power consumption
+     * @return the power consumption
+     */
+    double getPower(double utilization);
+
     /**
      * Gets the power model used by the host
      * to define how it consumes power.
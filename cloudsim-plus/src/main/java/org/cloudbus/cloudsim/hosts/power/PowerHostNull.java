@@ -39,6 +39,9 @@ final class PowerHostNull implements PowerHost {
     @Override public double getPower() {
         return 0;
     }
+    @Override public double getPower(double utilization) {
+        return 0;
+    }
     @Override public PowerModel getPowerModel() {
         return PowerModel.NULL;
     }
@@ -96,15 +96,8 @@ public class PowerHostSimple extends HostDynamicWorkloadSimple implements PowerH
         return getPower(getUtilizationOfCpu());
     }
 
-    /**
-     * Gets the amount of power the Host consumes considering a given
-     * utilization percentage. For this moment it only computes the power consumed by PEs.
-     *
-     * @param utilization the utilization percentage (between [0 and 1]) of a
-     * resource that is critical for power consumption
-     * @return the power consumption
-     */
-    protected double getPower(double utilization) {
+    @Override
+    public double getPower(double utilization) {
         try {
             return getPowerModel().getPower(utilization);
         } catch (IllegalArgumentException e) {
@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.UtilizationHistory;
 import org.cloudbus.cloudsim.vms.power.PowerVm;
 
 import java.util.ArrayList;
@@ -41,6 +42,28 @@ import static java.util.stream.Collectors.toList;
  * @todo See the TODO in the {@link HostDynamicWorkloadSimple} class documentation.
  */
 public class PowerHostUtilizationHistory extends PowerHostSimple {
+    /**
+     * The last computed CPU utilization percentage history.
+     * @see #getUtilizationHistory()
+     */
+    private double[] utilizationHistory;
+
+    /**
+     * The {@link UtilizationHistory#getModificationCount() modification count}
+     * of the history of each created VM when the {@link #utilizationHistory} was computed.
+     */
+    private long[] vmsModificationCount;
+
+    /**
+     * The total MIPS capacity of each created VM when the {@link #utilizationHistory} was computed.
+     */
+    private double[] vmsTotalMipsCapacity;
+
+    /**
+     * The Host total MIPS capacity when the {@link #utilizationHistory} was computed.
+     */
+    private double totalMipsCapacity;
+
     /**
      * Creates a PowerHostUtilizationHistory.
      * @param ram the RAM capacity in Megabytes
@@ -50,6 +73,9 @@ public class PowerHostUtilizationHistory extends PowerHostSimple {
      */
     public PowerHostUtilizationHistory(long ram, long bw, long storage, List<Pe> peList) {
         super(ram, bw, storage, peList);
+        utilizationHistory = new double[0];
+        vmsModificationCount = new long[0];
+        vmsTotalMipsCapacity = new double[0];
     }
 
 	/**
@@ -88,17 +114,60 @@ public class PowerHostUtilizationHistory extends PowerHostSimple {
 	 * Gets the host CPU utilization percentage history (between [0 and 1], where 1 is 100%).
      * Each value into the returned array is the CPU utilization percentage for
      * a time interval equal to the {@link Datacenter#getSchedulingInterval()}.
+     *
+     * <p>The history is aggregated from the history of the VMs created into the Host,
+     * and it's just computed again when the history of some VM changes.
+     * Each call returns a copy of such an aggregated history.</p>
      * @return
 	 */
     public double[] getUtilizationHistory() {
-        final double[] utilizationHistory = new double[PowerVm.MAX_HISTORY_ENTRIES];
-        final double totalMipsCapacity = getTotalMipsCapacity();
-        for (final PowerVm vm : this.<PowerVm>getVmCreatedList()) {
-            for (int i = 0; i < vm.getUtilizationHistory().size(); i++) {
-                utilizationHistory[i] += vm.getUtilizationHistory().get(i) * vm.getTotalMipsCapacity() / totalMipsCapacity;
+        if (isUtilizationHistoryChanged()) {
+            computeUtilizationHistory();
+        }
+
+        return utilizationHistory.clone();
+    }
+
+    /**
+     * Checks if the history of some VM has changed since the last time
+     * the {@link #utilizationHistory} was computed.
+     * @return
+     */
+    private boolean isUtilizationHistoryChanged() {
+        final List<PowerVm> vmList = getVmCreatedList();
+        if (vmList.size() != vmsModificationCount.length || getTotalMipsCapacity() != totalMipsCapacity) {
+            return true;
+        }
+
+        for (int i = 0; i < vmsModificationCount.length; i++) {
+            final PowerVm vm = vmList.get(i);
+            if (vm.getUtilizationHistoryBuffer().getModificationCount() != vmsModificationCount[i] ||
+                vm.getTotalMipsCapacity() != vmsTotalMipsCapacity[i])
+            {
+                return true;
             }
         }
-        return MathUtil.trimZeroTail(utilizationHistory);
+
+        return false;
+    }
+
+    private void computeUtilizationHistory() {
+        final List<PowerVm> vmList = getVmCreatedList();
+        final double[] history = new double[PowerVm.MAX_HISTORY_ENTRIES];
+        vmsModificationCount = new long[vmList.size()];
+        vmsTotalMipsCapacity = new double[vmList.size()];
+        totalMipsCapacity = getTotalMipsCapacity();
+        for (int i = 0; i < vmsModificationCount.length; i++) {
+            final PowerVm vm = vmList.get(i);
+            final UtilizationHistory vmHistory = vm.getUtilizationHistoryBuffer();
+            vmsModificationCount[i] = vmHistory.getModificationCount();
+            vmsTotalMipsCapacity[i] = vm.getTotalMipsCapacity();
+            for (int j = 0; j < vmHistory.size(); j++) {
+                history[j] += vmHistory.get(j) * vmsTotalMipsCapacity[i] / totalMipsCapacity;
+            }
+        }
+
+        utilizationHistory = MathUtil.trimZeroTail(history);
     }
 
 }
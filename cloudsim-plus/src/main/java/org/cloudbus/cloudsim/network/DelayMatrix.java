@@ -11,27 +11,75 @@ package org.cloudbus.cloudsim.network;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * This class represents a delay matrix between every pair or nodes
  * inside a network topology, storing every distance between connected nodes.
  *
+ * <p>By default, the delays between all pairs of nodes are computed at once by the
+ * {@link FloydWarshall} algorithm. For large topologies, the matrix can be created
+ * to {@link #DelayMatrix(TopologicalGraph, boolean, int) compute rows on demand},
+ * running the Dijkstra algorithm over the links of the graph and keeping just
+ * the most recently used rows.</p>
+ *
+ * <p>The entire matrix is stored into a single row-major buffer, which can be
+ * {@link #DelayMatrix(TopologicalGraph, boolean, File) saved to a file} and memory-mapped
+ * from it in further executions, instead of being computed again.</p>
+ *
  * @author Thomas Hohnstein
  * @since CloudSim Toolkit 1.0
  */
 public class DelayMatrix {
 
+    private static final int MAGIC = 0x444C4D58;
+
+    /**
+     * The size of the header of a delay matrix file (in bytes), storing
+     * the number of nodes and a hash of the graph the matrix was computed from.
+     */
+    private static final int FILE_HEADER_SIZE = 16;
+
 	/**
-	 * Matrix holding delay information between any two nodes.
+	 * Row-major matrix holding delay information between any two nodes,
+	 * which may be stored into the heap or mapped from a file;
+	 * or null if rows are computed on demand.
 	 */
-    private double[][] mDelayMatrix;
+    private DoubleBuffer mDelayMatrix;
 
 	/**
 	 * Number of nodes in the distance-aware-topology.
 	 */
     private int mTotalNodeNum;
 
+    /**
+     * The links leaving each node, stored in the Compressed Sparse Row format,
+     * which are used when rows are computed on demand.
+     * The links leaving node i are the ones from {@code linkStarts[i]} (inclusive)
+     * to {@code linkStarts[i+1]} (exclusive) in the {@link #linkTargets} and {@link #linkDelays} arrays.
+     */
+    private int[] linkStarts;
+    private int[] linkTargets;
+    private double[] linkDelays;
+
+    /**
+     * The most recently used rows computed on demand, where each key is a source node.
+     */
+    private Map<Integer, double[]> cachedRows;
+
 	public DelayMatrix() {
-        mDelayMatrix = new double[0][0];
+        mDelayMatrix = DoubleBuffer.allocate(0);
 	}
 
 	/**
@@ -49,6 +97,55 @@ public class DelayMatrix {
 		calculateShortestPath();
 	}
 
+    /**
+     * Creates an correctly initialized double-Delay-Matrix which is memory-mapped from a file,
+     * if the file contains the matrix for the given graph.
+     * Otherwise, the matrix is computed and written to the file.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if an directed matrix should be computed (true) or not (false)
+     * @param file the file where the matrix is stored
+     * @throws IOException if the file could not be read or written
+     */
+    public DelayMatrix(final TopologicalGraph graph, final boolean directed, final File file) throws IOException {
+        mTotalNodeNum = graph.getNumberOfNodes();
+        final long hash = getGraphHash(graph, directed);
+        if (file.exists() && map(file, hash)) {
+            return;
+        }
+
+        createDelayMatrix(graph, directed);
+        calculateShortestPath();
+        save(file, hash);
+    }
+
+    /**
+     * Creates a Delay-Matrix which computes the delays from a source node to all the other ones
+     * just when the delay from that node is requested, using the Dijkstra algorithm.
+     * That requires memory just for the links of the graph and the cached rows,
+     * instead of the entire matrix. The delays are the same computed by
+     * {@link #DelayMatrix(TopologicalGraph, boolean)}.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if an directed matrix should be computed (true) or not (false)
+     * @param maxCachedRows the maximum number of rows to keep, where the least recently used ones are
+     *                      evicted when that number is reached
+     */
+    public DelayMatrix(final TopologicalGraph graph, final boolean directed, final int maxCachedRows) {
+        if (maxCachedRows <= 0) {
+            throw new IllegalArgumentException("The maximum number of cached rows must be greater than 0.");
+        }
+
+        mTotalNodeNum = graph.getNumberOfNodes();
+        createLinks(graph, directed);
+        cachedRows = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+                return size() > maxCachedRows;
+            }
+        };
+    }
+
 	/**
          * Gets the delay between two nodes.
          *
@@ -58,11 +155,15 @@ public class DelayMatrix {
 	 */
 	public double getDelay(int srcID, int destID) {
 		// check the nodeIDs against internal array-boundarys
-		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+		if (srcID < 0 || destID < 0 || srcID >= mTotalNodeNum || destID >= mTotalNodeNum) {
 			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
 		}
 
-		return mDelayMatrix[srcID][destID];
+		if (mDelayMatrix == null) {
+			return getRow(srcID)[destID];
+		}
+
+		return mDelayMatrix.get(srcID * mTotalNodeNum + destID);
 	}
 
 	/**
@@ -78,23 +179,19 @@ public class DelayMatrix {
 		// number of nodes inside the network
 		mTotalNodeNum = graph.getNumberOfNodes();
 
-		mDelayMatrix = new double[mTotalNodeNum][mTotalNodeNum];
-
-		// cleanup the complete distance-matrix with "0"s
-		for (int row = 0; row < mTotalNodeNum; ++row) {
-			for (int col = 0; col < mTotalNodeNum; ++col) {
-				mDelayMatrix[row][col] = Double.MAX_VALUE;
-			}
-		}
-
+		// cleanup the complete distance-matrix with "infinity"
+		final double[] delays = new double[mTotalNodeNum * mTotalNodeNum];
+		Arrays.fill(delays, Double.MAX_VALUE);
 
         for (TopologicalLink edge : graph.getLinksList()) {
-			mDelayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
+			delays[edge.getSrcNodeID() * mTotalNodeNum + edge.getDestNodeID()] = edge.getLinkDelay();
 			if (!directed) {
 				// according to symmetry to all communication-paths
-				mDelayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
+				delays[edge.getDestNodeID() * mTotalNodeNum + edge.getSrcNodeID()] = edge.getLinkDelay();
 			}
 		}
+
+		mDelayMatrix = DoubleBuffer.wrap(delays);
 	}
 
 	/**
@@ -102,9 +199,234 @@ public class DelayMatrix {
 	 */
 	private void calculateShortestPath() {
 		final FloydWarshall floyd = new FloydWarshall(mTotalNodeNum);
-		mDelayMatrix = floyd.computeShortestPaths(mDelayMatrix);
+		floyd.computeShortestPaths(mDelayMatrix.array());
 	}
 
+    /**
+     * Computes a hash of the nodes and links of a graph, used to check
+     * if a delay matrix file was computed for that graph.
+     */
+    private static long getGraphHash(final TopologicalGraph graph, final boolean directed) {
+        long hash = 31L * graph.getNumberOfNodes() + (directed ? 1 : 0);
+        for (final TopologicalLink edge : graph.getLinksList()) {
+            hash = 31L * hash + edge.getSrcNodeID();
+            hash = 31L * hash + edge.getDestNodeID();
+            hash = 31L * hash + Double.doubleToLongBits(edge.getLinkDelay());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Maps the matrix from a file, if the file was written for a given graph.
+     *
+     * @param file the file to map
+     * @param hash the hash of the graph
+     * @return true if the matrix was mapped, false if the file was written for another graph
+     */
+    private boolean map(final File file, final long hash) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = (long) mTotalNodeNum * mTotalNodeNum * Double.BYTES;
+            if (channel.size() != FILE_HEADER_SIZE + size) {
+                return false;
+            }
+
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC || header.getInt() != mTotalNodeNum || header.getLong() != hash) {
+                return false;
+            }
+
+            mDelayMatrix = channel.map(FileChannel.MapMode.READ_ONLY, FILE_HEADER_SIZE, size)
+                                  .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            return true;
+        }
+    }
+
+    /**
+     * Writes the matrix to a file, replacing it atomically.
+     *
+     * @param file the file to write
+     * @param hash the hash of the graph the matrix was computed from
+     */
+    private void save(final File file, final long hash) throws IOException {
+        final double[] delays = mDelayMatrix.array();
+        final ByteBuffer buffer = ByteBuffer.allocate(FILE_HEADER_SIZE + Math.min(delays.length, 65536) * Double.BYTES)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(mTotalNodeNum).putLong(hash);
+
+        final File tmpFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.WRITE)) {
+                int written = 0;
+                do {
+                    // writes the matrix in chunks, to avoid creating a copy of it
+                    final int length = Math.min(delays.length - written, buffer.remaining() / Double.BYTES);
+                    buffer.asDoubleBuffer().put(delays, written, length);
+                    buffer.position(buffer.position() + length * Double.BYTES);
+                    written += length;
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                } while (written < delays.length);
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
+    }
+
+    /**
+     * Checks if the matrix is memory-mapped from a file.
+     * @return
+     */
+    public boolean isMapped() {
+        return mDelayMatrix != null && mDelayMatrix.isDirect();
+    }
+
+    /**
+     * Creates the links used to compute rows on demand.
+     * As when the entire matrix is created, if there are multiple links between two nodes,
+     * the last one is used and links with zero delay are ignored.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if an directed matrix should be computed (true) or not (false)
+     */
+    private void createLinks(final TopologicalGraph graph, final boolean directed) {
+        final Map<Long, Double> links = new LinkedHashMap<>();
+        for (final TopologicalLink edge : graph.getLinksList()) {
+            links.put(getLinkKey(edge.getSrcNodeID(), edge.getDestNodeID()), edge.getLinkDelay());
+            if (!directed) {
+                links.put(getLinkKey(edge.getDestNodeID(), edge.getSrcNodeID()), edge.getLinkDelay());
+            }
+        }
+        links.entrySet().removeIf(link -> link.getValue() == 0 || link.getKey() / mTotalNodeNum == link.getKey() % mTotalNodeNum);
+
+        linkStarts = new int[mTotalNodeNum + 1];
+        for (final long key : links.keySet()) {
+            linkStarts[(int) (key / mTotalNodeNum) + 1]++;
+        }
+
+        for (int i = 0; i < mTotalNodeNum; i++) {
+            linkStarts[i + 1] += linkStarts[i];
+        }
+
+        final int[] next = Arrays.copyOf(linkStarts, mTotalNodeNum);
+        linkTargets = new int[links.size()];
+        linkDelays = new double[links.size()];
+        for (final Map.Entry<Long, Double> link : links.entrySet()) {
+            final int pos = next[(int) (link.getKey() / mTotalNodeNum)]++;
+            linkTargets[pos] = (int) (link.getKey() % mTotalNodeNum);
+            linkDelays[pos] = link.getValue();
+        }
+    }
+
+    private long getLinkKey(final int srcID, final int destID) {
+        return (long) srcID * mTotalNodeNum + destID;
+    }
+
+    /**
+     * Gets the delays from a source node to all the other ones,
+     * computing them if they aren't cached.
+     *
+     * @param srcID the id of the source node
+     * @return the delays from the source node, where the delay to unreachable nodes is {@link Double#MAX_VALUE}
+     */
+    private double[] getRow(final int srcID) {
+        final double[] row = cachedRows.get(srcID);
+        if (row != null) {
+            return row;
+        }
+
+        final double[] delays = computeRow(srcID);
+        cachedRows.put(srcID, delays);
+        return delays;
+    }
+
+    /**
+     * Computes the delays from a source node to all the other ones using the Dijkstra algorithm.
+     * Nodes are stored into a binary heap ordered by delay, where a node is inserted again
+     * if a shorter delay is found, instead of updating its position.
+     *
+     * @param srcID the id of the source node
+     * @return the delays from the source node
+     */
+    private double[] computeRow(final int srcID) {
+        final double[] delays = new double[mTotalNodeNum];
+        Arrays.fill(delays, Double.MAX_VALUE);
+        delays[srcID] = 0;
+
+        double[] heapDelays = new double[16];
+        int[] heapNodes = new int[16];
+        heapDelays[0] = 0;
+        heapNodes[0] = srcID;
+        int heapSize = 1;
+        while (heapSize > 0) {
+            final double delay = heapDelays[0];
+            final int node = heapNodes[0];
+            heapSize--;
+            siftDown(heapDelays, heapNodes, heapSize, heapDelays[heapSize], heapNodes[heapSize]);
+            if (delay > delays[node]) {
+                continue;
+            }
+
+            for (int l = linkStarts[node]; l < linkStarts[node + 1]; l++) {
+                final int target = linkTargets[l];
+                final double newDelay = delay + linkDelays[l];
+                if (newDelay < delays[target]) {
+                    delays[target] = newDelay;
+                    if (heapSize == heapNodes.length) {
+                        heapDelays = Arrays.copyOf(heapDelays, heapSize * 2);
+                        heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                    }
+                    siftUp(heapDelays, heapNodes, heapSize++, newDelay, target);
+                }
+            }
+        }
+
+        return delays;
+    }
+
+    private static void siftUp(final double[] heapDelays, final int[] heapNodes, int pos, final double delay, final int node) {
+        while (pos > 0) {
+            final int parent = (pos - 1) / 2;
+            if (heapDelays[parent] <= delay) {
+                break;
+            }
+            heapDelays[pos] = heapDelays[parent];
+            heapNodes[pos] = heapNodes[parent];
+            pos = parent;
+        }
+        heapDelays[pos] = delay;
+        heapNodes[pos] = node;
+    }
+
+    /**
+     * Places a node, which was at the end of the heap, starting from the heap root.
+     */
+    private static void siftDown(final double[] heapDelays, final int[] heapNodes, final int size, final double delay, final int node) {
+        if (size == 0) {
+            return;
+        }
+
+        int pos = 0;
+        int child;
+        while ((child = 2 * pos + 1) < size) {
+            if (child + 1 < size && heapDelays[child + 1] < heapDelays[child]) {
+                child++;
+            }
+            if (delay <= heapDelays[child]) {
+                break;
+            }
+            heapDelays[pos] = heapDelays[child];
+            heapNodes[pos] = heapNodes[child];
+            pos = child;
+        }
+        heapDelays[pos] = delay;
+        heapNodes[pos] = node;
+    }
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder(100);
@@ -120,10 +442,11 @@ public class DelayMatrix {
 			builder.append('\n').append(row);
 
 			for (int col = 0; col < mTotalNodeNum; ++col) {
-				if (mDelayMatrix[row][col] == Double.MAX_VALUE) {
+				final double delay = getDelay(row, col);
+				if (delay == Double.MAX_VALUE) {
 					builder.append("\t-");
 				} else {
-					builder.append('\t').append(mDelayMatrix[row][col]);
+					builder.append('\t').append(delay);
 				}
 			}
 		}
@@ -8,48 +8,45 @@
 package org.cloudbus.cloudsim.network;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * <a href="https://en.wikipedia.org/wiki/Floyd–Warshall_algorithm">Floyd-Warshall algorithm</a> to calculate the predecessor matrix and the delay
  * between all pairs of nodes. The delay represents the distance between the two vertices and it works as the weight for the Floyd-Warshall algorithm.
  *
+ * <p>The delays are updated in place inside a single row-major array,
+ * which is split into square blocks that fit into the processor cache.
+ * For each block of intermediate vertices k, the diagonal block is updated first,
+ * then the blocks in the same row and column of the diagonal one and finally all the remaining blocks.
+ * The blocks in each one of the last two phases are independent of each other,
+ * thus they are updated in parallel for large graphs.</p>
+ *
  * @author Rahul Simha
  * @author Weishuai Yang
  * @version 1.2, 6/20/2005
  * @since CloudSim Toolkit 1.0
  */
 public class FloydWarshall {
-
-    /**
-     * Number of vertices (network nodes).
-     */
-    private final int numVertices;
-
     /**
-     * List with the indexes of all vertices, from 0 to {@link #numVertices}-1.
+     * The number of vertices in each side of a square block of the delay matrix.
+     * A block of doubles with such a size takes 32KB.
      */
-    private final List<Integer> vertices;
+    static final int BLOCK_SIZE = 64;
 
     /**
-     * Weights when k is equal to -1.
-     * (used for dynamic programming).
+     * Number of vertices (network nodes).
      */
-    private double[][] dk_minus_one;
+    private final int numVertices;
 
     /**
-     * The predecessor matrix (used for dynamic programming).
+     * The number of {@link #BLOCK_SIZE blocks} in each row and column of the delay matrix.
      */
-    private int[][] pk;
+    private final int numBlocks;
 
     /**
-     * (used for dynamic programming).
+     * The row-major predecessor matrix, or null if predecessors weren't computed.
      */
-    private int[][] pk_minus_one;
+    private int[] predecessors;
 
     /**
      * Creates a matrix of network nodes.
@@ -58,128 +55,164 @@ public class FloydWarshall {
      */
     public FloydWarshall(final int numVertices) {
         this.numVertices = numVertices;
-        this.vertices = IntStream.range(0, numVertices).mapToObj(i -> i).collect(toList());
-        dk_minus_one = new double[numVertices][numVertices];
-        pk = new int[numVertices][numVertices];
-        pk_minus_one = new int[numVertices][numVertices];
+        this.numBlocks = (numVertices + BLOCK_SIZE - 1) / BLOCK_SIZE;
     }
 
     /**
      * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices.
+     * for all existing vertices, also computing the {@link #getPk() predecessor matrix}.
      * This is represented by the delay between all pairs vertices.
      *
-     * @param originalDelayMatrix original delay matrix
+     * @param originalDelayMatrix original delay matrix, where 0 or {@link Double#MAX_VALUE}
+     *                            indicate there is no link between two nodes.
+     *                            This matrix is not changed.
      * @return the new delay matrix (dk)
      */
-    public double[][] computeShortestPaths(double[][] originalDelayMatrix) {
-        savePreviousDelays(originalDelayMatrix);
-        return computeShortestPaths();
-    }
+    public double[][] computeShortestPaths(final double[][] originalDelayMatrix) {
+        final double[] delays = new double[numVertices * numVertices];
+        predecessors = new int[delays.length];
+        for (int i = 0; i < numVertices; i++) {
+            final int row = i * numVertices;
+            for (int j = 0; j < numVertices; j++) {
+                final boolean linked = originalDelayMatrix[i][j] != 0 && i != j;
+                delays[row + j] = linked ? originalDelayMatrix[i][j] : Double.MAX_VALUE;
+                predecessors[row + j] = linked ? i : -1;
+            }
+            delays[row + i] = 0;
+        }
 
-    /**
-     * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices.
-     * This is represented by the delay between all pairs vertices.
-     *
-     * @return the new delay matrix (dk)
-     */
-    private double[][] computeShortestPaths() {
-        final double[][] dk = new double[numVertices][numVertices];
+        computeShortestPaths(delays, predecessors);
 
-        for(final int k: vertices) {
-            computeShortestPathForSpecificNumberOfHops(dk, k);
+        final double[][] dk = new double[numVertices][];
+        for (int i = 0; i < numVertices; i++) {
+            dk[i] = Arrays.copyOfRange(delays, i * numVertices, (i + 1) * numVertices);
         }
 
         return dk;
     }
 
     /**
-     * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices, limited to a maximum number of hops.
-     * This is represented by the delay between all pairs vertices.
+     * Computes, in place, the shortest path between a vertex to all the other ones,
+     * for all existing vertices, without computing the predecessor matrix.
+     * That requires less memory than {@link #computeShortestPaths(double[][])},
+     * since no other matrix is created.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
+     * @param delays the row-major delay matrix, where the delay between vertices i and j is at
+     *               position {@code i * numVertices + j}. Values 0 or {@link Double#MAX_VALUE}
+     *               indicate there is no link between two nodes. The delays must not be negative.
+     *               When the method returns, the array contains the delay of the shortest paths
+     *               ({@link Double#MAX_VALUE} for unreachable nodes).
      */
-    private void computeShortestPathForSpecificNumberOfHops(double[][] dk, int k) {
-        for(final int i: vertices) {
-            computeShortestPathFromVertexToAllVertices(dk, k, i);
+    public void computeShortestPaths(final double[] delays) {
+        if (delays.length != numVertices * numVertices) {
+            throw new IllegalArgumentException("The delay matrix must have " + numVertices * numVertices + " elements.");
         }
 
-        updateMatrices((i,j) -> {
-            dk_minus_one[i][j] = dk[i][j];
-            pk_minus_one[i][j] = pk[i][j];
-        });
-    }
-
-    /**
-     * Iterates over the path from one vertex to all the other ones, for all existing vertices,
-     * updating some matrices as defined by a  {@link BiConsumer}.
-     *
-     * @param updater a {@link BiConsumer} that updates all elements of any matrices, where the parameters
-     *                that this BiConsumer receives are the index i and j representing the path
-     *                between two vertices, for all existing vertices
-     */
-    private void updateMatrices(BiConsumer<Integer, Integer> updater){
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                updater.accept(i, j);
+        for (int i = 0; i < delays.length; i++) {
+            if (delays[i] == 0) {
+                delays[i] = Double.MAX_VALUE;
             }
         }
+
+        for (int i = 0; i < numVertices; i++) {
+            delays[i * numVertices + i] = 0;
+        }
+
+        predecessors = null;
+        computeShortestPaths(delays, null);
     }
 
     /**
-     * Computes the shortest path between only a specific vertex to all the other ones,
-     * limited to a maximum number of hops, and then updating the delay matrix.
-     * This is represented by the delay between all pairs vertices.
+     * Computes the shortest paths by updating each block of the delay matrix,
+     * for every block of intermediate vertices k.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
-     * @param i the index of the vertex to compute its distance to all the other vertices
+     * @param delays the row-major delay matrix to update
+     * @param pk the row-major predecessor matrix to update, or null to not compute predecessors
      */
-    private void computeShortestPathFromVertexToAllVertices(double[][] dk, int k, int i) {
-        for(final int j: vertices) {
-            pk[i][j] = -1;
-            if (i != j) {
-                // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
-                if (dk_minus_one[i][j] <= dk_minus_one[i][k] + dk_minus_one[k][j]) {
-                    dk[i][j] = dk_minus_one[i][j];
-                    pk[i][j] = pk_minus_one[i][j];
-                } else {
-                    dk[i][j] = dk_minus_one[i][k] + dk_minus_one[k][j];
-                    pk[i][j] = pk_minus_one[k][j];
+    private void computeShortestPaths(final double[] delays, final int[] pk) {
+        final boolean parallel = numBlocks > 2;
+        for (int kb = 0; kb < numBlocks; kb++) {
+            final int k = kb;
+            updateBlock(delays, pk, k, k, k);
+
+            IntStream blocks = IntStream.range(0, numBlocks).filter(b -> b != k);
+            (parallel ? blocks.parallel() : blocks).forEach(b -> {
+                updateBlock(delays, pk, k, k, b);
+                updateBlock(delays, pk, k, b, k);
+            });
+
+            blocks = IntStream.range(0, numBlocks).filter(b -> b != k);
+            (parallel ? blocks.parallel() : blocks).forEach(ib -> {
+                for (int jb = 0; jb < numBlocks; jb++) {
+                    if (jb != k) {
+                        updateBlock(delays, pk, k, ib, jb);
+                    }
                 }
-            }
+            });
         }
     }
 
     /**
-     * Saves the delay matrix before updating.
+     * Updates the delays inside a block of the delay matrix,
+     * trying every vertex k inside a block of intermediate vertices.
+     * D[i][j] = min(D[i][j], D[i][k] + D[k][j]).
      *
-     * @param originalDelayMatrix the original delay matrix
+     * @param delays the row-major delay matrix to update
+     * @param pk the row-major predecessor matrix to update, or null to not compute predecessors
+     * @param kb the index of the block of intermediate vertices k
+     * @param ib the index of the block row to update
+     * @param jb the index of the block column to update
      */
-    private void savePreviousDelays(double[][] originalDelayMatrix) {
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                dk_minus_one[i][j] = Double.MAX_VALUE;
-                pk_minus_one[i][j] = -1;
-                if (originalDelayMatrix[i][j] != 0) {
-                    dk_minus_one[i][j] = originalDelayMatrix[i][j];
-                    pk_minus_one[i][j] = i;
+    private void updateBlock(final double[] delays, final int[] pk, final int kb, final int ib, final int jb) {
+        final int n = numVertices;
+        final int kEnd = Math.min((kb + 1) * BLOCK_SIZE, n);
+        final int iEnd = Math.min((ib + 1) * BLOCK_SIZE, n);
+        final int jStart = jb * BLOCK_SIZE;
+        final int jEnd = Math.min(jStart + BLOCK_SIZE, n);
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            final int kRow = k * n;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                final int iRow = i * n;
+                final double dik = delays[iRow + k];
+                if (dik == Double.MAX_VALUE) {
+                    // there is no path from i to k, thus k can't be an intermediate vertex
+                    continue;
+                }
+
+                if (pk == null) {
+                    for (int j = jStart; j < jEnd; j++) {
+                        final double delay = dik + delays[kRow + j];
+                        if (delay < delays[iRow + j]) {
+                            delays[iRow + j] = delay;
+                        }
+                    }
+                } else {
+                    for (int j = jStart; j < jEnd; j++) {
+                        final double delay = dik + delays[kRow + j];
+                        if (delay < delays[iRow + j]) {
+                            delays[iRow + j] = delay;
+                            pk[iRow + j] = pk[kRow + j];
+                        }
+                    }
                 }
-                // NOTE: we have set the value to infinity and will exploit this to avoid a comparison.
             }
         }
     }
 
     /**
-     * Gets a <b>copy</b> of the predecessor matrix.
+     * Gets a <b>copy</b> of the predecessor matrix computed by {@link #computeShortestPaths(double[][])}.
      *
      * @return the predecessor matrix copy
      */
     public int[][] getPk() {
-        return Arrays.copyOf(pk, pk.length);
+        final int[][] pk = new int[numVertices][numVertices];
+        if (predecessors != null) {
+            for (int i = 0; i < numVertices; i++) {
+                System.arraycopy(predecessors, i * numVertices, pk[i], 0, numVertices);
+            }
+        }
+
+        return pk;
     }
 
     public int getNumVertices(){
@@ -11,10 +11,8 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.events.SimEvent;
-import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
-import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.util.Log;
@@ -157,7 +155,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
         // add packet in the switch list
         // add packet in the host list
         // int src=ev.getSource();
-        getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
+        getSimulation().cancelAll(getId(), CloudSimTags.NETWORK_EVENT_SEND);
         schedule(getId(), getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
     }
 
@@ -178,7 +176,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     protected void processPacketUp(SimEvent ev) {
         // packet coming from down level router has to be sent up.
         // check which switch to forward to and add packet in the switch list
-        getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
+        getSimulation().cancelAll(getId(), CloudSimTags.NETWORK_EVENT_SEND);
         schedule(getId(), switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
     }
 
@@ -300,8 +298,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected NetworkHost getHostOfVm(int vmId) {
         for (final NetworkHost host : hostList) {
-            final Vm vm = VmList.getById(host.getVmList(), vmId);
-            if (vm != Vm.NULL) {
+            if (host.getVmById(vmId) != Vm.NULL) {
                 return host;
             }
         }
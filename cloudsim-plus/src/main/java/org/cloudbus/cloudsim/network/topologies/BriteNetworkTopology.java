@@ -7,7 +7,9 @@
  */
 package org.cloudbus.cloudsim.network.topologies;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 import org.cloudbus.cloudsim.util.Log;
@@ -46,7 +48,26 @@ public class BriteNetworkTopology implements NetworkTopology {
      */
     private DelayMatrix delayMatrix;
 
-    private double[][] bwMatrix;
+    /**
+     * The maximum number of rows of the {@link #delayMatrix} to keep when rows are computed on demand,
+     * or 0 to compute the entire matrix at once.
+     */
+    private int delayMatrixCachedRows;
+
+    /**
+     * The file where the {@link #delayMatrix} is stored, or null if it is computed every time.
+     */
+    private File delayMatrixFile;
+
+    /**
+     * A row-major matrix containing the bandwidth between every pair of nodes in the network.
+     */
+    private double[] bwMatrix;
+
+    /**
+     * The number of nodes in each row of the {@link #bwMatrix}.
+     */
+    private int bwMatrixNodes;
 
     /**
      * The Topological Graph of the network.
@@ -54,18 +75,25 @@ public class BriteNetworkTopology implements NetworkTopology {
     private TopologicalGraph graph;
 
     /**
-     * The map between CloudSim entities and BRITE entities. Each key is a
-     * CloudSim entity ID and each value the corresponding BRITE entity ID.
+     * The map between CloudSim entities and BRITE entities. Each index is a
+     * CloudSim entity ID and each value the corresponding BRITE entity ID,
+     * or -1 if the entity is not mapped.
+     */
+    private int[] map;
+
+    /**
+     * The BRITE entities mapped to some CloudSim entity.
      */
-    private Map<Integer, Integer> map;
+    private BitSet mappedBriteIds;
 
     /**
      * Creates a network topology
      *
      */
     public BriteNetworkTopology() {
-        map = new HashMap<>();
-        bwMatrix = new double[0][0];
+        map = new int[0];
+        mappedBriteIds = new BitSet();
+        bwMatrix = new double[0];
         graph = new TopologicalGraph();
         delayMatrix = new DelayMatrix();
     }
@@ -80,7 +108,45 @@ public class BriteNetworkTopology implements NetworkTopology {
      * @post $none
      */
     public BriteNetworkTopology(String fileName) {
+        this(fileName, 0);
+    }
+
+    /**
+     * Creates a network topology if the file exists and can be successfully
+     * parsed, computing the delay between nodes just when the delay
+     * from a given node is requested.
+     * That is suitable for topologies with thousands of nodes,
+     * where computing and storing the delay between all pairs of nodes
+     * is expensive.
+     *
+     * @param fileName name of the BRITE file
+     * @param delayMatrixCachedRows the maximum number of nodes to keep the delays to all the other ones,
+     *                              or 0 to compute the delay between all pairs of nodes at once
+     * @see DelayMatrix#DelayMatrix(TopologicalGraph, boolean, int)
+     */
+    public BriteNetworkTopology(String fileName, int delayMatrixCachedRows) {
+        this(fileName, delayMatrixCachedRows, null);
+    }
+
+    /**
+     * Creates a network topology if the file exists and can be successfully
+     * parsed, reading the delay between every pair of nodes from a file previously
+     * written for the same topology. If the file doesn't exist or was written
+     * for a different topology, the delays are computed and written to it.
+     * The delay file is memory-mapped, thus the delays are not stored into the heap.
+     *
+     * @param fileName name of the BRITE file
+     * @param delayMatrixFile the file where the delay between every pair of nodes is stored
+     * @see DelayMatrix#DelayMatrix(TopologicalGraph, boolean, File)
+     */
+    public BriteNetworkTopology(String fileName, File delayMatrixFile) {
+        this(fileName, 0, Objects.requireNonNull(delayMatrixFile));
+    }
+
+    private BriteNetworkTopology(String fileName, int delayMatrixCachedRows, File delayMatrixFile) {
         this();
+        this.delayMatrixCachedRows = delayMatrixCachedRows;
+        this.delayMatrixFile = delayMatrixFile;
         Log.printConcatLine("Topology file: ", fileName);
         // try to find the file
         final TopologyReaderBrite reader = new TopologyReaderBrite();
@@ -96,9 +162,15 @@ public class BriteNetworkTopology implements NetworkTopology {
      * Generates the matrices used internally to set latency and bandwidth
      * between elements.
      */
-    private void generateMatrices() {
+    private void generateMatrices() throws IOException {
         // creates the delay matrix
-        delayMatrix = new DelayMatrix(getTopologycalGraph(), false);
+        if (delayMatrixFile != null) {
+            delayMatrix = new DelayMatrix(getTopologycalGraph(), false, delayMatrixFile);
+        } else if (delayMatrixCachedRows > 0) {
+            delayMatrix = new DelayMatrix(getTopologycalGraph(), false, delayMatrixCachedRows);
+        } else {
+            delayMatrix = new DelayMatrix(getTopologycalGraph(), false);
+        }
 
         // creates the bw matrix
         bwMatrix = createBwMatrix(getTopologycalGraph(), false);
@@ -114,22 +186,15 @@ public class BriteNetworkTopology implements NetworkTopology {
      * @param directed true if the graph is directed; false otherwise
      * @return the bandwidth graph
      */
-    private double[][] createBwMatrix(TopologicalGraph graph, boolean directed) {
+    private double[] createBwMatrix(TopologicalGraph graph, boolean directed) {
         final int nodes = graph.getNumberOfNodes();
+        bwMatrixNodes = nodes;
 
-        double[][] mtx = new double[nodes][nodes];
-
-        // cleanup matrix
-        for (int i = 0; i < nodes; i++) {
-            for (int j = 0; j < nodes; j++) {
-                mtx[i][j] = 0.0;
-            }
-        }
-
+        final double[] mtx = new double[nodes * nodes];
         for (final TopologicalLink edge : graph.getLinksList()) {
-            mtx[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkBw();
+            mtx[edge.getSrcNodeID() * nodes + edge.getDestNodeID()] = edge.getLinkBw();
             if (!directed) {
-                mtx[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkBw();
+                mtx[edge.getDestNodeID() * nodes + edge.getSrcNodeID()] = edge.getLinkBw();
             }
         }
 
@@ -143,27 +208,27 @@ public class BriteNetworkTopology implements NetworkTopology {
             graph = new TopologicalGraph();
         }
 
-        if (Objects.isNull(map)) {
-            map = new HashMap<>();
-        }
-
         // maybe add the nodes
-        if (!map.containsKey(srcId)) {
+        if (getBriteId(srcId) == -1) {
             getTopologycalGraph().addNode(new TopologicalNode(nextIdx));
-            map.put(srcId, nextIdx);
+            setBriteId(srcId, nextIdx);
             nextIdx++;
         }
 
-        if (!map.containsKey(destId)) {
+        if (getBriteId(destId) == -1) {
             getTopologycalGraph().addNode(new TopologicalNode(nextIdx));
-            map.put(destId, nextIdx);
+            setBriteId(destId, nextIdx);
             nextIdx++;
         }
 
         // generate a new link
-        getTopologycalGraph().addLink(new TopologicalLink(map.get(srcId), map.get(destId), (float) lat, (float) bw));
+        getTopologycalGraph().addLink(new TopologicalLink(getBriteId(srcId), getBriteId(destId), (float) lat, (float) bw));
 
-        generateMatrices();
+        try {
+            generateMatrices();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
     }
 
@@ -173,18 +238,56 @@ public class BriteNetworkTopology implements NetworkTopology {
             return;
         }
 
-        if (map.containsKey(cloudSimEntityID)) {
+        if (getBriteId(cloudSimEntityID) != -1) {
             Log.printConcatLine("Warning: Network mapping. CloudSim entity ", cloudSimEntityID,
                 " already mapped.");
             return;
         }
 
-        if (map.containsValue(briteID)) {
+        if (briteID >= 0 && mappedBriteIds.get(briteID)) {
             Log.printConcatLine("Warning: BRITE node ", briteID, " already in use.");
             return;
         }
 
-        map.put(cloudSimEntityID, briteID);
+        setBriteId(cloudSimEntityID, briteID);
+    }
+
+    /**
+     * Gets the BRITE entity ID mapped to a CloudSim entity.
+     *
+     * @param cloudSimEntityID the CloudSim entity ID
+     * @return the BRITE entity ID or -1 if the CloudSim entity is not mapped
+     */
+    private int getBriteId(final int cloudSimEntityID) {
+        return cloudSimEntityID >= 0 && cloudSimEntityID < map.length ? map[cloudSimEntityID] : -1;
+    }
+
+    /**
+     * Maps a CloudSim entity to a BRITE entity, growing the {@link #map} if required.
+     *
+     * @param cloudSimEntityID the CloudSim entity ID
+     * @param briteID the BRITE entity ID, or -1 to unmap the CloudSim entity
+     */
+    private void setBriteId(final int cloudSimEntityID, final int briteID) {
+        if (cloudSimEntityID < 0) {
+            throw new IllegalArgumentException("The CloudSim entity ID cannot be negative.");
+        }
+
+        if (cloudSimEntityID >= map.length) {
+            final int length = map.length;
+            map = Arrays.copyOf(map, Math.max(cloudSimEntityID + 1, length * 2));
+            Arrays.fill(map, length, map.length, -1);
+        }
+
+        final int previousBriteId = map[cloudSimEntityID];
+        if (previousBriteId >= 0) {
+            mappedBriteIds.clear(previousBriteId);
+        }
+
+        map[cloudSimEntityID] = briteID;
+        if (briteID >= 0) {
+            mappedBriteIds.set(briteID);
+        }
     }
 
     @Override
@@ -193,7 +296,9 @@ public class BriteNetworkTopology implements NetworkTopology {
             return;
         }
 
-        map.remove(cloudSimEntityID);
+        if (getBriteId(cloudSimEntityID) != -1) {
+            setBriteId(cloudSimEntityID, -1);
+        }
     }
 
     @Override
@@ -202,9 +307,15 @@ public class BriteNetworkTopology implements NetworkTopology {
             return 0.0;
         }
 
+        final int srcBriteId = getBriteId(srcID);
+        final int destBriteId = getBriteId(destID);
+        if (srcBriteId == -1 || destBriteId == -1) {
+            return 0.0;
+        }
+
         try {
-            return delayMatrix.getDelay(map.get(srcID), map.get(destID));
-        } catch (Exception e) {
+            return delayMatrix.getDelay(srcBriteId, destBriteId);
+        } catch (ArrayIndexOutOfBoundsException e) {
             return 0.0;
         }
     }
@@ -224,6 +335,22 @@ public class BriteNetworkTopology implements NetworkTopology {
      * network.
      */
     public double[][] getBwMatrix() {
-        return Arrays.copyOf(bwMatrix, bwMatrix.length);
+        final double[][] mtx = new double[bwMatrixNodes][];
+        for (int i = 0; i < bwMatrixNodes; i++) {
+            mtx[i] = Arrays.copyOfRange(bwMatrix, i * bwMatrixNodes, (i + 1) * bwMatrixNodes);
+        }
+
+        return mtx;
+    }
+
+    /**
+     * Gets the bandwidth of the link between two BRITE nodes.
+     *
+     * @param srcBriteID the BRITE ID of the source node
+     * @param destBriteID the BRITE ID of the destination node
+     * @return the bandwidth of the link or 0 if there is no link between the nodes
+     */
+    public double getBw(final int srcBriteID, final int destBriteID) {
+        return bwMatrix[srcBriteID * bwMatrixNodes + destBriteID];
     }
 }
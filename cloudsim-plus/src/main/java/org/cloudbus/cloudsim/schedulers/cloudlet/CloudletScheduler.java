@@ -383,4 +383,33 @@ public interface CloudletScheduler extends Serializable {
      * @param cloudlet the Cloudlet to be added
      */
 	void addCloudletToReturnedList(Cloudlet cloudlet);
+
+    /**
+     * Gets the maximum number of finished Cloudlets, already returned to their {@link DatacenterBroker},
+     * that are kept into the {@link #getCloudletFinishedList() finished} and
+     * {@link #getCloudletReturnedList() returned} lists.
+     * The default value is {@link Integer#MAX_VALUE}, meaning all finished Cloudlets are kept.
+     *
+     * @return the maximum number of returned Cloudlets to keep
+     * @see #setMaxFinishedCloudlets(int)
+     */
+    int getMaxFinishedCloudlets();
+
+    /**
+     * Sets the maximum number of finished Cloudlets, already returned to their {@link DatacenterBroker},
+     * that are kept into the {@link #getCloudletFinishedList() finished} and
+     * {@link #getCloudletReturnedList() returned} lists.
+     * When such a number is exceeded, the oldest returned Cloudlets are removed from those lists,
+     * so that memory usage is proportional to the number of running Cloudlets,
+     * instead of the number of Cloudlets executed along the simulation.
+     *
+     * <p>Cloudlets not returned to their broker yet are never removed.
+     * Since the broker is notified when a Cloudlet finishes, using 0 doesn't
+     * prevent finished Cloudlets to be collected by the broker.</p>
+     *
+     * @param maxFinishedCloudlets the maximum number of returned Cloudlets to keep,
+     *                             or {@link Integer#MAX_VALUE} to keep all of them
+     * @throws IllegalArgumentException when the given value is negative
+     */
+    void setMaxFinishedCloudlets(int maxFinishedCloudlets);
 }
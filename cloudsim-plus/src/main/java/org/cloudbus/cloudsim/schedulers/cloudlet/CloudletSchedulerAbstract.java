@@ -91,6 +91,26 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     private Set<Cloudlet> cloudletReturnedList;
 
+    /**
+     * An index of the Cloudlets into any of the scheduler lists, where each key
+     * is a Cloudlet id. It enables finding a Cloudlet by its id without
+     * traversing all lists.
+     *
+     * @see #findCloudletInAllLists(double)
+     */
+    private final Map<Integer, CloudletExecutionInfo> cloudletIndex;
+
+    /**
+     * The total number of PEs required by all Cloudlets into the {@link #cloudletExecList},
+     * which is updated as Cloudlets are added to and removed from such a list.
+     */
+    private long execCloudletsPes;
+
+    /**
+     * @see #getMaxFinishedCloudlets()
+     */
+    private int maxFinishedCloudlets;
+
     /**
      * Creates a new CloudletScheduler object. A CloudletScheduler must be
      * created before starting the actual simulation.
@@ -104,10 +124,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         vm = Vm.NULL;
         cloudletExecList = new ArrayList<>();
         cloudletPausedList = new ArrayList<>();
-        cloudletFinishedList = new ArrayList<>();
+        cloudletFinishedList = new LinkedList<>();
         cloudletFailedList = new ArrayList<>();
         cloudletWaitingList = new ArrayList<>();
         cloudletReturnedList = new HashSet<>();
+        cloudletIndex = new HashMap<>();
+        maxFinishedCloudlets = Integer.MAX_VALUE;
         currentMipsShare = new ArrayList<>();
         packetScheduler = PacketScheduler.NULL;
     }
@@ -185,9 +207,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * @return
      */
     private long totalPesOfAllExecCloudlets() {
-        return cloudletExecList.stream()
-            .map(CloudletExecutionInfo::getCloudlet)
-            .mapToLong(Cloudlet::getNumberOfPes).sum();
+        return execCloudletsPes;
     }
 
     private double getTotalMipsShare(){
@@ -206,6 +226,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
         cloudlet.setCloudletStatus(Cloudlet.Status.QUEUED);
         cloudletWaitingList.add(cloudlet);
+        cloudletIndex.put(cloudlet.getCloudletId(), cloudlet);
     }
 
 
@@ -225,6 +246,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     protected void addCloudletToFinishedList(CloudletExecutionInfo cloudlet) {
         cloudletFinishedList.add(cloudlet);
+        cloudletIndex.put(cloudlet.getCloudletId(), cloudlet);
     }
 
     /**
@@ -295,6 +317,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cloudlet.setCloudletStatus(Cloudlet.Status.INEXEC);
         cloudlet.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cloudlet);
+        cloudletIndex.put(cloudlet.getCloudletId(), cloudlet);
+        execCloudletsPes += cloudlet.getNumberOfPes();
         addUsedPes(cloudlet.getNumberOfPes());
     }
 
@@ -342,12 +366,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     /**
      * Search for a Cloudlet into all Cloudlet lists.
+     * The Cloudlet is got from an index in constant time,
+     * unless it was added to a list without using the scheduler methods.
      *
      * @param cloudletId the id of the Cloudlet to search for
      * @return an {@link Optional} value that is able to indicate if the
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecutionInfo> findCloudletInAllLists(final double cloudletId) {
+        final CloudletExecutionInfo indexed = cloudletIndex.get((int)cloudletId);
+        if(indexed != null && indexed.getCloudletId() == cloudletId){
+            return Optional.of(indexed);
+        }
+
         //Concatenate all lists into a strem
         final Stream<List<CloudletExecutionInfo>> streamOfAllLists
             = Stream.of(cloudletExecList, cloudletPausedList, cloudletWaitingList,
@@ -447,6 +478,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         switch (newStatus) {
             case PAUSED:
                 cloudletPausedList.add(cloudlet);
+                cloudletIndex.put(cloudlet.getCloudletId(), cloudlet);
                 break;
         }
     }
@@ -466,16 +498,28 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         List<CloudletExecutionInfo> cloudletList, int cloudletId,
         Consumer<CloudletExecutionInfo> cloudletStatusUpdaterConsumer)
     {
-        Function<CloudletExecutionInfo, Cloudlet> removeCloudletFromListAndUpdateItsStatus = c -> {
-            cloudletList.remove(c);
+        Function<CloudletExecutionInfo, Cloudlet> updateRemovedCloudletStatus = c -> {
+            cloudletIndex.remove(cloudletId, c);
+            if(cloudletList == cloudletExecList){
+                execCloudletsPes -= c.getNumberOfPes();
+            }
             cloudletStatusUpdaterConsumer.accept(c);
             return c.getCloudlet();
         };
 
+        /*An indexed Cloudlet is directly removed from the list, if it is there.
+        * Otherwise, it may have been added to the list without using the scheduler methods
+        * and the list has to be searched for it.*/
+        final CloudletExecutionInfo indexed = cloudletIndex.get(cloudletId);
+        if(indexed != null){
+            return cloudletList.remove(indexed) ? updateRemovedCloudletStatus.apply(indexed) : Cloudlet.NULL;
+        }
+
         return cloudletList.stream()
             .filter(c -> c.getCloudlet().getId() == cloudletId)
             .findFirst()
-            .map(removeCloudletFromListAndUpdateItsStatus)
+            .filter(cloudletList::remove)
+            .map(updateRemovedCloudletStatus)
             .orElse(Cloudlet.NULL);
     }
 
@@ -489,9 +533,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             return Double.MAX_VALUE;
         }
 
-        updateCloudletsProcessing(currentTime);
-        updateVmRamAbsoluteUtilization();
-        removeFinishedCloudletsFromExecutionListAndAddToFinishedList();
+        final List<CloudletExecutionInfo> finishedCloudlets = updateCloudletsProcessing(currentTime);
+        removeFinishedCloudletsFromExecutionListAndAddToFinishedList(finishedCloudlets);
         moveNextCloudletsFromWaitingToExecList();
 
         final double nextSimulationTime = getEstimatedFinishTimeOfSoonerFinishingCloudlet(currentTime);
@@ -503,11 +546,26 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * Updates the processing of all cloudlets of the Vm using this scheduler
      * that are in the {@link #getCloudletExecList() cloudlet execution list}.
+     * In the same traversal of such a list, it updates the VM usage of RAM
+     * and collects the cloudlets which have finished.
      *
      * @param currentTime current simulation time
+     * @return the list of finished cloudlets, in the order they are in the execution list
+     * @see #updateVmRamAbsoluteUtilization(double)
      */
-    private void updateCloudletsProcessing(double currentTime) {
-        cloudletExecList.forEach(rcl -> updateCloudletProcessingAndPacketsDispatch(rcl, currentTime));
+    private List<CloudletExecutionInfo> updateCloudletsProcessing(double currentTime) {
+        final List<CloudletExecutionInfo> finishedCloudlets = new ArrayList<>();
+        double totalUsedRam = 0;
+        for (final CloudletExecutionInfo rcl : cloudletExecList) {
+            updateCloudletProcessingAndPacketsDispatch(rcl, currentTime);
+            totalUsedRam += getCloudletRamAbsoluteUtilization(rcl.getCloudlet());
+            if(rcl.getCloudlet().isFinished()){
+                finishedCloudlets.add(rcl);
+            }
+        }
+
+        updateVmRamAbsoluteUtilization(totalUsedRam);
+        return finishedCloudlets;
     }
 
     /**
@@ -541,14 +599,11 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * Updates the VM usage of RAM, based on the current utilization of all
      * its running Cloudlets, that depends on the {@link Cloudlet#getUtilizationModelRam()}.
+     *
+     * @param totalUsedRam the sum of the RAM used by all running Cloudlets
      */
-    private void updateVmRamAbsoluteUtilization() {
+    private void updateVmRamAbsoluteUtilization(final double totalUsedRam) {
         final ResourceManageable ram = vm.getResource(Ram.class);
-        final double totalUsedRam = cloudletExecList.stream()
-            .map(CloudletExecutionInfo::getCloudlet)
-            .mapToDouble(this::getCloudletRamAbsoluteUtilization)
-            .sum();
-
         ram.setAllocatedResource(totalUsedRam);
     }
 
@@ -644,15 +699,11 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * {@link #getCloudletExecList() list of cloudlets to execute}
      * and adds them to finished list.
      *
+     * @param finishedCloudlets the finished cloudlets to remove
      * @return the number of finished cloudlets removed from the
      * {@link #getCloudletExecList() execution list}
      */
-    private int removeFinishedCloudletsFromExecutionListAndAddToFinishedList() {
-        final List<CloudletExecutionInfo> finishedCloudlets
-            = cloudletExecList.stream()
-            .filter(c -> c.getCloudlet().isFinished())
-            .collect(toList());
-
+    private int removeFinishedCloudletsFromExecutionListAndAddToFinishedList(final List<CloudletExecutionInfo> finishedCloudlets) {
         for (final CloudletExecutionInfo c : finishedCloudlets) {
             removeCloudletFromExecListAndAddToFinishedList(c);
         }
@@ -673,7 +724,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected CloudletExecutionInfo removeCloudletFromExecList(CloudletExecutionInfo cloudlet) {
         removeUsedPes(cloudlet.getNumberOfPes());
-        return cloudletExecList.remove(cloudlet) ? cloudlet : CloudletExecutionInfo.NULL;
+        if(!cloudletExecList.remove(cloudlet)){
+            return CloudletExecutionInfo.NULL;
+        }
+
+        execCloudletsPes -= cloudlet.getNumberOfPes();
+        return cloudlet;
     }
 
     /**
@@ -696,10 +752,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * (which is a relative delay from the current simulation time)
      */
     protected double getEstimatedFinishTimeOfSoonerFinishingCloudlet(final double currentTime) {
-        return cloudletExecList
-            .stream()
-            .mapToDouble(c -> getEstimatedFinishTimeOfCloudlet(c, currentTime))
-            .min().orElse(Double.MAX_VALUE);
+        double soonerFinishTime = Double.MAX_VALUE;
+        for (final CloudletExecutionInfo c : cloudletExecList) {
+            soonerFinishTime = Math.min(soonerFinishTime, getEstimatedFinishTimeOfCloudlet(c, currentTime));
+        }
+
+        return soonerFinishTime;
     }
 
     /**
@@ -972,6 +1030,40 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     @Override
     public void addCloudletToReturnedList(Cloudlet cloudlet) {
         this.cloudletReturnedList.add(cloudlet);
+        removeExceedingReturnedCloudlets();
+    }
+
+    /**
+     * Removes the oldest returned Cloudlets from the {@link #cloudletFinishedList}
+     * and {@link #cloudletReturnedList} until the number of returned Cloudlets
+     * doesn't exceed the {@link #getMaxFinishedCloudlets() max number of finished Cloudlets}.
+     * Since Cloudlets are returned in the order they finish,
+     * the returned ones are usually at the beginning of the finished list.
+     */
+    private void removeExceedingReturnedCloudlets() {
+        final Iterator<CloudletExecutionInfo> it = cloudletFinishedList.iterator();
+        while(cloudletReturnedList.size() > maxFinishedCloudlets && it.hasNext()) {
+            final CloudletExecutionInfo rcl = it.next();
+            if(cloudletReturnedList.remove(rcl.getCloudlet())) {
+                it.remove();
+                cloudletIndex.remove(rcl.getCloudletId(), rcl);
+            }
+        }
+    }
+
+    @Override
+    public int getMaxFinishedCloudlets() {
+        return maxFinishedCloudlets;
+    }
+
+    @Override
+    public void setMaxFinishedCloudlets(int maxFinishedCloudlets) {
+        if(maxFinishedCloudlets < 0) {
+            throw new IllegalArgumentException("The max number of finished Cloudlets cannot be negative.");
+        }
+
+        this.maxFinishedCloudlets = maxFinishedCloudlets;
+        removeExceedingReturnedCloudlets();
     }
 
     @Override
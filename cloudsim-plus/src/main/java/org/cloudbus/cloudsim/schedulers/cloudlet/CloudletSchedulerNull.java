@@ -90,6 +90,8 @@ final class CloudletSchedulerNull implements CloudletScheduler {
     @Override public boolean isCloudletReturned(Cloudlet cloudlet) { return false; }
     @Override public void addCloudletToReturnedList(Cloudlet cloudlet) {}
     @Override public List<CloudletExecutionInfo> getCloudletFinishedList() { return Collections.emptyList(); }
+    @Override public int getMaxFinishedCloudlets() { return 0; }
+    @Override public void setMaxFinishedCloudlets(int maxFinishedCloudlets) {/**/}
     @Override public boolean isEmpty() { return false; }
     @Override public List<CloudletExecutionInfo> getCloudletWaitingList() { return Collections.EMPTY_LIST; }
     @Override public void deallocatePesFromVm(Vm vm, int pesToRemove) {}
@@ -8,7 +8,6 @@
 package org.cloudbus.cloudsim.schedulers.cloudlet.network;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSimTags;
@@ -49,10 +48,13 @@ public class PacketSchedulerSimple implements PacketScheduler {
 
     /**
      * A map of {@link VmPacket}'s received, where each key is the
-     * sender VM and each value is the list of packets sent by that VM
-     * targeting the VM of this scheduler.
+     * sender VM and each value is another map of packet queues sent by that VM
+     * targeting the VM of this scheduler. The keys of this inner map are
+     * the ids of the destination VMs, allowing a {@link CloudletReceiveTask}
+     * to get all the packets sent to it without filtering the packets
+     * from the sender VM.
      */
-    private final Map<Vm, List<VmPacket>> vmPacketsReceivedMap;
+    private final Map<Vm, Map<Integer, List<VmPacket>>> vmPacketsReceivedMap;
 
     /**
      * Creates a PacketSchedulerSimple object.
@@ -138,7 +140,9 @@ public class PacketSchedulerSimple implements PacketScheduler {
      */
     private void receivePackets(NetworkCloudlet sourceCloudlet) {
         final CloudletReceiveTask task = (CloudletReceiveTask)sourceCloudlet.getCurrentTask();
-        final List<VmPacket> receivedPkts = getPacketsSentToGivenTask(task);
+        /*Removes the received packets from the packets sent by the source VM,
+        to indicate they were in fact received.*/
+        final List<VmPacket> receivedPkts = removePacketsSentToGivenTask(task);
         // Asumption: packet will not arrive in the same cycle
         receivedPkts.forEach(task::receivePacket);
         receivedPkts.forEach(pkt ->
@@ -152,11 +156,6 @@ public class PacketSchedulerSimple implements PacketScheduler {
                 pkt.getSource().getId())
         );
 
-        /*Removes the received packets from the list of sent packets of the VM,
-        to indicate they were in fact received and have to be removed
-        from the list of the sender VM*/
-        getListOfPacketsSentFromVm(task.getSourceVm()).removeAll(receivedPkts);
-
         /**
          * @todo @author manoelcampos The task has to wait the reception
          * of the expected packets up to a given timeout.
@@ -166,18 +165,19 @@ public class PacketSchedulerSimple implements PacketScheduler {
     }
 
     /**
-     * Gets the list of packets sent to a given CloudletReceiveTask.
+     * Gets and removes the queue of packets sent to a given CloudletReceiveTask.
      * @param destinationTask The task that is waiting for packets
-     * @return
+     * @return the packets sent to the task, in the order they were received
      */
-    private List<VmPacket> getPacketsSentToGivenTask(CloudletReceiveTask destinationTask) {
-        final List<VmPacket> pktsFromExpectedSenderVm =
-                getListOfPacketsSentFromVm(destinationTask.getSourceVm());
-
-        return pktsFromExpectedSenderVm
-                .stream()
-                .filter(pkt -> pkt.getDestination().getId() == destinationTask.getCloudlet().getVm().getId())
-                .collect(Collectors.toList());
+    private List<VmPacket> removePacketsSentToGivenTask(CloudletReceiveTask destinationTask) {
+        final Map<Integer, List<VmPacket>> pktsFromExpectedSenderVm =
+                vmPacketsReceivedMap.get(destinationTask.getSourceVm());
+        if(Objects.isNull(pktsFromExpectedSenderVm)){
+            return Collections.emptyList();
+        }
+
+        final List<VmPacket> pkts = pktsFromExpectedSenderVm.remove(destinationTask.getCloudlet().getVm().getId());
+        return Objects.isNull(pkts) ? Collections.emptyList() : pkts;
     }
 
     private void updateExecutionTask(NetworkCloudlet cloudlet) {
@@ -225,19 +225,21 @@ public class PacketSchedulerSimple implements PacketScheduler {
     }
 
     /**
-     * Gets the list of packets received that were sent from a given VM,
-     * targeting the VM of this scheduler.
+     * Gets the queue of packets received that were sent from a given VM
+     * to another given VM.
      *
      * @param sourceVm VM to get the list of packets sent from
-     * @return the list of packets sent from the given VM
+     * @param destinationVmId id of the VM the packets were sent to
+     * @return the queue of packets sent from the source to the destination VM
      */
-    private List<VmPacket> getListOfPacketsSentFromVm(Vm sourceVm){
-        vmPacketsReceivedMap.putIfAbsent(sourceVm, new ArrayList<>());
-        return vmPacketsReceivedMap.get(sourceVm);
+    private List<VmPacket> getListOfPacketsSentFromVm(Vm sourceVm, int destinationVmId){
+        return vmPacketsReceivedMap
+                .computeIfAbsent(sourceVm, vm -> new HashMap<>())
+                .computeIfAbsent(destinationVmId, id -> new ArrayList<>());
     }
 
     @Override
     public boolean addPacketToListOfPacketsSentFromVm(VmPacket pkt){
-        return getListOfPacketsSentFromVm(pkt.getSource()).add(pkt);
+        return getListOfPacketsSentFromVm(pkt.getSource(), pkt.getDestination().getId()).add(pkt);
     }
 }
@@ -16,6 +16,7 @@ import org.cloudbus.cloudsim.hosts.power.PowerHost;
 import org.cloudbus.cloudsim.vms.power.PowerVm;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.UtilizationHistory;
 
 /**
  * A VM selection policy that selects for migration the VM with the Maximum Correlation Coefficient (MCC) among
@@ -90,7 +91,7 @@ public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPo
         final double[][] utilization = new double[numberVms][minHistorySize];
 
         for (int i = 0; i < numberVms; i++) {
-            final List<Double> vmUtilization = vmList.get(i).getUtilizationHistory();
+            final UtilizationHistory vmUtilization = vmList.get(i).getUtilizationHistoryBuffer();
             for (int j = 0; j < minHistorySize; j++) {
                 utilization[i][j] = vmUtilization.get(j);
             }
@@ -106,8 +107,8 @@ public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPo
      */
     protected int getMinUtilizationHistorySize(final List<PowerVm> vmList) {
         return vmList.stream()
-            .map(PowerVm::getUtilizationHistory)
-            .mapToInt(List::size)
+            .map(PowerVm::getUtilizationHistoryBuffer)
+            .mapToInt(UtilizationHistory::size)
             .min().orElse(0);
     }
 
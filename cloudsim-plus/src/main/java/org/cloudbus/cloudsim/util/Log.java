@@ -10,13 +10,32 @@ package org.cloudbus.cloudsim.util;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Logger used for performing logging of the simulation process. It provides the
  * ability to substitute the output stream by any OutputStream subclass.
  *
+ * <p>A {@link Level} can be defined for specific classes, which enables
+ * or disables messages from such classes and their subclasses.
+ * The methods receiving a {@link Level} and a {@link Class} just build
+ * the message (either formatting it or calling a {@link Supplier})
+ * if it is going to be printed. This way, disabled messages
+ * don't impose the overhead of formatting them.</p>
+ *
+ * <p>The output stream and the enabled flag are global to the process,
+ * unless a thread calls {@link #useThreadState()} to have its own ones.
+ * This way, simulations running at the same time in different threads
+ * can be isolated, so that enabling, disabling or redirecting the Log in
+ * one thread doesn't affect the others.
+ * The levels set for classes are always global.</p>
+ *
  * @author Anton Beloglazov
+ * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 2.0
  */
 public final class Log {
@@ -25,14 +44,33 @@ public final class Log {
      * of a log message.
      */
     public enum Level {
-        INFO,
-        ERROR,
+        INFO(1),
+        ERROR(2),
 
         /**
          * A log level for messages that will be shown only when the application
-         * is run in debug mode.
+         * is run in debug mode, unless the DEBUG level is explicitly enabled
+         * by {@link #setLevel(Level)} or {@link #setLevel(Class, Level)}.
+         */
+        DEBUG(0),
+
+        /**
+         * A level that, when set for a class, disables all its messages.
+         * It must not be used as the level of a message.
+         */
+        OFF(Integer.MAX_VALUE);
+
+        /**
+         * The severity of the level, where messages of a given level
+         * are printed only if their severity is equal or greater than
+         * the severity of the level set for the class printing them.
          */
-        DEBUG}
+        private final int severity;
+
+        Level(final int severity){
+            this.severity = severity;
+        }
+    }
 
     /**
      * The Constant LINE_SEPARATOR.
@@ -40,20 +78,44 @@ public final class Log {
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
     /**
-     * The stream where the log will the outputted.
+     * The output stream and the enabled flag of the Log,
+     * which may be global or specific to a thread.
+     */
+    private static final class State {
+        /**
+         * The stream where the log will the outputted.
+         */
+        private OutputStream output;
+
+        /**
+         * Indicates if the logger is disabled or not. If set to true, the call for
+         * any print method has no effect.
+         */
+        private boolean disabled;
+
+        private State(final OutputStream output, final boolean disabled) {
+            this.output = output;
+            this.disabled = disabled;
+        }
+    }
+
+    /**
+     * The Log state used by threads which don't have their own state.
      */
-    private static OutputStream output;
+    private static final State globalState = new State(null, false);
 
     /**
-     * Indicates if the logger is disabled or not. If set to true, the call for
-     * any print method has no effect.
+     * The Log state of the current thread, if it has its own state.
+     * @see #useThreadState()
      */
-    private static boolean disabled;
+    private static final ThreadLocal<State> threadState = new ThreadLocal<>();
 
     /**
-     * Buffer to avoid creating new string builder upon every print.
+     * The number of threads having their own Log state.
+     * While it is zero, the {@link #threadState} isn't even checked,
+     * avoiding such an overhead for every logged message.
      */
-    private static StringBuilder buffer = new StringBuilder();
+    private static final AtomicInteger threadStates = new AtomicInteger();
 
     /**
      * Checks if application is running in debug mode.
@@ -67,6 +129,23 @@ public final class Log {
             ManagementFactory.getRuntimeMXBean().getInputArguments()
                     .toString().indexOf("jdwp") > 0;
 
+    /**
+     * @see #getLevel()
+     */
+    private static Level defaultLevel = debug ? Level.DEBUG : Level.INFO;
+
+    /**
+     * The levels explicitly set for specific classes.
+     * @see #setLevel(Class, Level)
+     */
+    private static final Map<Class<?>, Level> levels = new ConcurrentHashMap<>();
+
+    /**
+     * A cache of the levels of classes for which a level was already requested,
+     * considering the levels set for their superclasses and the {@link #defaultLevel}.
+     */
+    private static final Map<Class<?>, Level> resolvedLevels = new ConcurrentHashMap<>();
+
     /**
      * A private constructor to avoid class instantiation.
      */
@@ -128,7 +207,7 @@ public final class Log {
      */
     public static void printConcat(Object... messages) {
         if (isEnabled()) {
-            buffer = new StringBuilder(messages.length);
+            final StringBuilder buffer = new StringBuilder(messages.length);
             for (Object message : messages) {
                 buffer.append(String.valueOf(message));
             }
@@ -144,7 +223,7 @@ public final class Log {
      */
     public static void printConcatLine(Object... messages) {
         if (isEnabled()) {
-            buffer = new StringBuilder(messages.length);
+            final StringBuilder buffer = new StringBuilder(messages.length);
             for (Object message : messages) {
                 buffer.append(String.valueOf(message));
             }
@@ -159,7 +238,9 @@ public final class Log {
      * @param args the args
      */
     public static void printFormatted(String format, Object... args) {
-        print(String.format(format, args));
+        if (isEnabled()) {
+            print(String.format(format, args));
+        }
     }
 
     /**
@@ -170,7 +251,44 @@ public final class Log {
      * @param args the args
      */
     public static void printFormattedLine(String format, Object... args) {
-        printLine(String.format(format, args));
+        if (isEnabled()) {
+            printLine(String.format(format, args));
+        }
+    }
+
+    /**
+     * Prints a string formated as in String.printFormatted(), followed by a new
+     * line, if messages of the given level are enabled for a given class.
+     * The message is only formatted if it is going to be printed.
+     *
+     * @param level the level that define the kind of message
+     * @param klass Class that is asking to print a message (where the print method
+     * is being called)
+     * @param format the printFormatted
+     * @param args the args
+     * @see #isEnabled(Class, Level)
+     */
+    public static void printFormattedLine(Level level, Class<?> klass, String format, Object... args) {
+        if (isEnabled(klass, level)) {
+            printLine(String.format(format, args));
+        }
+    }
+
+    /**
+     * Prints the message provided by a {@link Supplier}, followed by a new line,
+     * if messages of the given level are enabled for a given class.
+     * The Supplier is only called if the message is going to be printed.
+     *
+     * @param level the level that define the kind of message
+     * @param klass Class that is asking to print a message (where the print method
+     * is being called)
+     * @param messageSupplier a {@link Supplier} that builds the message
+     * @see #isEnabled(Class, Level)
+     */
+    public static void printLine(Level level, Class<?> klass, Supplier<String> messageSupplier) {
+        if (isEnabled(klass, level)) {
+            printLine(messageSupplier.get());
+        }
     }
 
     /**
@@ -186,19 +304,122 @@ public final class Log {
      * @param args the args
      */
     public static void println(Level level, Class klass, double time, String format, Object... args) {
-        if((level == Level.DEBUG && isDebug()) || (level != Level.DEBUG)){
-            String msg = String.format(format, args);
-            printFormattedLine("Time %.1f %s/%s\n   %s", time, level.name(), klass.getSimpleName(), msg);
+        if(isEnabled(klass, level)){
+            println(level, klass, time, String.format(format, args));
         }
     }
 
+    /**
+     * Prints the message provided by a {@link Supplier}, followed by a new
+     * line, that will be printed only according to
+     * the specified level.
+     * The Supplier is only called if the message is going to be printed.
+     *
+     * @param level the level that define the kind of message
+     * @param klass Class that is asking to print a message (where the print method
+     * is being called)
+     * @param time current simulation time
+     * @param messageSupplier a {@link Supplier} that builds the message
+     * @see #isEnabled(Class, Level)
+     */
+    public static void println(Level level, Class<?> klass, double time, Supplier<String> messageSupplier) {
+        if(isEnabled(klass, level)){
+            println(level, klass, time, messageSupplier.get());
+        }
+    }
+
+    private static void println(Level level, Class<?> klass, double time, String msg) {
+        printFormattedLine("Time %.1f %s/%s\n   %s", time, level.name(), klass.getSimpleName(), msg);
+    }
+
+    /**
+     * Checks if messages of a given level are enabled for a given class,
+     * what happens when the logger is enabled and the level is
+     * as severe as the {@link #getLevel(Class) level set for such a class}.
+     * It can be used to avoid building messages that will not be printed.
+     *
+     * @param klass Class that is asking to print a message
+     * @param level the level of the message
+     * @return true if messages of the given level are enabled for the class, false otherwise
+     */
+    public static boolean isEnabled(Class<?> klass, Level level) {
+        return isEnabled() && level != Level.OFF && level.severity >= getLevel(klass).severity;
+    }
+
+    /**
+     * Gets the level set for a given class. If no level was explicitly set for it,
+     * returns the level of its closest superclass that has a level set
+     * or the {@link #getLevel() default level} if there isn't such a superclass.
+     *
+     * @param klass the class to get the level
+     * @return the level of the class
+     */
+    public static Level getLevel(Class<?> klass) {
+        final Level level = resolvedLevels.get(klass);
+        if(level != null) {
+            return level;
+        }
+
+        Level resolved = defaultLevel;
+        for (Class<?> c = klass; c != null; c = c.getSuperclass()) {
+            final Level classLevel = levels.get(c);
+            if(classLevel != null){
+                resolved = classLevel;
+                break;
+            }
+        }
+
+        resolvedLevels.put(klass, resolved);
+        return resolved;
+    }
+
+    /**
+     * Sets the level of a given class and its subclasses (unless a subclass has its own level),
+     * so that just messages from such classes that are as severe as the given level are printed.
+     *
+     * @param klass the class to set the level
+     * @param level the level to set, where {@link Level#OFF} disables all messages from the class
+     *              and null removes the level previously set for the class
+     */
+    public static void setLevel(Class<?> klass, Level level) {
+        Objects.requireNonNull(klass);
+        if(level == null) {
+            levels.remove(klass);
+        } else {
+            levels.put(klass, level);
+        }
+
+        resolvedLevels.clear();
+    }
+
+    /**
+     * Gets the default level for classes which haven't a {@link #setLevel(Class, Level) level set}.
+     * It is {@link Level#DEBUG} if the application is {@link #isDebug() running in debug mode},
+     * {@link Level#INFO} otherwise.
+     *
+     * @return the default level
+     */
+    public static Level getLevel() {
+        return defaultLevel;
+    }
+
+    /**
+     * Sets the default level for classes which haven't a {@link #setLevel(Class, Level) level set}.
+     *
+     * @param level the default level to set
+     */
+    public static void setLevel(Level level) {
+        defaultLevel = Objects.requireNonNull(level);
+        resolvedLevels.clear();
+    }
+
     /**
      * Sets the output stream.
      *
      * @param newOutput the new output
      */
     public static void setOutput(OutputStream newOutput) {
-        output = newOutput;
+        getState().output = newOutput;
     }
 
     /**
@@ -207,10 +428,11 @@ public final class Log {
      * @return the output
      */
     public static OutputStream getOutput() {
-        if (Objects.isNull(output)) {
-            setOutput(System.out);
+        final State state = getState();
+        if (Objects.isNull(state.output)) {
+            state.output = System.out;
         }
-        return output;
+        return state.output;
     }
 
     /**
@@ -219,7 +441,7 @@ public final class Log {
      * @param disable the new disabled
      */
     public static void setDisabled(boolean disable) {
-        disabled = disable;
+        getState().disabled = disable;
     }
 
     /**
@@ -228,7 +450,7 @@ public final class Log {
      * @return true, if it is disable
      */
     public static boolean isDisabled() {
-        return disabled;
+        return getState().disabled;
     }
 
     /**
@@ -237,7 +459,7 @@ public final class Log {
      * @return true, if it is enable
      */
     public static boolean isEnabled() {
-        return !disabled;
+        return !getState().disabled;
     }
 
     /**
@@ -254,6 +476,66 @@ public final class Log {
         setDisabled(false);
     }
 
+    /**
+     * Makes the current thread to have its own Log output stream and enabled flag,
+     * which start as the ones currently used by the thread.
+     * Then, calling {@link #setOutput(OutputStream)}, {@link #enable()}, {@link #disable()}
+     * and {@link #setDisabled(boolean)} from this thread doesn't affect other threads
+     * and such calls from other threads don't affect this one.
+     * It enables simulations running in different threads to have an isolated Log.
+     *
+     * <p>The thread has to call {@link #useGlobalState()} when it finishes using the Log,
+     * mainly if it belongs to a thread pool.</p>
+     *
+     * @see #hasThreadState()
+     */
+    public static void useThreadState() {
+        if (hasThreadState()) {
+            return;
+        }
+
+        final State state = new State(getOutput(), isDisabled());
+        threadStates.incrementAndGet();
+        threadState.set(state);
+    }
+
+    /**
+     * Makes the current thread to use the global Log output stream and enabled flag again,
+     * discarding the ones set for the thread after calling {@link #useThreadState()}.
+     */
+    public static void useGlobalState() {
+        if (!hasThreadState()) {
+            return;
+        }
+
+        threadState.remove();
+        threadStates.decrementAndGet();
+    }
+
+    /**
+     * Checks if the current thread has its own Log output stream and enabled flag.
+     *
+     * @return true if the thread has its own Log state, false if it uses the global state
+     * @see #useThreadState()
+     */
+    public static boolean hasThreadState() {
+        return threadStates.get() > 0 && threadState.get() != null;
+    }
+
+    /**
+     * Gets the Log state to be used by the current thread.
+     *
+     * @return the thread state, if the thread has its own one; the global state otherwise
+     */
+    private static State getState() {
+        if (threadStates.get() == 0) {
+            return globalState;
+        }
+
+        final State state = threadState.get();
+        return state == null ? globalState : state;
+    }
+
     public static boolean isDebug() {
         return debug;
     }
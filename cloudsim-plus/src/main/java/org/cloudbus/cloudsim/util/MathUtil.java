@@ -28,6 +28,12 @@ public final class MathUtil {
      */
     public static final double HUNDRED_PERCENT = 0.1;
 
+    /**
+     * An object for each thread to compute statistics such as median, MAD and Local Regression,
+     * reusing its work buffers across calls.
+     */
+    private static final ThreadLocal<UtilizationStatistics> STATISTICS = ThreadLocal.withInitial(UtilizationStatistics::new);
+
     /**
      * A private constructor to avoid class instantiation.
      */
@@ -60,7 +66,7 @@ public final class MathUtil {
      * @return the median
      */
     public static double median(final List<Double> list) {
-        return getStatistics(list).getPercentile(50);
+        return median(listToArray(list));
     }
 
     /**
@@ -70,7 +76,7 @@ public final class MathUtil {
      * @return the median
      */
     public static double median(final double... list) {
-        return getStatistics(list).getPercentile(50);
+        return STATISTICS.get().median(list);
     }
 
     /**
@@ -145,17 +151,7 @@ public final class MathUtil {
      * @return the mad
      */
     public static double mad(final double... data) {
-        if (data.length == 0) {
-            return 0;
-        }
-
-        final double median = median(data);
-        final double[] deviationSum = new double[data.length];
-        for (int i = 0; i < data.length; i++) {
-            deviationSum[i] = Math.abs(median - data[i]);
-        }
-
-        return median(deviationSum);
+        return STATISTICS.get().mad(data);
     }
 
     /**
@@ -165,10 +161,7 @@ public final class MathUtil {
      * @return the IQR
      */
     public static double iqr(final double... data) {
-        Arrays.sort(data);
-        final int q1 = (int) Math.round(0.25 * (data.length + 1)) - 1;
-        final int q3 = (int) Math.round(0.75 * (data.length + 1)) - 1;
-        return data[q3] - data[q1];
+        return STATISTICS.get().iqr(data);
     }
 
     /**
@@ -217,15 +210,12 @@ public final class MathUtil {
      *
      * @param y the y array
      * @return the Loess parameter estimates
+     * @see UtilizationStatistics#loess(double...)
      */
     public static double[] getLoessParameterEstimates(final double... y) {
-        int n = y.length;
-        double[] x = new double[n];
-        for (int i = 0; i < n; i++) {
-            x[i] = i + 1;
-        }
-        return createWeigthedLinearRegression(x, y, getTricubeWeights(n))
-            .regress().getParameterEstimates();
+        final UtilizationStatistics stats = STATISTICS.get();
+        stats.loess(y);
+        return stats.getParameterEstimates();
     }
 
     public static SimpleRegression createLinearRegression(final double[] x, final double[] y) {
@@ -271,28 +261,12 @@ public final class MathUtil {
      *
      * @param y the y array
      * @return the robust loess parameter estimates
+     * @see UtilizationStatistics#robustLoess(double...)
      */
     public static double[] getRobustLoessParameterEstimates(final double... y) {
-        final int n = y.length;
-        final double[] x = new double[n];
-        for (int i = 0; i < n; i++) {
-            x[i] = i + 1;
-        }
-        final SimpleRegression tricubeRegression = createWeigthedLinearRegression(x,
-            y, getTricubeWeights(n));
-        final double[] residuals = new double[n];
-        for (int i = 0; i < n; i++) {
-            residuals[i] = y[i] - tricubeRegression.predict(x[i]);
-        }
-        final SimpleRegression tricubeBySqrRegression = createWeigthedLinearRegression(
-            x, y, getTricubeBisquareWeights(residuals));
-
-        final double[] estimates = tricubeBySqrRegression.regress()
-            .getParameterEstimates();
-        if (Double.isNaN(estimates[0]) || Double.isNaN(estimates[1])) {
-            return tricubeRegression.regress().getParameterEstimates();
-        }
-        return estimates;
+        final UtilizationStatistics stats = STATISTICS.get();
+        stats.robustLoess(y);
+        return stats.getParameterEstimates();
     }
 
     /**
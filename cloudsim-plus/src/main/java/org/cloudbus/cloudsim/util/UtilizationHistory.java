@@ -0,0 +1,101 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.List;
+
+/**
+ * A <b>read-only</b> history of utilization values with a fixed capacity.
+ *
+ * <p><b>The values are accessed in the reverse chronological order</b>,
+ * where the index 0 is the latest added value.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see UtilizationHistoryBuffer
+ */
+public interface UtilizationHistory {
+    /**
+     * Gets a value from the history.
+     *
+     * @param index the index of the value, where 0 is the latest added value
+     * @return the value at the given index
+     * @throws IndexOutOfBoundsException when the index is not between [0 and {@link #size()})
+     */
+    double get(int index);
+
+    /**
+     * Gets the number of values currently stored.
+     * @return
+     */
+    int size();
+
+    /**
+     * Checks if the history has no value.
+     * @return
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets the max number of values that can be stored.
+     * @return
+     */
+    int getCapacity();
+
+    /**
+     * Gets the number of times the history was changed since its creation.
+     * Since this number always increases when a value is added or the history is cleared,
+     * it can be used to check if the history has changed.
+     *
+     * @return
+     */
+    long getModificationCount();
+
+    /**
+     * Copies the latest values from the history into an array,
+     * in the reverse chronological order.
+     *
+     * @param length the number of values to copy,
+     *               that is limited to the current {@link #size()}
+     * @return a new array with the latest values
+     */
+    double[] toArray(int length);
+
+    /**
+     * Copies all values from the history into an array,
+     * in the reverse chronological order.
+     *
+     * @return a new array with the values
+     */
+    double[] toArray();
+
+    /**
+     * Gets a <b>read-only</b> List view of the history, in the reverse chronological order.
+     * The List is backed by the history, so changes in the history are reflected in the List,
+     * without copying any value.
+     *
+     * @return
+     */
+    List<Double> asList();
+}
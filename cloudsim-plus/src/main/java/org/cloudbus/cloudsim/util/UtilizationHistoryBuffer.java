@@ -0,0 +1,163 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-capacity {@link UtilizationHistory}, stored into a primitive
+ * {@code double} array used as a ring buffer.
+ * When the history is full, adding a new value overwrites the oldest one,
+ * without shifting the other values.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public final class UtilizationHistoryBuffer implements UtilizationHistory {
+    private final double[] values;
+
+    /**
+     * The position where the next value will be stored.
+     */
+    private int next;
+
+    /**
+     * @see #size()
+     */
+    private int size;
+
+    /**
+     * @see #getModificationCount()
+     */
+    private long modificationCount;
+
+    /**
+     * A read-only view of the history as a List.
+     * @see #asList()
+     */
+    private final List<Double> listView;
+
+    /**
+     * Creates an empty history with a given capacity.
+     *
+     * @param capacity the max number of values to be stored
+     */
+    public UtilizationHistoryBuffer(final int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException("The history capacity must be greater than zero.");
+        }
+
+        this.values = new double[capacity];
+        this.listView = new ListView();
+    }
+
+    /**
+     * Adds a value to the beginning of the history,
+     * removing the oldest value if the history is full.
+     *
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        values[next] = value;
+        next = (next + 1) % values.length;
+        if(size < values.length){
+            size++;
+        }
+
+        modificationCount++;
+    }
+
+    @Override
+    public double get(final int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final int i = next - 1 - index;
+        return values[i < 0 ? i + values.length : i];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return values.length;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Removes all values from the history.
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+        modificationCount++;
+    }
+
+    @Override
+    public double[] toArray(final int length) {
+        final double[] array = new double[Math.min(length, size)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    @Override
+    public double[] toArray() {
+        return toArray(size);
+    }
+
+    @Override
+    public List<Double> asList() {
+        return listView;
+    }
+
+    private class ListView extends AbstractList<Double> implements RandomAccess {
+        @Override
+        public Double get(final int index) {
+            return UtilizationHistoryBuffer.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Computes the statistics used to define Host over utilization thresholds
+ * (Local Regression, Robust Local Regression, MAD and IQR)
+ * directly over primitive arrays, without creating any
+ * Apache Commons Math regression or {@code DescriptiveStatistics} objects.
+ * The work buffers are preallocated and reused across calls,
+ * so that an instance can be used to compute the statistics
+ * of a large number of utilization histories without creating garbage.
+ *
+ * <p>The results are exactly the same ones returned by the previous implementation
+ * based on Apache Commons Math, since the same arithmetic operations are performed
+ * in the same order:
+ * <ul>
+ *     <li>the linear regressions use the same updating formulas of the
+ *     {@code SimpleRegression} class;</li>
+ *     <li>the median is computed using the same legacy percentile estimation
+ *     of the {@code Percentile} class, ignoring NaN values.</li>
+ * </ul>
+ * </p>
+ *
+ * <p><b>An instance is not thread-safe.</b>
+ * The {@link #computeAll(List, ToDoubleBiFunction, boolean)} method
+ * computes a statistic for a batch of utilization histories,
+ * optionally in parallel, using one instance for each thread.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public final class UtilizationStatistics {
+    /**
+     * Default number of values the work buffers are able to store.
+     */
+    private static final int DEFAULT_CAPACITY = 32;
+
+    /**
+     * Max number of samples a batch task computes sequentially
+     * before being split into parallel tasks.
+     */
+    private static final int SAMPLES_BY_TASK = 64;
+
+    /**
+     * Min fraction of non-positive weights that makes a regression
+     * to be weighted, as defined in {@link MathUtil#createWeigthedLinearRegression(double[], double[], double[])}.
+     */
+    private static final double MIN_NON_POSITIVE_WEIGHTS = 0.4;
+
+    /**
+     * The instance each thread uses to compute statistics by {@link #computeAll(List, ToDoubleBiFunction, boolean)},
+     * so that the work buffers are reused by all batch tasks a thread executes.
+     */
+    private static final ThreadLocal<UtilizationStatistics> THREAD_STATS = ThreadLocal.withInitial(UtilizationStatistics::new);
+
+    /**
+     * Work buffer used to sort values.
+     */
+    private double[] work;
+
+    /**
+     * The residuals of the last regression computed by a {@link #robustLoess(double...)}.
+     */
+    private double[] residuals;
+
+    /**
+     * The tricube bisquare weights computed by a {@link #robustLoess(double...)}.
+     */
+    private double[] bisquareWeights;
+
+    /**
+     * The tricube weights, which are just computed again
+     * when the number of values to fit changes.
+     * @see MathUtil#getTricubeWeights(int)
+     */
+    private double[] tricubeWeights;
+
+    /**
+     * Sums computed by the last {@link #fit(double[], int, double[])}
+     * call, which are the sums of the x and y values and the sums
+     * of the squares of the x deviations and of the products of the x and y deviations.
+     */
+    private double sumX, sumY, sumXX, sumXY;
+
+    /**
+     * @see #getIntercept()
+     */
+    private double intercept;
+
+    /**
+     * @see #getSlope()
+     */
+    private double slope;
+
+    /**
+     * Creates an object to compute utilization statistics
+     * with work buffers for a default number of values,
+     * which grow as required.
+     */
+    public UtilizationStatistics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an object to compute utilization statistics
+     * with work buffers for a given number of values,
+     * which grow as required.
+     *
+     * @param capacity the initial number of values the work buffers are able to store
+     */
+    public UtilizationStatistics(final int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException("The capacity must be greater than zero.");
+        }
+
+        work = new double[capacity];
+        residuals = new double[capacity];
+        bisquareWeights = new double[capacity];
+        tricubeWeights = new double[0];
+    }
+
+    private void ensureCapacity(final int length) {
+        if(length > work.length){
+            final int capacity = Math.max(length, 2 * work.length);
+            work = new double[capacity];
+            residuals = new double[capacity];
+            bisquareWeights = new double[capacity];
+        }
+    }
+
+    /**
+     * Computes the Local Regression (Loess) parameter estimates of an array of values,
+     * which can be got by {@link #getIntercept()} and {@link #getSlope()}.
+     * The values are fit against x = 1, 2, ..., n.
+     *
+     * <p>Since the {@link MathUtil#getTricubeWeights(int) tricube weights} are always positive,
+     * they never reach the min number of non-positive weights which makes the regression to be weighted.
+     * Therefore, the estimates are given in closed form by an ordinary least squares fit,
+     * without computing such weights.</p>
+     *
+     * @param y the values to fit
+     * @throws IllegalArgumentException when there are less than 3 values
+     * @see MathUtil#getLoessParameterEstimates(double...)
+     */
+    public void loess(final double... y) {
+        final int n = requireMinLength(y);
+        fit(y, n, null);
+        setEstimates(n);
+    }
+
+    /**
+     * Computes the Robust Local Regression parameter estimates of an array of values,
+     * which can be got by {@link #getIntercept()} and {@link #getSlope()}.
+     * The values are fit against x = 1, 2, ..., n,
+     * using the tricube bisquare weights computed from the residuals of a {@link #loess(double...)}.
+     * If such a robust fit is undefined, the estimates of the Loess fit are kept.
+     *
+     * @param y the values to fit
+     * @throws IllegalArgumentException when there are less than 3 values
+     * @see MathUtil#getRobustLoessParameterEstimates(double...)
+     */
+    public void robustLoess(final double... y) {
+        final int n = requireMinLength(y);
+        ensureCapacity(n);
+        fit(y, n, null);
+
+        final double fittedSlope = getFittedSlope();
+        final double fittedIntercept = getFittedIntercept(fittedSlope, n);
+        for (int i = 0; i < n; i++) {
+            residuals[i] = y[i] - (fittedIntercept + fittedSlope * (i + 1));
+        }
+
+        setEstimates(n);
+        final double loessIntercept = intercept;
+        final double loessSlope = slope;
+
+        computeBisquareWeights(n);
+        fit(y, n, bisquareWeights);
+        setEstimates(n);
+        if (Double.isNaN(intercept) || Double.isNaN(slope)) {
+            intercept = loessIntercept;
+            slope = loessSlope;
+        }
+    }
+
+    /**
+     * Computes the tricube bisquare weights from the {@link #residuals}.
+     * @param n the number of residuals
+     * @see MathUtil#getTricubeBisquareWeights(double...)
+     */
+    private void computeBisquareWeights(final int n) {
+        if(tricubeWeights.length != n){
+            tricubeWeights = MathUtil.getTricubeWeights(n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            work[i] = Math.abs(residuals[i]);
+        }
+
+        final double s6 = sortedMedian(n) * 6;
+        for (int i = 2; i < n; i++) {
+            final double k = Math.pow(1 - Math.pow(residuals[i] / s6, 2), 2);
+            bisquareWeights[i] = k > 0 ? (1 / k) * tricubeWeights[i] : Double.MAX_VALUE;
+        }
+
+        bisquareWeights[0] = bisquareWeights[1] = bisquareWeights[2];
+    }
+
+    private static int requireMinLength(final double[] y) {
+        if(y.length < 3){
+            throw new IllegalArgumentException("At least 3 values are required to compute a Local Regression.");
+        }
+
+        return y.length;
+    }
+
+    /**
+     * Fits a linear regression of the given y values against x = 1, 2, ..., n,
+     * using the updating formulas of the {@code SimpleRegression} class.
+     * If at least 40% of the weights are non-positive,
+     * each pair (x, y) is multiplied by the square root of its weight
+     * (as in {@link MathUtil#createWeigthedLinearRegression(double[], double[], double[])}).
+     *
+     * @param y the values to fit
+     * @param n the number of values to fit
+     * @param weights the weights of each value or null to fit an unweighted regression
+     */
+    private void fit(final double[] y, final int n, final double[] weights) {
+        final boolean weighted = weights != null && countNonPositive(weights, n) >= MIN_NON_POSITIVE_WEIGHTS * n;
+        double xbar = 0, ybar = 0;
+        sumX = sumY = sumXX = sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            double x = i + 1;
+            double yi = y[i];
+            if(weighted){
+                final double weight = Math.sqrt(weights[i]);
+                x = weight * x;
+                yi = weight * yi;
+            }
+
+            if(i == 0){
+                xbar = x;
+                ybar = yi;
+            } else {
+                final double fact1 = 1.0 + i;
+                final double fact2 = i / (1.0 + i);
+                final double dx = x - xbar;
+                final double dy = yi - ybar;
+                sumXX += dx * dx * fact2;
+                sumXY += dx * dy * fact2;
+                xbar += dx / fact1;
+                ybar += dy / fact1;
+            }
+
+            sumX += x;
+            sumY += yi;
+        }
+    }
+
+    private static int countNonPositive(final double[] weights, final int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if(weights[i] <= 0){
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private double getFittedSlope() {
+        return Math.abs(sumXX) < 10 * Double.MIN_VALUE ? Double.NaN : sumXY / sumXX;
+    }
+
+    private double getFittedIntercept(final double fittedSlope, final int n) {
+        return (sumY - fittedSlope * sumX) / n;
+    }
+
+    /**
+     * Sets the parameter estimates from the last fit,
+     * as the {@code SimpleRegression.regress()} method does.
+     * @param n the number of fitted values
+     */
+    private void setEstimates(final int n) {
+        if(Math.abs(sumXX) > Double.MIN_NORMAL){
+            slope = getFittedSlope();
+            intercept = getFittedIntercept(slope, n);
+            return;
+        }
+
+        intercept = sumY / n;
+        slope = Double.NaN;
+    }
+
+    /**
+     * Gets the intercept estimated by the last {@link #loess(double...)}
+     * or {@link #robustLoess(double...)} call.
+     * @return the intercept
+     */
+    public double getIntercept() {
+        return intercept;
+    }
+
+    /**
+     * Gets the slope estimated by the last {@link #loess(double...)}
+     * or {@link #robustLoess(double...)} call.
+     * @return the slope
+     */
+    public double getSlope() {
+        return slope;
+    }
+
+    /**
+     * Gets a new array with the intercept and slope estimated by the last {@link #loess(double...)}
+     * or {@link #robustLoess(double...)} call, in this order.
+     * @return the parameter estimates
+     */
+    public double[] getParameterEstimates() {
+        return new double[]{intercept, slope};
+    }
+
+    /**
+     * Gets the median of an array of values, ignoring NaN values.
+     *
+     * @param data the array of values, which is not changed
+     * @return the median or NaN if the array is empty
+     */
+    public double median(final double... data) {
+        ensureCapacity(data.length);
+        System.arraycopy(data, 0, work, 0, data.length);
+        return sortedMedian(data.length);
+    }
+
+    /**
+     * Gets the Median Absolute Deviation (MAD) of an array of values.
+     *
+     * @param data the array of values, which is not changed
+     * @return the MAD or 0 if the array is empty
+     */
+    public double mad(final double... data) {
+        if (data.length == 0) {
+            return 0;
+        }
+
+        final double median = median(data);
+        for (int i = 0; i < data.length; i++) {
+            work[i] = Math.abs(median - data[i]);
+        }
+
+        return sortedMedian(data.length);
+    }
+
+    /**
+     * Gets the Interquartile Range (IQR) of an array of values.
+     *
+     * @param data the array of values, which is not changed
+     * @return the IQR
+     */
+    public double iqr(final double... data) {
+        ensureCapacity(data.length);
+        System.arraycopy(data, 0, work, 0, data.length);
+        Arrays.sort(work, 0, data.length);
+        final int q1 = (int) Math.round(0.25 * (data.length + 1)) - 1;
+        final int q3 = (int) Math.round(0.75 * (data.length + 1)) - 1;
+        return work[q3] - work[q1];
+    }
+
+    /**
+     * Sorts the first values in the {@link #work} buffer and gets their median,
+     * using the legacy estimation of the {@code Percentile} class
+     * and ignoring NaN values (which are placed at the end of the buffer after sorting).
+     *
+     * @param length the number of values in the work buffer
+     * @return the median or NaN if there is no value different from NaN
+     */
+    private double sortedMedian(final int length) {
+        Arrays.sort(work, 0, length);
+        int n = length;
+        while(n > 0 && Double.isNaN(work[n-1])){
+            n--;
+        }
+
+        if(n == 0){
+            return Double.NaN;
+        }
+
+        final double pos = 0.5 * (n + 1);
+        final double fpos = Math.floor(pos);
+        final int intPos = (int) fpos;
+        if(pos >= n){
+            return work[n - 1];
+        }
+
+        final double lower = work[intPos - 1];
+        final double upper = work[intPos];
+        return lower + (pos - fpos) * (upper - lower);
+    }
+
+    /**
+     * Computes a statistic for each sample in a batch,
+     * such as the utilization histories of all Hosts in a Datacenter.
+     * Each thread uses a single {@link UtilizationStatistics} instance
+     * to compute the statistic for all samples it processes,
+     * so the work buffers are reused across such samples (and across calls).
+     *
+     * <p>Example computing the MAD of each sample:
+     * {@code UtilizationStatistics.computeAll(samples, UtilizationStatistics::mad, true)}</p>
+     *
+     * @param samples the samples to compute the statistic
+     * @param statistic a function that receives a {@link UtilizationStatistics} instance and a sample
+     *                  and returns the statistic computed for such a sample
+     * @param parallel true to compute the statistics in parallel using the common {@link ForkJoinPool},
+     *                 false to compute them sequentially in the caller thread
+     * @return an array where each element is the statistic computed for the sample at the same position
+     */
+    public static double[] computeAll(
+        final List<double[]> samples,
+        final ToDoubleBiFunction<UtilizationStatistics, double[]> statistic,
+        final boolean parallel)
+    {
+        final double[] results = new double[samples.size()];
+        final BatchTask task = new BatchTask(samples, statistic, results, 0, results.length);
+        if(parallel && results.length > SAMPLES_BY_TASK){
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.computeSequentially();
+        }
+
+        return results;
+    }
+
+    /**
+     * Computes a statistic for a range of samples,
+     * splitting it into sub-tasks while the range is too large.
+     */
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<double[]> samples;
+        private final ToDoubleBiFunction<UtilizationStatistics, double[]> statistic;
+        private final double[] results;
+        private final int start;
+        private final int end;
+
+        BatchTask(
+            final List<double[]> samples,
+            final ToDoubleBiFunction<UtilizationStatistics, double[]> statistic,
+            final double[] results, final int start, final int end)
+        {
+            this.samples = samples;
+            this.statistic = statistic;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= SAMPLES_BY_TASK){
+                computeSequentially();
+                return;
+            }
+
+            final int middle = (start + end) >>> 1;
+            invokeAll(
+                new BatchTask(samples, statistic, results, start, middle),
+                new BatchTask(samples, statistic, results, middle, end));
+        }
+
+        private void computeSequentially() {
+            final UtilizationStatistics stats = THREAD_STATS.get();
+            for (int i = start; i < end; i++) {
+                results[i] = statistic.applyAsDouble(stats, samples.get(i));
+            }
+        }
+    }
+}
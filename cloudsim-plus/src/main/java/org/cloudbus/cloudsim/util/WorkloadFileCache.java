@@ -0,0 +1,644 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A binary columnar cache of the jobs read from a workload file,
+ * which enables the same trace to be parsed just once and then reloaded
+ * in milliseconds by memory-mapping the cache file.
+ * The cache stores, for every job, its id, submit time, run time and number of PEs.
+ *
+ * <p>A trace is compiled into a cache by splitting it into chunks of whole lines,
+ * which are parsed in parallel. Plain text files are memory-mapped,
+ * while gzip and zip files are decompressed sequentially.
+ * Each chunk is stored as a block with one column for each job attribute,
+ * so that the cache is written as chunks are parsed and compiling a trace
+ * doesn't require keeping the entire trace into memory.</p>
+ *
+ * <p>Since the cache stores every valid job in the trace file, the
+ * {@link WorkloadFileReader#setPredicate(java.util.function.Predicate) predicate} and the
+ * {@link WorkloadFileReader#setMaxLinesToRead(int) maximum number of lines to read}
+ * are applied when Cloudlets are created from the cache.
+ * The cache keeps the size and modification time of the trace file,
+ * besides the fields layout used to parse it.
+ * A cache not matching them is compiled again.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see WorkloadFileReader#setCacheFile(File)
+ */
+public final class WorkloadFileCache {
+    private static final int MAGIC = 0x53574643;
+    private static final int VERSION = 2;
+
+    /**
+     * The size of the footer at the end of the cache file (in bytes).
+     */
+    private static final int FOOTER_SIZE = 40;
+
+    /**
+     * The size of each entry of the blocks directory (in bytes):
+     * the block offset, number of rows and index of the trace file the block was read from.
+     */
+    private static final int DIRECTORY_ENTRY_SIZE = 16;
+
+    /**
+     * The number of bytes stored for each job.
+     */
+    private static final int ROW_SIZE = Long.BYTES + 3 * Integer.BYTES;
+
+    /**
+     * The default size of the chunks a trace file is split into to be parsed in parallel (in bytes).
+     */
+    static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final int[] blockRows;
+    private final int[] blockFiles;
+    private final LongBuffer[] submitTimes;
+    private final IntBuffer[] jobIds;
+    private final IntBuffer[] runTimes;
+    private final IntBuffer[] pes;
+    private long size;
+
+    private WorkloadFileCache(final int blocks) {
+        this.blockRows = new int[blocks];
+        this.blockFiles = new int[blocks];
+        this.submitTimes = new LongBuffer[blocks];
+        this.jobIds = new IntBuffer[blocks];
+        this.runTimes = new IntBuffer[blocks];
+        this.pes = new IntBuffer[blocks];
+    }
+
+    /**
+     * Loads the cache of the trace file from a given {@link WorkloadFileReader},
+     * compiling the trace into the cache file if it doesn't exist or is outdated.
+     *
+     * @param reader the reader defining the trace file and its fields layout
+     * @param cacheFile the cache file
+     * @return the loaded cache
+     * @throws IOException if the there was any error reading the trace or writing the cache
+     */
+    public static WorkloadFileCache getInstance(final WorkloadFileReader reader, final File cacheFile) throws IOException {
+        if (cacheFile.exists()) {
+            final WorkloadFileCache cache = load(cacheFile, getFingerprint(reader));
+            if (cache != null) {
+                return cache;
+            }
+        }
+
+        compile(reader, cacheFile);
+        return load(cacheFile, getFingerprint(reader));
+    }
+
+    /**
+     * Parses the trace file from a given {@link WorkloadFileReader} and writes it to a cache file,
+     * replacing any existing one.
+     *
+     * @param reader the reader defining the trace file and its fields layout
+     * @param cacheFile the cache file to write
+     * @throws IOException if the there was any error reading the trace or writing the cache
+     */
+    public static void compile(final WorkloadFileReader reader, final File cacheFile) throws IOException {
+        /*The temp file prefix must have at least 3 characters.*/
+        final File tmpFile = File.createTempFile(cacheFile.getName() + "___", ".tmp", cacheFile.getAbsoluteFile().getParentFile());
+        try {
+            try (Compiler compiler = new Compiler(reader, tmpFile)) {
+                compiler.compile();
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
+    }
+
+    /**
+     * Loads a cache file.
+     *
+     * @param cacheFile the cache file
+     * @param fingerprint the expected fingerprint of the trace file and its fields layout
+     * @return the loaded cache or null if the cache is outdated
+     * @throws IOException if the there was any error reading the cache
+     */
+    private static WorkloadFileCache load(final File cacheFile, final long[] fingerprint) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < FOOTER_SIZE) {
+                return null;
+            }
+
+            final ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, fileSize - FOOTER_SIZE, FOOTER_SIZE)
+                                             .order(ByteOrder.LITTLE_ENDIAN);
+            if (footer.getInt() != MAGIC || footer.getInt() != VERSION ||
+                footer.getLong() != fingerprint[0] || footer.getLong() != fingerprint[1] ||
+                footer.getLong() != fingerprint[2])
+            {
+                return null;
+            }
+
+            final int blocks = footer.getInt();
+            final ByteBuffer directory =
+                channel.map(FileChannel.MapMode.READ_ONLY, fileSize - FOOTER_SIZE - (long)blocks * DIRECTORY_ENTRY_SIZE,
+                            (long)blocks * DIRECTORY_ENTRY_SIZE)
+                       .order(ByteOrder.LITTLE_ENDIAN);
+
+            final WorkloadFileCache cache = new WorkloadFileCache(blocks);
+            for (int b = 0; b < blocks; b++) {
+                final long offset = directory.getLong();
+                final int rows = directory.getInt();
+                cache.blockRows[b] = rows;
+                cache.blockFiles[b] = directory.getInt();
+                cache.size += rows;
+
+                final MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long)rows * ROW_SIZE);
+                block.order(ByteOrder.LITTLE_ENDIAN);
+                cache.submitTimes[b] = slice(block, 0, rows * Long.BYTES).asLongBuffer();
+                int position = rows * Long.BYTES;
+                cache.jobIds[b] = slice(block, position, rows * Integer.BYTES).asIntBuffer();
+                position += rows * Integer.BYTES;
+                cache.runTimes[b] = slice(block, position, rows * Integer.BYTES).asIntBuffer();
+                position += rows * Integer.BYTES;
+                cache.pes[b] = slice(block, position, rows * Integer.BYTES).asIntBuffer();
+            }
+
+            return cache;
+        }
+    }
+
+    private static ByteBuffer slice(final ByteBuffer buffer, final int position, final int length) {
+        final ByteBuffer dup = buffer.duplicate();
+        dup.position(position);
+        dup.limit(position + length);
+        return dup.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Gets the values identifying the trace file and the fields layout a cache was built from:
+     * the trace file size, its modification time and a hash of the fields layout.
+     */
+    private static long[] getFingerprint(final WorkloadFileReader reader) {
+        final File file = reader.getFile();
+        final long layout = Arrays.hashCode(new int[]{
+            reader.getMaxField(), reader.getJobNumField(), reader.getSubmitTimeField(),
+            reader.getRunTimeField(), reader.getNumProcField(), reader.getReqNumProcField(),
+            reader.getComment().hashCode()});
+        return new long[]{file.length(), file.lastModified(), layout};
+    }
+
+    /**
+     * Gets the number of jobs stored in the cache.
+     * @return
+     */
+    public long size() {
+        return size;
+    }
+
+    int getNumberOfBlocks() {
+        return blockRows.length;
+    }
+
+    int getBlockRows(final int block) {
+        return blockRows[block];
+    }
+
+    /**
+     * Gets the index of the file inside a zip trace a block was read from
+     * (which is always 0 for other kinds of trace files).
+     */
+    int getBlockFile(final int block) {
+        return blockFiles[block];
+    }
+
+    long getSubmitTime(final int block, final int row) {
+        return submitTimes[block].get(row);
+    }
+
+    int getJobId(final int block, final int row) {
+        return jobIds[block].get(row);
+    }
+
+    int getRunTime(final int block, final int row) {
+        return runTimes[block].get(row);
+    }
+
+    int getPes(final int block, final int row) {
+        return pes[block].get(row);
+    }
+
+    /**
+     * The jobs parsed from a chunk of a trace file, stored into columns.
+     */
+    private static final class Chunk {
+        private final int file;
+        private int rows;
+        private long[] submitTimes = new long[1024];
+        private int[] jobIds = new int[1024];
+        private int[] runTimes = new int[1024];
+        private int[] pes = new int[1024];
+
+        private Chunk(final int file) {
+            this.file = file;
+        }
+
+        private void add(final int jobId, final long submitTime, final int runTime, final int numPes) {
+            if (rows == jobIds.length) {
+                final int capacity = rows * 2;
+                submitTimes = Arrays.copyOf(submitTimes, capacity);
+                jobIds = Arrays.copyOf(jobIds, capacity);
+                runTimes = Arrays.copyOf(runTimes, capacity);
+                pes = Arrays.copyOf(pes, capacity);
+            }
+
+            submitTimes[rows] = submitTime;
+            jobIds[rows] = jobId;
+            runTimes[rows] = runTime;
+            pes[rows] = numPes;
+            rows++;
+        }
+    }
+
+    /**
+     * Parses a trace file in parallel chunks and writes the parsed jobs to a cache file.
+     */
+    private static final class Compiler implements AutoCloseable {
+        private final WorkloadFileReader reader;
+        private final FileChannel channel;
+        private final byte[] comment;
+        private final int maxField;
+        private final int jobNumField;
+        private final int submitTimeField;
+        private final int runTimeField;
+        private final int numProcField;
+        private final int reqNumProcField;
+
+        /**
+         * The chunks read but not parsed yet.
+         */
+        private final List<ByteBuffer> pendingChunks;
+        private final List<Integer> pendingChunkFiles;
+
+        /**
+         * The directory of the blocks written, where each entry is
+         * the block offset, its number of rows and the index of its trace file.
+         */
+        private final List<long[]> directory;
+        private final int maxPendingChunks;
+
+        private Compiler(final WorkloadFileReader reader, final File cacheFile) throws IOException {
+            this.reader = reader;
+            this.channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.comment = reader.getComment().getBytes(StandardCharsets.UTF_8);
+            this.maxField = reader.getMaxField();
+            this.jobNumField = reader.getJobNumField();
+            this.submitTimeField = reader.getSubmitTimeField();
+            this.runTimeField = reader.getRunTimeField();
+            this.numProcField = reader.getNumProcField();
+            this.reqNumProcField = reader.getReqNumProcField();
+            this.pendingChunks = new ArrayList<>();
+            this.pendingChunkFiles = new ArrayList<>();
+            this.directory = new ArrayList<>();
+            this.maxPendingChunks = 2 * Runtime.getRuntime().availableProcessors();
+        }
+
+        private void compile() throws IOException {
+            final File file = reader.getFile();
+            if (file.getName().endsWith(".gz")) {
+                try (InputStream input = new GZIPInputStream(new FileInputStream(file))) {
+                    readChunks(input, 0);
+                }
+            } else if (file.getName().endsWith(".zip")) {
+                try (ZipFile zipFile = new ZipFile(file)) {
+                    final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+                    for (int i = 0; zipEntries.hasMoreElements(); i++) {
+                        try (InputStream input = zipFile.getInputStream(zipEntries.nextElement())) {
+                            readChunks(input, i);
+                        }
+                    }
+                }
+            } else {
+                mapChunks(file);
+            }
+
+            parsePendingChunks();
+            writeFooter(getFingerprint(reader));
+        }
+
+        /**
+         * Splits a plain text trace file into memory-mapped chunks of whole lines.
+         */
+        private void mapChunks(final File file) throws IOException {
+            try (FileChannel input = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final long fileSize = input.size();
+                long start = 0;
+                while (start < fileSize) {
+                    long length = Math.min(CHUNK_SIZE, fileSize - start);
+                    MappedByteBuffer chunk = input.map(FileChannel.MapMode.READ_ONLY, start, length);
+                    int end = lastLineEnd(chunk, (int)length);
+                    while (end < 0 && start + length < fileSize) {
+                        // A line larger than the chunk
+                        length = Math.min(length * 2, fileSize - start);
+                        chunk = input.map(FileChannel.MapMode.READ_ONLY, start, length);
+                        end = lastLineEnd(chunk, (int)length);
+                    }
+
+                    if (end < 0 || start + length == fileSize) {
+                        end = (int)length;
+                    }
+
+                    chunk.limit(end);
+                    addChunk(chunk, 0);
+                    start += end;
+                }
+            }
+        }
+
+        /**
+         * Splits the trace read from a stream into chunks of whole lines.
+         */
+        private void readChunks(final InputStream input, final int file) throws IOException {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            int length = 0;
+            int read;
+            while ((read = input.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+                if (length < buffer.length) {
+                    continue;
+                }
+
+                final int end = lastLineEnd(ByteBuffer.wrap(buffer), length);
+                if (end < 0) {
+                    // A line larger than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+
+                final byte[] next = new byte[Math.max(CHUNK_SIZE, length - end)];
+                System.arraycopy(buffer, end, next, 0, length - end);
+                addChunk(ByteBuffer.wrap(buffer, 0, end), file);
+                buffer = next;
+                length -= end;
+            }
+
+            if (length > 0) {
+                addChunk(ByteBuffer.wrap(buffer, 0, length), file);
+            }
+        }
+
+        /**
+         * Gets the position after the last line break inside a buffer,
+         * or -1 if there is no line break.
+         */
+        private static int lastLineEnd(final ByteBuffer buffer, final int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+
+            return -1;
+        }
+
+        private void addChunk(final ByteBuffer chunk, final int file) throws IOException {
+            pendingChunks.add(chunk);
+            pendingChunkFiles.add(file);
+            if (pendingChunks.size() >= maxPendingChunks) {
+                parsePendingChunks();
+            }
+        }
+
+        /**
+         * Parses the pending chunks in parallel and writes them, in order, as blocks of the cache file.
+         */
+        private void parsePendingChunks() throws IOException {
+            final List<Integer> indexes = new ArrayList<>(pendingChunks.size());
+            for (int i = 0; i < pendingChunks.size(); i++) {
+                indexes.add(i);
+            }
+
+            final List<Chunk> parsed =
+                indexes.parallelStream()
+                       .map(i -> parseChunk(pendingChunks.get(i), pendingChunkFiles.get(i)))
+                       .collect(toList());
+            pendingChunks.clear();
+            pendingChunkFiles.clear();
+
+            for (final Chunk chunk : parsed) {
+                writeBlock(chunk);
+            }
+        }
+
+        private Chunk parseChunk(final ByteBuffer buffer, final int file) {
+            final Chunk chunk = new Chunk(file);
+            final int[] fieldStarts = new int[maxField];
+            final int[] fieldEnds = new int[maxField];
+            final int start = buffer.position();
+            final int end = buffer.limit();
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                parseLine(buffer, lineStart, lineEnd, fieldStarts, fieldEnds, chunk);
+                lineStart = lineEnd + 1;
+            }
+
+            return chunk;
+        }
+
+        /**
+         * Parses a line in the same way as {@link WorkloadFileReader} does, adding the job to the chunk
+         * if the line isn't a comment and has all the expected fields.
+         */
+        private void parseLine(
+            final ByteBuffer buffer, final int start, final int end,
+            final int[] fieldStarts, final int[] fieldEnds, final Chunk chunk)
+        {
+            if (isComment(buffer, start, end)) {
+                return;
+            }
+
+            int count = 0;
+            int i = start;
+            while (count < maxField) {
+                while (i < end && isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+
+                if (i == end) {
+                    return;
+                }
+
+                fieldStarts[count] = i;
+                while (i < end && !isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+                fieldEnds[count++] = i;
+            }
+
+            final int jobId = jobNumField < 0 ? 0 : (int)parseField(buffer, fieldStarts[jobNumField], fieldEnds[jobNumField]);
+            final long submitTime = (int)parseField(buffer, fieldStarts[submitTimeField], fieldEnds[submitTimeField]);
+            int runTime = (int)parseField(buffer, fieldStarts[runTimeField], fieldEnds[runTimeField]);
+            if (runTime <= 0) {
+                runTime = 1;
+            }
+
+            int numProc = (int)parseField(buffer, fieldStarts[reqNumProcField], fieldEnds[reqNumProcField]);
+            if (numProc == -1 || numProc == 0) {
+                numProc = (int)parseField(buffer, fieldStarts[numProcField], fieldEnds[numProcField]);
+            }
+
+            if (numProc <= 0) {
+                numProc = 1;
+            }
+
+            chunk.add(jobId, submitTime, runTime, numProc);
+        }
+
+        private boolean isComment(final ByteBuffer buffer, final int start, final int end) {
+            if (end - start < comment.length) {
+                return false;
+            }
+
+            for (int i = 0; i < comment.length; i++) {
+                if (buffer.get(start + i) != comment[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static boolean isWhitespace(final byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+        }
+
+        private static long parseField(final ByteBuffer buffer, final int start, final int end) {
+            int i = start;
+            final boolean negative = buffer.get(i) == '-';
+            if (negative || buffer.get(i) == '+') {
+                i++;
+            }
+
+            if (i == end) {
+                throw invalidField(buffer, start, end);
+            }
+
+            long value = 0;
+            for (; i < end; i++) {
+                final int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalidField(buffer, start, end);
+                }
+                value = value * 10 + digit;
+            }
+
+            return negative ? -value : value;
+        }
+
+        private static NumberFormatException invalidField(final ByteBuffer buffer, final int start, final int end) {
+            final byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = buffer.get(i);
+            }
+            return new NumberFormatException("For input string: \"" + new String(bytes, StandardCharsets.UTF_8) + "\"");
+        }
+
+        /**
+         * Writes the jobs of a chunk as a block with one column for each job attribute.
+         */
+        private void writeBlock(final Chunk chunk) throws IOException {
+            if (chunk.rows == 0) {
+                return;
+            }
+
+            final ByteBuffer block = ByteBuffer.allocate(chunk.rows * ROW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            block.asLongBuffer().put(chunk.submitTimes, 0, chunk.rows);
+            block.position(chunk.rows * Long.BYTES);
+            putColumn(block, chunk.jobIds, chunk.rows);
+            putColumn(block, chunk.runTimes, chunk.rows);
+            putColumn(block, chunk.pes, chunk.rows);
+            block.flip();
+
+            directory.add(new long[]{channel.position(), chunk.rows, chunk.file});
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+        }
+
+        private static void putColumn(final ByteBuffer block, final int[] column, final int rows) {
+            block.asIntBuffer().put(column, 0, rows);
+            block.position(block.position() + rows * Integer.BYTES);
+        }
+
+        /**
+         * Writes the directory of blocks and the footer, which identifies
+         * the trace file and fields layout the cache was built from.
+         */
+        private void writeFooter(final long[] fingerprint) throws IOException {
+            final ByteBuffer buffer =
+                ByteBuffer.allocate(directory.size() * DIRECTORY_ENTRY_SIZE + FOOTER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (final long[] entry : directory) {
+                buffer.putLong(entry[0]).putInt((int)entry[1]).putInt((int)entry[2]);
+            }
+
+            buffer.putInt(MAGIC).putInt(VERSION)
+                  .putLong(fingerprint[0]).putLong(fingerprint[1]).putLong(fingerprint[2])
+                  .putInt(directory.size()).putInt(0); // reserved
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -7,20 +7,16 @@
  */
 package org.cloudbus.cloudsim.util;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
@@ -142,9 +138,19 @@ public class WorkloadFileReader implements WorkloadReader {
     private final int IRRELEVANT = -1;
 
     /**
-     * A temp array storing all the fields read from a line of the trace file.
+     * The position where each field read from a line of the trace file starts.
      */
-    private String[] fieldArray;
+    private int[] fieldStarts;
+
+    /**
+     * The position where each field read from a line of the trace file ends (exclusive).
+     */
+    private int[] fieldEnds;
+
+    /**
+     * The submit time of the job in the last trace line parsed.
+     */
+    private long lastSubmitTime;
 
     /**
      * @see #getMaxLinesToRead()
@@ -153,6 +159,11 @@ public class WorkloadFileReader implements WorkloadReader {
 
     private Predicate<Cloudlet> predicate;
 
+    /**
+     * @see #getCacheFile()
+     */
+    private File cacheFile;
+
     /**
      * Gets a {@link WorkloadFileReader} object from a workload file
      * inside the application's resource directory.
@@ -220,10 +231,9 @@ public class WorkloadFileReader implements WorkloadReader {
 
     @Override
     public List<Cloudlet> generateWorkload() throws IOException {
-        if (cloudlets.isEmpty()) {
-            // create a temp array
-            fieldArray = new String[maxField];
-
+        if (cloudlets.isEmpty() && cacheFile != null) {
+            readCacheFile();
+        } else if (cloudlets.isEmpty()) {
                 /*@todo It would be implemented
                 using specific classes to avoid using ifs.
                 If a new format is included, the code has to be
@@ -240,6 +250,36 @@ public class WorkloadFileReader implements WorkloadReader {
         return cloudlets;
     }
 
+    /**
+     * Opens the workload file to read {@link Cloudlet}s one at a time,
+     * instead of {@link #generateWorkload() loading all of them} into memory.
+     * The {@link #setPredicate(Predicate) predicate} and the
+     * {@link #getMaxLinesToRead() maximum number of lines to read} are considered
+     * in the same way they are when the whole workload is generated.
+     *
+     * <p>Since the trace lines are parsed by this reader, only one stream
+     * should be read at a time.</p>
+     *
+     * @return a {@link WorkloadFileStream} which has to be closed after use
+     * @throws IOException if the there was any error opening the file
+     * @see WorkloadFileStreamer
+     */
+    public WorkloadFileStream openStream() throws IOException {
+        if (cacheFile != null) {
+            return new WorkloadFileStream(this, WorkloadFileCache.getInstance(this, cacheFile), 0);
+        }
+
+        if (file.getName().endsWith(".gz")) {
+            return new WorkloadFileStream(this, new GZIPInputStream(new FileInputStream(file)), 0);
+        }
+
+        if (file.getName().endsWith(".zip")) {
+            return new WorkloadFileStream(this, new ZipFile(file), 0);
+        }
+
+        return new WorkloadFileStream(this, new FileInputStream(file), 0);
+    }
+
     @Override
     public WorkloadReader setPredicate(Predicate<Cloudlet> predicate) {
         this.predicate = predicate;
@@ -375,34 +415,28 @@ public class WorkloadFileReader implements WorkloadReader {
      * a line from the trace file, and creates a cloudlet using this
      * information.
      *
-     * @param array the array of fields generated from a line of the trace file.
-     * @param lineNumber the line number
+     * The fields are the ones previously found by {@link #splitFields(String)}.
+     *
+     * @param line the line of the trace file
+     * @param nextId the ID to be assigned to the Cloudlet when the job number
+     *               isn't read from the trace file
      * @return the created Cloudlet
-     * @pre array != null
-     * @pre lineNumber > 0
+     * @pre line != null
+     * @pre nextId > 0
      */
-    private Cloudlet createCloudletFromTraceLine(final String[] array, final int lineNumber) {
-        Integer obj;
-
+    private Cloudlet createCloudletFromTraceLine(final String line, final int nextId) {
         // get the job number
-        int id;
-        if (jobNum == IRRELEVANT) {
-            id = cloudlets.size() + 1;
-        } else {
-            obj = Integer.valueOf(array[jobNum].trim());
-            id = obj;
-        }
+        final int id = jobNum == IRRELEVANT ? nextId : parseIntField(line, jobNum);
 
         // get the submit time
-        final Long l = Long.valueOf(array[submitTime].trim());
-        final long submitTime = l.intValue();
+        final long submitTime = (int)parseLongField(line, this.submitTime);
+        lastSubmitTime = submitTime;
 
         // if the required run time field is ignored, then use the actual run time
-        obj = Integer.valueOf(array[runTime].trim());
-        int runTime = obj;
+        int runTime = parseIntField(line, this.runTime);
 
-        final int userID = Integer.valueOf(array[userId].trim());
-        final int groupID = Integer.valueOf(array[groupId].trim());
+        final int userID = parseIntField(line, userId);
+        final int groupID = parseIntField(line, groupId);
 
         // according to the SWF manual, runtime of 0 is possible due
         // to rounding down. E.g. runtime is 0.4 seconds -> runtime = 0
@@ -411,15 +445,13 @@ public class WorkloadFileReader implements WorkloadReader {
         }
 
         // get the number of allocated processors
-        obj = Integer.valueOf(array[reqNumProc].trim());
-        int numProc = obj;
+        int numProc = parseIntField(line, reqNumProc);
 
         /* if the required num of allocated processors field is ignored
         or zero, then use the actual field
         */
         if (numProc == IRRELEVANT || numProc == 0) {
-            obj = Integer.valueOf(array[this.numProc].trim());
-            numProc = obj;
+            numProc = parseIntField(line, this.numProc);
         }
 
         // finally, check if the num of PEs required is valid or not
@@ -431,46 +463,152 @@ public class WorkloadFileReader implements WorkloadReader {
     }
 
     /**
-     * Breaks a line from the trace file into many fields into the
-     * {@link #fieldArray} and create a Cloudlet from it
+     * Creates a Cloudlet from a job read from a {@link WorkloadFileCache}
+     * if the {@link #setPredicate(Predicate) Predicate} is met.
+     * The job attributes were already normalized in the same way
+     * {@link #createCloudletFromTraceLine(String, int)} does when the cache was compiled.
+     *
+     * @param jobId the job number read from the trace file
+     * @param submitTime the submit time of the job
+     * @param runTime the run time of the job
+     * @param numProc the number of PEs required by the job
+     * @param nextId the ID to be assigned to the Cloudlet when the job number
+     *               isn't read from the trace file
+     * @return the created {@link Cloudlet} or {@link Cloudlet#NULL}
+     *         if the {@link #setPredicate(Predicate) Predicate} wasn't met
+     */
+    Cloudlet createCloudletFromCache(
+        final int jobId, final long submitTime, final int runTime,
+        final int numProc, final int nextId)
+    {
+        final int id = jobNum == IRRELEVANT ? nextId : jobId;
+        lastSubmitTime = submitTime;
+        final Cloudlet c = createCloudlet(id, submitTime, runTime, numProc, 0, 0);
+        return predicate.test(c) ? c : Cloudlet.NULL;
+    }
+
+    /**
+     * Breaks a line from the trace file into many fields
+     * and create a Cloudlet from it
      * if the {@link #setPredicate(Predicate) Predicate} is met
      * and the line is not commented.
      *
      * @param line    a line from the trace file
-     * @param lineNum the line number
+     * @param nextId the ID to be assigned to the Cloudlet when the job number
+     *               isn't read from the trace file
      * @return the created {@link Cloudlet} or {@link Cloudlet#NULL}
      *         if, after reading the trace line, the conditions
      *         to create the Cloudlet were not met or the line read
      *         was commented.
      * @pre line != null
-     * @pre lineNum > 0
+     * @pre nextId > 0
      * @post $none
      * @see #setPredicate(Predicate)
      */
-    private Cloudlet parseTraceLineAndCreateCloudlet(final String line, final int lineNum) {
+    Cloudlet parseTraceLineAndCreateCloudlet(final String line, final int nextId) {
         // skip a comment line
         if (line.startsWith(comment)) {
             return Cloudlet.NULL;
         }
 
-        final String[] sp = line.split("\\s+"); // split the fields based on a space
-        int index = 0; // the index of an array
+        //If all the fields could not be read, don't create the Cloudlet.
+        if (splitFields(line) < maxField) {
+            return Cloudlet.NULL;
+        }
 
-        // check for each field in the array
-        for (final String elem : sp) {
-            if (!elem.trim().isEmpty()) {
-                fieldArray[index] = elem;
-                index++;
+        final Cloudlet c = createCloudletFromTraceLine(line, nextId);
+        return predicate.test(c) ? c : Cloudlet.NULL;
+    }
+
+    /**
+     * Finds the position of the first {@link #maxField} whitespace-separated
+     * fields inside a line from the trace file, storing them into
+     * {@link #fieldStarts} and {@link #fieldEnds}.
+     * It doesn't use regular expressions nor creates a String for each field.
+     *
+     * @param line a line from the trace file
+     * @return the number of fields found, which is at most {@link #maxField}
+     */
+    private int splitFields(final String line) {
+        if (fieldStarts == null || fieldStarts.length != maxField) {
+            fieldStarts = new int[maxField];
+            fieldEnds = new int[maxField];
+        }
+
+        final int len = line.length();
+        int count = 0;
+        int i = 0;
+        while (count < maxField) {
+            while (i < len && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+
+            if (i == len) {
+                break;
             }
+
+            fieldStarts[count] = i;
+            while (i < len && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            fieldEnds[count++] = i;
         }
 
-        //If all the fields could not be read, don't create the Cloudlet.
-        if (index < maxField) {
-            return Cloudlet.NULL;
+        return count;
+    }
+
+    /**
+     * Parses an integer field from a line of the trace file.
+     *
+     * @param line the line of the trace file
+     * @param field the index of the field to parse
+     * @return the field value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    private int parseIntField(final String line, final int field) {
+        return (int)parseLongField(line, field);
+    }
+
+    /**
+     * Parses a long integer field from a line of the trace file,
+     * without creating a String for the field.
+     *
+     * @param line the line of the trace file
+     * @param field the index of the field to parse
+     * @return the field value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    private long parseLongField(final String line, final int field) {
+        final int start = fieldStarts[field];
+        final int end = fieldEnds[field];
+        int i = start;
+        final boolean negative = line.charAt(i) == '-';
+        if (negative || line.charAt(i) == '+') {
+            i++;
         }
 
-        final Cloudlet c = createCloudletFromTraceLine(fieldArray, lineNum);
-        return predicate.test(c) ? c : Cloudlet.NULL;
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            final int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Gets the submit time of the job in the last trace line parsed.
+     * @return
+     */
+    long getLastSubmitTime() {
+        return lastSubmitTime;
     }
 
     /**
@@ -478,20 +616,24 @@ public class WorkloadFileReader implements WorkloadReader {
      * in any supported format.
      *
      * @param inputStream the stream that is able to read data from a workload file
-     * @return <code>true</code> if successful, <code>false</code> otherwise.
      * @throws IOException           if the there was any error reading the file
      */
     private void readFile(final InputStream inputStream) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            int line = 1;
-            String readLine;
-            while ((readLine = readNextLine(reader, line)) != null) {
-                final Cloudlet c = parseTraceLineAndCreateCloudlet(readLine, line);
-                if(c != Cloudlet.NULL) {
-                    cloudlets.add(c);
-                    line++;
-                }
-            }
+        try (WorkloadFileStream stream = new WorkloadFileStream(this, inputStream, cloudlets.size())) {
+            stream.forEachRemaining(cloudlets::add);
+        }
+    }
+
+    /**
+     * Reads the jobs from the {@link #getCacheFile() cache file},
+     * compiling the trace file into the cache if it doesn't exist or is outdated.
+     *
+     * @throws IOException if the there was any error reading the trace or the cache file
+     */
+    private void readCacheFile() throws IOException {
+        final WorkloadFileCache cache = WorkloadFileCache.getInstance(this, cacheFile);
+        try (WorkloadFileStream stream = new WorkloadFileStream(this, cache, cloudlets.size())) {
+            stream.forEachRemaining(cloudlets::add);
         }
     }
 
@@ -526,33 +668,12 @@ public class WorkloadFileReader implements WorkloadReader {
      * @throws IOException if the there was any error reading the file
      */
     protected boolean readZipFile(final File fl) throws IOException {
-        try (ZipFile zipFile = new ZipFile(fl)) {
-            // ZipFile offers an Enumeration of all the files in the file
-            final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
-            while (zipEntries.hasMoreElements()) {
-                final ZipEntry zipEntry = zipEntries.nextElement();
-                readFile(zipFile.getInputStream(zipEntry));
-            }
+        try (WorkloadFileStream stream = new WorkloadFileStream(this, new ZipFile(fl), cloudlets.size())) {
+            stream.forEachRemaining(cloudlets::add);
             return true;
         }
     }
 
-    /**
-     * Reads the next line of the workload file.
-     *
-     * @param reader     the object that is reading the workload file
-     * @param lineNumber the number of the line that that will be read from the workload file
-     * @return the line read; or null if there isn't any more lines to read or if
-     * the number of lines read reached the {@link #getMaxLinesToRead()}
-     */
-    private String readNextLine(BufferedReader reader, int lineNumber) throws IOException {
-        if (reader.ready() && (maxLinesToRead == -1 || lineNumber <= maxLinesToRead)) {
-            return reader.readLine();
-        }
-
-        return null;
-    }
-
     /**
      * Gets the maximum number of lines of the workload file that will be read.
      * The value -1 indicates that all lines will be read, creating
@@ -575,6 +696,68 @@ public class WorkloadFileReader implements WorkloadReader {
         this.maxLinesToRead = maxLinesToRead;
     }
 
+    /**
+     * Gets the file where the jobs parsed from the workload file are cached,
+     * or null if no cache is used.
+     *
+     * @return
+     * @see #setCacheFile(File)
+     */
+    public File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Sets a file where the jobs parsed from the workload file will be cached,
+     * so that further executions don't need to parse the workload file again.
+     * The cache is compiled the first time the workload is read, or when
+     * the workload file or its fields layout changes.
+     * The {@link #setPredicate(Predicate) predicate} and the
+     * {@link #setMaxLinesToRead(int) maximum number of lines to read}
+     * are applied when the Cloudlets are created from the cache,
+     * thus the same cache can be used by readers with different values for them.
+     *
+     * @param cacheFile the cache file to set, or null to always parse the workload file
+     * @return
+     * @see WorkloadFileCache
+     */
+    public WorkloadFileReader setCacheFile(final File cacheFile) {
+        this.cacheFile = cacheFile;
+        return this;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    String getComment() {
+        return comment;
+    }
+
+    int getMaxField() {
+        return maxField;
+    }
+
+    int getJobNumField() {
+        return jobNum;
+    }
+
+    int getSubmitTimeField() {
+        return submitTime;
+    }
+
+    int getRunTimeField() {
+        return runTime;
+    }
+
+    int getNumProcField() {
+        return numProc;
+    }
+
+    int getReqNumProcField() {
+        return reqNumProc;
+    }
+
     /**
      * Gets the MIPS capacity of the PEs from the VM where each created Cloudlet is supposed to run.
      * Considering the workload file provides the run time for each
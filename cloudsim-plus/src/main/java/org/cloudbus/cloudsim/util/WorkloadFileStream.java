@@ -0,0 +1,296 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads {@link Cloudlet}s from a workload file one at a time, as they are requested,
+ * instead of loading the entire workload into memory.
+ * Trace lines are parsed by a {@link WorkloadFileReader}, which defines
+ * the format of the file, the {@link WorkloadFileReader#setPredicate(java.util.function.Predicate) predicate}
+ * to select the jobs to read and the {@link WorkloadFileReader#getMaxLinesToRead() maximum number of lines to read}
+ * from each file.
+ *
+ * <p>When the reader has a {@link WorkloadFileReader#setCacheFile(java.io.File) cache file},
+ * jobs are read from the {@link WorkloadFileCache} instead of parsing the trace file.</p>
+ *
+ * <p>Instances are created by {@link WorkloadFileReader#openStream()} and must be closed after use.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ * @see WorkloadFileStreamer
+ */
+public final class WorkloadFileStream implements Iterator<Cloudlet>, Closeable {
+    private final WorkloadFileReader workloadReader;
+
+    /**
+     * The zip file containing the trace files to read, or null if a single trace file is read.
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * The entries of the {@link #zipFile} which weren't read yet, or null if a single trace file is read.
+     */
+    private final Enumeration<? extends ZipEntry> zipEntries;
+
+    /**
+     * The cache to read jobs from, or null if jobs are read from the trace file.
+     */
+    private final WorkloadFileCache cache;
+
+    /**
+     * The index of the {@link #cache} block and of the row inside it holding the next job to read.
+     */
+    private int cacheBlock;
+    private int cacheRow;
+
+    /**
+     * The reader of the trace file being read, or null if there are no more files to read.
+     */
+    private BufferedReader input;
+
+    /**
+     * The number of Cloudlets created from the trace file being read.
+     */
+    private int cloudletsFromCurrentFile;
+
+    /**
+     * The number of Cloudlets created so far.
+     */
+    private int cloudletsCreated;
+
+    /**
+     * The Cloudlet to be returned by the next call to {@link #next()},
+     * or null if it wasn't read yet.
+     */
+    private Cloudlet nextCloudlet;
+    private long nextSubmitTime;
+
+    /**
+     * @see #getSubmitTime()
+     */
+    private long submitTime;
+
+    /**
+     * Creates a stream to read a single trace file.
+     *
+     * @param workloadReader the reader used to parse the trace lines
+     * @param inputStream the stream to read the trace file
+     * @param cloudletsCreated the number of Cloudlets previously created,
+     *                         used to generate IDs when the job number isn't read from the file
+     */
+    WorkloadFileStream(final WorkloadFileReader workloadReader, final InputStream inputStream, final int cloudletsCreated) {
+        this.workloadReader = workloadReader;
+        this.zipFile = null;
+        this.zipEntries = null;
+        this.cache = null;
+        this.cloudletsCreated = cloudletsCreated;
+        this.input = new BufferedReader(new InputStreamReader(inputStream));
+    }
+
+    /**
+     * Creates a stream to read all trace files inside a zip file.
+     *
+     * @param workloadReader the reader used to parse the trace lines
+     * @param zipFile the zip file containing the trace files
+     * @param cloudletsCreated the number of Cloudlets previously created,
+     *                         used to generate IDs when the job number isn't read from the file
+     * @throws IOException if the there was any error reading the zip file
+     */
+    WorkloadFileStream(final WorkloadFileReader workloadReader, final ZipFile zipFile, final int cloudletsCreated) throws IOException {
+        this.workloadReader = workloadReader;
+        this.zipFile = zipFile;
+        this.zipEntries = zipFile.entries();
+        this.cache = null;
+        this.cloudletsCreated = cloudletsCreated;
+        openNextZipEntry();
+    }
+
+    /**
+     * Creates a stream to read the jobs stored into a {@link WorkloadFileCache}.
+     *
+     * @param workloadReader the reader used to create Cloudlets from the cached jobs
+     * @param cache the cache of the trace file
+     * @param cloudletsCreated the number of Cloudlets previously created,
+     *                         used to generate IDs when the job number isn't read from the file
+     */
+    WorkloadFileStream(final WorkloadFileReader workloadReader, final WorkloadFileCache cache, final int cloudletsCreated) {
+        this.workloadReader = workloadReader;
+        this.zipFile = null;
+        this.zipEntries = null;
+        this.cache = cache;
+        this.cloudletsCreated = cloudletsCreated;
+    }
+
+    /**
+     * Opens the next trace file inside the {@link #zipFile}, if there is one.
+     */
+    private void openNextZipEntry() throws IOException {
+        input = null;
+        if (zipEntries.hasMoreElements()) {
+            input = new BufferedReader(new InputStreamReader(zipFile.getInputStream(zipEntries.nextElement())));
+            cloudletsFromCurrentFile = 0;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return nextCloudlet != null || readNextCloudlet();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Cloudlet next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Cloudlet cloudlet = nextCloudlet;
+        submitTime = nextSubmitTime;
+        nextCloudlet = null;
+        return cloudlet;
+    }
+
+    /**
+     * Gets the submit time, read from the trace file, of the job
+     * represented by the last Cloudlet returned by {@link #next()}.
+     *
+     * @return the submit time (in seconds)
+     */
+    public long getSubmitTime() {
+        return submitTime;
+    }
+
+    /**
+     * Reads trace lines until a Cloudlet is created or there are no more lines to read.
+     *
+     * @return true if a Cloudlet was created, false if there are no more Cloudlets to read
+     */
+    private boolean readNextCloudlet() throws IOException {
+        if (cache != null) {
+            return readNextCachedCloudlet();
+        }
+
+        while (input != null) {
+            String line;
+            while ((line = readNextLine()) != null) {
+                final Cloudlet cloudlet = workloadReader.parseTraceLineAndCreateCloudlet(line, cloudletsCreated + 1);
+                if (cloudlet != Cloudlet.NULL) {
+                    cloudletsFromCurrentFile++;
+                    cloudletsCreated++;
+                    nextCloudlet = cloudlet;
+                    nextSubmitTime = workloadReader.getLastSubmitTime();
+                    return true;
+                }
+            }
+
+            input.close();
+            if (zipFile == null) {
+                input = null;
+            } else {
+                openNextZipEntry();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads jobs from the {@link #cache} until a Cloudlet is created or there are no more jobs to read.
+     * Since the cache stores all jobs from the trace file, the maximum number of lines to read
+     * is applied to each trace file the cached blocks were read from.
+     *
+     * @return true if a Cloudlet was created, false if there are no more Cloudlets to read
+     */
+    private boolean readNextCachedCloudlet() {
+        final int maxLinesToRead = workloadReader.getMaxLinesToRead();
+        for (; cacheBlock < cache.getNumberOfBlocks(); cacheBlock++, cacheRow = 0) {
+            final int rows = cache.getBlockRows(cacheBlock);
+            if (cacheRow == 0 && cacheBlock > 0 && cache.getBlockFile(cacheBlock) != cache.getBlockFile(cacheBlock - 1)) {
+                cloudletsFromCurrentFile = 0;
+            }
+
+            while (cacheRow < rows && (maxLinesToRead == -1 || cloudletsFromCurrentFile < maxLinesToRead)) {
+                final int row = cacheRow++;
+                final Cloudlet cloudlet = workloadReader.createCloudletFromCache(
+                    cache.getJobId(cacheBlock, row), cache.getSubmitTime(cacheBlock, row),
+                    cache.getRunTime(cacheBlock, row), cache.getPes(cacheBlock, row), cloudletsCreated + 1);
+                if (cloudlet != Cloudlet.NULL) {
+                    cloudletsFromCurrentFile++;
+                    cloudletsCreated++;
+                    nextCloudlet = cloudlet;
+                    nextSubmitTime = workloadReader.getLastSubmitTime();
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the next line of the trace file being read.
+     *
+     * @return the line read; or null if there isn't any more lines to read or if
+     * the number of Cloudlets created from the file reached the {@link WorkloadFileReader#getMaxLinesToRead()}
+     */
+    private String readNextLine() throws IOException {
+        final int maxLinesToRead = workloadReader.getMaxLinesToRead();
+        if (input.ready() && (maxLinesToRead == -1 || cloudletsFromCurrentFile < maxLinesToRead)) {
+            return input.readLine();
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (input != null) {
+                input.close();
+                input = null;
+            }
+        } finally {
+            if (zipFile != null) {
+                zipFile.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An entity that reads jobs from a workload file through a {@link WorkloadFileStream}
+ * and submits them as {@link Cloudlet}s to a {@link DatacenterBroker} just in time,
+ * as the simulation clock approaches the submit time of each job.
+ * This way, the memory required to run the simulation doesn't depend on the size of the workload file.
+ *
+ * <p>Every time it wakes up, the streamer submits the jobs whose submit time is
+ * inside a lookahead window starting at the current simulation time.
+ * Each Cloudlet has its {@link Cloudlet#getSubmissionDelay() submission delay} set
+ * so that it arrives at the submit time read from the trace file.
+ * The first job after the window is submitted as well, keeping the broker
+ * from destroying idle VMs while the next jobs aren't submitted.
+ * Then, the streamer schedules itself to wake up when the lookahead window reaches such a job.</p>
+ *
+ * <p>The submit time of the jobs in the workload file is considered to be
+ * an absolute simulation time, in seconds. Jobs are expected to be
+ * sorted by submit time, as defined by the Standard Workload Format.
+ * Jobs whose submit time has already passed are submitted with no delay.</p>
+ *
+ * <p>To keep memory usage independent of the number of jobs, finished Cloudlets
+ * shouldn't be retained either, which can be defined by
+ * {@link DatacenterBroker#setMaxFinishedCloudlets(int)} and
+ * {@link org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler#setMaxFinishedCloudlets(int)}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public class WorkloadFileStreamer extends CloudSimEntity {
+    /**
+     * The default size of the lookahead window (in seconds).
+     * @see #getLookahead()
+     */
+    public static final double DEFAULT_LOOKAHEAD = 3600;
+
+    private final WorkloadFileReader workloadReader;
+    private final DatacenterBroker broker;
+
+    /**
+     * @see #getLookahead()
+     */
+    private final double lookahead;
+
+    /**
+     * The stream reading the workload file, or null if it isn't open.
+     */
+    private WorkloadFileStream stream;
+
+    /**
+     * The next Cloudlet read from the workload file which wasn't submitted yet,
+     * or null if there are no more Cloudlets to read.
+     */
+    private Cloudlet nextCloudlet;
+    private long nextSubmitTime;
+
+    /**
+     * @see #getSubmittedCloudlets()
+     */
+    private long submittedCloudlets;
+
+    /**
+     * Creates a streamer using the {@link #DEFAULT_LOOKAHEAD default lookahead window}.
+     *
+     * @param simulation the CloudSim instance that represents the simulation the Entity is related to
+     * @param workloadReader the reader that defines the workload file and its format
+     * @param broker the broker to submit the Cloudlets to
+     */
+    public WorkloadFileStreamer(
+        final Simulation simulation,
+        final WorkloadFileReader workloadReader,
+        final DatacenterBroker broker)
+    {
+        this(simulation, workloadReader, broker, DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * Creates a streamer.
+     *
+     * @param simulation the CloudSim instance that represents the simulation the Entity is related to
+     * @param workloadReader the reader that defines the workload file and its format
+     * @param broker the broker to submit the Cloudlets to
+     * @param lookahead the size of the lookahead window (in seconds)
+     * @throws IllegalArgumentException if the lookahead is negative
+     */
+    public WorkloadFileStreamer(
+        final Simulation simulation,
+        final WorkloadFileReader workloadReader,
+        final DatacenterBroker broker,
+        final double lookahead)
+    {
+        super(simulation);
+        if (lookahead < 0) {
+            throw new IllegalArgumentException("Lookahead cannot be negative.");
+        }
+
+        this.workloadReader = Objects.requireNonNull(workloadReader);
+        this.broker = Objects.requireNonNull(broker);
+        this.lookahead = lookahead;
+    }
+
+    @Override
+    protected void startEntity() {
+        try {
+            stream = workloadReader.openStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        readNextCloudlet();
+        submitCloudlets();
+    }
+
+    @Override
+    public void processEvent(final SimEvent ev) {
+        if (ev.getTag() == CloudSimTags.WORKLOAD_READ) {
+            submitCloudlets();
+        }
+    }
+
+    /**
+     * Submits to the broker the Cloudlets inside the lookahead window
+     * and the first Cloudlet after it, then schedules the next submission.
+     */
+    private void submitCloudlets() {
+        final double clock = getSimulation().clock();
+        final double windowEnd = clock + lookahead;
+        final List<Cloudlet> list = new ArrayList<>();
+        long lastSubmitTime = 0;
+        while (nextCloudlet != null) {
+            nextCloudlet.setSubmissionDelay(Math.max(0, nextSubmitTime - clock));
+            list.add(nextCloudlet);
+            lastSubmitTime = nextSubmitTime;
+            readNextCloudlet();
+            if (lastSubmitTime > windowEnd) {
+                break;
+            }
+        }
+
+        if (!list.isEmpty()) {
+            submittedCloudlets += list.size();
+            printFormattedLine(
+                "%.2f: %s: Submitting %d Cloudlets read from the workload file to %s.",
+                clock, getName(), list.size(), broker.getName());
+            broker.submitCloudletList(list);
+        }
+
+        if (nextCloudlet != null) {
+            schedule(getId(), lastSubmitTime - windowEnd, CloudSimTags.WORKLOAD_READ);
+        }
+    }
+
+    /**
+     * Reads the next Cloudlet from the workload file,
+     * closing the file when there are no more Cloudlets to read.
+     */
+    private void readNextCloudlet() {
+        if (stream.hasNext()) {
+            nextCloudlet = stream.next();
+            nextSubmitTime = stream.getSubmitTime();
+            return;
+        }
+
+        nextCloudlet = null;
+        closeStream();
+    }
+
+    private void closeStream() {
+        if (stream == null) {
+            return;
+        }
+
+        try {
+            stream.close();
+            stream = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void shutdownEntity() {
+        closeStream();
+    }
+
+    /**
+     * Gets the size of the lookahead window (in seconds), which defines how far
+     * from the current simulation time the streamer reads jobs from the workload file.
+     * Larger windows make the streamer wake up less frequently, but keep more Cloudlets in memory.
+     *
+     * @return
+     */
+    public double getLookahead() {
+        return lookahead;
+    }
+
+    /**
+     * Gets the number of Cloudlets submitted to the broker so far.
+     * @return
+     */
+    public long getSubmittedCloudlets() {
+        return submittedCloudlets;
+    }
+
+    /**
+     * Gets the broker to which the Cloudlets are submitted.
+     * @return
+     */
+    public DatacenterBroker getBroker() {
+        return broker;
+    }
+}
@@ -0,0 +1,73 @@
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A read-only view of the CPU utilization percentages read from a
+ * <a href="https://www.planet-lab.org">PlanetLab</a> trace file,
+ * where each line of the file is the utilization percentage for a different time interval.
+ * The same trace is shared by all {@link UtilizationModelPlanetLab} instances
+ * using the same file.
+ *
+ * <p>Instances are provided by the {@link PlanetLabTraceStore}, which stores
+ * the percentages as floats, either into the heap or into a memory-mapped file.
+ * Since percentages are integers, they are stored without any precision loss.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public final class PlanetLabTrace {
+    /**
+     * The utilization percentages, which must be accessed
+     * just by absolute methods, so that the buffer can be shared by multiple threads.
+     */
+    private final FloatBuffer percentages;
+
+    /**
+     * A hash of the {@link #percentages}, used to find traces with the same content.
+     */
+    private final int hash;
+
+    PlanetLabTrace(final FloatBuffer percentages) {
+        this.percentages = percentages.asReadOnlyBuffer();
+        this.hash = percentages.hashCode();
+    }
+
+    /**
+     * Gets the number of utilization values in the trace.
+     * @return
+     */
+    public int size() {
+        return percentages.limit();
+    }
+
+    /**
+     * Gets a utilization value from the trace.
+     *
+     * @param index the index of the value (the line in the trace file)
+     * @return the utilization, in scale from 0 to 1
+     */
+    public double getUtilization(final int index) {
+        return percentages.get(index) / 100.0;
+    }
+
+    /**
+     * Checks if the values are stored into a memory-mapped file, instead of the heap.
+     * @return
+     */
+    public boolean isMapped() {
+        return percentages.isDirect();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof PlanetLabTrace &&
+               hash == ((PlanetLabTrace) obj).hash &&
+               percentages.equals(((PlanetLabTrace) obj).percentages);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
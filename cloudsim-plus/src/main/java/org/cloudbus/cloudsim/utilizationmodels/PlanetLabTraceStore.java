@@ -0,0 +1,347 @@
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide store of <a href="https://www.planet-lab.org">PlanetLab</a> traces,
+ * which parses each trace file just once and shares the read-only {@link PlanetLabTrace}
+ * among all {@link UtilizationModelPlanetLab} instances using it.
+ * Traces are identified by the canonical path of their files and are read again
+ * if a file is changed. Files having the same content share the same values.
+ *
+ * <p>If a {@link #setMappedCacheDir(File) mapped cache directory} is set,
+ * each trace file is converted just once to a binary file of floats, which is memory-mapped,
+ * so that the values are neither parsed again nor stored into the heap,
+ * even among different executions.</p>
+ *
+ * <p>All the traces inside a directory can be {@link #preload(File) preloaded in parallel}.
+ * The store is thread-safe.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 1.2.4
+ */
+public final class PlanetLabTraceStore {
+    private static final PlanetLabTraceStore INSTANCE = new PlanetLabTraceStore();
+
+    private static final int MAGIC = 0x504C5446;
+
+    /**
+     * The size of the header of mapped cache files (in bytes),
+     * storing the size and modification time of the trace file the cache was created from.
+     */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * A trace and the size and modification time of the file it was read from.
+     */
+    private static final class Entry {
+        private final long length;
+        private final long lastModified;
+        private final PlanetLabTrace trace;
+
+        private Entry(final File file, final PlanetLabTrace trace) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.trace = trace;
+        }
+
+        private boolean isUpToDate(final File file) {
+            return length == file.length() && lastModified == file.lastModified();
+        }
+    }
+
+    /**
+     * The traces read, where each key is the canonical path of the trace file.
+     */
+    private final Map<String, Entry> traces;
+
+    /**
+     * The canonical path of each path given to {@link #getTrace(String)},
+     * avoiding to compute it again when the same path is given.
+     */
+    private final Map<String, String> canonicalPaths;
+
+    /**
+     * The distinct traces read into the heap, used to share the values of files with the same content.
+     */
+    private final Map<PlanetLabTrace, PlanetLabTrace> distinctTraces;
+
+    /**
+     * @see #getMappedCacheDir()
+     */
+    private volatile File mappedCacheDir;
+
+    private PlanetLabTraceStore() {
+        this.traces = new ConcurrentHashMap<>();
+        this.canonicalPaths = new ConcurrentHashMap<>();
+        this.distinctTraces = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the store shared by the entire process.
+     * @return
+     */
+    public static PlanetLabTraceStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the trace from a given file, reading it if it wasn't read yet or was changed.
+     *
+     * @param inputPath the path of the PlanetLab trace file
+     * @return the read-only trace
+     * @throws NumberFormatException if a line of the file isn't an integer
+     * @throws IOException if the there was any error reading the file
+     */
+    public PlanetLabTrace getTrace(final String inputPath) throws IOException {
+        final File file = new File(getCanonicalPath(inputPath));
+        final Entry entry = traces.get(file.getPath());
+        if (entry != null && entry.isUpToDate(file)) {
+            return entry.trace;
+        }
+
+        try {
+            return traces.compute(file.getPath(), (path, old) -> old != null && old.isUpToDate(file) ? old : readEntry(file)).trace;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String getCanonicalPath(final String inputPath) throws IOException {
+        final String path = canonicalPaths.get(inputPath);
+        if (path != null) {
+            return path;
+        }
+
+        final String canonicalPath = new File(inputPath).getCanonicalPath();
+        canonicalPaths.put(inputPath, canonicalPath);
+        return canonicalPath;
+    }
+
+    /**
+     * Reads, in parallel, all the trace files inside a given directory.
+     *
+     * @param dir the directory containing PlanetLab trace files
+     * @return the number of traces read
+     * @throws NumberFormatException if a line of any file isn't an integer
+     * @throws IOException if the there was any error reading the files
+     */
+    public int preload(final File dir) throws IOException {
+        final File[] files = dir.listFiles(File::isFile);
+        if (files == null) {
+            throw new IOException("Unable to list the files in " + dir);
+        }
+
+        try {
+            Arrays.stream(files).parallel().forEach(this::getTraceUnchecked);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return files.length;
+    }
+
+    private PlanetLabTrace getTraceUnchecked(final File file) {
+        try {
+            return getTrace(file.getPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Entry readEntry(final File file) {
+        try {
+            final File dir = mappedCacheDir;
+            return new Entry(file, dir == null ? readTraceIntoHeap(file) : mapTrace(file, dir));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PlanetLabTrace readTraceIntoHeap(final File file) throws IOException {
+        final PlanetLabTrace trace = new PlanetLabTrace(FloatBuffer.wrap(parse(file)));
+        final PlanetLabTrace existing = distinctTraces.putIfAbsent(trace, trace);
+        return existing == null ? trace : existing;
+    }
+
+    /**
+     * Parses a trace file, where each line is an integer utilization percentage.
+     * The file is read at once and lines are parsed without creating a String for each one.
+     */
+    private static float[] parse(final File file) throws IOException {
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        float[] percentages = new float[289];
+        int size = 0;
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            if (size == percentages.length) {
+                percentages = Arrays.copyOf(percentages, size * 2);
+            }
+            percentages[size++] = parseLine(bytes, lineStart, lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd);
+            lineStart = lineEnd + 1;
+        }
+
+        return Arrays.copyOf(percentages, size);
+    }
+
+    private static int parseLine(final byte[] bytes, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && bytes[i] == '-';
+        if (negative || i < end && bytes[i] == '+') {
+            i++;
+        }
+
+        if (i == end) {
+            throw invalidLine(bytes, start, end);
+        }
+
+        int value = 0;
+        for (; i < end; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidLine(bytes, start, end);
+            }
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static NumberFormatException invalidLine(final byte[] bytes, final int start, final int end) {
+        return new NumberFormatException("For input string: \"" + new String(bytes, start, end - start) + "\"");
+    }
+
+    /**
+     * Maps the binary cache of a trace file, creating the cache if it doesn't exist or is outdated.
+     */
+    private static PlanetLabTrace mapTrace(final File file, final File dir) throws IOException {
+        final File cacheFile = getCacheFile(file, dir);
+        if (!isCacheUpToDate(file, cacheFile)) {
+            writeCache(file, cacheFile);
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, channel.size() - HEADER_SIZE);
+            return new PlanetLabTrace(buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+        }
+    }
+
+    /**
+     * Gets the cache file for a trace file, which includes the hash of the trace path,
+     * so that traces with the same name in different directories don't share the same cache.
+     */
+    private static File getCacheFile(final File file, final File dir) {
+        return new File(dir, String.format("%s-%08x.f32", file.getName(), file.getPath().hashCode()));
+    }
+
+    private static boolean isCacheUpToDate(final File file, final File cacheFile) throws IOException {
+        if (!cacheFile.exists() || cacheFile.length() < HEADER_SIZE) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // reads the entire header
+            }
+            header.flip();
+            return header.getInt() == MAGIC &&
+                   header.getInt() == (cacheFile.length() - HEADER_SIZE) / Float.BYTES &&
+                   header.getLong() == file.length() &&
+                   header.getLong() == file.lastModified();
+        }
+    }
+
+    private static void writeCache(final File file, final File cacheFile) throws IOException {
+        final float[] percentages = parse(file);
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + percentages.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(percentages.length).putLong(file.length()).putLong(file.lastModified());
+        buffer.asFloatBuffer().put(percentages);
+        buffer.rewind();
+
+        final File tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+        try {
+            try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
+    }
+
+    /**
+     * Gets the directory where trace files are converted to binary files which are memory-mapped,
+     * or null if traces are read into the heap.
+     * @return
+     */
+    public File getMappedCacheDir() {
+        return mappedCacheDir;
+    }
+
+    /**
+     * Sets the directory where trace files are converted to binary files which are memory-mapped,
+     * instead of reading the traces into the heap. Traces already read aren't affected.
+     *
+     * @param mappedCacheDir the directory to set, which is created if it doesn't exist;
+     *                       or null to read traces into the heap
+     * @return
+     * @throws IOException if the directory couldn't be created
+     */
+    public PlanetLabTraceStore setMappedCacheDir(final File mappedCacheDir) throws IOException {
+        if (mappedCacheDir != null) {
+            Files.createDirectories(mappedCacheDir.toPath());
+        }
+
+        this.mappedCacheDir = mappedCacheDir;
+        return this;
+    }
+
+    /**
+     * Gets the number of trace files read.
+     * @return
+     */
+    public int size() {
+        return traces.size();
+    }
+
+    /**
+     * Removes all traces from the store, so that they are read again when requested.
+     * Traces already used by {@link UtilizationModelPlanetLab} instances are kept by them.
+     */
+    public void clear() {
+        traces.clear();
+        distinctTraces.clear();
+        canonicalPaths.clear();
+    }
+
+    /**
+     * Removes the trace of a given file from the store.
+     *
+     * @param inputPath the path of the PlanetLab trace file
+     * @return true if the trace was in the store, false otherwise
+     * @throws IOException if the canonical path of the file couldn't be got
+     */
+    public boolean remove(final String inputPath) throws IOException {
+        return traces.remove(getCanonicalPath(inputPath)) != null;
+    }
+}
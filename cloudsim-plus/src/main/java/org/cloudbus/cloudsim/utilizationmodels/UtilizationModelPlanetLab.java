@@ -1,13 +1,14 @@
 package org.cloudbus.cloudsim.utilizationmodels;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 
 /**
  * Defines the resource utilization model based on a
  * <a href="https://www.planet-lab.org">PlanetLab</a>
  * Datacenter trace file.
+ * Trace files are read by the {@link PlanetLabTraceStore},
+ * so that each file is parsed just once, no matter how many
+ * instances use it.
  */
 public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
 
@@ -18,9 +19,15 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
 
     /**
      * The resource utilization data for an entire day, in intervals of 5
-     * minutes (5 min * 288 = 24 hours).
+     * minutes (5 min * 288 = 24 hours), which is shared by all instances
+     * using the same trace file.
      */
-    private final double[] data;
+    private final PlanetLabTrace trace;
+
+    /**
+     * The number of samples to read from the trace.
+     */
+    private final int dataSamples;
 
     /**
      * Instantiates a new PlanetLab resource utilization model from a trace
@@ -54,56 +61,37 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     {
         super();
         setSchedulingInterval(schedulingInterval);
-        data = readWorkloadFile(inputPath, dataSamples);
+        this.dataSamples = Math.max(2, dataSamples);
+        this.trace = PlanetLabTraceStore.getInstance().getTrace(inputPath);
     }
 
     /**
-     * Reads the planet lab workload file in which each one of its lines
-     * is a resource utilization percentage to be used for a different simulation time.
-     * The number of the line represents the simulation time to which
-     * the value in such a line will be used as a resource utilization percentage.
-     * For instance, the line 0 represents a resource utilization percentage for
-     * simulation time 0.
+     * Gets the utilization value for a given index of the trace, considering
+     * the trace file as if it had exactly {@link #dataSamples} lines.
+     * Missing lines have zero utilization and the last sample is a copy of the previous one.
      *
-     * @param inputPath the path to the workload file
-     * @param dataSamples the number of lines to read
-     * @return an array containing the lines read from the file
-     * @throws IOException
+     * @param index the index of the value (the line in the trace file)
+     * @return the utilization, in scale from 0 to 1
+     * @throws ArrayIndexOutOfBoundsException if the index is greater than or equal to the number of data samples
      */
-    private double[] readWorkloadFile(final String inputPath, int dataSamples) throws IOException {
-        dataSamples = Math.max(2, dataSamples);
-        double[] data = createEmptyArray(dataSamples);
-
-        try (BufferedReader input = new BufferedReader(new FileReader(inputPath))) {
-            final int n = data.length;
-            int i = 0;
-            String line;
-            while((line=input.readLine())!=null && i < n){
-                data[i++] = Integer.valueOf(line) / 100.0;
-            }
-            data[n - 1] = data[n - 2];
+    private double getData(final int index) {
+        if (index < 0 || index >= dataSamples) {
+            throw new ArrayIndexOutOfBoundsException(index);
         }
 
-        return data;
-    }
-
-    private double[] createEmptyArray(int size) {
-        double[] data = new double[size];
-        for (int i = 0; i < size; i++) {
-            data[i]=0;
-        }
-        return data;
+        final int i = index == dataSamples - 1 ? index - 1 : index;
+        return i < trace.size() ? trace.getUtilization(i) : 0;
     }
 
     @Override
     public double getUtilization(double time) {
         if (time % getSchedulingInterval() == 0) {
-            return data[(int) time / (int) getSchedulingInterval()];
+            return getData((int) time / (int) getSchedulingInterval());
         }
         final int time1 = (int) Math.floor(time / getSchedulingInterval());
         final int time2 = (int) Math.ceil(time / getSchedulingInterval());
-        final double utilization1 = data[time1];
-        final double utilization2 = data[time2];
+        final double utilization1 = getData(time1);
+        final double utilization2 = getData(time2);
         final double delta = (utilization2 - utilization1) / ((time2 - time1) * getSchedulingInterval());
         return utilization1 + delta * (time - time1 * getSchedulingInterval());
 
@@ -7,15 +7,17 @@
  */
 package org.cloudbus.cloudsim.vms.power;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.UtilizationHistory;
+import org.cloudbus.cloudsim.util.UtilizationHistoryBuffer;
 import org.cloudbus.cloudsim.vms.VmSimple;
 
 /**
@@ -46,9 +48,9 @@ public class PowerVm extends VmSimple {
     public static final int MAX_HISTORY_ENTRIES = 30;
 
     /**
-     * @see #getUtilizationHistory()
+     * @see #getUtilizationHistoryBuffer()
      */
-    private final List<Double> utilizationHistory = new LinkedList<>();
+    private final UtilizationHistoryBuffer utilizationHistory = new UtilizationHistoryBuffer(MAX_HISTORY_ENTRIES);
 
     /**
      * @see #getPreviousTime()
@@ -151,14 +153,8 @@ public class PowerVm extends VmSimple {
      * @return
      */
     public double getUtilizationMad() {
-        if (!getUtilizationHistory().isEmpty()) {
-            int n = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            double median = MathUtil.median(getUtilizationHistory());
-            double[] deviationSum = new double[n];
-            for (int i = 0; i < n; i++) {
-                deviationSum[i] = Math.abs(median - getUtilizationHistory().get(i));
-            }
-            return MathUtil.median(deviationSum);
+        if (!utilizationHistory.isEmpty()) {
+            return MathUtil.mad(utilizationHistory.toArray());
         }
 
         return 0;
@@ -169,11 +165,8 @@ public class PowerVm extends VmSimple {
      * @return
      */
     public double getUtilizationMean() {
-        if (!getUtilizationHistory().isEmpty()) {
-	        final int maxNumOfEntriesToAverage = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            final double usagePercentMean = getUtilizationHistory().stream()
-                .limit(maxNumOfEntriesToAverage)
-                .mapToDouble(usagePercent -> usagePercent)
+        if (!utilizationHistory.isEmpty()) {
+            final double usagePercentMean = utilizationHistoryStream()
                 .average()
                 .orElse(0);
 
@@ -189,12 +182,10 @@ public class PowerVm extends VmSimple {
      * @return the utilization variance in MIPS
      */
     public double getUtilizationVariance() {
-        if (!getUtilizationHistory().isEmpty()) {
+        if (!utilizationHistory.isEmpty()) {
 	        final double mean = getUtilizationMean();
-	        final int maxNumOfEntriesToAverage = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            return getUtilizationHistory().stream()
-                .limit(maxNumOfEntriesToAverage)
-                .mapToDouble(usagePercent -> usagePercent * getMips())
+            return utilizationHistoryStream()
+                .map(usagePercent -> usagePercent * getMips())
                 .map(usageValue -> usageValue - mean)
                 .map(usageValue -> usageValue*usageValue)
                 .average().orElse(0);
@@ -203,16 +194,23 @@ public class PowerVm extends VmSimple {
         return 0;
     }
 
+    /**
+     * Gets a stream of the CPU utilization percentage history values,
+     * in the reverse chronological order.
+     * @return
+     */
+    private DoubleStream utilizationHistoryStream() {
+        return IntStream.range(0, utilizationHistory.size()).mapToDouble(utilizationHistory::get);
+    }
+
     /**
      * Adds a CPU utilization percentage history value to the begining of the History List.
+     * If the history already has {@link #MAX_HISTORY_ENTRIES}, the oldest value is discarded.
      *
      * @param utilization the CPU utilization percentage to add
      */
     public void addUtilizationHistoryValue(final double utilization) {
-        utilizationHistory.add(0, utilization);
-        if (getUtilizationHistory().size() > MAX_HISTORY_ENTRIES) {
-            utilizationHistory.remove(MAX_HISTORY_ENTRIES);
-        }
+        utilizationHistory.add(utilization);
     }
 
     /**
@@ -222,10 +220,28 @@ public class PowerVm extends VmSimple {
      *
      * <p><b>The values are stored in the reverse chronological order.</b></p>
      *
+     * <p>The returned List is a view of the {@link #getUtilizationHistoryBuffer() history buffer},
+     * so no value is copied.</p>
+     *
      * @return
      */
     public List<Double> getUtilizationHistory() {
-	    return Collections.unmodifiableList(utilizationHistory);
+	    return utilizationHistory.asList();
+    }
+
+    /**
+     * Gets a <b>read-only</b> CPU utilization percentage history (between [0 and 1], where 1 is 100%)
+     * backed by a ring buffer of primitive values, which stores up to {@link #MAX_HISTORY_ENTRIES}.
+     * Each value is the CPU utilization percentage for
+     * a time interval equal to the {@link Datacenter#getSchedulingInterval()}.
+     *
+     * <p><b>The values are stored in the reverse chronological order.</b>
+     * New values are added by {@link #addUtilizationHistoryValue(double)}.</p>
+     *
+     * @return
+     */
+    public UtilizationHistory getUtilizationHistoryBuffer() {
+        return utilizationHistory;
     }
 
     /**
@@ -24,7 +24,6 @@
 package org.cloudsimplus.heuristics;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -33,6 +32,18 @@ import org.cloudbus.cloudsim.vms.Vm;
  * A possible solution for mapping a set of Cloudlets to a set of Vm's.
  * It represents a solution generated using a {@link Heuristic} implementation.
  *
+ * <p>The Cloudlets and VMs are indexed by their position in internal lists
+ * and the mapping is stored into an array, where each position contains
+ * the index of the VM assigned to the Cloudlet at the same index.
+ * The number of PEs required by the Cloudlets assigned to each VM is stored
+ * into primitive arrays and the solution cost is updated as Cloudlets
+ * are moved among VMs. This way, changing the VM of a Cloudlet
+ * just recomputes the cost of the two affected VMs.</p>
+ *
+ * <p>A cloned solution shares the lists of Cloudlets and VMs with the
+ * solution it was cloned from, just copying the primitive arrays.
+ * Such lists are only copied when a new Cloudlet or VM is added to one of these solutions.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @see Heuristic
  * @since CloudSim Plus 1.0
@@ -46,27 +57,65 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      */
     public static final double MIN_DIFF = 0.0001;
 
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The Cloudlets into the solution, where the position of each Cloudlet
+     * is its index into the {@link #cloudletVms} array.
+     */
+    private List<Cloudlet> cloudlets;
+
+    /**
+     * A map where each key is a Cloudlet and each value is its index into the {@link #cloudlets} list.
+     */
+    private Map<Cloudlet, Integer> cloudletIndexes;
+
+    /**
+     * The VMs into the solution, where the position of each VM
+     * is its index into the {@link #vmCloudletsPes} and {@link #vmCloudletsNumber} arrays.
+     */
+    private List<Vm> vms;
+
     /**
+     * A map where each key is a VM and each value is its index into the {@link #vms} list.
+     */
+    private Map<Vm, Integer> vmIndexes;
+
+    /**
+     * Indicates if the {@link #cloudlets} and {@link #vms} lists
+     * (and their indexes) are shared with other solutions,
+     * due to cloning, and must be copied before being changed.
+     */
+    private boolean sharedLists;
+
+    /**
+     * The index of the VM assigned to each Cloudlet.
      * @see #getResult()
      */
-    private final Map<Cloudlet, Vm> cloudletVmMap;
+    private int[] cloudletVms;
 
     /**
-     * Indicates if the {@link #getCost() ()} has to be recomputed
-     * due to changes in {@link #cloudletVmMap}.
-     * When it is computed, its value is stored to be used
-     * in subsequent calls, until the map is changed again, in order to
-     * improve performance.
+     * The total number of PEs required by the Cloudlets assigned to each VM.
      */
-    private boolean recomputeCost = true;
+    private long[] vmCloudletsPes;
 
     /**
-     * The last computed cost value, since the
-     * last time the {@link #cloudletVmMap} was changed.
+     * The number of Cloudlets assigned to each VM.
+     */
+    private int[] vmCloudletsNumber;
+
+    /**
+     * The cost of the current mapping, which is updated
+     * every time a Cloudlet is moved to another VM.
      * @see #getCost()
-     * @see #recomputeCost
      */
-    private double lastCost;
+    private double cost;
+
+    /**
+     * A read-only view of the mapping.
+     * @see #getResult()
+     */
+    private final Map<Cloudlet, Vm> result;
 
     private final Heuristic heuristic;
 
@@ -78,21 +127,38 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * being created.
      */
     public CloudletToVmMappingSolution(Heuristic heuristic){
-        this(heuristic, new HashMap<>());
-    }
-
-    private CloudletToVmMappingSolution(Heuristic heuristic, Map<Cloudlet, Vm> cloudletVmMap){
         this.heuristic = heuristic;
-        this.cloudletVmMap = cloudletVmMap;
+        this.cloudlets = new ArrayList<>();
+        this.cloudletIndexes = new HashMap<>();
+        this.vms = new ArrayList<>();
+        this.vmIndexes = new HashMap<>();
+        this.cloudletVms = new int[INITIAL_CAPACITY];
+        this.vmCloudletsPes = new long[INITIAL_CAPACITY];
+        this.vmCloudletsNumber = new int[INITIAL_CAPACITY];
+        this.result = new ResultMap();
     }
 
     /**
      * Clones a given solution.
+     * The primitive arrays storing the mapping are copied,
+     * while the lists of Cloudlets and VMs are shared until one of the solutions
+     * has a new Cloudlet or VM added.
      *
      * @param solution the solution to be cloned
      */
     public CloudletToVmMappingSolution(CloudletToVmMappingSolution solution){
-        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap));
+        this.heuristic = solution.heuristic;
+        this.cloudlets = solution.cloudlets;
+        this.cloudletIndexes = solution.cloudletIndexes;
+        this.vms = solution.vms;
+        this.vmIndexes = solution.vmIndexes;
+        this.sharedLists = true;
+        solution.sharedLists = true;
+        this.cloudletVms = Arrays.copyOf(solution.cloudletVms, solution.cloudletVms.length);
+        this.vmCloudletsPes = Arrays.copyOf(solution.vmCloudletsPes, solution.vmCloudletsPes.length);
+        this.vmCloudletsNumber = Arrays.copyOf(solution.vmCloudletsNumber, solution.vmCloudletsNumber.length);
+        this.cost = solution.cost;
+        this.result = new ResultMap();
     }
 
     /**
@@ -102,8 +168,101 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param vm the Vm to assign a cloudlet to
      */
     public void bindCloudletToVm(Cloudlet cloudlet, Vm vm){
-        cloudletVmMap.put(cloudlet, vm);
-        recomputeCost = true;
+        final int vmIndex = getOrAddVm(vm);
+        final Integer cloudletIndex = cloudletIndexes.get(cloudlet);
+        moveCloudlet(cloudletIndex == null ? addCloudlet(cloudlet) : cloudletIndex, vmIndex);
+    }
+
+    private int addCloudlet(final Cloudlet cloudlet) {
+        copySharedLists();
+        final int index = cloudlets.size();
+        cloudlets.add(cloudlet);
+        cloudletIndexes.put(cloudlet, index);
+        if(index == cloudletVms.length){
+            cloudletVms = Arrays.copyOf(cloudletVms, 2 * index);
+        }
+
+        cloudletVms[index] = -1;
+        return index;
+    }
+
+    private int getOrAddVm(final Vm vm) {
+        final Integer existingIndex = vmIndexes.get(vm);
+        if(existingIndex != null){
+            return existingIndex;
+        }
+
+        copySharedLists();
+        final int index = vms.size();
+        vms.add(vm);
+        vmIndexes.put(vm, index);
+        if(index == vmCloudletsPes.length){
+            vmCloudletsPes = Arrays.copyOf(vmCloudletsPes, 2 * index);
+            vmCloudletsNumber = Arrays.copyOf(vmCloudletsNumber, 2 * index);
+        }
+
+        return index;
+    }
+
+    /**
+     * Copies the lists of Cloudlets and VMs (and their indexes)
+     * if they are shared with other solutions, before changing them.
+     */
+    private void copySharedLists() {
+        if(!sharedLists){
+            return;
+        }
+
+        cloudlets = new ArrayList<>(cloudlets);
+        cloudletIndexes = new HashMap<>(cloudletIndexes);
+        vms = new ArrayList<>(vms);
+        vmIndexes = new HashMap<>(vmIndexes);
+        sharedLists = false;
+    }
+
+    /**
+     * Moves a Cloudlet to a given VM, updating the cost of the previous and the new VM.
+     *
+     * @param cloudletIndex the index of the Cloudlet to move
+     * @param vmIndex the index of the VM to move the Cloudlet to
+     */
+    private void moveCloudlet(final int cloudletIndex, final int vmIndex) {
+        final int previousVmIndex = cloudletVms[cloudletIndex];
+        if(previousVmIndex == vmIndex){
+            return;
+        }
+
+        final long pes = cloudlets.get(cloudletIndex).getNumberOfPes();
+        if(previousVmIndex >= 0) {
+            updateVmCloudlets(previousVmIndex, -pes, -1);
+        }
+
+        cloudletVms[cloudletIndex] = vmIndex;
+        updateVmCloudlets(vmIndex, pes, 1);
+    }
+
+    /**
+     * Updates the PEs and number of Cloudlets assigned to a VM,
+     * replacing its previous cost by the new one.
+     *
+     * @param vmIndex the index of the VM to update
+     * @param pes the number of PEs to add (or remove if negative)
+     * @param cloudletsNumber the number of Cloudlets to add (or remove if negative)
+     */
+    private void updateVmCloudlets(final int vmIndex, final long pes, final int cloudletsNumber) {
+        cost -= getVmCost(vmIndex);
+        vmCloudletsPes[vmIndex] += pes;
+        vmCloudletsNumber[vmIndex] += cloudletsNumber;
+        cost += getVmCost(vmIndex);
+    }
+
+    /**
+     * Gets the cost of a VM, which is zero if there is no Cloudlet assigned to it.
+     * @param vmIndex the index of the VM
+     * @return the VM cost
+     */
+    private double getVmCost(final int vmIndex) {
+        return vmCloudletsNumber[vmIndex] == 0 ? 0 : getVmCost(vms.get(vmIndex), vmCloudletsPes[vmIndex]);
     }
 
     @Override
@@ -114,36 +273,37 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     /**
      * {@inheritDoc}
      *
-     * It computes the cost of the entire mapping between Vm's and Cloudlets.
+     * It gets the cost of the entire mapping between Vm's and Cloudlets,
+     * which is updated every time the VM of a Cloudlet changes.
      *
      * @return {@inheritDoc}
      */
     @Override
     public double getCost() {
-        if(recomputeCost){
-	        final Map<Vm, List<Map.Entry<Cloudlet, Vm>>> cloudletsByVm =
-		        cloudletVmMap.entrySet().stream()
-			        .collect(Collectors.groupingBy(Map.Entry::getValue));
-
-	        lastCost = cloudletsByVm.entrySet().stream()
-		        .mapToDouble(e-> getVmCost(e.getKey(), e.getValue()))
-	            .sum();
-
-            recomputeCost = false;
-        }
-
-        return lastCost;
+        return cost;
     }
 
     /**
      * It computes the costs of the entire mapping between Vm's and cloudlets.
      *
-     * @param forceRecompute indicate if the cost has to be recomputed anyway
+     * @param forceRecompute indicate if the cost has to be recomputed anyway,
+     *                       considering the current number of PEs of every Cloudlet
      * @return the cost of the entire mapping between Vm's and cloudlets
      * @see #getCost()
      */
     public double getCost(boolean forceRecompute) {
-        recomputeCost |= forceRecompute;
+        if(forceRecompute){
+            Arrays.fill(vmCloudletsPes, 0);
+            for (int i = 0; i < cloudlets.size(); i++) {
+                vmCloudletsPes[cloudletVms[i]] += cloudlets.get(i).getNumberOfPes();
+            }
+
+            cost = 0;
+            for (int i = 0; i < vms.size(); i++) {
+                cost += getVmCost(i);
+            }
+        }
+
         return getCost();
     }
 
@@ -161,6 +321,20 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
 		    .mapToLong(e->e.getKey().getNumberOfPes())
 		    .sum();
 
+        return getVmCost(vm, totalCloudletsPes);
+    }
+
+    /**
+     * Computes the cost of a given Vm hosting Cloudlets that require
+     * a given number of PEs.
+     * The cost is the number of PEs from the VM that
+     * will be idle or overloaded.
+     *
+     * @param vm VM to compute the cost
+     * @param totalCloudletsPes the total number of PEs required by the Cloudlets hosted by the VM
+     * @return the VM cost to host the Cloudlets
+     */
+    protected double getVmCost(Vm vm, long totalCloudletsPes) {
         return Math.abs(vm.getNumberOfPes() - totalCloudletsPes);
     }
 
@@ -192,12 +366,12 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      */
     @Override
     public Map<Cloudlet, Vm> getResult() {
-        return Collections.unmodifiableMap(cloudletVmMap);
+        return result;
     }
 
     /**
      * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
+     * in the {@link #getResult() mapping} in order to
      * provide a neighbor solution.
      *
      * The method change the given Map entries, moving the
@@ -223,7 +397,7 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
 
     /**
      * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
+     * in the {@link #getResult() mapping} in order to
      * provide a neighbor solution.
      *
      * The method change the given Map entries, moving the
@@ -238,36 +412,108 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     }
 
     /**
-     * Try to get 2 randomly selected entries from the {@link #cloudletVmMap}.
+     * Try to get 2 randomly selected entries from the {@link #getResult() mapping}.
+     * Changing the value of a returned entry moves its Cloudlet to the given VM.
      *
-     * @return an array with 2 entries from the {@link #cloudletVmMap}
+     * @return an array with 2 entries from the {@link #getResult() mapping}
      * if the map has at least 2 entries, an unitary array if the map
      * has only one entry, or an empty array if there is no entry.
      *
      * @see #swapVmsOfTwoMapEntries(Map.Entry[])
      */
     protected Map.Entry<Cloudlet, Vm>[] getRandomMapEntries() {
-        if(cloudletVmMap.isEmpty())
+        final int size = cloudlets.size();
+        if(size == 0)
             return new Map.Entry[0];
 
-        if(cloudletVmMap.size() == 1) {
-            final Optional<Map.Entry<Cloudlet, Vm>> opt =
-                    cloudletVmMap.entrySet().stream().findFirst();
+        if(size == 1)
+            return new Map.Entry[]{new CloudletVmEntry(0)};
+
+        final int i = heuristic.getRandomValue(size);
+        final int j = heuristic.getRandomValue(size);
+        return new Map.Entry[]{new CloudletVmEntry(i), new CloudletVmEntry(j)};
+    }
+
+    /**
+     * An entry representing the VM assigned to a Cloudlet,
+     * where changing the entry value moves the Cloudlet to the given VM.
+     */
+    private final class CloudletVmEntry implements Map.Entry<Cloudlet, Vm> {
+        private final int cloudletIndex;
 
-            return opt.map(entry -> new Map.Entry[]{entry}).orElse(new Map.Entry[0]);
+        private CloudletVmEntry(final int cloudletIndex) {
+            this.cloudletIndex = cloudletIndex;
         }
 
-        final int size = cloudletVmMap.entrySet().size();
-        final Map.Entry<Cloudlet, Vm>[] selectedEntries = new Map.Entry[2];
-        final Map.Entry<Cloudlet, Vm>[] allEntries = new Map.Entry[size];
+        @Override
+        public Cloudlet getKey() {
+            return cloudlets.get(cloudletIndex);
+        }
 
-        final int i = heuristic.getRandomValue(size);
-        final int j = heuristic.getRandomValue(size);
-        cloudletVmMap.entrySet().toArray(allEntries);
-        selectedEntries[0] = allEntries[i];
-        selectedEntries[1] = allEntries[j];
-        return selectedEntries;
+        @Override
+        public Vm getValue() {
+            return vms.get(cloudletVms[cloudletIndex]);
+        }
+
+        @Override
+        public Vm setValue(final Vm vm) {
+            final Vm previousVm = getValue();
+            moveCloudlet(cloudletIndex, getOrAddVm(vm));
+            return previousVm;
+        }
     }
 
+    /**
+     * A read-only {@link Map} view of the mapping between Cloudlets and VMs,
+     * which finds the VM of a given Cloudlet in constant time.
+     */
+    private final class ResultMap extends AbstractMap<Cloudlet, Vm> {
+        @Override
+        public int size() {
+            return cloudlets.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return cloudletIndexes.containsKey(key);
+        }
+
+        @Override
+        public Vm get(final Object key) {
+            final Integer index = cloudletIndexes.get(key);
+            return index == null ? null : vms.get(cloudletVms[index]);
+        }
 
+        @Override
+        public Set<Entry<Cloudlet, Vm>> entrySet() {
+            return new AbstractSet<Entry<Cloudlet, Vm>>() {
+                @Override
+                public Iterator<Entry<Cloudlet, Vm>> iterator() {
+                    return new Iterator<Entry<Cloudlet, Vm>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < cloudlets.size();
+                        }
+
+                        @Override
+                        public Entry<Cloudlet, Vm> next() {
+                            if(!hasNext()){
+                                throw new NoSuchElementException();
+                            }
+
+                            final int i = index++;
+                            return new SimpleImmutableEntry<>(cloudlets.get(i), vms.get(cloudletVms[i]));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return cloudlets.size();
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,219 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the multi-dimensional bin packing {@link VmAllocationPolicy VM allocation policies},
+ * comparing the Host selected by each policy with the one selected by evaluating all Hosts.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class VmAllocationPolicyBinPackingAbstractTest {
+    private static final int HOST_MIPS = 1000;
+    private static final long HOST_RAM = 4096;
+    private static final long HOST_BW = 10000;
+    private static final long HOST_STORAGE = 100000;
+
+    private CloudSim simulation;
+    private DatacenterBroker broker;
+    private List<Host> hosts;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+        broker = new DatacenterBrokerSimple(simulation);
+        hosts = new ArrayList<>();
+    }
+
+    private Host createHost(final int pes, final long ram, final long bw, final long storage) {
+        final List<Pe> peList = new ArrayList<>(pes);
+        for (int i = 0; i < pes; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        final Host host = new HostSimple(ram, bw, storage, peList)
+            .setRamProvisioner(new ResourceProvisionerSimple())
+            .setBwProvisioner(new ResourceProvisionerSimple())
+            .setVmScheduler(new VmSchedulerSpaceShared());
+        host.setId(hosts.size());
+        hosts.add(host);
+        return host;
+    }
+
+    private Vm createVm(final int id, final int pes, final long ram, final long bw, final long storage) {
+        final Vm vm = new VmSimple(id, HOST_MIPS, pes)
+            .setRam(ram).setBw(bw).setSize(storage);
+        vm.setBroker(broker);
+        return vm;
+    }
+
+    private <T extends VmAllocationPolicyBinPackingAbstract> T createDatacenter(final T policy) {
+        new DatacenterSimple(simulation, new DatacenterCharacteristicsSimple(hosts), policy);
+        return policy;
+    }
+
+    @Test
+    public void allocateHostForVm_FirstFit_AllocatesFirstHostWhereVmFits() {
+        createHost(4, HOST_RAM, HOST_BW, HOST_STORAGE);
+        final Host expected = createHost(4, HOST_RAM * 2, HOST_BW, HOST_STORAGE);
+        createHost(4, HOST_RAM * 4, HOST_BW, HOST_STORAGE);
+        final VmAllocationPolicyFirstFit policy = createDatacenter(new VmAllocationPolicyFirstFit());
+
+        final Vm vm = createVm(0, 1, HOST_RAM + 1, 1000, 1000);
+        assertTrue(policy.allocateHostForVm(vm));
+        assertSame(expected, vm.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_BestFit_AllocatesHostWithLeastResidualCapacity() {
+        createHost(8, HOST_RAM * 4, HOST_BW, HOST_STORAGE);
+        final Host expected = createHost(2, HOST_RAM, HOST_BW, HOST_STORAGE);
+        createHost(4, HOST_RAM * 2, HOST_BW, HOST_STORAGE);
+        final VmAllocationPolicyBestFit policy = createDatacenter(new VmAllocationPolicyBestFit());
+
+        final Vm vm = createVm(0, 1, 1024, 1000, 1000);
+        assertTrue(policy.allocateHostForVm(vm));
+        assertSame(expected, vm.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_DotProduct_AllocatesHostWithCapacityAlignedToVmDemand() {
+        createHost(8, HOST_RAM, HOST_BW, HOST_STORAGE);
+        final Host expected = createHost(2, HOST_RAM * 4, HOST_BW, HOST_STORAGE);
+        final VmAllocationPolicyDotProduct policy = createDatacenter(new VmAllocationPolicyDotProduct());
+
+        final Vm vm = createVm(0, 1, HOST_RAM, 1, 1);
+        assertTrue(policy.allocateHostForVm(vm));
+        assertSame(expected, vm.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_WhenNoHostHasResourcesToRunVm() {
+        createHost(4, HOST_RAM, HOST_BW, HOST_STORAGE);
+        createHost(8, HOST_RAM / 2, HOST_BW, HOST_STORAGE);
+        final VmAllocationPolicyNormBased policy = createDatacenter(new VmAllocationPolicyNormBased());
+
+        final Vm vm = createVm(0, 6, HOST_RAM, 1000, 1000);
+        assertFalse(policy.allocateHostForVm(vm));
+    }
+
+    @Test
+    public void allocateHostForVm_FirstFit_WhenManyVmsAreAllocatedAndDeallocated() {
+        checkAllocationOfManyVms(VmAllocationPolicyFirstFit::new);
+    }
+
+    @Test
+    public void allocateHostForVm_BestFit_WhenManyVmsAreAllocatedAndDeallocated() {
+        checkAllocationOfManyVms(VmAllocationPolicyBestFit::new);
+    }
+
+    @Test
+    public void allocateHostForVm_DotProduct_WhenManyVmsAreAllocatedAndDeallocated() {
+        checkAllocationOfManyVms(VmAllocationPolicyDotProduct::new);
+    }
+
+    @Test
+    public void allocateHostForVm_NormBased_WhenManyVmsAreAllocatedAndDeallocated() {
+        checkAllocationOfManyVms(VmAllocationPolicyNormBased::new);
+    }
+
+    /**
+     * Allocates and deallocates batches of VMs sorted in decreasing order of size into heterogeneous Hosts,
+     * checking that the policy always selects the same Host found by evaluating all Hosts.
+     */
+    private void checkAllocationOfManyVms(final Supplier<VmAllocationPolicyBinPackingAbstract> policySupplier) {
+        final Random random = new Random(1);
+        for (int i = 0; i < 150; i++) {
+            createHost(2 + random.nextInt(7),
+                HOST_RAM * (1 + random.nextInt(4)), HOST_BW * (1 + random.nextInt(2)), HOST_STORAGE);
+        }
+        final VmAllocationPolicyBinPackingAbstract policy = createDatacenter(policySupplier.get());
+        final Comparator<Vm> comparator = policy.getDecreasingSizeVmComparator();
+
+        final List<Vm> createdVms = new ArrayList<>();
+        int id = 0;
+        for (int batch = 0; batch < 60; batch++) {
+            for (int i = 0; i < 4 && !createdVms.isEmpty(); i++) {
+                final Vm vm = createdVms.remove(random.nextInt(createdVms.size()));
+                policy.deallocateHostForVm(vm);
+                vm.setCreated(false);
+            }
+
+            final List<Vm> vms = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                vms.add(createVm(id++, 1 + random.nextInt(4),
+                    512 * (1 + random.nextInt(8)), 1000 * (1 + random.nextInt(4)), 10000 * (1 + random.nextInt(3))));
+            }
+            vms.sort(comparator);
+
+            for (final Vm vm : vms) {
+                final Host expectedHost = getBestHostWhereVmFits(policy, vm);
+                assertEquals(expectedHost != Host.NULL, policy.allocateHostForVm(vm));
+                if(expectedHost != Host.NULL) {
+                    assertSame(expectedHost, vm.getHost());
+                    vm.setCreated(true);
+                    createdVms.add(vm);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the Host with the lowest score where a VM fits, by traversing all Hosts.
+     * Hosts with the same score are selected according to their position in the Host list.
+     */
+    private Host getBestHostWhereVmFits(final VmAllocationPolicyBinPackingAbstract policy, final Vm vm) {
+        final double[] demand = policy.getDemand(vm);
+        final double[] residual = new double[demand.length];
+        Host selected = Host.NULL;
+        double selectedScore = Double.POSITIVE_INFINITY;
+        for (final Host host : hosts) {
+            policy.getResidualCapacity(host, residual);
+            boolean fits = host.isSuitableForVm(vm) && host.getVmScheduler().isSuitableForVm(vm);
+            for (int r = 0; r < demand.length; r++) {
+                fits = fits && residual[r] >= demand[r];
+            }
+
+            final double score = policy.getScore(demand, residual);
+            if(fits && score < selectedScore) {
+                selected = host;
+                selectedScore = score;
+            }
+        }
+
+        return selected;
+    }
+
+    @Test
+    public void getDecreasingSizeVmComparator_SortsLargerVmsFirst() {
+        createHost(8, HOST_RAM, HOST_BW, HOST_STORAGE);
+        final VmAllocationPolicyFirstFit policy = createDatacenter(new VmAllocationPolicyFirstFit());
+
+        final Vm small = createVm(0, 1, 512, 1000, 1000);
+        final Vm large = createVm(1, 4, 2048, 1000, 1000);
+        final Vm medium = createVm(2, 2, 1024, 1000, 1000);
+        final List<Vm> vms = new ArrayList<>(Arrays.asList(small, large, medium));
+        vms.sort(policy.getDecreasingSizeVmComparator());
+        assertEquals(Arrays.asList(large, medium, small), vms);
+    }
+}
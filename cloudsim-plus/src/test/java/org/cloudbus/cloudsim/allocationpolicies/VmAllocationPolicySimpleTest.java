@@ -38,15 +38,19 @@ public class VmAllocationPolicySimpleTest {
      * @return
      */
     private VmAllocationPolicySimple createVmAllocationPolicy(int[] freePesByHost) {
-        final Map<Host, Long> hostFreePesMap = new HashMap<>(freePesByHost.length);
         final List<Host> hosts = new ArrayList<>(freePesByHost.length);
         for(int i = 1; i <= freePesByHost.length; i++) {
-            final Host host = HostSimpleTest.createHostSimple(
-                i, freePesByHost[i-1], HOST_MIPS, HOST_RAM, HOST_BW, i*HOST_BASE_STORAGE);
-            hostFreePesMap.put(host, host.getNumberOfPes());
-            hosts.add(host);
+            hosts.add(HostSimpleTest.createHostSimple(
+                i, freePesByHost[i-1], HOST_MIPS, HOST_RAM, HOST_BW, i*HOST_BASE_STORAGE));
         }
 
+        return createVmAllocationPolicy(hosts);
+    }
+
+    private VmAllocationPolicySimple createVmAllocationPolicy(final List<Host> hosts) {
+        final Map<Host, Long> hostFreePesMap = new HashMap<>(hosts.size());
+        hosts.forEach(host -> hostFreePesMap.put(host, host.getNumberOfPes()));
+
         final VmAllocationPolicySimple policy = new VmAllocationPolicySimple();
         policy.setHostFreePesMap(hostFreePesMap);
 
@@ -86,4 +90,65 @@ public class VmAllocationPolicySimpleTest {
         final Vm vm = VmSimpleTest.createVm(0, 1000, 10);
         assertFalse(policy.allocateHostForVm(vm));
     }
+
+    @Test
+    public void allocateHostForVm_WhenManyVmsAreAllocatedAndDeallocated_AlwaysAllocateHostWithLessUsedPes() {
+        final Random random = new Random(1);
+        final List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < 50; id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids, random);
+
+        final List<Host> hosts = new ArrayList<>();
+        for (final int id : ids) {
+            hosts.add(HostSimpleTest.createHostSimple(
+                id, 1 + random.nextInt(8), HOST_MIPS, HOST_RAM, HOST_BW, (1 + random.nextInt(3)) * HOST_BASE_STORAGE));
+        }
+        policy = createVmAllocationPolicy(hosts);
+
+        final List<Vm> createdVms = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            if(!createdVms.isEmpty() && random.nextInt(3) == 0) {
+                final Vm vm = createdVms.remove(random.nextInt(createdVms.size()));
+                policy.deallocateHostForVm(vm);
+                vm.setCreated(false);
+                continue;
+            }
+
+            final Vm vm = VmSimpleTest.createVm(i, 1000, 1 + random.nextInt(4));
+            final Host expectedHost = getHostWithLessUsedPesWhereVmFits(vm);
+            assertEquals(expectedHost != Host.NULL, policy.allocateHostForVm(vm));
+            if(expectedHost != Host.NULL) {
+                assertSame(expectedHost, vm.getHost());
+                vm.setCreated(true);
+                createdVms.add(vm);
+            }
+        }
+    }
+
+    /**
+     * Gets the Host with most free PEs where a VM fits, by traversing all Hosts,
+     * breaking ties by Host id.
+     */
+    private Host getHostWithLessUsedPesWhereVmFits(final Vm vm) {
+        Host selected = Host.NULL;
+        long selectedFreePes = 0;
+        for (final Host host : policy.getDatacenter().getHostList()) {
+            final long freePes = policy.getHostFreePesMap().get(host);
+            if(!host.getStorage().isResourceAmountAvailable(vm.getStorage()) ||
+               !host.isSuitableForVm(vm) || !host.getVmScheduler().isSuitableForVm(vm)) {
+                continue;
+            }
+
+            if(selected == Host.NULL || freePes > selectedFreePes ||
+               freePes == selectedFreePes && host.getId() < selected.getId())
+            {
+                selected = host;
+                selectedFreePes = freePes;
+            }
+        }
+
+        return selected;
+    }
 }
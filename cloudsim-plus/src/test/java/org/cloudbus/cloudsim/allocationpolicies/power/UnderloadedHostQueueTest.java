@@ -0,0 +1,192 @@
+package org.cloudbus.cloudsim.allocationpolicies.power;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link PowerVmAllocationPolicyMigrationAbstract.UnderloadedHostQueue},
+ * comparing the Host it selects with the one selected by
+ * searching the entire Host list.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class UnderloadedHostQueueTest {
+    private static final double UNDERLOAD_THRESHOLD = 0.35;
+
+    private List<TestHost> hosts;
+    private PowerVmAllocationPolicyMigrationAbstract policy;
+
+    /**
+     * A Host whose CPU utilization is defined by the test
+     * and increased when a temporary VM is created into it.
+     */
+    private static final class TestHost extends PowerHostSimple {
+        private double utilization;
+        private double temporaryVmUtilization;
+
+        TestHost(final int id, final double utilization) {
+            super(1024, 1000, 1000, Collections.singletonList(new PeSimple(1000, new PeProvisionerSimple())));
+            setId(id);
+            this.utilization = utilization;
+        }
+
+        @Override
+        public double getUtilizationOfCpu() {
+            return utilization;
+        }
+
+        @Override
+        public boolean createTemporaryVm(final Vm vm) {
+            utilization += temporaryVmUtilization;
+            return true;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        hosts = new ArrayList<>();
+    }
+
+    private void createHosts(final double... utilizations) {
+        for (final double utilization : utilizations) {
+            hosts.add(new TestHost(hosts.size(), utilization));
+        }
+
+        policy = new PowerVmAllocationPolicyMigrationStaticThreshold(new PowerVmSelectionPolicyMinimumUtilization(), 0.9) {
+            @Override
+            public boolean isHostUnderloaded(final PowerHost host) {
+                return host.getUtilizationOfCpu() < UNDERLOAD_THRESHOLD;
+            }
+
+            @Override
+            protected boolean isNotAllVmsMigratingOut(final PowerHost host) {
+                return true;
+            }
+        };
+        new DatacenterSimple(new CloudSim(), new DatacenterCharacteristicsSimple(hosts), policy);
+    }
+
+    /**
+     * Gets the most underloaded Host by searching the entire Host list,
+     * as it was done before the {@link PowerVmAllocationPolicyMigrationAbstract.UnderloadedHostQueue}.
+     */
+    private PowerHost getUnderloadedHost(final Set<? extends Host> excludedHosts) {
+        return hosts.stream()
+            .filter(h -> !excludedHosts.contains(h))
+            .filter(h -> h.getUtilizationOfCpu() > 0)
+            .filter(policy::isHostUnderloaded)
+            .filter(h -> h.getVmsMigratingIn().isEmpty())
+            .filter(policy::isNotAllVmsMigratingOut)
+            .min(Comparator.comparingDouble(Host::getUtilizationOfCpu))
+            .map(h -> (PowerHost) h)
+            .orElse(PowerHost.NULL);
+    }
+
+    /**
+     * Polls all Hosts from the queue, checking that each one is the Host
+     * selected by searching the entire Host list, as done along a consolidation round.
+     *
+     * @return the polled Hosts, in the order they were selected
+     */
+    private List<PowerHost> pollAllAndCompare(final Set<Host> excludedHosts) {
+        final PowerVmAllocationPolicyMigrationAbstract.UnderloadedHostQueue queue =
+            policy.new UnderloadedHostQueue(excludedHosts);
+        final List<PowerHost> polled = new ArrayList<>();
+        while (true) {
+            queue.update();
+            final PowerHost expected = getUnderloadedHost(excludedHosts);
+            final PowerHost host = queue.poll();
+            assertSame(expected, host);
+            if (host == PowerHost.NULL) {
+                return polled;
+            }
+
+            polled.add(host);
+            excludedHosts.add(host);
+        }
+    }
+
+    @Test
+    public void poll_SelectsMostUnderloadedHostFirst() {
+        createHosts(0.3, 0.1, 0.5, 0.2, 0, 0.05);
+        final List<PowerHost> polled = pollAllAndCompare(new HashSet<>());
+        assertEquals(Arrays.asList(hosts.get(5), hosts.get(1), hosts.get(3), hosts.get(0)), polled);
+    }
+
+    @Test
+    public void poll_BreaksTiesByHostPosition() {
+        createHosts(0.2, 0.1, 0.2, 0.1, 0.3);
+        final List<PowerHost> polled = pollAllAndCompare(new HashSet<>());
+        assertEquals(Arrays.asList(hosts.get(1), hosts.get(3), hosts.get(0), hosts.get(2), hosts.get(4)), polled);
+    }
+
+    @Test
+    public void poll_IgnoresExcludedHosts() {
+        createHosts(0.1, 0.2, 0.3);
+        final Set<Host> excludedHosts = new HashSet<>(Collections.singletonList(hosts.get(0)));
+        final List<PowerHost> polled = pollAllAndCompare(excludedHosts);
+        assertEquals(Arrays.asList(hosts.get(1), hosts.get(2)), polled);
+    }
+
+    @Test
+    public void poll_HostsBecomeSelectableAfterReceivingTemporaryVms() {
+        createHosts(0.1, 0, 0.2, 0.3);
+        final Set<Host> excludedHosts = new HashSet<>();
+        final PowerVmAllocationPolicyMigrationAbstract.UnderloadedHostQueue queue =
+            policy.new UnderloadedHostQueue(excludedHosts);
+
+        queue.update();
+        assertSame(getUnderloadedHost(excludedHosts), queue.poll());
+        excludedHosts.add(hosts.get(0));
+
+        /*The idle Host 1 isn't selectable until it receives a VM,
+        * while the Host 2 has its utilization increased, moving it after the Host 3.*/
+        hosts.get(1).temporaryVmUtilization = 0.25;
+        hosts.get(2).temporaryVmUtilization = 0.12;
+        policy.createTemporaryVm(hosts.get(1), Vm.NULL);
+        policy.createTemporaryVm(hosts.get(2), Vm.NULL);
+
+        final List<PowerHost> expected = Arrays.asList(hosts.get(1), hosts.get(3), hosts.get(2));
+        for (final PowerHost host : expected) {
+            queue.update();
+            assertSame(getUnderloadedHost(excludedHosts), host);
+            assertSame(host, queue.poll());
+            excludedHosts.add(host);
+        }
+
+        queue.update();
+        assertSame(PowerHost.NULL, queue.poll());
+    }
+
+    @Test
+    public void poll_HostReceivingTemporaryVmIsNoLongerUnderloaded() {
+        createHosts(0.1, 0.2, 0.3);
+        final Set<Host> excludedHosts = new HashSet<>();
+        final PowerVmAllocationPolicyMigrationAbstract.UnderloadedHostQueue queue =
+            policy.new UnderloadedHostQueue(excludedHosts);
+
+        hosts.get(1).temporaryVmUtilization = 0.5;
+        policy.createTemporaryVm(hosts.get(1), Vm.NULL);
+        queue.update();
+        assertSame(getUnderloadedHost(excludedHosts), queue.poll());
+        excludedHosts.add(hosts.get(0));
+
+        queue.update();
+        assertSame(hosts.get(2), getUnderloadedHost(excludedHosts));
+        assertSame(hosts.get(2), queue.poll());
+    }
+}
@@ -0,0 +1,92 @@
+package org.cloudbus.cloudsim.brokers;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class IndexedListTest {
+    private static IndexedList<String> createList(String... elements) {
+        final IndexedList<String> list = new IndexedList<>();
+        list.addAll(Arrays.asList(elements));
+        return list;
+    }
+
+    @Test
+    public void remove_KeepsTheOrderOfRemainingElements() {
+        final IndexedList<String> list = createList("a", "b", "c", "d", "e");
+        assertTrue(list.remove("b"));
+        assertTrue(list.remove("d"));
+        assertFalse(list.remove("x"));
+
+        assertEquals(3, list.size());
+        assertEquals(Arrays.asList("a", "c", "e"), list);
+        assertEquals(1, list.indexOf("c"));
+        assertEquals(-1, list.indexOf("b"));
+        assertFalse(list.contains("d"));
+        assertTrue(list.contains("e"));
+    }
+
+    @Test
+    public void add_AfterRemovingElements() {
+        final IndexedList<String> list = createList("a", "b", "c");
+        list.remove("a");
+        list.add("d");
+        list.remove("c");
+
+        assertEquals(Arrays.asList("b", "d"), list);
+        assertEquals(1, list.indexOf("d"));
+        assertEquals("d", list.get(1));
+    }
+
+    @Test
+    public void remove_AllElements() {
+        final IndexedList<String> list = createList("a", "b");
+        list.remove("b");
+        list.remove("a");
+
+        assertTrue(list.isEmpty());
+        list.add("c");
+        assertEquals(0, list.indexOf("c"));
+        assertEquals(Arrays.asList("c"), list);
+    }
+
+    @Test
+    public void sort_UpdatesPositions() {
+        final IndexedList<String> list = createList("c", "a", "d", "b");
+        list.remove("d");
+        list.sort(Comparator.reverseOrder());
+
+        assertEquals(Arrays.asList("c", "b", "a"), list);
+        assertEquals(0, list.indexOf("c"));
+        assertEquals(2, list.indexOf("a"));
+    }
+
+    @Test
+    public void remove_WhenSomeElementWasAddedTwice() {
+        final IndexedList<String> list = createList("a", "b", "a");
+        assertTrue(list.remove("a"));
+        assertEquals(Arrays.asList("b", "a"), list);
+        assertTrue(list.contains("a"));
+        assertEquals(1, list.indexOf("a"));
+
+        assertTrue(list.remove("a"));
+        assertFalse(list.contains("a"));
+        assertEquals(Arrays.asList("b"), list);
+    }
+
+    @Test
+    public void iteratorRemove() {
+        final List<String> list = createList("a", "b", "c");
+        list.removeIf("b"::equals);
+
+        assertEquals(Arrays.asList("a", "c"), list);
+        assertEquals(1, list.indexOf("c"));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DeferredQueueTest {
+    private CloudSim simulation;
+    private DeferredQueue queue;
+    private List<SimEvent> events;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+        queue = new DeferredQueue();
+        events = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            final SimEvent evt = new CloudSimEvent(simulation, SimEvent.Type.SEND, i, 0, 0, i % 3, null);
+            events.add(evt);
+            queue.addEvent(evt);
+        }
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(12, queue.count(Simulation.SIM_ANY));
+        assertEquals(4, queue.count(new PredicateType(1)));
+        assertEquals(8, queue.count(new PredicateType(new int[]{1, 2})));
+        assertEquals(6, queue.count(evt -> evt.getTime() >= 6));
+    }
+
+    @Test
+    public void testFindFirstByTag() {
+        assertSame(events.get(1), queue.findFirst(new PredicateType(new int[]{2, 1})));
+        assertEquals(12, queue.size());
+    }
+
+    @Test
+    public void testFindFirstWhenNoMatch() {
+        assertSame(SimEvent.NULL, queue.findFirst(new PredicateType(5)));
+        assertSame(SimEvent.NULL, queue.poll(Simulation.SIM_NONE));
+    }
+
+    @Test
+    public void testPollKeepsArrivalOrder() {
+        assertSame(events.get(2), queue.poll(new PredicateType(2)));
+        assertSame(events.get(5), queue.poll(new PredicateType(2)));
+        assertSame(events.get(7), queue.poll(evt -> evt.getTime() > 6));
+        assertEquals(9, queue.size());
+
+        final List<SimEvent> remaining = new ArrayList<>();
+        while(!queue.isEmpty()) {
+            remaining.add(queue.poll(Simulation.SIM_ANY));
+        }
+
+        final List<SimEvent> expected = events.stream()
+            .filter(evt -> evt.getTime() != 2 && evt.getTime() != 5 && evt.getTime() != 7)
+            .collect(Collectors.toList());
+        assertEquals(expected, remaining);
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(queue.remove(events.get(4)));
+        assertFalse(queue.remove(events.get(4)));
+        assertEquals(11, queue.size());
+        assertEquals(11, queue.stream().count());
+        assertEquals(3, queue.count(new PredicateType(1)));
+    }
+
+    @Test
+    public void testFirst() {
+        assertTrue(queue.remove(events.get(0)));
+        assertSame(events.get(1), queue.first());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFirstWhenEmpty() {
+        queue.clear();
+        queue.first();
+    }
+
+    @Test
+    public void testAddEventInThePast() {
+        final SimEvent evt = new CloudSimEvent(simulation, SimEvent.Type.SEND, 2.5, 0, 0, 1, null);
+        queue.addEvent(evt);
+        final List<SimEvent> expected = new ArrayList<>(events);
+        expected.add(3, evt);
+        assertEquals(expected, queue.stream().collect(Collectors.toList()));
+
+        final SimEvent sameTimeEvt = new CloudSimEvent(simulation, SimEvent.Type.SEND, 2, 0, 0, 1, null);
+        queue.addEvent(sameTimeEvt);
+        expected.add(3, sameTimeEvt);
+        assertEquals(expected, queue.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFindFirstEventAddedInThePast() {
+        final SimEvent evt = new CloudSimEvent(simulation, SimEvent.Type.SEND, 2.5, 0, 0, 1, null);
+        queue.addEvent(evt);
+        assertSame(events.get(0), queue.poll(new PredicateType(new int[]{0, 1})));
+        assertSame(events.get(1), queue.poll(new PredicateType(new int[]{0, 1})));
+        assertSame(evt, queue.findFirst(new PredicateType(new int[]{0, 1})));
+        assertSame(evt, queue.poll(new PredicateType(1)));
+        assertSame(events.get(4), queue.findFirst(new PredicateType(1)));
+    }
+
+    @Test
+    public void testChangingPredicateTagsDoesNotAffectLookup() {
+        final PredicateType predicate = new PredicateType(new int[]{2, 1});
+        predicate.getTags()[0] = 0;
+        assertEquals(8, queue.count(predicate));
+        assertSame(events.get(1), queue.findFirst(predicate));
+        assertFalse(predicate.test(events.get(0)));
+    }
+
+    @Test
+    public void testPredicateTypeSubclassIsTested() {
+        final PredicateType predicate = new PredicateType(1) {
+            @Override
+            public boolean test(SimEvent evt) {
+                return super.test(evt) && evt.eventTime() > 5;
+            }
+        };
+
+        assertSame(events.get(7), queue.findFirst(predicate));
+        assertEquals(2, queue.count(predicate));
+    }
+}
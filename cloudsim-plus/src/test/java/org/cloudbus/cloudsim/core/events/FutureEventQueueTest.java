@@ -0,0 +1,189 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that all {@link FutureEventQueue} implementations
+ * keep the same event ordering of the default {@link FutureQueue}.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class FutureEventQueueTest {
+    private static final int EVENTS = 5000;
+    private CloudSim simulation;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+    }
+
+    private SimEvent createEvent(final double time, final int tag) {
+        return new CloudSimEvent(simulation, SimEvent.Type.SEND, time, 0, 0, tag, null);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFirstWhenEmptyCalendar() {
+        new FutureQueueCalendar().first();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFirstWhenEmptyHeap() {
+        new FutureQueueHeap().first();
+    }
+
+    @Test
+    public void testSameOrderingAsFutureQueueForCalendar() {
+        assertSameOrderingAsFutureQueue(new FutureQueueCalendar());
+    }
+
+    @Test
+    public void testSameOrderingAsFutureQueueForHeap() {
+        assertSameOrderingAsFutureQueue(new FutureQueueHeap(2));
+    }
+
+    @Test
+    public void testRemoveAllForCalendar() {
+        assertRemoveAll(new FutureQueueCalendar());
+    }
+
+    @Test
+    public void testRemoveAllForHeap() {
+        assertRemoveAll(new FutureQueueHeap());
+    }
+
+    @Test
+    public void testPollAllAtForFutureQueue() {
+        assertPollAllAt(new FutureQueue());
+    }
+
+    @Test
+    public void testPollAllAtForCalendar() {
+        assertPollAllAt(new FutureQueueCalendar());
+    }
+
+    @Test
+    public void testPollAllAtForHeap() {
+        assertPollAllAt(new FutureQueueHeap());
+    }
+
+    private void assertPollAllAt(final FutureEventQueue queue) {
+        final SimEvent head = createEvent(0, -2);
+        queue.addEvent(head);
+        for (int i = 0; i < 30; i++) {
+            queue.addEvent(createEvent(i / 10 + 1, i));
+        }
+        final SimEvent first = createEvent(1, -1);
+        queue.addEventFirst(first);
+
+        final List<SimEvent> events = new ArrayList<>();
+        assertEquals(0, queue.pollAllAt(1, events));
+        assertSame(head, queue.pollFirst());
+        assertSame(first, queue.pollFirst());
+        assertEquals(10, queue.pollAllAt(1, events));
+        assertEquals(20, queue.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getTag());
+        }
+        assertEquals(2, queue.first().getTime(), 0);
+    }
+
+    /**
+     * Interleaves insertions (including the ones at the head of the queue),
+     * removals of arbitrary events and removals of the head of the queue,
+     * using the same operations for the expected and the actual queues.
+     */
+    private void assertSameOrderingAsFutureQueue(final FutureEventQueue actual) {
+        final FutureEventQueue expected = new FutureQueue();
+        final List<SimEvent[]> addedEvents = new ArrayList<>();
+        final Random random = new Random(1);
+        double clock = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            final double time = clock + random.nextInt(50) * random.nextDouble();
+            final SimEvent[] pair = {createEvent(time, i), createEvent(time, i)};
+            addedEvents.add(pair);
+            if(random.nextInt(10) == 0) {
+                expected.addEventFirst(pair[0]);
+                actual.addEventFirst(pair[1]);
+            } else {
+                expected.addEvent(pair[0]);
+                actual.addEvent(pair[1]);
+            }
+
+            if(random.nextInt(5) == 0) {
+                final SimEvent[] removed = addedEvents.get(random.nextInt(addedEvents.size()));
+                assertEquals(expected.remove(removed[0]), actual.remove(removed[1]));
+            }
+
+            if(random.nextInt(3) == 0) {
+                clock = assertSameHead(expected, actual);
+            }
+        }
+
+        while(!expected.isEmpty()) {
+            assertSameHead(expected, actual);
+        }
+
+        assertTrue(actual.isEmpty());
+    }
+
+    private double assertSameHead(final FutureEventQueue expected, final FutureEventQueue actual) {
+        assertEquals(expected.size(), actual.size());
+        final SimEvent expectedHead = expected.first();
+        final SimEvent actualHead = actual.first();
+        assertEquals(expectedHead.getTime(), actualHead.getTime(), 0);
+        assertEquals(expectedHead.getSerial(), actualHead.getSerial());
+        assertEquals(expectedHead.getTag(), actualHead.getTag());
+        expected.remove(expectedHead);
+        actual.remove(actualHead);
+        return expectedHead.getTime();
+    }
+
+    private void assertRemoveAll(final FutureEventQueue queue) {
+        final List<SimEvent> toRemove = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final SimEvent evt = createEvent(i % 10, i);
+            queue.addEvent(evt);
+            if(i % 2 == 0){
+                toRemove.add(evt);
+            }
+        }
+
+        assertTrue(queue.removeAll(toRemove));
+        assertFalse(queue.removeAll(toRemove));
+        assertEquals(50, queue.size());
+        assertEquals(50, queue.stream().filter(evt -> evt.getTag() % 2 == 1).count());
+        assertEquals(1, queue.first().getTag());
+    }
+}
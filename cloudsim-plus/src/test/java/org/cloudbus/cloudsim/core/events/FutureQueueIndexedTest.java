@@ -0,0 +1,117 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class FutureQueueIndexedTest {
+    private CloudSim simulation;
+    private FutureQueueIndexed queue;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+        queue = new FutureQueueIndexed(new FutureQueue());
+        for (int i = 0; i < 20; i++) {
+            queue.addEvent(createEvent(i, i % 2, i % 4));
+        }
+    }
+
+    private SimEvent createEvent(final double time, final int src, final int tag) {
+        return new CloudSimEvent(simulation, SimEvent.Type.SEND, time, src, 0, tag, null);
+    }
+
+    @Test
+    public void testStreamBySourceAndTag() {
+        assertEquals(5, queue.stream(0, 2).count());
+        assertEquals(0, queue.stream(0, 1).count());
+        assertEquals(0, queue.stream(2, 0).count());
+        assertTrue(queue.stream(1, 3).allMatch(evt -> evt.getSource() == 1 && evt.getTag() == 3));
+    }
+
+    @Test
+    public void testStreamBySource() {
+        assertEquals(10, queue.stream(1).count());
+        assertEquals(0, queue.stream(5).count());
+    }
+
+    @Test
+    public void testRemovedEventsAreUnindexed() {
+        final List<SimEvent> events = queue.stream(0, 0).collect(toList());
+        assertTrue(queue.removeAll(events));
+        assertEquals(15, queue.size());
+        assertEquals(0, queue.stream(0, 0).count());
+
+        final SimEvent first = queue.pollFirst();
+        assertEquals(1, first.getTime(), 0);
+        assertEquals(4, queue.stream(1, 1).count());
+
+        assertEquals(1, queue.pollAllAt(2, new ArrayList<>()));
+        assertEquals(4, queue.stream(0, 2).count());
+
+        assertTrue(queue.remove(queue.stream(1, 3).findFirst().get()));
+        assertEquals(4, queue.stream(1, 3).count());
+    }
+
+    @Test
+    public void testEmptyIndexEntriesAreRemoved() {
+        assertEquals(4, queue.getIndexedPairsCount());
+        assertTrue(queue.removeAll(queue.stream(0, 0).collect(toList())));
+        assertEquals(3, queue.getIndexedPairsCount());
+
+        queue.remove(queue.stream(1, 1).findFirst().get());
+        assertEquals(3, queue.getIndexedPairsCount());
+
+        final List<SimEvent> events = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            queue.pollAllAt(queue.first().eventTime(), events);
+        }
+
+        assertEquals(0, queue.getIndexedPairsCount());
+        assertEquals(0, queue.stream(1).count());
+    }
+
+    @Test
+    public void testIndexesEventsOfWrappedQueue() {
+        final FutureQueueHeap heap = new FutureQueueHeap();
+        heap.addEvent(createEvent(1, 3, 7));
+        final FutureQueueIndexed indexed = new FutureQueueIndexed(heap);
+        indexed.addEventFirst(createEvent(1, 3, 7));
+        assertEquals(2, indexed.stream(3, 7).count());
+        indexed.clear();
+        assertTrue(indexed.isEmpty());
+        assertEquals(0, indexed.stream(3).count());
+    }
+}
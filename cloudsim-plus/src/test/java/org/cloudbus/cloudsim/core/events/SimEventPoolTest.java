@@ -0,0 +1,101 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class SimEventPoolTest {
+    private CloudSim simulation;
+    private SimEventPool pool;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+        pool = new SimEventPool(simulation, 2);
+    }
+
+    private SimEvent acquire(final double time, final int tag) {
+        return pool.acquire(SimEvent.Type.SEND, time, 1, 2, tag, "data");
+    }
+
+    @Test
+    public void testAcquireWhenEmpty() {
+        final SimEvent evt = acquire(10, 3);
+        assertEquals(0, pool.size());
+        assertEquals(10, evt.getTime(), 0);
+        assertEquals(3, evt.getTag());
+        assertEquals(1, evt.getSource());
+        assertEquals(2, evt.getDestination());
+        assertSame(simulation, evt.getSimulation());
+    }
+
+    @Test
+    public void testReleasedEventIsReused() {
+        final SimEvent evt = acquire(10, 3);
+        evt.setSerial(5);
+        pool.release(evt);
+        assertEquals(1, pool.size());
+        assertNull(evt.getData());
+        assertEquals(SimEvent.Type.NULL, evt.getType());
+
+        final SimEvent reused = pool.acquire(SimEvent.Type.HOLD_DONE, 20, 4, -1, -1, null);
+        assertSame(evt, reused);
+        assertEquals(0, pool.size());
+        assertEquals(SimEvent.Type.HOLD_DONE, reused.getType());
+        assertEquals(20, reused.getTime(), 0);
+        assertEquals(4, reused.getSource());
+        assertEquals(-1, reused.getSerial());
+    }
+
+    @Test
+    public void testReleaseTwiceIsIgnored() {
+        final SimEvent evt = acquire(10, 3);
+        pool.release(evt);
+        pool.release(evt);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testReleaseWhenFull() {
+        final SimEvent[] events = {acquire(1, 1), acquire(2, 2), acquire(3, 3)};
+        for (final SimEvent evt : events) {
+            pool.release(evt);
+        }
+        assertEquals(pool.getMaxSize(), pool.size());
+    }
+
+    @Test
+    public void testReleaseEventFromOtherSimulation() {
+        pool.release(new CloudSimEvent(new CloudSim(), SimEvent.Type.SEND, 0, 0, 0, 0, null));
+        pool.release(SimEvent.NULL);
+        assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostProcessingIndexTest {
+    private static final double NO_CLOUDLET = Double.MAX_VALUE;
+    private static final double TOLERANCE = 0.1;
+
+    /**
+     * The delay each Host returns when updated, indexed by Host id.
+     */
+    private double[] delays;
+
+    /**
+     * Ids of the updated Hosts, in the order they were updated.
+     */
+    private List<Integer> updatedHosts;
+
+    private List<Host> hostList;
+    private HostProcessingIndex index;
+
+    @Before
+    public void setUp() {
+        delays = new double[]{NO_CLOUDLET, 10, NO_CLOUDLET, 5};
+        updatedHosts = new ArrayList<>();
+        hostList = new ArrayList<>();
+        for (int id = 0; id < delays.length; id++) {
+            hostList.add(createHost(id));
+        }
+
+        index = new HostProcessingIndex(hostList);
+    }
+
+    private Host createHost(final int id) {
+        final List<Pe> peList = Collections.singletonList(new PeSimple(1000, new PeProvisionerSimple()));
+        final Host host = new HostSimple(1024, 1000, 1000, peList) {
+            @Override
+            public double updateProcessing(double currentTime) {
+                updatedHosts.add(getId());
+                return delays[getId()];
+            }
+        };
+        host.setId(id);
+        return host;
+    }
+
+    @Test
+    public void testAllHostsAreUpdatedAtFirst() {
+        assertEquals(5, index.updateDueHosts(0, TOLERANCE), 0);
+        assertEquals(asList(0, 1, 2, 3), updatedHosts);
+        assertEquals(10, index.getCompletionTime(hostList.get(1)), 0);
+        assertEquals(NO_CLOUDLET, index.getCompletionTime(hostList.get(2)), 0);
+    }
+
+    @Test
+    public void testJustDueAndDirtyHostsAreUpdated() {
+        index.updateDueHosts(0, TOLERANCE);
+        updatedHosts.clear();
+
+        index.setDirty(hostList.get(2));
+        delays[3] = NO_CLOUDLET;
+        assertEquals(5, index.updateDueHosts(5, TOLERANCE), 0);
+        assertEquals(asList(2, 3), updatedHosts);
+
+        updatedHosts.clear();
+        assertEquals(5, index.updateDueHosts(5, TOLERANCE), 0);
+        assertTrue(updatedHosts.isEmpty());
+
+        delays[1] = NO_CLOUDLET;
+        assertEquals(NO_CLOUDLET, index.updateDueHosts(9.95, TOLERANCE), 0);
+        assertEquals(asList(1), updatedHosts);
+    }
+
+    @Test
+    public void testReindexHostUpdatedBeforeItsCompletionTime() {
+        index.updateDueHosts(0, TOLERANCE);
+        assertFalse(index.isUpdatedAt(hostList.get(1), 2));
+
+        delays[1] = 3;
+        index.update(hostList.get(1), 2);
+        assertTrue(index.isUpdatedAt(hostList.get(1), 2));
+        assertEquals(5, index.getCompletionTime(hostList.get(1)), 0);
+
+        updatedHosts.clear();
+        index.updateDueHosts(5, TOLERANCE);
+        assertEquals(asList(1, 3), updatedHosts);
+    }
+
+    @Test
+    public void testForEachHostToCheck() {
+        index.updateDueHosts(0, TOLERANCE);
+        final List<Host> checked = new ArrayList<>();
+        index.forEachHostToCheck(checked::add);
+        assertEquals(hostList, checked);
+
+        checked.clear();
+        index.setDirty(hostList.get(3));
+        index.setDirty(hostList.get(0));
+        index.updateDueHosts(1, TOLERANCE);
+        index.forEachHostToCheck(checked::add);
+        assertEquals(asList(hostList.get(0), hostList.get(3)), checked);
+
+        checked.clear();
+        index.forEachHostToCheck(checked::add);
+        assertTrue(checked.isEmpty());
+    }
+
+    @Test
+    public void testHostAddedLaterIsIndexed() {
+        index.updateDueHosts(0, TOLERANCE);
+        updatedHosts.clear();
+
+        delays = new double[]{NO_CLOUDLET, 10, NO_CLOUDLET, 5, 2};
+        hostList.add(createHost(4));
+        assertEquals(2, index.updateDueHosts(1, TOLERANCE), 0);
+        assertEquals(asList(4), updatedHosts);
+        assertEquals(3, index.getCompletionTime(hostList.get(4)), 0);
+        assertEquals(10, index.getCompletionTime(hostList.get(1)), 0);
+
+        updatedHosts.clear();
+        index.updateDueHosts(5, TOLERANCE);
+        assertEquals(asList(3, 4), updatedHosts);
+    }
+
+    @Test
+    public void testHostRemovedIsNotUpdated() {
+        index.updateDueHosts(0, TOLERANCE);
+        updatedHosts.clear();
+
+        hostList.remove(3);
+        assertEquals(5, index.updateDueHosts(5, TOLERANCE), 0);
+        assertTrue(updatedHosts.isEmpty());
+        assertEquals(10, index.getCompletionTime(hostList.get(1)), 0);
+    }
+
+    @Test
+    public void testUpdateBusyHosts() {
+        index.updateDueHosts(0, TOLERANCE);
+        updatedHosts.clear();
+
+        index.updateBusyHosts(2);
+        assertEquals(asList(1, 3), updatedHosts);
+
+        updatedHosts.clear();
+        index.updateBusyHosts(2);
+        assertTrue(updatedHosts.isEmpty());
+    }
+
+    @Test
+    public void testHostNotIndexedIsIgnored() {
+        final Host other = createHost(0);
+        index.setDirty(other);
+        index.update(other, 0);
+        assertTrue(index.isUpdatedAt(other, 1));
+        assertEquals(NO_CLOUDLET, index.getCompletionTime(other), 0);
+        assertTrue(updatedHosts.isEmpty());
+    }
+}
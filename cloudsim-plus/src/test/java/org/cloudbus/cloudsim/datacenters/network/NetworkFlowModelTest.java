@@ -0,0 +1,243 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.network.*;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class NetworkFlowModelTest {
+    private static final double HOST_BW = 100;
+    private static final double EDGE_UPLINK_BW = 60;
+    private static final double EDGE_SWITCHING_DELAY = 0.1;
+    private static final double AGGREGATE_SWITCHING_DELAY = 0.2;
+
+    private CloudSim simulation;
+    private NetworkDatacenter datacenter;
+    private List<NetworkHost> hosts;
+    private List<Vm> vms;
+
+    /**
+     * Creates a Datacenter with 4 Hosts, where Hosts 0 and 1 are connected to an Edge Switch
+     * and Hosts 2 and 3 to another one. Both Edge Switches are connected to an Aggregate Switch.
+     * There is one VM in each Host.
+     */
+    private void createDatacenter() {
+        simulation = new CloudSim();
+        hosts = new ArrayList<>();
+        vms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            hosts.add(createHost());
+        }
+        datacenter = new NetworkDatacenter(
+            simulation, new DatacenterCharacteristicsSimple(hosts), new VmAllocationPolicySimple());
+        datacenter.setFlowModelEnabled(true);
+
+        final AggregateSwitch aggregateSwitch = new AggregateSwitch(simulation, datacenter);
+        aggregateSwitch.setDownlinkBandwidth(HOST_BW);
+        aggregateSwitch.setSwitchingDelay(AGGREGATE_SWITCHING_DELAY);
+        datacenter.addSwitch(aggregateSwitch);
+        for (int i = 0; i < 2; i++) {
+            final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, datacenter);
+            edgeSwitch.setDownlinkBandwidth(HOST_BW);
+            edgeSwitch.setUplinkBandwidth(EDGE_UPLINK_BW);
+            edgeSwitch.setSwitchingDelay(EDGE_SWITCHING_DELAY);
+            edgeSwitch.getUplinkSwitches().add(aggregateSwitch);
+            aggregateSwitch.getDownlinkSwitches().add(edgeSwitch);
+            datacenter.addSwitch(edgeSwitch);
+            for (final NetworkHost host : hosts.subList(i * 2, i * 2 + 2)) {
+                edgeSwitch.connectHost(host);
+                host.setEdgeSwitch(edgeSwitch);
+            }
+        }
+
+        for (final NetworkHost host : hosts) {
+            final Vm vm = new NetworkVm(vms.size(), 1000, 1);
+            vm.setHost(host);
+            vms.add(vm);
+        }
+    }
+
+    private NetworkHost createHost() {
+        final List<Pe> peList = new ArrayList<>();
+        peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+        final NetworkHost host = new NetworkHost(2048, 10000, 100000, peList);
+        host.setRamProvisioner(new ResourceProvisionerSimple())
+            .setBwProvisioner(new ResourceProvisionerSimple())
+            .setVmScheduler(new VmSchedulerTimeShared());
+        return host;
+    }
+
+    private HostPacket createPacket(int sourceHost, int destinationHost, Cloudlet sender, Cloudlet receiver, double megabits) {
+        final long bytes = (long)(megabits / 8 * Conversion.MEGABYTE);
+        final VmPacket vmPkt = new VmPacket(vms.get(sourceHost), vms.get(destinationHost), bytes, sender, receiver);
+        return new HostPacket(hosts.get(sourceHost), vmPkt);
+    }
+
+    private Cloudlet createCloudlet(int id) {
+        return new NetworkCloudlet(id, 1, 1);
+    }
+
+    @Test
+    public void send_SharesLinksBandwidthUsingMaxMinFairness() {
+        createDatacenter();
+        final HostPacket pktA = createPacket(0, 2, createCloudlet(0), createCloudlet(1), 90);
+        final HostPacket pktB = createPacket(1, 3, createCloudlet(2), createCloudlet(3), 30);
+        final HostPacket pktC = createPacket(0, 1, createCloudlet(4), createCloudlet(5), 140);
+        datacenter.getFlowModel().send(hosts.get(0), Arrays.asList(pktA, pktC));
+        datacenter.getFlowModel().send(hosts.get(1), Arrays.asList(pktB));
+        assertEquals(3, datacenter.getFlowModel().getNumberOfActiveFlows());
+        simulation.start();
+
+        /* A and B share the uplink of Edge Switch 0 (60 Mbps), getting 30 Mbps each.
+         * C gets the 70 Mbps left in the uplink of Host 0. B finishes at 1s.
+         * A and C then share the uplink of Host 0, getting 50 Mbps each.
+         * A finishes at 2.2s and C at 2.3s, when it gets the entire uplink. */
+        final double pathDelayThroughAggregate = EDGE_SWITCHING_DELAY * 2 + AGGREGATE_SWITCHING_DELAY;
+        assertEquals(2.2 + pathDelayThroughAggregate, pktA.getReceiveTime(), 0.000001);
+        assertEquals(1.0 + pathDelayThroughAggregate, pktB.getReceiveTime(), 0.000001);
+        assertEquals(2.3 + EDGE_SWITCHING_DELAY, pktC.getReceiveTime(), 0.000001);
+        assertSame(hosts.get(2), pktA.getDestination());
+        assertEquals(0, datacenter.getFlowModel().getNumberOfActiveFlows());
+        assertEquals(3, datacenter.getFlowModel().getNumberOfFinishedFlows());
+    }
+
+    @Test
+    public void send_PacketsBetweenSameCloudletsAreTransferredAsOneFlow() {
+        createDatacenter();
+        final Cloudlet sender = createCloudlet(0);
+        final Cloudlet receiver1 = createCloudlet(1);
+        final Cloudlet receiver2 = createCloudlet(2);
+        final List<HostPacket> packets = Arrays.asList(
+            createPacket(0, 1, sender, receiver1, 10),
+            createPacket(0, 1, sender, receiver2, 20),
+            createPacket(0, 1, sender, receiver1, 10));
+        datacenter.getFlowModel().send(hosts.get(0), packets);
+        assertEquals(2, datacenter.getFlowModel().getNumberOfActiveFlows());
+        simulation.start();
+
+        //Each flow gets 50 Mbps to transfer 20 Mb
+        for (final HostPacket pkt : packets) {
+            assertEquals(0.4 + EDGE_SWITCHING_DELAY, pkt.getReceiveTime(), 0.000001);
+        }
+        assertEquals(2, datacenter.getFlowModel().getNumberOfFinishedFlows());
+    }
+
+    @Test
+    public void flowModel_CloudletsExchangingDataFinishLikeWithPacketModel() {
+        final List<Cloudlet> expected = runCloudlets(false);
+        final List<Cloudlet> actual = runCloudlets(true);
+
+        assertEquals(4, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(Cloudlet.Status.SUCCESS, actual.get(i).getStatus());
+            assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.0001);
+        }
+        assertTrue(datacenter.getFlowModel().getNumberOfFinishedFlows() > 0);
+        assertEquals(2 * 10 * 1000, hosts.stream().mapToLong(NetworkHost::getTotalDataTransferBytes).sum());
+    }
+
+    /**
+     * Runs two pairs of Cloudlets, each Cloudlet in its own VM,
+     * where a Cloudlet in each pair sends packets to the other one.
+     *
+     * @param flowModelEnabled if the flow model has to be used to transfer packets
+     * @return the finished Cloudlets, sorted by id
+     */
+    private List<Cloudlet> runCloudlets(boolean flowModelEnabled) {
+        createDatacenter();
+        datacenter.setFlowModelEnabled(flowModelEnabled);
+        datacenter.setSchedulingInterval(5);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<NetworkVm> vmList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final NetworkVm vm = new NetworkVm(i, 1000, 1);
+            vm.setRam(512).setBw(1000).setSize(1000).setCloudletScheduler(new CloudletSchedulerTimeShared());
+            vmList.add(vm);
+        }
+
+        final List<NetworkCloudlet> cloudlets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final NetworkCloudlet cloudlet = new NetworkCloudlet(i, 1000, 1);
+            cloudlet.setMemory(100).setUtilizationModel(new UtilizationModelFull());
+            cloudlet.setVm(vmList.get(i));
+            cloudlets.add(cloudlet);
+        }
+
+        for (int i = 0; i < 4; i += 2) {
+            final NetworkCloudlet sender = cloudlets.get(i);
+            final NetworkCloudlet receiver = cloudlets.get(i+1);
+            sender.addTask(new CloudletExecutionTask(0, 1000));
+            final CloudletSendTask sendTask = new CloudletSendTask(1);
+            sender.addTask(sendTask);
+            for (int j = 0; j < 10; j++) {
+                sendTask.addPacket(receiver, 1000);
+            }
+
+            final CloudletReceiveTask receiveTask = new CloudletReceiveTask(0, sender.getVm());
+            receiveTask.setNumberOfExpectedPacketsToReceive(10);
+            receiver.addTask(receiveTask);
+            receiver.addTask(new CloudletExecutionTask(1, 1000));
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+
+        final List<Cloudlet> finished = new ArrayList<>(broker.getCloudletFinishedList());
+        finished.sort(Comparator.comparingInt(Cloudlet::getId));
+        return finished;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.power;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
+import org.cloudbus.cloudsim.hosts.power.PowerHostTest;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostsEnergyMeterTest {
+    private static final double TIME_SPAN = 10;
+    private static final int HOSTS = 20;
+
+    private HostsEnergyMeter meter;
+    private List<UtilizationHost> hostList;
+    private List<CountingPowerModel> powerModels;
+
+    @Before
+    public void setUp() {
+        meter = new HostsEnergyMeter();
+        hostList = new ArrayList<>(HOSTS);
+        powerModels = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final UtilizationHost host = new UtilizationHost();
+            final CountingPowerModel powerModel = new CountingPowerModel();
+            host.setPowerModel(powerModel);
+            hostList.add(host);
+            powerModels.add(powerModel);
+        }
+    }
+
+    @Test
+    public void testUpdateGivesTheSameEnergyOfTheHosts() {
+        final double[][] utilizations = {{0, 0.5}, {0.5, 0.5}, {0.5, 0.8}, {0.8, 0.2}, {0.2, 0}};
+        final double[] expectedHostEnergy = new double[HOSTS];
+        double expectedTotal = 0;
+        for (final double[] utilization : utilizations) {
+            double expectedTimeSpan = 0;
+            for (int i = 0; i < HOSTS; i++) {
+                final UtilizationHost host = hostList.get(i);
+                host.set(utilization[0], utilization[1]*(i+1)/HOSTS);
+                final double hostEnergy = host.getEnergyLinearInterpolation(host.previous, host.current, TIME_SPAN);
+                expectedHostEnergy[i] += hostEnergy;
+                expectedTimeSpan += hostEnergy;
+            }
+
+            expectedTotal += expectedTimeSpan;
+            assertEquals(expectedTimeSpan, meter.update(hostList, TIME_SPAN), 0);
+            assertEquals(expectedTimeSpan, meter.getTimeSpanEnergy(), 0);
+        }
+
+        assertEquals(HOSTS, meter.size());
+        assertEquals(expectedTotal, meter.getTotalEnergy(), 0);
+        for (int i = 0; i < HOSTS; i++) {
+            assertEquals(expectedHostEnergy[i], meter.getHostEnergy(i), 0);
+        }
+        assertEquals(0, meter.getHostEnergy(HOSTS), 0);
+    }
+
+    @Test
+    public void testPowerIsJustComputedWhenUtilizationChanges() {
+        for (int i = 0; i < 5; i++) {
+            hostList.forEach(host -> host.set(0.5, 0.5));
+            meter.update(hostList, TIME_SPAN);
+        }
+        powerModels.forEach(powerModel -> assertEquals(1, powerModel.calls));
+
+        hostList.forEach(host -> host.set(0.5, 0.7));
+        meter.update(hostList, TIME_SPAN);
+        powerModels.forEach(powerModel -> assertEquals(2, powerModel.calls));
+
+        final PowerHost host = hostList.get(0);
+        assertEquals(0.5, meter.getHostPreviousUtilization(0), 0);
+        assertEquals(0.7, meter.getHostUtilization(0), 0);
+        assertEquals(
+            host.getEnergyLinearInterpolation(0.5, 0.7, TIME_SPAN),
+            meter.getHostTimeSpanEnergy(0), 0);
+    }
+
+    /**
+     * A Host whose previous and current CPU utilization are directly defined.
+     */
+    private static class UtilizationHost extends PowerHostSimple {
+        private double previous;
+        private double current;
+
+        UtilizationHost() {
+            super(1024, 1000, 1000, PowerHostTest.createPowerHost(0, 1).getPeList());
+        }
+
+        void set(final double previous, final double current) {
+            this.previous = previous;
+            this.current = current;
+        }
+
+        @Override
+        public double getPreviousUtilizationOfCpu() {
+            return previous;
+        }
+
+        @Override
+        public double getUtilizationOfCpu() {
+            return current;
+        }
+    }
+
+    /**
+     * A power model that counts how many times the power was computed.
+     */
+    private static class CountingPowerModel extends PowerModelLinear {
+        private int calls;
+
+        CountingPowerModel() {
+            super(200, 0.3);
+        }
+
+        @Override
+        protected double getPowerInternal(final double utilization) {
+            calls++;
+            return super.getPowerInternal(utilization);
+        }
+    }
+}
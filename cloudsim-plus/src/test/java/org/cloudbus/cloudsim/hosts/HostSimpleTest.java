@@ -479,4 +479,39 @@ public class HostSimpleTest {
         assertEquals(0, host.getVmList().size());
         assertEquals(MIPS * 2, host.getVmScheduler().getAvailableMips(), 0);
     }
+
+    @Test
+    public void testGetVmById_whenVmsFromDifferentBrokersHaveTheSameId() {
+        final CloudSim cloudsim = CloudSimMocker.createMock(mocker -> mocker.clock(0).anyTimes());
+        final VmSimple vm0 = VmSimpleTest.createVm(
+                0, MIPS, 1, RAM / 2, BW / 2, HALF_STORAGE,
+                new CloudletSchedulerTimeShared());
+        vm0.setBroker(createMockBroker(cloudsim, 0));
+        final VmSimple vm1 = VmSimpleTest.createVm(
+                0, MIPS, 1, RAM / 2, BW / 2, HALF_STORAGE,
+                new CloudletSchedulerTimeShared());
+        vm1.setBroker(createMockBroker(cloudsim, 1));
+
+        assertSame(Vm.NULL, host.getVmById(0));
+        assertTrue(host.createVm(vm0));
+        assertTrue(host.createVm(vm1));
+        assertSame(vm0, host.getVmById(0));
+        assertSame(vm0, host.getVm(0, 0));
+        assertSame(vm1, host.getVm(0, 1));
+
+        host.destroyVm(vm0);
+        assertSame(vm1, host.getVmById(0));
+        assertSame(Vm.NULL, host.getVm(0, 0));
+
+        host.destroyVm(vm1);
+        assertSame(Vm.NULL, host.getVmById(0));
+    }
+
+    private DatacenterBroker createMockBroker(final CloudSim cloudsim, final int brokerId) {
+        final DatacenterBroker broker = EasyMock.createMock(DatacenterBroker.class);
+        EasyMock.expect(broker.getSimulation()).andReturn(cloudsim).anyTimes();
+        EasyMock.expect(broker.getId()).andReturn(brokerId).anyTimes();
+        EasyMock.replay(broker);
+        return broker;
+    }
 }
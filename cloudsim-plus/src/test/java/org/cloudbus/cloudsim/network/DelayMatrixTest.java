@@ -0,0 +1,97 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DelayMatrixTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void getDelay_UndirectedGraph() {
+        final TopologicalGraph graph = createGraph(4);
+        graph.addLink(new TopologicalLink(0, 1, 2, 10));
+        graph.addLink(new TopologicalLink(1, 2, 3, 10));
+        final DelayMatrix matrix = new DelayMatrix(graph, false);
+        assertEquals(5, matrix.getDelay(0, 2), 0);
+        assertEquals(5, matrix.getDelay(2, 0), 0);
+        assertEquals(0, matrix.getDelay(1, 1), 0);
+        assertEquals(Double.MAX_VALUE, matrix.getDelay(0, 3), 0);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void getDelay_InvalidNode() {
+        final TopologicalGraph graph = createGraph(2);
+        graph.addLink(new TopologicalLink(0, 1, 2, 10));
+        new DelayMatrix(graph, false).getDelay(0, 2);
+    }
+
+    @Test
+    public void getDelay_RowsComputedOnDemand_MatchesEntireMatrix() {
+        checkRowsComputedOnDemand(false);
+    }
+
+    @Test
+    public void getDelay_DirectedGraph_RowsComputedOnDemand_MatchesEntireMatrix() {
+        checkRowsComputedOnDemand(true);
+    }
+
+    private void checkRowsComputedOnDemand(final boolean directed) {
+        final int n = 150;
+        final Random random = new Random(11);
+        final TopologicalGraph graph = createGraph(n);
+        for (int l = 0; l < n * 2; l++) {
+            graph.addLink(new TopologicalLink(random.nextInt(n), random.nextInt(n), random.nextInt(50) / 10.0, 10));
+        }
+
+        final DelayMatrix expected = new DelayMatrix(graph, directed);
+        final DelayMatrix lazy = new DelayMatrix(graph, directed, 8);
+        for (int i = 0; i < n * n; i++) {
+            final int src = random.nextInt(n);
+            final int dest = random.nextInt(n);
+            assertEquals(expected.getDelay(src, dest), lazy.getDelay(src, dest), DELTA);
+        }
+    }
+
+    @Test
+    public void getDelay_MatrixFile_IsMappedWhenWrittenForTheSameGraph() throws IOException {
+        final TopologicalGraph graph = createGraph(3);
+        graph.addLink(new TopologicalLink(0, 1, 2, 10));
+        graph.addLink(new TopologicalLink(1, 2, 3, 10));
+        final File file = File.createTempFile("delays", ".bin");
+        try {
+            final DelayMatrix computed = new DelayMatrix(graph, false, file);
+            assertFalse(computed.isMapped());
+
+            final DelayMatrix mapped = new DelayMatrix(graph, false, file);
+            assertTrue(mapped.isMapped());
+            assertEquals(5, mapped.getDelay(0, 2), 0);
+
+            graph.addLink(new TopologicalLink(0, 2, 1, 10));
+            final DelayMatrix recomputed = new DelayMatrix(graph, false, file);
+            assertFalse(recomputed.isMapped());
+            assertEquals(1, recomputed.getDelay(0, 2), 0);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static TopologicalGraph createGraph(final int nodes) {
+        final TopologicalGraph graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        return graph;
+    }
+}
@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.network;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class FloydWarshallTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void computeShortestPaths_SmallGraph() {
+        final double[][] delays = {
+            {0, 1, 0, 10},
+            {0, 0, 2, 0},
+            {0, 0, 0, 3},
+            {0, 0, 0, 0}
+        };
+
+        final FloydWarshall floyd = new FloydWarshall(4);
+        final double[][] result = floyd.computeShortestPaths(delays);
+        assertEquals(0, result[0][0], 0);
+        assertEquals(3, result[0][2], 0);
+        assertEquals(6, result[0][3], 0);
+        assertEquals(Double.MAX_VALUE, result[3][0], 0);
+
+        final int[][] pk = floyd.getPk();
+        assertEquals(2, pk[0][3]);
+        assertEquals(1, pk[0][2]);
+        assertEquals(-1, pk[0][0]);
+        assertEquals(-1, pk[3][0]);
+    }
+
+    @Test
+    public void computeShortestPaths_LargeSparseGraph_MatchesNaiveAlgorithm() {
+        final int n = FloydWarshall.BLOCK_SIZE * 3 + 17;
+        final double[][] delays = createRandomGraph(n, new Random(7));
+        final double[][] expected = computeNaive(delays);
+
+        final double[][] result = new FloydWarshall(n).computeShortestPaths(delays);
+        final double[] inPlace = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(delays[i], 0, inPlace, i * n, n);
+        }
+        new FloydWarshall(n).computeShortestPaths(inPlace);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(expected[i][j], result[i][j], DELTA);
+                assertEquals(expected[i][j], inPlace[i * n + j], DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void getPk_ReconstructsShortestPaths() {
+        final int n = FloydWarshall.BLOCK_SIZE + 10;
+        final double[][] delays = createRandomGraph(n, new Random(3));
+        final FloydWarshall floyd = new FloydWarshall(n);
+        final double[][] result = floyd.computeShortestPaths(delays);
+        final int[][] pk = floyd.getPk();
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i == j || result[i][j] == Double.MAX_VALUE) {
+                    continue;
+                }
+
+                double pathDelay = 0;
+                for (int node = j; node != i; node = pk[i][node]) {
+                    pathDelay += delays[pk[i][node]][node];
+                }
+                assertEquals(result[i][j], pathDelay, DELTA);
+            }
+        }
+    }
+
+    /**
+     * Creates a directed graph where each node has links to a few random nodes.
+     */
+    static double[][] createRandomGraph(final int n, final Random random) {
+        final double[][] delays = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int l = 0; l < 3; l++) {
+                delays[i][random.nextInt(n)] = 1 + random.nextInt(100) / 10.0;
+            }
+        }
+
+        return delays;
+    }
+
+    /**
+     * Computes the shortest paths with the textbook Floyd-Warshall algorithm.
+     */
+    private static double[][] computeNaive(final double[][] delays) {
+        final int n = delays.length;
+        final double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                d[i][j] = i == j ? 0 : delays[i][j] == 0 ? Double.MAX_VALUE : delays[i][j];
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (d[i][k] != Double.MAX_VALUE && d[k][j] != Double.MAX_VALUE && d[i][k] + d[k][j] < d[i][j]) {
+                        d[i][j] = d[i][k] + d[k][j];
+                    }
+                }
+            }
+        }
+
+        return d;
+    }
+}
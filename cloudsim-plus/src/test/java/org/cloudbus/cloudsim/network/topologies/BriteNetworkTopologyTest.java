@@ -0,0 +1,85 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class BriteNetworkTopologyTest {
+    private static final String FILE = "topology.brite";
+
+    private String getFilePath() {
+        return getClass().getClassLoader().getResource(FILE).getPath();
+    }
+
+    private BriteNetworkTopology createTopology() {
+        final BriteNetworkTopology topology = new BriteNetworkTopology(getFilePath());
+        for (int i = 0; i < 5; i++) {
+            topology.mapNode(i * 100, i);
+        }
+
+        return topology;
+    }
+
+    @Test
+    public void getDelay_MappedEntities() {
+        final BriteNetworkTopology topology = createTopology();
+        assertEquals(1.1, topology.getDelay(0, 200), 0.000001);
+        assertEquals(3.9, topology.getDelay(0, 300), 0.000001);
+        assertEquals(0, topology.getDelay(0, 0), 0);
+        assertEquals(0, topology.getDelay(0, 1), 0);
+        assertEquals(0, topology.getDelay(-1, 100), 0);
+    }
+
+    @Test
+    public void mapNode_BriteNodeAlreadyUsed_DoesNotMapEntity() {
+        final BriteNetworkTopology topology = createTopology();
+        topology.mapNode(1, 2);
+        assertEquals(0, topology.getDelay(0, 1), 0);
+
+        topology.unmapNode(200);
+        assertEquals(0, topology.getDelay(0, 200), 0);
+        topology.mapNode(1, 2);
+        assertEquals(1.1, topology.getDelay(0, 1), 0.000001);
+    }
+
+    @Test
+    public void getBwMatrix() {
+        final BriteNetworkTopology topology = createTopology();
+        final double[][] bw = topology.getBwMatrix();
+        assertEquals(5, bw.length);
+        assertEquals(10, bw[0][2], 0);
+        assertEquals(10, bw[2][0], 0);
+        assertEquals(0, bw[0][1], 0);
+        assertEquals(bw[4][3], topology.getBw(4, 3), 0);
+    }
+
+    @Test
+    public void getDelay_DelayMatrixFile_ReturnsSameDelaysWhenFileIsCreatedAndMapped() throws IOException {
+        final BriteNetworkTopology expected = createTopology();
+        final File delayMatrixFile = File.createTempFile("delays", ".bin");
+        try {
+            delayMatrixFile.delete();
+            for (int run = 0; run < 2; run++) {
+                final BriteNetworkTopology topology = new BriteNetworkTopology(getFilePath(), delayMatrixFile);
+                for (int i = 0; i < 5; i++) {
+                    topology.mapNode(i * 100, i);
+                }
+
+                assertTrue(delayMatrixFile.exists());
+                for (int i = 0; i < 5; i++) {
+                    for (int j = 0; j < 5; j++) {
+                        assertEquals(expected.getDelay(i * 100, j * 100), topology.getDelay(i * 100, j * 100), 0);
+                    }
+                }
+            }
+        } finally {
+            delayMatrixFile.delete();
+        }
+    }
+}
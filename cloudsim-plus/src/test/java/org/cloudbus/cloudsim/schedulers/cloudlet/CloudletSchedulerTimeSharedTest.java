@@ -9,6 +9,7 @@ import org.cloudbus.cloudsim.cloudlets.CloudletSimpleTest;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.easymock.EasyMock;
 import org.junit.Test;
@@ -376,4 +377,41 @@ public class CloudletSchedulerTimeSharedTest {
         instance.addCloudletToExecList(cloudlet);
         assertEquals(list.size(), instance.getCloudletExecList().size());
     }
+
+    @Test
+    public void testGetCloudletStatusAfterPauseAndCancel() {
+        final CloudletSchedulerTimeShared instance = createCloudletSchedulerWithMipsList(1, 1000);
+        instance.cloudletSubmit(createCloudlet(0, 1000));
+        instance.cloudletSubmit(createCloudlet(1, 1000));
+        assertEquals(Cloudlet.Status.INEXEC.ordinal(), instance.getCloudletStatus(1));
+
+        assertTrue(instance.cloudletPause(1));
+        assertEquals(Cloudlet.Status.PAUSED.ordinal(), instance.getCloudletStatus(1));
+        assertEquals(1, instance.runningCloudletsNumber());
+
+        assertEquals(1, instance.cloudletCancel(1).getId());
+        assertEquals(-1, instance.getCloudletStatus(1));
+        assertSame(Cloudlet.NULL, instance.cloudletCancel(1));
+        assertEquals(-1, instance.getCloudletStatus(2));
+    }
+
+    @Test
+    public void testUpdateProcessingAndAvailableMipsAfterCancel() {
+        final CloudletSchedulerTimeShared instance = createCloudletSchedulerWithMipsList(1, 1000);
+        instance.cloudletSubmit(createCloudlet(0, 2000));
+        instance.cloudletSubmit(createCloudlet(1, 4000));
+        assertEquals(500, instance.getAvailableMipsByPe(), 0);
+
+        //Both Cloudlets share the PE and run 1000 MI each in 2 seconds
+        final double nextFinishTime = instance.updateProcessing(2, CloudletSchedulerUtil.createMipsList(1, 1000));
+        assertEquals(2, nextFinishTime, 0);
+
+        instance.cloudletCancel(0);
+        assertEquals(1, instance.runningCloudletsNumber());
+        assertEquals(1000, instance.getAvailableMipsByPe(), 0);
+    }
+
+    private Cloudlet createCloudlet(final int id, final long length) {
+        return new CloudletSimple(id, length, 1).setUtilizationModel(new UtilizationModelFull());
+    }
 }
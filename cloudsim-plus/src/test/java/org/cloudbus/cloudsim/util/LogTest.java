@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.datacenters.power.PowerDatacenter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class LogTest {
+    private ByteArrayOutputStream output;
+    private Log.Level defaultLevel;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        defaultLevel = Log.getLevel();
+        Log.setOutput(output);
+        Log.setLevel(Log.Level.INFO);
+        Log.enable();
+    }
+
+    @After
+    public void tearDown() {
+        Log.useGlobalState();
+        Log.setOutput(System.out);
+        Log.setLevel(defaultLevel);
+        Log.setLevel(DatacenterSimple.class, null);
+        Log.setLevel(PowerDatacenter.class, null);
+    }
+
+    @Test
+    public void testLevelOfSubclass() {
+        Log.setLevel(DatacenterSimple.class, Log.Level.ERROR);
+        assertEquals(Log.Level.ERROR, Log.getLevel(PowerDatacenter.class));
+        assertEquals(Log.Level.INFO, Log.getLevel(Log.class));
+
+        Log.setLevel(PowerDatacenter.class, Log.Level.DEBUG);
+        assertEquals(Log.Level.DEBUG, Log.getLevel(PowerDatacenter.class));
+        assertEquals(Log.Level.ERROR, Log.getLevel(DatacenterSimple.class));
+    }
+
+    @Test
+    public void testIsEnabled() {
+        Log.setLevel(DatacenterSimple.class, Log.Level.ERROR);
+        assertTrue(Log.isEnabled(DatacenterSimple.class, Log.Level.ERROR));
+        assertFalse(Log.isEnabled(DatacenterSimple.class, Log.Level.INFO));
+        assertFalse(Log.isEnabled(PowerDatacenter.class, Log.Level.DEBUG));
+        assertFalse(Log.isEnabled(DatacenterSimple.class, Log.Level.OFF));
+
+        Log.disable();
+        assertFalse(Log.isEnabled(DatacenterSimple.class, Log.Level.ERROR));
+    }
+
+    @Test
+    public void testSupplierIsNotCalledWhenLevelIsDisabled() {
+        Log.setLevel(DatacenterSimple.class, Log.Level.OFF);
+        Log.printLine(Log.Level.ERROR, DatacenterSimple.class, () -> {
+            fail("The message shouldn't be built when it's not going to be printed.");
+            return "";
+        });
+        Log.printFormattedLine(Log.Level.ERROR, DatacenterSimple.class, "%d", 1);
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    public void testPrintWhenLevelIsEnabled() {
+        Log.printFormattedLine(Log.Level.INFO, DatacenterSimple.class, "%d-%s", 1, "a");
+        Log.printLine(Log.Level.ERROR, DatacenterSimple.class, () -> "b");
+        assertEquals("1-a" + System.lineSeparator() + "b" + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void testThreadStateDoesNotAffectGlobalState() {
+        final ByteArrayOutputStream threadOutput = new ByteArrayOutputStream();
+        Log.useThreadState();
+        assertTrue(Log.hasThreadState());
+        assertSame(output, Log.getOutput());
+
+        Log.setOutput(threadOutput);
+        Log.disable();
+        Log.printLine("a");
+        Log.enable();
+        Log.printLine("b");
+        Log.useGlobalState();
+
+        assertFalse(Log.hasThreadState());
+        assertTrue(Log.isEnabled());
+        assertSame(output, Log.getOutput());
+        assertEquals(0, output.size());
+        assertEquals("b" + System.lineSeparator(), threadOutput.toString());
+    }
+
+    @Test
+    public void testGlobalStateDoesNotAffectThreadState() throws InterruptedException {
+        final ByteArrayOutputStream threadOutput = new ByteArrayOutputStream();
+        Log.useThreadState();
+        Log.setOutput(threadOutput);
+
+        final Thread thread = new Thread(() -> {
+            Log.disable();
+            Log.printLine("a");
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(Log.isEnabled());
+        Log.printLine("b");
+        Log.useGlobalState();
+        assertTrue(Log.isDisabled());
+        assertEquals(0, output.size());
+        assertEquals("b" + System.lineSeparator(), threadOutput.toString());
+    }
+}
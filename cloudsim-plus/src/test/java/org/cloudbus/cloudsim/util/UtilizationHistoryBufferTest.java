@@ -0,0 +1,97 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class UtilizationHistoryBufferTest {
+    private static final int CAPACITY = 4;
+    private UtilizationHistoryBuffer history;
+
+    @Before
+    public void setUp() {
+        history = new UtilizationHistoryBuffer(CAPACITY);
+    }
+
+    @Test
+    public void testAddBeforeFull() {
+        history.add(0.1);
+        history.add(0.2);
+        assertEquals(2, history.size());
+        assertEquals(0.2, history.get(0), 0);
+        assertEquals(0.1, history.get(1), 0);
+        assertArrayEquals(new double[]{0.2, 0.1}, history.toArray(), 0);
+    }
+
+    @Test
+    public void testAddOverwritesOldestValue() {
+        for (int i = 1; i <= 6; i++) {
+            history.add(i);
+        }
+
+        assertEquals(CAPACITY, history.size());
+        assertArrayEquals(new double[]{6, 5, 4, 3}, history.toArray(), 0);
+        assertArrayEquals(new double[]{6, 5}, history.toArray(2), 0);
+        assertEquals(6, history.getModificationCount());
+    }
+
+    @Test
+    public void testListViewReflectsChanges() {
+        final List<Double> list = history.asList();
+        assertTrue(list.isEmpty());
+        history.add(0.5);
+        history.add(0.7);
+        assertEquals(Arrays.asList(0.7, 0.5), list);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListViewIsReadOnly() {
+        history.asList().add(1.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBeyondSize() {
+        history.add(1);
+        history.get(1);
+    }
+
+    @Test
+    public void testClear() {
+        history.add(1);
+        history.clear();
+        assertTrue(history.isEmpty());
+        assertEquals(2, history.getModificationCount());
+        history.add(2);
+        assertArrayEquals(new double[]{2}, history.toArray(), 0);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link UtilizationStatistics} gives exactly the same results
+ * of the Apache Commons Math based implementation of the statistics.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class UtilizationStatisticsTest {
+    private static final int SAMPLES = 2000;
+
+    @Test
+    public void testSameLoessAsCommonsMath() {
+        final UtilizationStatistics stats = new UtilizationStatistics(4);
+        for (final double[] y : createSamples()) {
+            stats.loess(y);
+            assertArrayEquals(commonsMathLoess(y), stats.getParameterEstimates(), 0);
+        }
+    }
+
+    @Test
+    public void testSameRobustLoessAsCommonsMath() {
+        final UtilizationStatistics stats = new UtilizationStatistics(4);
+        for (final double[] y : createSamples()) {
+            stats.robustLoess(y);
+            assertArrayEquals(commonsMathRobustLoess(y), stats.getParameterEstimates(), 0);
+        }
+    }
+
+    @Test
+    public void testSameMedianAndMadAsCommonsMath() {
+        final UtilizationStatistics stats = new UtilizationStatistics(4);
+        for (final double[] data : createSamples()) {
+            final double[] copy = data.clone();
+            assertEquals(commonsMathMedian(data), stats.median(data), 0);
+            assertEquals(commonsMathMad(data), stats.mad(data), 0);
+            assertArrayEquals(copy, data, 0);
+        }
+    }
+
+    @Test
+    public void testMedianIgnoresNaN() {
+        final UtilizationStatistics stats = new UtilizationStatistics();
+        assertEquals(2, stats.median(3, Double.NaN, 1, 2), 0);
+        assertEquals(Double.NaN, stats.median(), 0);
+    }
+
+    @Test
+    public void testIqrDoesNotChangeData() {
+        final double[] data = MathUtilTest.DATA2.clone();
+        assertEquals(MathUtilTest.IQR2, new UtilizationStatistics().iqr(data), 0);
+        assertArrayEquals(MathUtilTest.DATA2, data, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoessWithLessThan3Values() {
+        new UtilizationStatistics().loess(1, 2);
+    }
+
+    @Test
+    public void testComputeAll() {
+        final List<double[]> samples = createSamples();
+        final double[] expected = samples.stream().mapToDouble(UtilizationStatisticsTest::commonsMathMad).toArray();
+        assertArrayEquals(expected, UtilizationStatistics.computeAll(samples, UtilizationStatistics::mad, false), 0);
+        assertArrayEquals(expected, UtilizationStatistics.computeAll(samples, UtilizationStatistics::mad, true), 0);
+
+        final double[] slopes = UtilizationStatistics.computeAll(samples, (stats, y) -> {
+            stats.robustLoess(y);
+            return stats.getSlope();
+        }, true);
+        for (int i = 0; i < slopes.length; i++) {
+            assertEquals(commonsMathRobustLoess(samples.get(i))[1], slopes[i], 0);
+        }
+    }
+
+    /**
+     * Creates samples with different lengths, including
+     * ones with constant and repeated values.
+     */
+    private static List<double[]> createSamples() {
+        final Random random = new Random(1);
+        final List<double[]> samples = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            final double[] sample = new double[3 + random.nextInt(40)];
+            final int type = i % 4;
+            for (int j = 0; j < sample.length; j++) {
+                if(type == 0) {
+                    sample[j] = 0.5;
+                } else if(type == 1) {
+                    sample[j] = random.nextInt(4) / 4.0;
+                } else if(type == 2 && j % 2 == 0) {
+                    sample[j] = 0.8;
+                } else {
+                    sample[j] = random.nextDouble();
+                }
+            }
+            samples.add(sample);
+        }
+
+        return samples;
+    }
+
+    private static double[] xValues(final int n) {
+        final double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i + 1;
+        }
+        return x;
+    }
+
+    private static double[] commonsMathLoess(final double[] y) {
+        return MathUtil.createWeigthedLinearRegression(xValues(y.length), y, MathUtil.getTricubeWeights(y.length))
+                       .regress().getParameterEstimates();
+    }
+
+    private static double[] commonsMathRobustLoess(final double[] y) {
+        final int n = y.length;
+        final double[] x = xValues(n);
+        final SimpleRegression tricubeRegression =
+            MathUtil.createWeigthedLinearRegression(x, y, MathUtil.getTricubeWeights(n));
+        final double[] residuals = new double[n];
+        for (int i = 0; i < n; i++) {
+            residuals[i] = y[i] - tricubeRegression.predict(x[i]);
+        }
+
+        final double[] weights = MathUtil.getTricubeWeights(n);
+        final double[] bisquareWeights = new double[n];
+        final double s6 = commonsMathMedian(MathUtil.abs(residuals)) * 6;
+        for (int i = 2; i < n; i++) {
+            final double k = Math.pow(1 - Math.pow(residuals[i] / s6, 2), 2);
+            bisquareWeights[i] = k > 0 ? (1 / k) * weights[i] : Double.MAX_VALUE;
+        }
+        bisquareWeights[0] = bisquareWeights[1] = bisquareWeights[2];
+
+        final double[] estimates =
+            MathUtil.createWeigthedLinearRegression(x, y, bisquareWeights).regress().getParameterEstimates();
+        if (Double.isNaN(estimates[0]) || Double.isNaN(estimates[1])) {
+            return tricubeRegression.regress().getParameterEstimates();
+        }
+        return estimates;
+    }
+
+    private static double commonsMathMedian(final double[] data) {
+        return new DescriptiveStatistics(data).getPercentile(50);
+    }
+
+    private static double commonsMathMad(final double[] data) {
+        final double median = commonsMathMedian(data);
+        return commonsMathMedian(Arrays.stream(data).map(value -> Math.abs(median - value)).toArray());
+    }
+}
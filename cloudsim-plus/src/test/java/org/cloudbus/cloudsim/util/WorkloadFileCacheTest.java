@@ -0,0 +1,150 @@
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class WorkloadFileCacheTest {
+    private static final String ZIP_FILE = "two-workload-files.zip";
+    private static final String GZ_FILE = "LCG.swf.gz";
+
+    @Test
+    public void generateWorkload_ZipFile_CreatesSameCloudletsAsParsingTheTrace() throws IOException {
+        final File cacheFile = File.createTempFile("workload", ".cache");
+        try {
+            final WorkloadFileReader reader = createReader(ZIP_FILE);
+            reader.setMaxLinesToRead(1000);
+            reader.setPredicate(c -> c.getNumberOfPes() > 1);
+            final List<Cloudlet> expected = reader.generateWorkload();
+
+            final WorkloadFileReader cachedReader = createReader(ZIP_FILE).setCacheFile(cacheFile);
+            cachedReader.setMaxLinesToRead(1000);
+            cachedReader.setPredicate(c -> c.getNumberOfPes() > 1);
+
+            assertFalse(expected.isEmpty());
+            assertSameCloudlets(expected, cachedReader.generateWorkload());
+        } finally {
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void openStream_GzipFile_ReadsSameCloudletsFromCompiledAndLoadedCache() throws IOException {
+        final File cacheFile = File.createTempFile("workload", ".cache");
+        try {
+            final List<Cloudlet> expected = createReader(GZ_FILE).generateWorkload();
+            final WorkloadFileCache cache = WorkloadFileCache.getInstance(createReader(GZ_FILE), cacheFile);
+            assertEquals(expected.size(), cache.size());
+
+            final long lastModified = cacheFile.lastModified();
+            assertSameCloudlets(expected, readStream(createReader(GZ_FILE).setCacheFile(cacheFile)));
+            assertEquals("The existing cache should be reused", lastModified, cacheFile.lastModified());
+        } finally {
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void openStream_TextFile_RecompilesCacheWhenTraceChanges() throws IOException {
+        final File traceFile = File.createTempFile("workload", ".swf");
+        final File cacheFile = File.createTempFile("workload", ".cache");
+        try {
+            writeWorkloadFile(traceFile, 10);
+            final WorkloadFileReader reader = new WorkloadFileReader(traceFile.getAbsolutePath(), 1).setCacheFile(cacheFile);
+            final List<Cloudlet> cloudlets = readStream(reader);
+            assertEquals(10, cloudlets.size());
+            assertEquals(5, cloudlets.get(4).getId());
+            assertEquals(5 * 2, cloudlets.get(4).getLength());
+            assertEquals(5, cloudlets.get(4).getNumberOfPes());
+
+            writeWorkloadFile(traceFile, 20);
+            assertEquals(20, readStream(reader).size());
+        } finally {
+            traceFile.delete();
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void openStream_TextFile_IgnoresFieldsNotUsedToCreateCloudlets() throws IOException {
+        final File traceFile = File.createTempFile("workload", ".swf");
+        final File cacheFile = File.createTempFile("workload", ".cache");
+        try {
+            try (PrintWriter writer = new PrintWriter(traceFile)) {
+                for (int i = 1; i <= 5; i++) {
+                    writer.printf("%d %d 0 %d %d -1 -1 %d %d -1 ? 1 1 -1 1 -1 -1 -1%n", i, i * 10, i * 2, i, i, i * 2);
+                }
+            }
+
+            final List<Cloudlet> expected = new WorkloadFileReader(traceFile.getAbsolutePath(), 1).generateWorkload();
+            final WorkloadFileReader reader = new WorkloadFileReader(traceFile.getAbsolutePath(), 1).setCacheFile(cacheFile);
+            assertEquals(5, expected.size());
+            assertSameCloudlets(expected, readStream(reader));
+        } finally {
+            traceFile.delete();
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void compile_CacheFileWithShortName() throws IOException {
+        final File traceFile = File.createTempFile("workload", ".swf");
+        final File cacheFile = new File(traceFile.getParentFile(), "c");
+        try {
+            writeWorkloadFile(traceFile, 3);
+            final WorkloadFileReader reader = new WorkloadFileReader(traceFile.getAbsolutePath(), 1);
+            WorkloadFileCache.compile(reader, cacheFile);
+            assertEquals(3, WorkloadFileCache.getInstance(reader, cacheFile).size());
+        } finally {
+            traceFile.delete();
+            cacheFile.delete();
+        }
+    }
+
+    private static List<Cloudlet> readStream(final WorkloadFileReader reader) throws IOException {
+        final List<Cloudlet> cloudlets = new ArrayList<>();
+        try (WorkloadFileStream stream = reader.openStream()) {
+            stream.forEachRemaining(cloudlets::add);
+        }
+
+        return cloudlets;
+    }
+
+    private static void assertSameCloudlets(final List<Cloudlet> expected, final List<Cloudlet> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getLength(), actual.get(i).getLength());
+            assertEquals(expected.get(i).getNumberOfPes(), actual.get(i).getNumberOfPes());
+        }
+    }
+
+    private static WorkloadFileReader createReader(final String fileNameWithoutPath) throws IOException {
+        return new WorkloadFileReader("src" + File.separator + "test" + File.separator + fileNameWithoutPath, 1);
+    }
+
+    /**
+     * Writes a workload file in the Standard Workload Format (SWF)
+     * where the job i runs for 2*i seconds using i PEs.
+     */
+    private static void writeWorkloadFile(final File file, final int jobs) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("; Version: 2.2");
+            for (int i = 1; i <= jobs; i++) {
+                writer.printf("%d %d 0 %d %d -1 -1 %d %d -1 1 1 1 -1 1 -1 -1 -1%n", i, i * 10, i * 2, i, i, i * 2);
+            }
+        }
+        // ensures the trace is seen as modified even if the file system has a coarse timestamp resolution
+        file.setLastModified(file.lastModified() + jobs * 1000L);
+    }
+}
@@ -2,6 +2,7 @@ package org.cloudbus.cloudsim.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.junit.Test;
@@ -34,6 +35,37 @@ public class WorkloadFileReaderTest {
                 JOBS_AT_SWF_LCG_FILE + JOBS_AT_SWF_NASA_FILE);
     }
 
+    @Test
+    public void openStream_ReadsSameCloudletsAsGenerateWorkload() throws IOException {
+        final List<Cloudlet> expected = createReader(ZIP_FILE).generateWorkload();
+
+        final List<Cloudlet> streamed = new ArrayList<>();
+        try (WorkloadFileStream stream = createReader(ZIP_FILE).openStream()) {
+            stream.forEachRemaining(streamed::add);
+        }
+
+        assertEquals(2000, expected.size());
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), streamed.get(i).getId());
+            assertEquals(expected.get(i).getLength(), streamed.get(i).getLength());
+            assertEquals(expected.get(i).getNumberOfPes(), streamed.get(i).getNumberOfPes());
+        }
+    }
+
+    /**
+     * Creates a reader that reads up to 1000 jobs from each file.
+     */
+    private WorkloadFileReader createReader(String fileNameWithoutPath) throws IOException {
+        final WorkloadFileReader reader = new WorkloadFileReader("src"
+                + File.separator
+                + "test"
+                + File.separator
+                + fileNameWithoutPath, 1);
+        reader.setMaxLinesToRead(1000);
+        return reader;
+    }
+
     private void readFile(String fileNameWithoutPath, int numberOfJobs) throws IOException {
         final WorkloadReader r = new WorkloadFileReader("src"
                 + File.separator
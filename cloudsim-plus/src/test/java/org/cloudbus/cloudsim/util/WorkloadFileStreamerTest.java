@@ -0,0 +1,99 @@
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class WorkloadFileStreamerTest {
+    private static final int MIPS = 1000;
+    private static final int JOBS = 30;
+    private static final int RUN_TIME = 10;
+
+    /**
+     * The interval between the submission of consecutive jobs,
+     * which is larger than the job run time, so that the VM becomes idle
+     * while the next jobs aren't submitted yet.
+     */
+    private static final int SUBMISSION_INTERVAL = 100;
+
+    @Test
+    public void submitsEachJobAtItsSubmitTime() throws IOException {
+        final File file = createWorkloadFile();
+        try {
+            final CloudSim simulation = new CloudSim();
+            final List<Pe> peList = new ArrayList<>();
+            peList.add(new PeSimple(MIPS, new PeProvisionerSimple()));
+            peList.add(new PeSimple(MIPS, new PeProvisionerSimple()));
+            final List<Host> hosts = new ArrayList<>();
+            hosts.add(new HostSimple(4096, 10000, 100000, peList)
+                .setRamProvisioner(new ResourceProvisionerSimple())
+                .setBwProvisioner(new ResourceProvisionerSimple())
+                .setVmScheduler(new VmSchedulerTimeShared()));
+            new DatacenterSimple(simulation, new DatacenterCharacteristicsSimple(hosts), new VmAllocationPolicySimple());
+
+            final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+            final List<VmSimple> vms = new ArrayList<>();
+            vms.add(new VmSimple(0, MIPS, 2));
+            vms.get(0).setRam(1024).setBw(1000).setSize(1000).setCloudletScheduler(new CloudletSchedulerSpaceShared());
+            broker.submitVmList(vms);
+
+            final WorkloadFileReader reader = new WorkloadFileReader(file.getAbsolutePath(), MIPS);
+            final WorkloadFileStreamer streamer = new WorkloadFileStreamer(simulation, reader, broker, SUBMISSION_INTERVAL / 2);
+            simulation.start();
+
+            assertEquals(JOBS, streamer.getSubmittedCloudlets());
+            final List<Cloudlet> finished = broker.getCloudletFinishedList();
+            assertEquals(JOBS, finished.size());
+            for (final Cloudlet cloudlet : finished) {
+                final double submitTime = (cloudlet.getId() - 1) * SUBMISSION_INTERVAL;
+                assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus());
+                assertTrue(cloudlet.getExecStartTime() >= submitTime);
+                assertTrue(cloudlet.getExecStartTime() < submitTime + 1);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Creates a workload file in the Standard Workload Format (SWF)
+     * with {@link #JOBS} jobs submitted every {@link #SUBMISSION_INTERVAL} seconds.
+     */
+    private File createWorkloadFile() throws IOException {
+        final File file = File.createTempFile("workload", ".swf");
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("; Version: 2.2");
+            for (int i = 1; i <= JOBS; i++) {
+                writer.printf("%d %d 0 %d 1 -1 -1 1 %d -1 1 1 1 -1 1 -1 -1 -1%n",
+                    i, (i - 1) * SUBMISSION_INTERVAL, RUN_TIME, RUN_TIME);
+            }
+        }
+
+        return file;
+    }
+}
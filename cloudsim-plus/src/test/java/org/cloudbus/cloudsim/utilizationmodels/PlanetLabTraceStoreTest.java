@@ -0,0 +1,128 @@
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class PlanetLabTraceStoreTest {
+    private static final String FILE = UtilizationModelPlanetLabTest.FILE;
+
+    private final PlanetLabTraceStore store = PlanetLabTraceStore.getInstance();
+
+    @After
+    public void tearDown() throws IOException {
+        store.setMappedCacheDir(null);
+        store.clear();
+    }
+
+    private String getFilePath() {
+        return getClass().getClassLoader().getResource(FILE).getPath();
+    }
+
+    @Test
+    public void getTrace_SameFileWithDifferentPaths_ReturnsSameTrace() throws IOException {
+        final File file = new File(getFilePath());
+        final String otherPath = file.getParent() + File.separator + "." + File.separator + file.getName();
+        final PlanetLabTrace trace = store.getTrace(file.getPath());
+        assertSame(trace, store.getTrace(otherPath));
+        assertEquals(288, trace.size());
+        assertEquals(0.24, trace.getUtilization(0), 0);
+        assertFalse(trace.isMapped());
+    }
+
+    @Test
+    public void getTrace_FilesWithSameContent_ShareTheSameTrace() throws IOException {
+        final File dir = Files.createTempDirectory("planetlab").toFile();
+        try {
+            final File file1 = writeTrace(dir, "vm1", 10, 20, 30);
+            final File file2 = writeTrace(dir, "vm2", 10, 20, 30);
+            assertSame(store.getTrace(file1.getPath()), store.getTrace(file2.getPath()));
+            assertEquals(2, store.size());
+        } finally {
+            deleteDir(dir);
+        }
+    }
+
+    @Test
+    public void getTrace_MappedCacheDir_ReturnsSameValuesAsHeapTrace() throws IOException {
+        final File cacheDir = Files.createTempDirectory("planetlab-cache").toFile();
+        try {
+            final PlanetLabTrace heapTrace = store.getTrace(getFilePath());
+            store.clear();
+            store.setMappedCacheDir(cacheDir);
+
+            final PlanetLabTrace mappedTrace = store.getTrace(getFilePath());
+            assertTrue(mappedTrace.isMapped());
+            assertEquals(1, cacheDir.listFiles().length);
+            assertEquals(heapTrace.size(), mappedTrace.size());
+            for (int i = 0; i < heapTrace.size(); i++) {
+                assertEquals(heapTrace.getUtilization(i), mappedTrace.getUtilization(i), 0);
+            }
+
+            store.clear();
+            assertEquals(heapTrace.getUtilization(100), store.getTrace(getFilePath()).getUtilization(100), 0);
+        } finally {
+            deleteDir(cacheDir);
+        }
+    }
+
+    @Test
+    public void getTrace_FileChanged_ReadsTheFileAgain() throws IOException {
+        final File dir = Files.createTempDirectory("planetlab").toFile();
+        try {
+            final File file = writeTrace(dir, "vm", 10, 20);
+            assertEquals(2, store.getTrace(file.getPath()).size());
+            writeTrace(dir, "vm", 10, 20, 30);
+            file.setLastModified(file.lastModified() + 1000);
+            assertEquals(0.3, store.getTrace(file.getPath()).getUtilization(2), 0);
+        } finally {
+            deleteDir(dir);
+        }
+    }
+
+    @Test
+    public void preload_ReadsAllFilesInDirectory() throws IOException {
+        final File dir = Files.createTempDirectory("planetlab").toFile();
+        try {
+            for (int i = 0; i < 20; i++) {
+                writeTrace(dir, "vm" + i, i, i + 1, i + 2);
+            }
+
+            assertEquals(20, store.preload(dir));
+            assertEquals(20, store.size());
+            final UtilizationModelPlanetLab model =
+                new UtilizationModelPlanetLab(new File(dir, "vm5").getPath(), 300, 3);
+            assertEquals(20, store.size());
+            assertEquals(0.06, model.getUtilization(300), 0);
+        } finally {
+            deleteDir(dir);
+        }
+    }
+
+    private static File writeTrace(final File dir, final String name, final int... percentages) throws IOException {
+        final File file = new File(dir, name);
+        try (PrintWriter writer = new PrintWriter(file)) {
+            for (final int percentage : percentages) {
+                writer.println(percentage);
+            }
+        }
+
+        return file;
+    }
+
+    private static void deleteDir(final File dir) {
+        for (final File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+}
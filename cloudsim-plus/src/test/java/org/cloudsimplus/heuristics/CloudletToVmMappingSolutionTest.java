@@ -23,13 +23,17 @@
  */
 package org.cloudsimplus.heuristics;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimpleTest;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudbus.cloudsim.vms.VmSimpleTest;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -190,4 +194,60 @@ public class CloudletToVmMappingSolutionTest {
                 swapedVmsEntries[1].getValue().getId()),
             swapedVmsEntries, originalEntries);
     }
+
+    @Test
+    public void testGetCostOfNeighborsIsUpdatedIncrementally() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic =
+            new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1, 1));
+        final List<Vm> vms = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vms.add(new VmSimple(i, 1000, 1 + i % 4));
+        }
+
+        final List<Cloudlet> cloudlets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cloudlets.add(createCloudlet(i, 1 + i % 3));
+        }
+
+        heuristic.setVmList(vms);
+        heuristic.setCloudletList(cloudlets);
+        CloudletToVmMappingSolution solution = heuristic.getInitialSolution();
+        for (int i = 0; i < 200; i++) {
+            final CloudletToVmMappingSolution neighbor = heuristic.createNeighbor(solution);
+            assertEquals(computeCost(neighbor.getResult()), neighbor.getCost(), 0);
+            assertEquals(computeCost(solution.getResult()), solution.getCost(), 0);
+            solution = neighbor;
+        }
+
+        final double cost = solution.getCost();
+        assertEquals(cost, solution.getCost(true), 0);
+    }
+
+    @Test
+    public void testBindCloudletToVmDoesNotChangeClonedSolution() {
+        final CloudletToVmMappingSolution instance = new CloudletToVmMappingSolution(Heuristic.NULL);
+        final Vm vm = new VmSimple(0, 1000, 2);
+        instance.bindCloudletToVm(createCloudlet(0, 1), vm);
+        final CloudletToVmMappingSolution clone = new CloudletToVmMappingSolution(instance);
+
+        final Cloudlet cloudlet = createCloudlet(1, 2);
+        clone.bindCloudletToVm(cloudlet, vm);
+        assertEquals(1, instance.getResult().size());
+        assertEquals(1, instance.getCost(), 0);
+        assertEquals(2, clone.getResult().size());
+        assertEquals(1, clone.getCost(), 0);
+        assertSame(vm, clone.getResult().get(cloudlet));
+        assertFalse(instance.getResult().containsKey(cloudlet));
+    }
+
+    /**
+     * Computes the cost of a given mapping from scratch.
+     */
+    private double computeCost(final Map<Cloudlet, Vm> result) {
+        final Map<Vm, Long> pesByVm = new HashMap<>();
+        result.forEach((cloudlet, vm) -> pesByVm.merge(vm, (long) cloudlet.getNumberOfPes(), Long::sum));
+        return pesByVm.entrySet().stream()
+            .mapToDouble(e -> Math.abs(e.getKey().getNumberOfPes() - e.getValue()))
+            .sum();
+    }
 }
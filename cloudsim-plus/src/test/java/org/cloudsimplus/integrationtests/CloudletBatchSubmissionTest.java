@@ -0,0 +1,129 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * An Integration Test (IT) running the same simulation scenario
+ * with the {@link DatacenterBroker#isCloudletBatchSubmissionEnabled() Cloudlet batch submission}
+ * disabled and enabled, checking that Cloudlets with different lengths and submission delays
+ * produce the same results in both cases.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class CloudletBatchSubmissionTest {
+    private static final int HOSTS = 2;
+    private static final int HOST_PES = 4;
+    private static final int MIPS = 1000;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 40;
+
+    @Test
+    public void batchSubmission_ProducesSameResultsAsOneEventPerCloudlet() {
+        final List<Cloudlet> expected = runSimulation(false);
+        final List<Cloudlet> actual = runSimulation(true);
+
+        assertEquals(CLOUDLETS, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final Cloudlet exp = expected.get(i);
+            final Cloudlet act = actual.get(i);
+            assertEquals(exp.getId(), act.getId());
+            assertEquals(Cloudlet.Status.SUCCESS, act.getStatus());
+            assertEquals(exp.getVm().getId(), act.getVm().getId());
+            assertEquals(exp.getExecStartTime(), act.getExecStartTime(), 0.0001);
+            assertEquals(exp.getFinishTime(), act.getFinishTime(), 0.0001);
+        }
+    }
+
+    private List<Cloudlet> runSimulation(final boolean batchSubmission) {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hosts = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(MIPS, new PeProvisionerSimple()));
+            }
+
+            hosts.add(new HostSimple(16000, 100000, 1000000, peList)
+                .setRamProvisioner(new ResourceProvisionerSimple())
+                .setBwProvisioner(new ResourceProvisionerSimple())
+                .setVmScheduler(new VmSchedulerTimeShared()));
+        }
+        new DatacenterSimple(simulation, new DatacenterCharacteristicsSimple(hosts), new VmAllocationPolicySimple());
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation)
+            .setCloudletBatchSubmissionEnabled(batchSubmission);
+
+        final List<Vm> vms = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vms.add(new VmSimple(i, MIPS, 2)
+                .setRam(1000).setBw(1000).setSize(10000)
+                .setCloudletScheduler(new CloudletSchedulerTimeShared()));
+        }
+
+        final List<Cloudlet> cloudlets = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, MIPS * (1 + i % 7), 1)
+                .setFileSize(300).setOutputSize(300)
+                .setUtilizationModel(new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % 3);
+            cloudlets.add(cloudlet);
+        }
+
+        broker.submitVmList(vms);
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+
+        final List<Cloudlet> finished = new ArrayList<>(broker.getCloudletFinishedList());
+        finished.sort(Comparator.comparingInt(Cloudlet::getId));
+        return finished;
+    }
+}
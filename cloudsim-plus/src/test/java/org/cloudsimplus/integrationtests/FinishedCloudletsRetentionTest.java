@@ -0,0 +1,132 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * An Integration Test (IT) running a simulation scenario with 1 Host, 1 VM
+ * and Cloudlets finishing at different times, where the
+ * {@link CloudletScheduler} and the {@link DatacenterBroker} are set to
+ * keep just a few finished Cloudlets. The IT checks if all finished Cloudlets
+ * are notified to the broker's OnCloudletReturn Listener, while just the last ones are kept
+ * (including into the broker's created list).
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class FinishedCloudletsRetentionTest {
+    private static final int PES = 4;
+    private static final int CLOUDLETS = 6;
+    private static final int SCHEDULER_MAX_FINISHED_CLOUDLETS = 1;
+    private static final int BROKER_MAX_FINISHED_CLOUDLETS = 2;
+
+    private CloudSim simulation;
+    private DatacenterBroker broker;
+    private CloudletScheduler scheduler;
+    private List<Cloudlet> returnedCloudlets;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>(PES);
+        for (int i = 0; i < PES; i++) {
+            peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+        }
+
+        final Host host = new HostSimple(4096, 10000, 1000000, peList)
+            .setRamProvisioner(new ResourceProvisionerSimple())
+            .setBwProvisioner(new ResourceProvisionerSimple())
+            .setVmScheduler(new VmSchedulerTimeShared());
+        new DatacenterSimple(
+            simulation, new DatacenterCharacteristicsSimple(Collections.singletonList(host)),
+            new VmAllocationPolicySimple());
+
+        scheduler = new CloudletSchedulerTimeShared();
+        scheduler.setMaxFinishedCloudlets(SCHEDULER_MAX_FINISHED_CLOUDLETS);
+        final Vm vm = new VmSimple(0, 1000, PES)
+            .setRam(1024).setBw(1000).setSize(10000)
+            .setCloudletScheduler(scheduler);
+
+        returnedCloudlets = new ArrayList<>();
+        broker = new DatacenterBrokerSimple(simulation)
+            .setMaxFinishedCloudlets(BROKER_MAX_FINISHED_CLOUDLETS)
+            .addOnCloudletReturnListener(evt -> returnedCloudlets.add(evt.getCloudlet()));
+
+        final List<Cloudlet> cloudlets = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudlets.add(
+                new CloudletSimple(i, 1000 * (i + 1), 1)
+                    .setUtilizationModel(new UtilizationModelFull()));
+        }
+
+        broker.submitVmList(Collections.singletonList(vm));
+        broker.submitCloudletList(cloudlets);
+    }
+
+    @Test
+    public void integrationTest() {
+        simulation.start();
+
+        assertEquals(CLOUDLETS, returnedCloudlets.size());
+        for (int i = 0; i < CLOUDLETS; i++) {
+            assertEquals(i, returnedCloudlets.get(i).getId());
+        }
+
+        final List<Cloudlet> expected = returnedCloudlets.subList(CLOUDLETS - BROKER_MAX_FINISHED_CLOUDLETS, CLOUDLETS);
+        assertEquals(expected, broker.getCloudletFinishedList());
+        assertEquals(new HashSet<>(expected), new HashSet<>(broker.getCloudletCreatedList()));
+
+        assertEquals(SCHEDULER_MAX_FINISHED_CLOUDLETS, scheduler.getCloudletFinishedList().size());
+        assertEquals(SCHEDULER_MAX_FINISHED_CLOUDLETS, scheduler.getCloudletReturnedList().size());
+        assertEquals(CLOUDLETS - 1, scheduler.getCloudletFinishedList().get(0).getCloudletId());
+    }
+}